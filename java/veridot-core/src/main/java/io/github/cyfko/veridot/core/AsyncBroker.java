@@ -0,0 +1,63 @@
+package io.github.cyfko.veridot.core;
+
+import io.github.cyfko.veridot.core.impl.Scope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking extension of {@link Broker}.
+ *
+ * <p>A broker whose reads involve a network or database round trip can implement this interface
+ * so that verifiers issue independent lookups concurrently instead of one after another. Brokers
+ * that only implement {@link Broker} are still supported: the verifier then runs their blocking
+ * reads on its own executor.</p>
+ *
+ * <p>The returned futures must not complete on a thread that holds broker-internal locks, since
+ * callers may chain further verification work onto them.</p>
+ *
+ * @see TokenVerifier#verifyAsync
+ */
+public interface AsyncBroker extends Broker {
+
+    /**
+     * Asynchronous variant of {@link #get(byte[])}.
+     *
+     * @param storageKey the storage key
+     * @return a future completed with the envelope bytes, or with {@code null} if absent
+     */
+    CompletableFuture<byte[]> getAsync(byte[] storageKey);
+
+    /**
+     * Fetches several keys at once.
+     *
+     * <p>The default implementation issues one {@link #getAsync(byte[])} per key concurrently.</p>
+     *
+     * @param storageKeys the storage keys
+     * @return a future completed with the envelope bytes of each key, in the order of
+     *         {@code storageKeys}, with {@code null} for absent keys
+     */
+    default CompletableFuture<List<byte[]>> getAllAsync(List<byte[]> storageKeys) {
+        List<CompletableFuture<byte[]>> lookups = new ArrayList<>(storageKeys.size());
+        for (byte[] storageKey : storageKeys) {
+            lookups.add(getAsync(storageKey));
+        }
+        return CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                List<byte[]> values = new ArrayList<>(lookups.size());
+                for (CompletableFuture<byte[]> lookup : lookups) {
+                    values.add(lookup.join());
+                }
+                return values;
+            });
+    }
+
+    /**
+     * Asynchronous variant of {@link #snapshot(Scope)}.
+     *
+     * @param scope the scope to list
+     * @return a future completed with every entry of the scope
+     */
+    CompletableFuture<List<BrokerEntry>> snapshotAsync(Scope scope);
+}
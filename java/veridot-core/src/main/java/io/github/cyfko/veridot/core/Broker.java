@@ -1,6 +1,11 @@
 package io.github.cyfko.veridot.core;
 
+import io.github.cyfko.veridot.core.impl.EntryType;
 import io.github.cyfko.veridot.core.impl.Scope;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -35,6 +40,125 @@ public interface Broker {
      */
     List<BrokerEntry> snapshot(Scope scope);
 
+    /**
+     * Enumerates the entries of a single type in a scope, i.e. those whose storage key starts with
+     * {@code scope ‖ 0x00 ‖ entryType ‖ 0x00} (§3.3).
+     *
+     * <p>The default implementation filters {@link #snapshot(Scope)}; implementations backed by an
+     * ordered store should override it with a range scan over that prefix, so entries of other types
+     * are never read.
+     *
+     * @param scope the scope to snapshot
+     * @param entryType the entry type to keep
+     * @return the list of entries of that type currently stored in the scope
+     */
+    default List<BrokerEntry> snapshot(Scope scope, EntryType entryType) {
+        byte[] prefix = typePrefix(scope, entryType);
+        List<BrokerEntry> entries = snapshot(scope);
+        if (entries == null) {
+            return null;
+        }
+        List<BrokerEntry> matching = new ArrayList<>();
+        for (BrokerEntry entry : entries) {
+            byte[] key = entry.storageKey();
+            if (key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length)) {
+                matching.add(entry);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Iterates the entries of a scope without holding them all in memory.
+     *
+     * <p>The cursor sees the scope as of the call: entries written after it may or may not appear,
+     * but none is seen twice. It must be closed, typically with try-with-resources, to release the
+     * underlying iterator or statement.
+     *
+     * <p>The default implementation iterates {@link #snapshot(Scope)}; implementations backed by a
+     * store with native cursors should override it to read entries as the cursor advances.
+     *
+     * @param scope the scope to scan
+     * @return an open cursor over the entries currently stored in the scope
+     */
+    default EntryCursor scan(Scope scope) {
+        return EntryCursor.of(snapshot(scope));
+    }
+
+    /**
+     * Iterates the entries of a single type in a scope, with the key range of
+     * {@link #snapshot(Scope, EntryType)} and the semantics of {@link #scan(Scope)}.
+     *
+     * @param scope the scope to scan
+     * @param entryType the entry type to keep
+     * @return an open cursor over the entries of that type currently stored in the scope
+     */
+    default EntryCursor scan(Scope scope, EntryType entryType) {
+        return EntryCursor.of(snapshot(scope, entryType));
+    }
+
+    /**
+     * Subscribes to the changes of the entries of a scope, whichever node wrote them.
+     *
+     * <p>The listener is called once per stored or deleted entry, on a broker thread, and should
+     * return quickly. Delivery is best effort: changes may be delivered late, more than once, or, after
+     * a transport failure, not at all, so callers keep their own expiry as a backstop.
+     *
+     * <p>The default implementation delivers nothing; brokers with a change feed override it.
+     *
+     * @param scope the scope to watch, or {@code null} for every scope
+     * @param listener the listener to notify
+     * @return the subscription, to close when changes are no longer wanted
+     */
+    default Subscription watch(Scope scope, ChangeListener listener) {
+        return () -> {};
+    }
+
+    /**
+     * Whether {@link #watch(Scope, ChangeListener)} delivers the writes of every node. A node relies on
+     * the feed to see other nodes' sessions between two capacity checks only when this holds.
+     *
+     * @return {@code true} if this broker has a change feed; {@code false} by default
+     */
+    default boolean supportsWatch() {
+        return false;
+    }
+
+    /**
+     * Retrieves several storage keys at once.
+     *
+     * <p>The default implementation calls {@link #get(byte[])} once per key; implementations backed
+     * by a remote store should override it with a single multi-key lookup.
+     *
+     * @param storageKeys the storage keys
+     * @return the raw bytes of each envelope in the order of {@code storageKeys}, {@code null} for absent keys
+     */
+    default List<byte[]> getAll(List<byte[]> storageKeys) {
+        List<byte[]> values = new ArrayList<>(storageKeys.size());
+        for (byte[] storageKey : storageKeys) {
+            values.add(get(storageKey));
+        }
+        return values;
+    }
+
+    /**
+     * Stores several entries at once, with the same per-entry semantics as {@link #put(byte[], byte[])}.
+     *
+     * <p>The default implementation calls {@link #put(byte[], byte[])} once per entry; implementations
+     * should override it to write the entries as one batch.
+     *
+     * @param entries the entries to store
+     * @return a future that completes when every entry is durably stored, or fails if any is not
+     * @throws io.github.cyfko.veridot.core.exceptions.VeridotException if an envelope is invalid
+     */
+    default CompletableFuture<Void> putAll(List<BrokerEntry> entries) {
+        List<CompletableFuture<Void>> writes = new ArrayList<>(entries.size());
+        for (BrokerEntry entry : entries) {
+            writes.add(put(entry.storageKey(), entry.envelopeBytes()));
+        }
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0]));
+    }
+
     /**
      * Writes directly to the local cache to bypass read-after-write latencies on the signing node.
      *
@@ -44,7 +168,96 @@ public interface Broker {
     void putLocal(byte[] storageKey, byte[] envelopeBytes);
 
     /**
-     * Represents a single entry retrieved during snapshot.
+     * Represents a single entry retrieved during snapshot, or written through {@link #putAll(List)}.
      */
     record BrokerEntry(byte[] storageKey, byte[] envelopeBytes) {}
+
+    /**
+     * Receives the changes delivered by {@link #watch(Scope, ChangeListener)}.
+     */
+    @FunctionalInterface
+    interface ChangeListener {
+
+        /**
+         * @param storageKey the storage key of the changed entry
+         * @param envelopeBytes the newly stored envelope bytes, or {@code null} if the entry was deleted
+         */
+        void onChange(byte[] storageKey, byte[] envelopeBytes);
+    }
+
+    /**
+     * Registration of a {@link ChangeListener}.
+     */
+    @FunctionalInterface
+    interface Subscription extends AutoCloseable {
+
+        /**
+         * Stops the delivery of changes. Closing twice has no effect.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * Forward-only iterator over the entries of a scan, holding broker resources until closed.
+     *
+     * <p>{@link #hasNext()} and {@link #next()} may read from the store and throw an unchecked
+     * exception if it becomes unreachable mid-scan.
+     */
+    interface EntryCursor extends Iterator<BrokerEntry>, AutoCloseable {
+
+        /**
+         * Releases the resources held by the cursor. Closing twice has no effect.
+         */
+        @Override
+        void close();
+
+        /**
+         * Returns a cursor over an already materialized list, {@code null} being read as empty.
+         *
+         * @param entries the entries to iterate
+         * @return a cursor whose {@link #close()} does nothing
+         */
+        static EntryCursor of(List<BrokerEntry> entries) {
+            Iterator<BrokerEntry> iterator = entries != null ? entries.iterator() : List.<BrokerEntry>of().iterator();
+            return new EntryCursor() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public BrokerEntry next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+
+    /**
+     * Returns the storage-key prefix shared by every entry of {@code entryType} in {@code scope}:
+     * {@code scope ‖ 0x00 ‖ entryType ‖ 0x00}.
+     *
+     * @param scope the scope
+     * @param entryType the entry type
+     * @return the prefix bytes
+     */
+    static byte[] typePrefix(Scope scope, EntryType entryType) {
+        if (scope == null) {
+            throw new IllegalArgumentException("Scope cannot be null");
+        }
+        if (entryType == null) {
+            throw new IllegalArgumentException("EntryType cannot be null");
+        }
+        byte[] scopeBytes = scope.value().getBytes(StandardCharsets.UTF_8);
+        byte[] prefix = Arrays.copyOf(scopeBytes, scopeBytes.length + 3);
+        prefix[scopeBytes.length] = 0x00;
+        prefix[scopeBytes.length + 1] = entryType.code;
+        prefix[scopeBytes.length + 2] = 0x00;
+        return prefix;
+    }
 }
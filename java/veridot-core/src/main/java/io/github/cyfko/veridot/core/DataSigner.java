@@ -3,6 +3,9 @@ package io.github.cyfko.veridot.core;
 import io.github.cyfko.veridot.core.exceptions.BrokerTransportException;
 import io.github.cyfko.veridot.core.exceptions.DataSerializationException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 /**
@@ -144,4 +147,97 @@ public interface DataSigner {
      *                                    values are invalid (e.g., non-positive duration)
      */
     String sign(Object data, Configurer configurer) throws DataSerializationException, BrokerTransportException;
+
+    /**
+     * Asynchronous variant of {@link #sign(Object, Configurer)}.
+     *
+     * <p>Implementations that publish several broker entries per token may issue them concurrently
+     * and complete the returned future once every publication is acknowledged. Failures that would
+     * make {@link #sign(Object, Configurer)} throw complete the future exceptionally instead.</p>
+     *
+     * <p>The default implementation signs synchronously on the calling thread.</p>
+     *
+     * @param data       the payload to embed; must not be {@code null}
+     * @param configurer signing configuration; must not be {@code null}
+     * @return a future completed with the issued token (or its reference in NATIVE mode)
+     * @throws IllegalArgumentException if {@code data} is {@code null}, or if configuration
+     *                                  values are invalid (e.g., non-positive duration)
+     */
+    default CompletableFuture<String> signAsync(Object data, Configurer configurer) {
+        if (data == null) {
+            throw new IllegalArgumentException("data must not be null");
+        }
+        try {
+            return CompletableFuture.completedFuture(sign(data, configurer));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Issues one token per payload, all in the configurer's group.
+     *
+     * <p>Implementations may amortize per-group work (configuration lookup, capacity evaluation,
+     * broker round trips) across the batch. Each payload gets its own auto-generated sequence
+     * identifier, so {@link Configurer#getSequenceId()} must be {@code null} unless the batch holds
+     * a single payload.</p>
+     *
+     * <p>The default implementation calls {@link #sign(Object, Configurer)} for each payload.</p>
+     *
+     * @param data       the payloads to embed; must not be {@code null} nor contain {@code null}
+     * @param configurer signing configuration shared by every payload; must not be {@code null}
+     * @return one result per payload, in input order
+     * @throws IllegalArgumentException if {@code data} is {@code null} or contains {@code null},
+     *                                  or if configuration values are invalid
+     */
+    default List<SignResult> signBatch(List<?> data, Configurer configurer) {
+        validateBatch(data, configurer);
+        List<SignResult> results = new ArrayList<>(data.size());
+        for (Object item : data) {
+            try {
+                results.add(SignResult.success(sign(item, configurer)));
+            } catch (RuntimeException e) {
+                results.add(SignResult.failure(e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Asynchronous variant of {@link #signBatch(List, Configurer)}.
+     *
+     * <p>The returned future completes exceptionally only when the batch as a whole fails; failures of
+     * individual payloads are reported in their {@link SignResult}. The default implementation signs
+     * synchronously on the calling thread.</p>
+     *
+     * @param data       the payloads to embed; must not be {@code null} nor contain {@code null}
+     * @param configurer signing configuration shared by every payload; must not be {@code null}
+     * @return a future completed with one result per payload, in input order
+     * @throws IllegalArgumentException if {@code data} is {@code null} or contains {@code null},
+     *                                  or if configuration values are invalid
+     */
+    default CompletableFuture<List<SignResult>> signBatchAsync(List<?> data, Configurer configurer) {
+        return CompletableFuture.completedFuture(signBatch(data, configurer));
+    }
+
+    /**
+     * Validates the arguments shared by {@link #signBatch} and {@link #signBatchAsync}.
+     *
+     * @throws IllegalArgumentException if the batch or its configuration is invalid
+     */
+    private static void validateBatch(List<?> data, Configurer configurer) {
+        if (data == null) {
+            throw new IllegalArgumentException("data must not be null");
+        }
+        for (Object item : data) {
+            if (item == null) {
+                throw new IllegalArgumentException("data must not contain null");
+            }
+        }
+        if (configurer.getSequenceId() != null && data.size() > 1) {
+            throw new IllegalArgumentException("sequenceId must be null when signing more than one payload");
+        }
+    }
 }
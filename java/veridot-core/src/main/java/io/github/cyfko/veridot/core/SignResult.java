@@ -0,0 +1,70 @@
+package io.github.cyfko.veridot.core;
+
+import java.util.Objects;
+
+/**
+ * Outcome of signing one payload of a {@link DataSigner#signBatch batch}: either the issued
+ * token or the error that prevented it from being issued.
+ *
+ * <h2>Typical usage</h2>
+ * <pre>{@code
+ * List<SignResult> results = signer.signBatch(payloads, configurer);
+ * for (int i = 0; i < results.size(); i++) {
+ *     SignResult result = results.get(i);
+ *     if (result.isSuccess()) {
+ *         deliver(payloads.get(i), result.token());
+ *     } else {
+ *         retryLater(payloads.get(i), result.error());
+ *     }
+ * }
+ * }</pre>
+ *
+ * @param token the issued token (or its reference in NATIVE mode), or {@code null} on failure
+ * @param error the failure, or {@code null} on success
+ *
+ * @see DataSigner#signBatch
+ */
+public record SignResult(String token, RuntimeException error) {
+
+    public SignResult {
+        if ((token == null) == (error == null)) {
+            throw new IllegalArgumentException("Exactly one of token and error must be set");
+        }
+    }
+
+    /**
+     * @param token the issued token
+     * @return a successful result
+     */
+    public static SignResult success(String token) {
+        return new SignResult(Objects.requireNonNull(token, "token"), null);
+    }
+
+    /**
+     * @param error the reason the payload was not signed
+     * @return a failed result
+     */
+    public static SignResult failure(RuntimeException error) {
+        return new SignResult(null, Objects.requireNonNull(error, "error"));
+    }
+
+    /**
+     * @return {@code true} if a token was issued
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Returns the issued token or rethrows the failure.
+     *
+     * @return the issued token
+     * @throws RuntimeException the error that prevented the token from being issued
+     */
+    public String getOrThrow() {
+        if (error != null) {
+            throw error;
+        }
+        return token;
+    }
+}
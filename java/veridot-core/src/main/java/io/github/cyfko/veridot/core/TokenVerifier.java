@@ -3,6 +3,10 @@ package io.github.cyfko.veridot.core;
 import io.github.cyfko.veridot.core.exceptions.BrokerExtractionException;
 import io.github.cyfko.veridot.core.exceptions.DataDeserializationException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 /**
@@ -84,6 +88,56 @@ public interface TokenVerifier {
     <T> VerifiedData<T> verify(String token, Function<String, T> deserializer)
             throws BrokerExtractionException, DataDeserializationException;
 
+    /**
+     * Asynchronous variant of {@link #verify(String, Function)}.
+     *
+     * <p>Implementations may issue the broker lookups a token needs concurrently, see
+     * {@link AsyncBroker}. Rejections complete the returned future exceptionally with the exception
+     * {@link #verify(String, Function)} would have thrown.</p>
+     *
+     * <p>The default implementation verifies synchronously on the calling thread.</p>
+     *
+     * @param <T>          the target type of the deserialized payload
+     * @param token        the token to verify (signed token or {@code messageId})
+     * @param deserializer function to convert the raw string payload to the target type;
+     *                     must not be {@code null}
+     * @return a future completed with the verified payload and identifiers
+     */
+    default <T> CompletableFuture<VerifiedData<T>> verifyAsync(String token, Function<String, T> deserializer) {
+        try {
+            return CompletableFuture.completedFuture(verify(token, deserializer));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Verifies a batch of tokens, e.g. the tokens carried by a page of consumed events.
+     *
+     * <p>Implementations may share trust and liveness lookups between tokens of the same issuer and
+     * group, and verify tokens concurrently. A rejected token does not fail the batch: its error is
+     * reported in its {@link VerificationResult}.</p>
+     *
+     * <p>The default implementation calls {@link #verify(String, Function)} for each token.</p>
+     *
+     * @param <T>          the target type of the deserialized payloads
+     * @param tokens       the tokens to verify; must not be {@code null}
+     * @param deserializer function to convert each raw string payload to the target type;
+     *                     must not be {@code null}
+     * @return one result per token, in iteration order of {@code tokens}
+     */
+    default <T> List<VerificationResult<T>> verifyAll(Collection<String> tokens, Function<String, T> deserializer) {
+        List<VerificationResult<T>> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            try {
+                results.add(VerificationResult.success(verify(token, deserializer)));
+            } catch (RuntimeException e) {
+                results.add(VerificationResult.failure(e));
+            }
+        }
+        return results;
+    }
+
     /**
      * Evaluates the staleness of reconciliation for a given scope.
      *
@@ -18,6 +18,39 @@ public final class VeridotMetrics {
     /** veridot_security_alerts_total — incremented in TaasStateMachine when attestation fails on a rotation. */
     public static final LongAdder SECURITY_ALERTS = new LongAdder();
 
+    /** veridot_jwt_cache_hits_total — JWT verifications answered from the outcome cache. */
+    public static final LongAdder JWT_CACHE_HITS = new LongAdder();
+
+    /** veridot_jwt_cache_misses_total — JWT verifications that ran the full decode and signature check. */
+    public static final LongAdder JWT_CACHE_MISSES = new LongAdder();
+
+    /** veridot_envelope_memo_hits_total — envelope signature checks answered from the verified-envelope memo. */
+    public static final LongAdder ENVELOPE_MEMO_HITS = new LongAdder();
+
+    /** veridot_envelope_memo_misses_total — envelope signature checks with no remembered verdict. */
+    public static final LongAdder ENVELOPE_MEMO_MISSES = new LongAdder();
+
+    /** veridot_fence_acquisitions_total — FENCE grants published by this node. */
+    public static final LongAdder FENCE_ACQUISITIONS = new LongAdder();
+
+    /** veridot_fence_lease_reuses_total — capacity decisions made under a FENCE grant this node already held. */
+    public static final LongAdder FENCE_LEASE_REUSES = new LongAdder();
+
+    /** veridot_capacity_fast_paths_total — capacity decisions granted from the session index without fencing. */
+    public static final LongAdder CAPACITY_FAST_PATHS = new LongAdder();
+
+    /** veridot_entries_compacted_total — dead session entries deleted by the background compactor. */
+    public static final LongAdder ENTRIES_COMPACTED = new LongAdder();
+
+    /** veridot_liveness_cache_hits_total — liveness checks answered from the verdict cache. */
+    public static final LongAdder LIVENESS_CACHE_HITS = new LongAdder();
+
+    /** veridot_liveness_cache_misses_total — liveness checks that read and verified the LIVENESS entry. */
+    public static final LongAdder LIVENESS_CACHE_MISSES = new LongAdder();
+
+    /** veridot_watermarks_pruned_total — session watermarks dropped after their retention horizon. */
+    public static final LongAdder WATERMARKS_PRUNED = new LongAdder();
+
     private VeridotMetrics() {}
 
     /**
@@ -30,5 +63,16 @@ public final class VeridotMetrics {
         RECONCILIATIONS.reset();
         ATTESTATION_VERIFICATIONS.reset();
         SECURITY_ALERTS.reset();
+        JWT_CACHE_HITS.reset();
+        JWT_CACHE_MISSES.reset();
+        ENVELOPE_MEMO_HITS.reset();
+        ENVELOPE_MEMO_MISSES.reset();
+        FENCE_ACQUISITIONS.reset();
+        FENCE_LEASE_REUSES.reset();
+        CAPACITY_FAST_PATHS.reset();
+        ENTRIES_COMPACTED.reset();
+        LIVENESS_CACHE_HITS.reset();
+        LIVENESS_CACHE_MISSES.reset();
+        WATERMARKS_PRUNED.reset();
     }
 }
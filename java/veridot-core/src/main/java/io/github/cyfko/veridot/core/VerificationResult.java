@@ -0,0 +1,70 @@
+package io.github.cyfko.veridot.core;
+
+import java.util.Objects;
+
+/**
+ * Outcome of verifying one token of a {@link TokenVerifier#verifyAll batch}: either the
+ * verified payload or the error that caused the token to be rejected.
+ *
+ * <h2>Typical usage</h2>
+ * <pre>{@code
+ * List<VerificationResult<String>> results = verifier.verifyAll(tokens, s -> s);
+ * for (VerificationResult<String> result : results) {
+ *     if (result.isSuccess()) {
+ *         handle(result.verified().data());
+ *     } else {
+ *         reject(result.error());
+ *     }
+ * }
+ * }</pre>
+ *
+ * @param <T>      the type of the deserialized payload
+ * @param verified the verified payload and identifiers, or {@code null} on failure
+ * @param error    the rejection, or {@code null} on success
+ *
+ * @see TokenVerifier#verifyAll
+ */
+public record VerificationResult<T>(VerifiedData<T> verified, RuntimeException error) {
+
+    public VerificationResult {
+        if ((verified == null) == (error == null)) {
+            throw new IllegalArgumentException("Exactly one of verified and error must be set");
+        }
+    }
+
+    /**
+     * @param verified the verified payload
+     * @return a successful result
+     */
+    public static <T> VerificationResult<T> success(VerifiedData<T> verified) {
+        return new VerificationResult<>(Objects.requireNonNull(verified, "verified"), null);
+    }
+
+    /**
+     * @param error the reason the token was rejected
+     * @return a failed result
+     */
+    public static <T> VerificationResult<T> failure(RuntimeException error) {
+        return new VerificationResult<>(null, Objects.requireNonNull(error, "error"));
+    }
+
+    /**
+     * @return {@code true} if the token was verified
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Returns the verified payload or rethrows the rejection.
+     *
+     * @return the verified payload and identifiers
+     * @throws RuntimeException the error that caused the token to be rejected
+     */
+    public VerifiedData<T> getOrThrow() {
+        if (error != null) {
+            throw error;
+        }
+        return verified;
+    }
+}
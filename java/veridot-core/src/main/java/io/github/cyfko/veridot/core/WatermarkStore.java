@@ -1,13 +1,22 @@
 package io.github.cyfko.veridot.core;
 
+import java.util.Map;
+
 /**
  * Pluggable store for persisting and restoring version watermarks
  * to prevent version rollback and replay attacks (§11.1, §12.3.1).
+ *
+ * <p>A store may additionally support incremental persistence. Such a store returns {@code true}
+ * from {@link #supportsIncremental()} and receives only the watermarks that advanced since the last
+ * flush through {@link #append(Map)}; a full {@link #save(byte[])} then acts as a checkpoint that
+ * supersedes every delta appended before it.
  */
 public interface WatermarkStore {
     /**
      * Saves the serialized watermark snapshot.
      *
+     * <p>For incremental stores this is a checkpoint: deltas appended before this call may be discarded.
+     *
      * @param snapshot the serialized watermark snapshot bytes
      */
     void save(byte[] snapshot);
@@ -15,7 +24,31 @@ public interface WatermarkStore {
     /**
      * Loads the serialized watermark snapshot.
      *
+     * <p>For incremental stores the returned snapshot must already include every delta appended since
+     * the last checkpoint.
+     *
      * @return the serialized watermark snapshot bytes, or null if none exists
      */
     byte[] load();
+
+    /**
+     * Whether this store accepts watermark deltas through {@link #append(Map)}.
+     *
+     * @return {@code true} if incremental persistence is supported; {@code false} by default
+     */
+    default boolean supportsIncremental() {
+        return false;
+    }
+
+    /**
+     * Durably appends watermark deltas. Keys use the snapshot key format
+     * ({@code scope + "\0" + entryTypeCode + "\0" + key}); when a key is appended several times
+     * the highest version wins.
+     *
+     * @param deltas watermark key to version, never empty
+     * @throws UnsupportedOperationException if the store does not support incremental persistence
+     */
+    default void append(Map<String, Long> deltas) {
+        throw new UnsupportedOperationException("Incremental watermark persistence is not supported by " + getClass().getName());
+    }
 }
@@ -2,7 +2,6 @@ package io.github.cyfko.veridot.core.impl;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Payload of an AUDIT_ANCHOR entry (§4.10).
@@ -27,12 +26,12 @@ record AuditAnchorPayload(
     }
 
     public static AuditAnchorPayload decode(byte[] tlvBytes) {
-        Map<Byte, byte[]> fields = TlvCodec.parse(tlvBytes);
+        TlvReader fields = TlvReader.parse(tlvBytes);
 
-        byte[] anchorHash = TlvCodec.readBytes(fields, Tag.ANCHOR_HASH.code, true);
-        long anchorTimestamp = TlvCodec.readI64(fields, Tag.ANCHOR_TIMESTAMP.code, true);
-        String auditLogRef = fields.containsKey(Tag.AUDIT_LOG_REF.code)
-            ? TlvCodec.readString(fields, Tag.AUDIT_LOG_REF.code, true)
+        byte[] anchorHash = fields.readBytes(Tag.ANCHOR_HASH.code, true);
+        long anchorTimestamp = fields.readI64(Tag.ANCHOR_TIMESTAMP.code, true);
+        String auditLogRef = fields.has(Tag.AUDIT_LOG_REF.code)
+            ? fields.readString(Tag.AUDIT_LOG_REF.code, true)
             : null;
 
         return new AuditAnchorPayload(anchorHash, anchorTimestamp, auditLogRef);
@@ -0,0 +1,116 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Broker;
+import io.github.cyfko.veridot.core.TrustRoot;
+
+/**
+ * Applies the broker change feed to this node's caches and version watermark.
+ *
+ * <p>Every change invalidates what may depend on it, whether or not it verifies, since dropping a
+ * cache entry only costs a read:
+ * <ul>
+ *   <li>CAPABILITY: every authorization verdict, since delegated issuers depend on each capability
+ *       of their chain, the scope's pattern index, and the resolved configs, whose issuers are
+ *       authorized through capabilities;</li>
+ *   <li>CONFIG: the configs resolved for the group, or every config for a site or global change;</li>
+ *   <li>LIVENESS: the session's liveness verdict;</li>
+ *   <li>TRUST_REVOCATION: every cached JWT verification outcome, whose {@code kid} may no longer be
+ *       trusted.</li>
+ * </ul>
+ *
+ * <p>A stored envelope that verifies against the trust root then advances the watermark of its
+ * entry, as reconciliation would, which also expires the cached liveness verdicts and heartbeat leases
+ * it supersedes. Envelopes issued by this node are left to the publisher, which accepts its own
+ * versions strictly and must not find them already accepted. A verified LIVENESS envelope is also
+ * applied to the session index, so that capacity checks see other nodes' sessions without a
+ * rebuild; envelopes the index already holds are skipped before verification. Changes are never
+ * trusted beyond that: the caches refill from the broker through the usual checks.
+ */
+final class BrokerChangeHandler implements Broker.ChangeListener {
+
+    private final SignatureVerifier signatureVerifier = new SignatureVerifier();
+    private final TrustRoot trustRoot;
+    private final String signerId;
+    private final VersionWatermark watermark;
+    private final CapabilityVerifier capabilityVerifier;
+    private final ConfigResolver configResolver;
+    private final LivenessChecker livenessChecker;
+    private final SessionIndex sessionIndex;
+    private final JwtVerificationCache jwtCache;
+
+    BrokerChangeHandler(TrustRoot trustRoot, String signerId, VersionWatermark watermark,
+                        CapabilityVerifier capabilityVerifier, ConfigResolver configResolver,
+                        LivenessChecker livenessChecker, SessionIndex sessionIndex,
+                        JwtVerificationCache jwtCache) {
+        this.trustRoot = trustRoot;
+        this.signerId = signerId;
+        this.watermark = watermark;
+        this.capabilityVerifier = capabilityVerifier;
+        this.configResolver = configResolver;
+        this.livenessChecker = livenessChecker;
+        this.sessionIndex = sessionIndex;
+        this.jwtCache = jwtCache;
+    }
+
+    @Override
+    public void onChange(byte[] storageKey, byte[] envelopeBytes) {
+        EntryId entryId;
+        try {
+            entryId = EntryId.fromStorageKey(storageKey);
+        } catch (Exception e) {
+            return; // Broker metadata such as watermark checkpoints
+        }
+
+        invalidate(entryId);
+        if (envelopeBytes != null) {
+            applyVerified(entryId, envelopeBytes);
+        }
+    }
+
+    private void invalidate(EntryId entryId) {
+        switch (entryId.entryType()) {
+            case CAPABILITY -> {
+                capabilityVerifier.clearCache();
+                capabilityVerifier.invalidatePatternIndex(entryId.scope());
+                configResolver.clearCache();
+            }
+            case CONFIG -> {
+                if (entryId.scope().isGroup()) {
+                    configResolver.invalidateCache(entryId.scope());
+                } else {
+                    configResolver.clearCache();
+                }
+            }
+            case LIVENESS -> livenessChecker.invalidate(entryId);
+            case TRUST_REVOCATION -> jwtCache.clear();
+            default -> {
+            }
+        }
+    }
+
+    private void applyVerified(EntryId entryId, byte[] envelopeBytes) {
+        try {
+            // Zero-copy view first, so this node's own writes cost no signature check
+            EnvelopeView view = EnvelopeView.parse(envelopeBytes);
+            if (!view.entryId().equals(entryId)) {
+                return; // Stored under another entry's key
+            }
+            boolean own = signerId.equals(view.issuer());
+            boolean unindexed = entryId.entryType() == EntryType.LIVENESS
+                && !sessionIndex.isCurrent(entryId.scope(), entryId.key(), view.version());
+            if (own && !unindexed) {
+                return; // Published by this node, which already indexed it
+            }
+            Envelope envelope = signatureVerifier.parseAndVerify(envelopeBytes, trustRoot);
+            if (!own) {
+                watermark.acceptIfNewer(entryId, envelope.version);
+            }
+            if (unindexed) {
+                sessionIndex.apply(entryId.scope(), entryId.key(), envelope.version,
+                    LivenessPayload.decode(envelope.payload), System.currentTimeMillis());
+            }
+        } catch (Exception e) {
+            // Ignore entries that do not verify, as reconciliation does
+        }
+    }
+}
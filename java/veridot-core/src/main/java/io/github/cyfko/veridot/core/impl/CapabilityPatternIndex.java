@@ -0,0 +1,168 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Broker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-scope index of the CAPABILITY entries that carry a {@code subjectPattern} (§9.2.2).
+ *
+ * <p>Patterns are stored in a trie keyed by their literal part, so the candidates for a subject are
+ * found by walking the subject once, in O(len(subject)):
+ * <ul>
+ *   <li>{@code "exact"} sits at the node of {@code exact} and only matches there;</li>
+ *   <li>{@code "prefix*"} sits at the node of {@code prefix} and matches every subject passing it;</li>
+ *   <li>{@code "prefix:*"} is split into an exact match at {@code prefix} and a prefix match at
+ *       {@code prefix:};</li>
+ *   <li>{@code "*"} is a prefix match at the root.</li>
+ * </ul>
+ *
+ * <p>A scope's trie is built from a scan and replaced as a whole, either by reconciliation or when
+ * a lookup finds it older than {@code refreshMillis}. It is never mutated after it is published, so
+ * lookups take no lock. The index only narrows the search: callers re-read each candidate from the
+ * broker and check it before use.
+ */
+final class CapabilityPatternIndex {
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        final List<String> exactKeys = new ArrayList<>(1);
+        final List<String> prefixKeys = new ArrayList<>(1);
+    }
+
+    private record Trie(Node root, long builtAt) {}
+
+    private final ConcurrentHashMap<Scope, Trie> tries = new ConcurrentHashMap<>();
+    private final long refreshMillis;
+
+    CapabilityPatternIndex(long refreshMillis) {
+        this.refreshMillis = refreshMillis;
+    }
+
+    /**
+     * @return whether the scope has an index built less than {@code refreshMillis} ago
+     */
+    boolean isFresh(Scope scope, long nowMillis) {
+        Trie trie = tries.get(scope);
+        return trie != null && nowMillis - trie.builtAt < refreshMillis;
+    }
+
+    /**
+     * Replaces the scope's index with the pattern capabilities found in {@code entries}.
+     */
+    void rebuild(Scope scope, List<Broker.BrokerEntry> entries, long nowMillis) {
+        Builder builder = builder(scope);
+        if (entries != null) {
+            entries.forEach(builder::add);
+        }
+        builder.publish(nowMillis);
+    }
+
+    /**
+     * Starts a rebuild of the scope's index that is fed one entry at a time, e.g. from a
+     * {@link Broker.EntryCursor}. The current index stays in use until {@link Builder#publish}.
+     */
+    Builder builder(Scope scope) {
+        return new Builder(scope);
+    }
+
+    /**
+     * Trie under construction for one scope. Not thread-safe.
+     */
+    final class Builder {
+        private final Scope scope;
+        private final Node root = new Node();
+
+        private Builder(Scope scope) {
+            this.scope = scope;
+        }
+
+        /**
+         * Indexes {@code entry} if it is a CAPABILITY with a {@code subjectPattern}; other entries
+         * are ignored.
+         */
+        void add(Broker.BrokerEntry entry) {
+            try {
+                EnvelopeView view = EnvelopeView.parse(entry.envelopeBytes());
+                if (view.entryType() != EntryType.CAPABILITY) {
+                    return;
+                }
+                String pattern = CapabilityPayload.decode(view.payloadBytes()).subjectPattern();
+                if (pattern != null) {
+                    insert(root, pattern, view.key());
+                }
+            } catch (Exception ignored) {
+                // Skip malformed entries
+            }
+        }
+
+        /**
+         * Replaces the scope's index with the entries added so far.
+         */
+        void publish(long nowMillis) {
+            tries.put(scope, new Trie(root, nowMillis));
+        }
+    }
+
+    /**
+     * Drops the scope's index, so the next lookup rebuilds it.
+     */
+    void invalidate(Scope scope) {
+        tries.remove(scope);
+    }
+
+    /**
+     * @return the keys of the CAPABILITY entries whose pattern may match {@code subject}, most specific
+     *         (longest literal part) first
+     */
+    List<String> candidates(Scope scope, String subject) {
+        Trie trie = tries.get(scope);
+        if (trie == null) {
+            return List.of();
+        }
+        List<Node> path = new ArrayList<>();
+        Node node = trie.root;
+        path.add(node);
+        for (int i = 0; i < subject.length() && node != null; i++) {
+            node = node.children.get(subject.charAt(i));
+            if (node != null) {
+                path.add(node);
+            }
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        if (node != null) {
+            keys.addAll(node.exactKeys); // the walk consumed the whole subject
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            keys.addAll(path.get(i).prefixKeys);
+        }
+        return new ArrayList<>(keys);
+    }
+
+    private static void insert(Node root, String pattern, String key) {
+        if (pattern.endsWith(":*")) {
+            String prefix = pattern.substring(0, pattern.length() - 2);
+            node(root, prefix).exactKeys.add(key);
+            node(root, prefix + ":").prefixKeys.add(key);
+        } else if (pattern.endsWith("*")) {
+            node(root, pattern.substring(0, pattern.length() - 1)).prefixKeys.add(key);
+        } else {
+            node(root, pattern).exactKeys.add(key);
+        }
+    }
+
+    private static Node node(Node root, String literal) {
+        Node node = root;
+        for (int i = 0; i < literal.length(); i++) {
+            node = node.children.computeIfAbsent(literal.charAt(i), c -> new Node());
+        }
+        return node;
+    }
+}
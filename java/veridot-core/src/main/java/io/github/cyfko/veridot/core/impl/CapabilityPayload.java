@@ -3,7 +3,6 @@ package io.github.cyfko.veridot.core.impl;
 import io.github.cyfko.veridot.core.exceptions.VeridotException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Payload of a CAPABILITY entry (§4.3, §9).
@@ -32,10 +31,10 @@ record CapabilityPayload(
     }
 
     public static CapabilityPayload decode(byte[] tlvBytes) {
-        Map<Byte, byte[]> fields = TlvCodec.parse(tlvBytes);
+        TlvReader fields = TlvReader.parse(tlvBytes);
 
-        boolean hasSubjectSid = fields.containsKey(Tag.SUBJECT_SID.code);
-        boolean hasSubjectPattern = fields.containsKey(Tag.SUBJECT_PATTERN.code);
+        boolean hasSubjectSid = fields.has(Tag.SUBJECT_SID.code);
+        boolean hasSubjectPattern = fields.has(Tag.SUBJECT_PATTERN.code);
 
         // XOR invariant: exactly one of subjectSid (0x01) or subjectPattern (0x05) MUST be present
         if (hasSubjectSid == hasSubjectPattern) {
@@ -45,12 +44,12 @@ record CapabilityPayload(
         }
 
         String subjectSid = hasSubjectSid
-            ? TlvCodec.readString(fields, Tag.SUBJECT_SID.code, true) : null;
-        List<String> scopePatterns = TlvCodec.readStringList(fields, Tag.SCOPE_PATTERNS.code, true);
-        byte maxDelegationDepth = TlvCodec.readU8(fields, Tag.MAX_DELEGATION_DEPTH.code, true);
-        long validUntil = TlvCodec.readI64(fields, Tag.VALID_UNTIL.code, true);
+            ? fields.readString(Tag.SUBJECT_SID.code, true) : null;
+        List<String> scopePatterns = fields.readStringList(Tag.SCOPE_PATTERNS.code, true);
+        byte maxDelegationDepth = fields.readU8(Tag.MAX_DELEGATION_DEPTH.code, true);
+        long validUntil = fields.readI64(Tag.VALID_UNTIL.code, true);
         String subjectPattern = hasSubjectPattern
-            ? TlvCodec.readString(fields, Tag.SUBJECT_PATTERN.code, true) : null;
+            ? fields.readString(Tag.SUBJECT_PATTERN.code, true) : null;
 
         return new CapabilityPayload(subjectSid, scopePatterns, maxDelegationDepth, validUntil, subjectPattern);
     }
@@ -5,7 +5,6 @@ import io.github.cyfko.veridot.core.TrustRoot;
 import io.github.cyfko.veridot.core.TrustIdentity;
 import io.github.cyfko.veridot.core.exceptions.VeridotException;
 
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -15,6 +14,8 @@ import java.util.concurrent.ConcurrentHashMap;
 final class CapabilityVerifier {
 
     private final SignatureVerifier signatureVerifier = new SignatureVerifier();
+    private final CapabilityPatternIndex patternIndex =
+        new CapabilityPatternIndex(Config.CAPABILITY_PATTERN_INDEX_REFRESH_SECONDS * 1000L);
 
     // Cache to prevent redundant resolution within short periods
     private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
@@ -58,6 +59,15 @@ final class CapabilityVerifier {
         }
     }
 
+    /**
+     * Whether an unexpired verdict for {@code issuer} in {@code scope} is cached, in which case
+     * {@link #assertAuthorized(String, Scope, Broker, TrustRoot)} reads nothing from the broker.
+     */
+    boolean isCached(String issuer, Scope scope) {
+        CacheEntry entry = cache.get(issuer + "\0" + scope.value() + "\0");
+        return entry != null && System.currentTimeMillis() < entry.expiresAt;
+    }
+
     private ChainResult checkCapabilityChain(String subject, Scope targetScope, String siteId, int currentDepth, 
                                              Broker broker, TrustRoot trustRoot, long now) {
         if (currentDepth > 10) {
@@ -77,30 +87,10 @@ final class CapabilityVerifier {
         }
 
         // V5 §9.2.2: Pattern-based CAPABILITY lookup
-        // If exact subject lookup missed, scan entries in this scope for a
-        // CAPABILITY whose subjectPattern (tag 0x05) matches the subject.
+        // If exact subject lookup missed, look for a CAPABILITY in this scope
+        // whose subjectPattern (tag 0x05) matches the subject.
         if (capBytes == null) {
-            try {
-                List<Broker.BrokerEntry> candidates = broker.snapshot(targetScope);
-                if (candidates != null) {
-                    for (Broker.BrokerEntry candidate : candidates) {
-                        try {
-                            Envelope candEnvelope = Envelope.parse(candidate.envelopeBytes());
-                            if (candEnvelope.entryType != EntryType.CAPABILITY) continue;
-                            CapabilityPayload candPayload = CapabilityPayload.decode(candEnvelope.payload);
-                            if (candPayload.subjectPattern() != null
-                                && PatternMatcher.matches(candPayload.subjectPattern(), subject)) {
-                                capBytes = candidate.envelopeBytes();
-                                break;
-                            }
-                        } catch (Exception ignored) {
-                            // Skip malformed entries
-                        }
-                    }
-                }
-            } catch (Exception ignored) {
-                // Snapshot unavailable — continue with scope hierarchy
-            }
+            capBytes = findByPattern(subject, targetScope, broker, now);
         }
 
         if (capBytes == null && targetScope.isGroup()) {
@@ -141,7 +131,11 @@ final class CapabilityVerifier {
         }
 
         // Step 3: Validate capability entry envelope
-        Envelope capEnvelope = Envelope.parse(capBytes);
+        Envelope capEnvelope = signatureVerifier.memoized(capBytes, trustRoot);
+        boolean signatureVerified = capEnvelope != null;
+        if (capEnvelope == null) {
+            capEnvelope = Envelope.parse(capBytes);
+        }
         // CRITICAL SECURITY HARDENING (V4201): Protocol V4 §11.1 explicitly dictates that version 0
         // is unconditionally invalid to prevent initial-state replay/rollback attacks (where watermark is 0
         // and 0 < 0 is false, allowing version 0 to pass relative monotone checks).
@@ -149,7 +143,9 @@ final class CapabilityVerifier {
             throw new VeridotException(ErrorCode.VERSION_REJECTED, targetEntryId.loggable(),
                 "Entry version 0 is unconditionally rejected (§11.1 V4201)");
         }
-        signatureVerifier.verify(capEnvelope, trustRoot);
+        if (!signatureVerified) {
+            signatureVerifier.verifyAndRemember(capBytes, capEnvelope, trustRoot);
+        }
 
         // Step 4: Validate capability payload
         CapabilityPayload capPayload = CapabilityPayload.decode(capEnvelope.payload);
@@ -177,6 +173,56 @@ final class CapabilityVerifier {
         return new ChainResult(totalDepth, minValidUntil);
     }
 
+    /**
+     * Finds a CAPABILITY entry of {@code scope} whose subjectPattern matches {@code subject}, through
+     * the pattern index. The index is rebuilt from a scan when it is missing or stale.
+     *
+     * @return the envelope bytes of the most specific match, or {@code null}
+     */
+    private byte[] findByPattern(String subject, Scope scope, Broker broker, long now) {
+        if (!patternIndex.isFresh(scope, now)) {
+            try (Broker.EntryCursor cursor = broker.scan(scope, EntryType.CAPABILITY)) {
+                CapabilityPatternIndex.Builder builder = patternIndex.builder(scope);
+                cursor.forEachRemaining(builder::add);
+                builder.publish(now);
+            } catch (Exception ignored) {
+                // Snapshot unavailable — continue with scope hierarchy
+                return null;
+            }
+        }
+        for (String key : patternIndex.candidates(scope, subject)) {
+            try {
+                byte[] bytes = broker.get(new EntryId(scope, EntryType.CAPABILITY, key).storageKey());
+                if (bytes == null) {
+                    continue; // removed since the index was built
+                }
+                CapabilityPayload payload = CapabilityPayload.decode(EnvelopeView.parse(bytes).payloadBytes());
+                if (payload.subjectPattern() != null && PatternMatcher.matches(payload.subjectPattern(), subject)) {
+                    return bytes;
+                }
+            } catch (Exception ignored) {
+                // Skip malformed entries
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Starts a rebuild of the pattern index of {@code scope}, to be fed the entries of a fresh scan and
+     * published once the scan completes.
+     */
+    CapabilityPatternIndex.Builder patternIndexBuilder(Scope scope) {
+        return patternIndex.builder(scope);
+    }
+
+    /**
+     * Drops the pattern index of {@code scope}, e.g. when a CAPABILITY of the scope changed on another
+     * node, so the next pattern lookup rescans it.
+     */
+    void invalidatePatternIndex(Scope scope) {
+        patternIndex.invalidate(scope);
+    }
+
     public void invalidateAuthorization(String issuer, Scope scope) {
         if (issuer == null || scope == null) return;
         String prefix = issuer + "\0" + scope.value() + "\0";
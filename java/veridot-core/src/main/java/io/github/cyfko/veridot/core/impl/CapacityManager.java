@@ -2,126 +2,170 @@ package io.github.cyfko.veridot.core.impl;
 
 import io.github.cyfko.veridot.core.Broker;
 import io.github.cyfko.veridot.core.TrustRoot;
+import io.github.cyfko.veridot.core.VeridotMetrics;
 import io.github.cyfko.veridot.core.exceptions.SessionCapacityExceededException;
 import io.github.cyfko.veridot.core.exceptions.VeridotException;
 
 import io.github.cyfko.veridot.core.Algorithm;
 import java.security.PrivateKey;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Orchestrates session capacity management and Eviction/Fencing (§10.2).
  *
  * <p>V5: no longer references KEY_EPOCH. Session validity is determined solely
  * by LIVENESS entries.
+ *
+ * <p>A FENCE grant is reused for the consecutive capacity decisions of a group during
+ * {@link Config#FENCE_LEASE_SECONDS}; the broker check in {@link FenceManager#assertFenceValid}
+ * still detects a grant superseded by another processor, which drops the lease and acquires a new
+ * one. A group whose indexed count is clearly below {@code max} skips fencing altogether (see
+ * {@link #hasHeadroom}), but only while the broker change feed keeps the index current with other
+ * nodes' sessions: a local-only index would let every node fill the group on its own.
  */
 final class CapacityManager {
 
     private final FenceManager fenceManager = new FenceManager();
     private final SessionCounter sessionCounter = new SessionCounter();
     private final EvictionSelector evictionSelector = new EvictionSelector();
+    private final SessionIndex sessionIndex;
+    private final ConcurrentHashMap<Scope, FenceManager.FenceGrant> leases = new ConcurrentHashMap<>();
+
+    CapacityManager(SessionIndex sessionIndex) {
+        this.sessionIndex = sessionIndex;
+    }
 
     public void enforceCapacity(Scope groupScope, ConfigPayload config,
                                  String processorId, Broker broker, TrustRoot trustRoot,
                                  EntryPublisher publisher, VersionWatermark watermark,
                                  LivenessChecker livenessChecker, PrivateKey signingKey,
                                  Algorithm sigAlg, String issuerId) {
+        int granted = reserveCapacity(groupScope, config, 1, processorId, broker, trustRoot, publisher,
+            watermark, livenessChecker, signingKey, sigAlg, issuerId);
+        if (granted == 0) {
+            throw new SessionCapacityExceededException(groupScope.groupId(), config.max().getAsInt());
+        }
+    }
+
+    /**
+     * Makes room for {@code requested} new sessions under a single FENCE grant and snapshot.
+     *
+     * <p>Under REJECT only the free slots are granted. Under an eviction policy enough sessions are
+     * revoked to fit the request, but never more than {@code max} new sessions are granted.
+     *
+     * @return the number of new sessions that may be published, at most {@code requested}
+     */
+    public int reserveCapacity(Scope groupScope, ConfigPayload config, int requested,
+                               String processorId, Broker broker, TrustRoot trustRoot,
+                               EntryPublisher publisher, VersionWatermark watermark,
+                               LivenessChecker livenessChecker, PrivateKey signingKey,
+                               Algorithm sigAlg, String issuerId) {
         if (groupScope == null) {
             throw new IllegalArgumentException("groupScope cannot be null");
         }
         if (config == null) {
-            return; // no config, treat as unbounded
+            return requested; // no config, treat as unbounded
         }
         if (!config.max().isPresent()) {
-            return; // unbounded
+            return requested; // unbounded
         }
 
         int max = config.max().getAsInt();
         int maxRetries = 3;
         long backoff = 50; // ms
 
+        // 0. Fast path: a fresh index fed by the broker, with headroom beyond the margin, needs no FENCE grant
+        long start = System.currentTimeMillis();
+        if (sessionIndex.followsBroker() && !sessionIndex.needsRebuild(groupScope, -1, start)) {
+            expireIndexed(groupScope, broker, trustRoot, watermark, livenessChecker, start);
+            if (hasHeadroom(sessionIndex.size(groupScope), requested, max)) {
+                VeridotMetrics.CAPACITY_FAST_PATHS.increment();
+                return requested;
+            }
+        }
+
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            FenceManager.FenceGrant grant = null;
             try {
                 long now = System.currentTimeMillis();
 
-                // 1. Acquire FENCE grant (§10.2)
-                long fenceValidUntil = now + Config.MAX_CLOCK_DRIFT_SECONDS * 1000L;
-                FenceManager.FenceGrant grant;
-                try {
-                    grant = fenceManager.acquire(groupScope, processorId, fenceValidUntil, publisher, broker, trustRoot, watermark, signingKey, sigAlg, issuerId);
-                } catch (VeridotException e) {
-                    throw e;
-                } catch (Exception e) {
-                    throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Failed to acquire FENCE grant", e);
-                }
-
-                // 2. Fetch snapshot
-                List<Broker.BrokerEntry> entries;
-                try {
-                    entries = broker.snapshot(groupScope);
-                } catch (Exception e) {
-                    entries = null;
-                }
-
-                // Assert FENCE is still valid after reading snapshot
-                fenceManager.assertFenceValid(groupScope, grant.fenceCounter(), broker, trustRoot, watermark);
-
-                // V5: Garbage collect expired LIVENESS entries (no more KEY_EPOCH GC)
-                if (entries != null) {
-                    for (Broker.BrokerEntry entry : entries) {
-                        try {
-                            Envelope envelope = Envelope.parse(entry.envelopeBytes());
-                            if (envelope.entryType == EntryType.LIVENESS) {
-                                LivenessPayload livenessPayload = LivenessPayload.decode(envelope.payload);
-                                if (!livenessPayload.isActive() || !livenessPayload.isFresh(now)) {
-                                    // Expired or revoked — publish tombstone
-                                    LivenessPayload revokedPayload = new LivenessPayload(LivenessPayload.REVOKED, now, now);
-                                    publisher.publish(EntryType.LIVENESS, groupScope, envelope.key,
-                                        envelope.version + 1, revokedPayload.encode(),
-                                        signingKey, sigAlg, issuerId, broker).join();
-                                }
-                            }
-                        } catch (Exception ignored) {
-                        }
+                // 1. Reuse the lease on this group's FENCE, or acquire a new grant (§10.2)
+                FenceManager.FenceGrant lease = leases.get(groupScope);
+                if (lease != null && now < lease.validUntil() - Config.MAX_CLOCK_DRIFT_SECONDS * 1000L) {
+                    grant = lease;
+                    VeridotMetrics.FENCE_LEASE_REUSES.increment();
+                } else {
+                    long fenceValidUntil = now + (Config.FENCE_LEASE_SECONDS + Config.MAX_CLOCK_DRIFT_SECONDS) * 1000L;
+                    try {
+                        grant = fenceManager.acquire(groupScope, processorId, fenceValidUntil, publisher, broker, trustRoot, watermark, signingKey, sigAlg, issuerId);
+                    } catch (VeridotException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Failed to acquire FENCE grant", e);
                     }
+                    leases.put(groupScope, grant);
                 }
 
-                // 3. Count active sessions
-                List<SessionCounter.SessionInfo> active = sessionCounter.listActive(groupScope, broker, trustRoot, watermark, livenessChecker, now);
+                // 2. Bring the session index up to date (§10.1): rebuild it from a verified snapshot when
+                //    it is due for repair or another processor held the FENCE since our last grant,
+                //    otherwise only re-check the sessions that reached their validUntil. Dead entries are
+                //    left to the EntryCompactor.
+                if (sessionIndex.needsRebuild(groupScope, grant.fenceCounter(), now)) {
+                    // 3. Count active sessions
+                    List<SessionCounter.SessionInfo> active = sessionCounter.listActive(groupScope, broker, trustRoot, watermark, livenessChecker, now);
+                    fenceManager.assertFenceValid(groupScope, grant.fenceCounter(), broker, trustRoot, watermark);
+                    sessionIndex.rebuild(groupScope, active, grant.fenceCounter(), now);
+                } else {
+                    expireIndexed(groupScope, broker, trustRoot, watermark, livenessChecker, now);
+                    fenceManager.assertFenceValid(groupScope, grant.fenceCounter(), broker, trustRoot, watermark);
+                    sessionIndex.fenced(groupScope, grant.fenceCounter());
+                }
 
                 // 4. Evaluate capacity and eviction (§10.2)
-                if (active.size() >= max) {
-                    if (config.pol() == 0x04) { // REJECT
-                        throw new SessionCapacityExceededException(groupScope.groupId(), max);
-                    }
-
-                    // Evict a session
-                    SessionCounter.SessionInfo victim = evictionSelector.select(config.pol(), active);
-                    if (victim != null) {
-                        EntryId victimLiveId = new EntryId(groupScope, EntryType.LIVENESS, victim.sessionKey());
-                        long nextVersion = Math.max(watermark.current(victimLiveId) + 1, victim.lastVersion() + 1);
-
-                        LivenessPayload revokedPayload = new LivenessPayload(LivenessPayload.REVOKED, now, now);
-                        byte[] payloadBytes = revokedPayload.encode();
+                int available = Math.max(max - sessionIndex.size(groupScope), 0);
+                if (available >= requested) {
+                    return requested;
+                }
+                if (config.pol() == 0x04) { // REJECT
+                    return available;
+                }
 
-                        // Assert FENCE is still valid right before performing mutations
-                        fenceManager.assertFenceValid(groupScope, grant.fenceCounter(), broker, trustRoot, watermark);
+                // Evict sessions (a zero max still admits one session, replacing the previous one)
+                int granted = Math.min(requested, Math.max(max, 1));
+                List<SessionCounter.SessionInfo> victims = evictionSelector.select(config.pol(), sessionIndex, groupScope, granted - available);
+                byte[] payloadBytes = new LivenessPayload(LivenessPayload.REVOKED, now, now).encode();
+                List<EntryPublisher.Pending> revocations = new ArrayList<>(victims.size());
+                for (SessionCounter.SessionInfo victim : victims) {
+                    EntryId victimLiveId = new EntryId(groupScope, EntryType.LIVENESS, victim.sessionKey());
+                    long nextVersion = Math.max(watermark.current(victimLiveId) + 1, victim.lastVersion() + 1);
+                    revocations.add(new EntryPublisher.Pending(EntryType.LIVENESS, groupScope, victim.sessionKey(), nextVersion, payloadBytes));
+                }
 
-                        // Publish revocation (V5: no KEY_EPOCH deletion)
-                        try {
-                            publisher.publish(EntryType.LIVENESS, groupScope, victim.sessionKey(), nextVersion, payloadBytes, signingKey, sigAlg, issuerId, broker)
-                                     .join();
-                        } catch (Exception e) {
-                            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, victimLiveId.loggable(), "Failed to publish session revocation", e);
-                        }
+                if (!revocations.isEmpty()) {
+                    // Assert FENCE is still valid right before performing mutations
+                    fenceManager.assertFenceValid(groupScope, grant.fenceCounter(), broker, trustRoot, watermark);
 
-                        watermark.accept(victimLiveId, nextVersion);
+                    // Publish revocations (V5: no KEY_EPOCH deletion) as one batch, awaited once
+                    try {
+                        publisher.publishAll(revocations, signingKey, sigAlg, issuerId, broker).join();
+                    } catch (Exception e) {
+                        throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, groupScope.value(), "Failed to publish " + revocations.size() + " session revocations", e);
+                    }
+                    for (EntryPublisher.Pending revoked : revocations) {
+                        watermark.accept(new EntryId(groupScope, EntryType.LIVENESS, revoked.key()), revoked.version());
                     }
                 }
-
-                break;
+                return granted;
 
             } catch (VeridotException e) {
+                if (e.getErrorCode() == ErrorCode.FENCE_SUPERSEDED) {
+                    VeridotMetrics.FENCE_CONTENTIONS.increment();
+                    if (grant != null) {
+                        leases.remove(groupScope, grant);
+                    }
+                }
                 if (e.getErrorCode() == ErrorCode.FENCE_SUPERSEDED && attempt < maxRetries) {
                     try {
                         Thread.sleep(backoff * attempt);
@@ -134,5 +178,26 @@ final class CapacityManager {
                 throw e;
             }
         }
+        throw new IllegalStateException("unreachable");
+    }
+
+    /**
+     * Whether {@code requested} sessions fit below {@code max} with room to spare for sessions granted
+     * but not yet indexed, on this node or on others whose writes the change feed has yet to deliver.
+     * The margin is {@link Config#CAPACITY_FAST_PATH_MARGIN_PERCENT} of {@code max}, and at least one
+     * session.
+     */
+    static boolean hasHeadroom(int active, int requested, int max) {
+        long margin = Math.max((max * Config.CAPACITY_FAST_PATH_MARGIN_PERCENT + 99) / 100, 1);
+        return active + requested + margin <= max;
+    }
+
+    /**
+     * Retires the indexed sessions that reached their validUntil.
+     */
+    private void expireIndexed(Scope groupScope, Broker broker, TrustRoot trustRoot,
+                               VersionWatermark watermark, LivenessChecker livenessChecker, long now) {
+        sessionIndex.expire(groupScope, now, key ->
+            sessionCounter.reload(new EntryId(groupScope, EntryType.LIVENESS, key), broker, trustRoot, watermark, livenessChecker, now));
     }
 }
@@ -0,0 +1,71 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Broker;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+/**
+ * Listener registry for brokers implementing {@link Broker#watch(Scope, Broker.ChangeListener)}.
+ *
+ * <p>A broker registers each watch here and calls {@link #publish} for every change it applies. A
+ * listener only receives the keys of its scope, i.e. those starting with {@code scope ‖ 0x00}. An
+ * exception thrown by one listener is logged and does not reach the others or the broker.
+ */
+public final class ChangeFeed {
+    private static final Logger logger = Logger.getLogger(ChangeFeed.class.getName());
+
+    private record Watch(byte[] prefix, Broker.ChangeListener listener) {}
+
+    private final CopyOnWriteArrayList<Watch> watches = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param scope the scope to watch, or {@code null} for every scope
+     * @param listener the listener to notify
+     * @return the subscription removing the listener
+     */
+    public Broker.Subscription register(Scope scope, Broker.ChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        byte[] prefix = new byte[0];
+        if (scope != null) {
+            byte[] scopeBytes = scope.value().getBytes(StandardCharsets.UTF_8);
+            prefix = Arrays.copyOf(scopeBytes, scopeBytes.length + 1); // Separator NUL byte
+        }
+        Watch watch = new Watch(prefix, listener);
+        watches.add(watch);
+        return () -> watches.remove(watch);
+    }
+
+    /**
+     * @return whether no listener is registered, in which case changes need not be collected
+     */
+    public boolean isEmpty() {
+        return watches.isEmpty();
+    }
+
+    /**
+     * Notifies the listeners watching {@code storageKey}.
+     *
+     * @param storageKey the storage key of the changed entry
+     * @param envelopeBytes the stored envelope bytes, or {@code null} or empty for a deletion
+     */
+    public void publish(byte[] storageKey, byte[] envelopeBytes) {
+        byte[] value = envelopeBytes != null && envelopeBytes.length > 0 ? envelopeBytes : null;
+        for (Watch watch : watches) {
+            byte[] prefix = watch.prefix;
+            if (storageKey.length < prefix.length
+                    || !Arrays.equals(storageKey, 0, prefix.length, prefix, 0, prefix.length)) {
+                continue;
+            }
+            try {
+                watch.listener.onChange(storageKey, value);
+            } catch (RuntimeException e) {
+                logger.warning("Change listener failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package io.github.cyfko.veridot.core.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.github.cyfko.veridot.core.exceptions.BrokerExtractionException;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Allocation-light decoder for the compact JWS tokens produced by {@link JwtMaker} (§8.2).
+ *
+ * <p>Only Veridot's fixed header ({@code alg}, {@code typ}, {@code kid}) and claim set
+ * ({@code sub}, {@code iat}, {@code exp}, {@code data}) are extracted; any other member is skipped.
+ * Segment boundaries are located by index, Base64url is decoded into two buffers sized to the token,
+ * and JSON is read with a streaming parser instead of building a tree.
+ * The signing input ({@code header.payload}) is exposed as a byte range of the token itself.
+ *
+ * <p>Each {@link #decode(String)} returns a new instance, so a decoded token stays intact while
+ * the verify path calls into the trust root and the broker, which may decode other tokens.
+ */
+final class CompactJws {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final byte[] BASE64URL = new byte[128];
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final byte[] ascii;
+    private final byte[] decoded;
+
+    private int signingInputLength;
+    private int signatureOffset;
+    private int signatureLength;
+
+    private String alg;
+    private String typ;
+    private String kid;
+    private String sub;
+    private String data;
+    private long iat;
+    private long exp;
+    private boolean hasIat;
+    private boolean hasExp;
+
+    private CompactJws(int length) {
+        this.ascii = new byte[length];
+        this.decoded = new byte[(length / 4 + 1) * 3];
+    }
+
+    /**
+     * Decodes a compact JWS into a new instance.
+     *
+     * @throws BrokerExtractionException if the token is not a well-formed three-segment JWS
+     */
+    static CompactJws decode(String token) {
+        if (token == null) {
+            throw new BrokerExtractionException("Malformed JWT: null token");
+        }
+        CompactJws jws = new CompactJws(token.length());
+        jws.read(token);
+        return jws;
+    }
+
+    private void read(String token) {
+        int n = token.length();
+        int dot1 = token.indexOf('.');
+        int dot2 = dot1 < 0 ? -1 : token.indexOf('.', dot1 + 1);
+        if (dot2 < 0 || token.indexOf('.', dot2 + 1) >= 0) {
+            throw new BrokerExtractionException("Malformed JWT: expected 3 parts");
+        }
+
+        for (int i = 0; i < n; i++) {
+            char c = token.charAt(i);
+            if (c >= 128) {
+                throw new BrokerExtractionException("Malformed JWT: non-ASCII character");
+            }
+            ascii[i] = (byte) c;
+        }
+
+        int headerLength = decodeSegment(0, dot1, 0);
+        int payloadLength = decodeSegment(dot1 + 1, dot2, headerLength);
+        signatureOffset = headerLength + payloadLength;
+        signatureLength = decodeSegment(dot2 + 1, n, signatureOffset);
+        signingInputLength = dot2;
+
+        try {
+            readHeader(0, headerLength);
+            readClaims(headerLength, payloadLength);
+        } catch (IOException e) {
+            throw new BrokerExtractionException("Malformed JWT: invalid JSON", e);
+        }
+    }
+
+    /**
+     * Decodes the Base64url segment {@code ascii[from, to)} into {@code decoded} at {@code out}.
+     *
+     * @return the number of decoded bytes
+     */
+    private int decodeSegment(int from, int to, int out) {
+        while (to > from && ascii[to - 1] == '=') {
+            to--;
+        }
+        int len = to - from;
+        if (len % 4 == 1) {
+            throw new BrokerExtractionException("Malformed JWT: invalid Base64url length");
+        }
+        int start = out;
+        int bits = 0;
+        int acc = 0;
+        for (int i = from; i < to; i++) {
+            int v = BASE64URL[ascii[i]];
+            if (v < 0) {
+                throw new BrokerExtractionException("Malformed JWT: invalid Base64url character");
+            }
+            acc = (acc << 6) | v;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                decoded[out++] = (byte) (acc >> bits);
+            }
+        }
+        return out - start;
+    }
+
+    private void readHeader(int offset, int length) throws IOException {
+        try (JsonParser p = JSON.createParser(decoded, offset, length)) {
+            expectObject(p);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                JsonToken value = p.nextToken();
+                switch (name) {
+                    case "alg" -> alg = textOf(p, value);
+                    case "typ" -> typ = textOf(p, value);
+                    case "kid" -> kid = textOf(p, value);
+                    default -> p.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readClaims(int offset, int length) throws IOException {
+        try (JsonParser p = JSON.createParser(decoded, offset, length)) {
+            expectObject(p);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                JsonToken value = p.nextToken();
+                switch (name) {
+                    case "sub" -> sub = textOf(p, value);
+                    case "data" -> data = textOf(p, value);
+                    case "iat" -> {
+                        iat = longOf(p, value, "iat");
+                        hasIat = true;
+                    }
+                    case "exp" -> {
+                        exp = longOf(p, value, "exp");
+                        hasExp = true;
+                    }
+                    default -> p.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static void expectObject(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            throw new BrokerExtractionException("Malformed JWT: segment is not a JSON object");
+        }
+    }
+
+    private static String textOf(JsonParser p, JsonToken value) throws IOException {
+        if (value.isStructStart()) {
+            p.skipChildren();
+            return "";
+        }
+        return value == JsonToken.VALUE_NULL ? "null" : p.getText();
+    }
+
+    private static long longOf(JsonParser p, JsonToken value, String claim) throws IOException {
+        if (value.isNumeric()) {
+            return p.getValueAsLong();
+        }
+        throw new BrokerExtractionException("Malformed JWT: '" + claim + "' claim is not numeric");
+    }
+
+    String alg() { return alg; }
+
+    String typ() { return typ; }
+
+    String kid() { return kid; }
+
+    String sub() { return sub; }
+
+    String data() { return data; }
+
+    boolean hasIat() { return hasIat; }
+
+    long iat() { return iat; }
+
+    boolean hasExp() { return hasExp; }
+
+    long exp() { return exp; }
+
+    /** Buffer holding the signing input ({@code header.payload}) at {@code [0, signingInputLength())}. */
+    byte[] signingInput() { return ascii; }
+
+    int signingInputLength() { return signingInputLength; }
+
+    /** Buffer holding the raw signature at {@code [signatureOffset(), signatureOffset() + signatureLength())}. */
+    byte[] signature() { return decoded; }
+
+    int signatureOffset() { return signatureOffset; }
+
+    int signatureLength() { return signatureLength; }
+}
@@ -19,6 +19,27 @@ abstract class ConstantDefault {
     static final long TAAS_DIGEST_INTERVAL_SECONDS = 3600;
     static final int  DIGEST_TOLERANCE = 2;
     static final long FENCE_ANCHOR_MAX_AGE_SECONDS = 600;
+    static final long JWT_CACHE_MAX_ENTRIES = 10_000;
+    static final long JWT_CACHE_TTL_SECONDS = 60;
+    static final long JWT_CACHE_NEGATIVE_TTL_SECONDS = 5;
+    static final long ENVELOPE_MEMO_MAX_ENTRIES = 50_000;
+    static final long WATERMARK_FLUSH_INTERVAL_MILLIS = 200;
+    static final long WATERMARK_FLUSH_BYTES = 64 * 1024;
+    static final long WATERMARK_COMPACTION_INTERVAL_SECONDS = 300;
+    static final long VERIFY_BATCH_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    static final long RENEWAL_TICK_MILLIS = 100;
+    static final long RENEWAL_TICK_BUDGET = 2000;
+    static final long SESSION_INDEX_REPAIR_SECONDS = 60;
+    static final long CAPACITY_FAST_PATH_MARGIN_PERCENT = 25;
+    static final long FENCE_LEASE_SECONDS = 30;
+    static final long COMPACTION_INTERVAL_SECONDS = 60;
+    static final long COMPACTION_GRACE_SECONDS = 3600;
+    static final long COMPACTION_BATCH_SIZE = 500;
+    static final long CAPABILITY_PATTERN_INDEX_REFRESH_SECONDS = 30;
+    static final long LIVENESS_CACHE_MAX_ENTRIES = 100_000;
+    static final long LIVENESS_CACHE_MAX_STALENESS_MILLIS = 1000;
+    static final long INSTANCE_HEARTBEAT_LEASE_SECONDS = 0;
+    static final long WATERMARK_RETENTION_SECONDS = 7 * 86_400;
 }
 
 /// Defines environment variable names.
@@ -37,6 +58,27 @@ abstract class Env {
     static final String TAAS_DIGEST_INTERVAL = "VDOT_TAAS_DIGEST_INTERVAL";
     static final String DIGEST_TOLERANCE = "VDOT_DIGEST_TOLERANCE";
     static final String FENCE_ANCHOR_MAX_AGE = "VDOT_FENCE_ANCHOR_MAX_AGE";
+    static final String JWT_CACHE_MAX_ENTRIES = "VDOT_JWT_CACHE_MAX_ENTRIES";
+    static final String JWT_CACHE_TTL_SECONDS = "VDOT_JWT_CACHE_TTL_SECONDS";
+    static final String JWT_CACHE_NEGATIVE_TTL_SECONDS = "VDOT_JWT_CACHE_NEGATIVE_TTL_SECONDS";
+    static final String ENVELOPE_MEMO_MAX_ENTRIES = "VDOT_ENVELOPE_MEMO_MAX_ENTRIES";
+    static final String WATERMARK_FLUSH_INTERVAL_MILLIS = "VDOT_WATERMARK_FLUSH_INTERVAL_MILLIS";
+    static final String WATERMARK_FLUSH_BYTES = "VDOT_WATERMARK_FLUSH_BYTES";
+    static final String WATERMARK_COMPACTION_INTERVAL_SECONDS = "VDOT_WATERMARK_COMPACTION_INTERVAL_SECONDS";
+    static final String VERIFY_BATCH_PARALLELISM = "VDOT_VERIFY_BATCH_PARALLELISM";
+    static final String RENEWAL_TICK_MILLIS = "VDOT_RENEWAL_TICK_MILLIS";
+    static final String RENEWAL_TICK_BUDGET = "VDOT_RENEWAL_TICK_BUDGET";
+    static final String SESSION_INDEX_REPAIR_SECONDS = "VDOT_SESSION_INDEX_REPAIR_SECONDS";
+    static final String CAPACITY_FAST_PATH_MARGIN_PERCENT = "VDOT_CAPACITY_FAST_PATH_MARGIN_PERCENT";
+    static final String FENCE_LEASE_SECONDS = "VDOT_FENCE_LEASE_SECONDS";
+    static final String COMPACTION_INTERVAL_SECONDS = "VDOT_COMPACTION_INTERVAL_SECONDS";
+    static final String COMPACTION_GRACE_SECONDS = "VDOT_COMPACTION_GRACE_SECONDS";
+    static final String COMPACTION_BATCH_SIZE = "VDOT_COMPACTION_BATCH_SIZE";
+    static final String CAPABILITY_PATTERN_INDEX_REFRESH_SECONDS = "VDOT_CAPABILITY_PATTERN_INDEX_REFRESH_SECONDS";
+    static final String LIVENESS_CACHE_MAX_ENTRIES = "VDOT_LIVENESS_CACHE_MAX_ENTRIES";
+    static final String LIVENESS_CACHE_MAX_STALENESS_MILLIS = "VDOT_LIVENESS_CACHE_MAX_STALENESS_MILLIS";
+    static final String INSTANCE_HEARTBEAT_LEASE_SECONDS = "VDOT_INSTANCE_HEARTBEAT_LEASE_SECONDS";
+    static final String WATERMARK_RETENTION_SECONDS = "VDOT_WATERMARK_RETENTION_SECONDS";
 }
 
 /**
@@ -145,6 +187,105 @@ public abstract class Config {
     /** Max age (seconds) of a FENCE anchoredAt timestamp (§18.3). */
     public static final long FENCE_ANCHOR_MAX_AGE_SECONDS;
 
+    /** Maximum number of JWT verification outcomes cached per verifier (0 disables the cache). */
+    public static final long JWT_CACHE_MAX_ENTRIES;
+
+    /** How long a verified JWT outcome is cached, bounded by the token's {@code exp} claim. */
+    public static final long JWT_CACHE_TTL_SECONDS;
+
+    /** How long a rejected JWT is cached so repeated forged tokens are not re-verified. */
+    public static final long JWT_CACHE_NEGATIVE_TTL_SECONDS;
+
+    /** Maximum number of envelope signature verdicts remembered per node (0 disables the memo). */
+    public static final long ENVELOPE_MEMO_MAX_ENTRIES;
+
+    /**
+     * Interval (milliseconds) at which watermark deltas are group-committed to an incremental
+     * {@link io.github.cyfko.veridot.core.WatermarkStore} (0 appends synchronously on every advance).
+     */
+    public static final long WATERMARK_FLUSH_INTERVAL_MILLIS;
+
+    /** Pending watermark delta size (bytes) that triggers an immediate flush before the interval elapses. */
+    public static final long WATERMARK_FLUSH_BYTES;
+
+    /** Interval (seconds) at which the watermark journal is rolled into a full checkpoint. */
+    public static final long WATERMARK_COMPACTION_INTERVAL_SECONDS;
+
+    /** Maximum number of threads, the caller included, that verify the tokens of one {@code verifyAll} batch. */
+    public static final long VERIFY_BATCH_PARALLELISM;
+
+    /** Tick (milliseconds) of the timing wheel that schedules LIVENESS renewals. */
+    public static final long RENEWAL_TICK_MILLIS;
+
+    /** Maximum number of LIVENESS renewals published per tick; the rest move to the next tick. */
+    public static final long RENEWAL_TICK_BUDGET;
+
+    /**
+     * Interval (seconds) after which a group's in-memory session index is rebuilt from a broker
+     * snapshot (0 rebuilds it on every capacity check).
+     */
+    public static final long SESSION_INDEX_REPAIR_SECONDS;
+
+    /**
+     * Share of a group's {@code max} (percent) that must stay free for a capacity decision to skip
+     * fencing (100 disables the fast path).
+     */
+    public static final long CAPACITY_FAST_PATH_MARGIN_PERCENT;
+
+    /**
+     * Duration (seconds) during which a FENCE grant is reused for further capacity decisions in the
+     * same group (0 acquires a new grant for every decision).
+     */
+    public static final long FENCE_LEASE_SECONDS;
+
+    /**
+     * Interval (seconds) between background compaction runs that delete dead session entries
+     * (0 disables compaction).
+     */
+    public static final long COMPACTION_INTERVAL_SECONDS;
+
+    /**
+     * Time (seconds) a session's entries are kept after it expired or was revoked before compaction
+     * deletes them.
+     */
+    public static final long COMPACTION_GRACE_SECONDS;
+
+    /**
+     * Maximum number of entries deleted by one compaction run.
+     */
+    public static final long COMPACTION_BATCH_SIZE;
+
+    /**
+     * Maximum age (seconds) of a scope's subject-pattern CAPABILITY index before a lookup miss rebuilds
+     * it from a snapshot (0 rebuilds it on every miss).
+     */
+    public static final long CAPABILITY_PATTERN_INDEX_REFRESH_SECONDS;
+
+    /**
+     * Maximum number of positive liveness verdicts kept in memory (0 disables the cache).
+     */
+    public static final long LIVENESS_CACHE_MAX_ENTRIES;
+
+    /**
+     * Maximum time (milliseconds) a positive liveness verdict is reused without reading the LIVENESS
+     * entry again. Bounds how late a revocation published by another node is seen (0 disables the cache).
+     */
+    public static final long LIVENESS_CACHE_MAX_STALENESS_MILLIS;
+
+    /**
+     * Validity (seconds) of this instance's INSTANCE_HEARTBEAT lease. When positive, sessions are bound
+     * to the lease and their LIVENESS entries are no longer renewed one by one (0 keeps per-session
+     * renewals).
+     */
+    public static final long INSTANCE_HEARTBEAT_LEASE_SECONDS;
+
+    /**
+     * Time (seconds) the watermark of a LIVENESS or SIGNED_DATA key is kept after it last advanced,
+     * or until the session's validity ends if that is later. SECURE_PAYLOAD watermarks are kept
+     * forever. Signing refuses a longer session validity (0 keeps every watermark and lifts the limit).
+     */
+    public static final long WATERMARK_RETENTION_SECONDS;
+
     static {
 
         long parsedReconciliation = ConstantDefault.RECONCILIATION_INTERVAL_MINUTES;
@@ -320,6 +461,27 @@ public abstract class Config {
         TAAS_DIGEST_INTERVAL_SECONDS = parseLongEnv(Env.TAAS_DIGEST_INTERVAL, ConstantDefault.TAAS_DIGEST_INTERVAL_SECONDS, 60, 86400);
         DIGEST_TOLERANCE = (int) parseLongEnv(Env.DIGEST_TOLERANCE, ConstantDefault.DIGEST_TOLERANCE, 0, 100);
         FENCE_ANCHOR_MAX_AGE_SECONDS = parseLongEnv(Env.FENCE_ANCHOR_MAX_AGE, ConstantDefault.FENCE_ANCHOR_MAX_AGE_SECONDS, 60, 3600);
+        JWT_CACHE_MAX_ENTRIES = parseLongEnv(Env.JWT_CACHE_MAX_ENTRIES, ConstantDefault.JWT_CACHE_MAX_ENTRIES, 0, 10_000_000);
+        JWT_CACHE_TTL_SECONDS = parseLongEnv(Env.JWT_CACHE_TTL_SECONDS, ConstantDefault.JWT_CACHE_TTL_SECONDS, 0, 3600);
+        JWT_CACHE_NEGATIVE_TTL_SECONDS = parseLongEnv(Env.JWT_CACHE_NEGATIVE_TTL_SECONDS, ConstantDefault.JWT_CACHE_NEGATIVE_TTL_SECONDS, 0, 300);
+        ENVELOPE_MEMO_MAX_ENTRIES = parseLongEnv(Env.ENVELOPE_MEMO_MAX_ENTRIES, ConstantDefault.ENVELOPE_MEMO_MAX_ENTRIES, 0, 10_000_000);
+        WATERMARK_FLUSH_INTERVAL_MILLIS = parseLongEnv(Env.WATERMARK_FLUSH_INTERVAL_MILLIS, ConstantDefault.WATERMARK_FLUSH_INTERVAL_MILLIS, 0, 60_000);
+        WATERMARK_FLUSH_BYTES = parseLongEnv(Env.WATERMARK_FLUSH_BYTES, ConstantDefault.WATERMARK_FLUSH_BYTES, 1, 64L * 1024 * 1024);
+        WATERMARK_COMPACTION_INTERVAL_SECONDS = parseLongEnv(Env.WATERMARK_COMPACTION_INTERVAL_SECONDS, ConstantDefault.WATERMARK_COMPACTION_INTERVAL_SECONDS, 1, 86_400);
+        VERIFY_BATCH_PARALLELISM = parseLongEnv(Env.VERIFY_BATCH_PARALLELISM, ConstantDefault.VERIFY_BATCH_PARALLELISM, 1, 256);
+        RENEWAL_TICK_MILLIS = parseLongEnv(Env.RENEWAL_TICK_MILLIS, ConstantDefault.RENEWAL_TICK_MILLIS, 10, 10_000);
+        RENEWAL_TICK_BUDGET = parseLongEnv(Env.RENEWAL_TICK_BUDGET, ConstantDefault.RENEWAL_TICK_BUDGET, 1, 1_000_000);
+        SESSION_INDEX_REPAIR_SECONDS = parseLongEnv(Env.SESSION_INDEX_REPAIR_SECONDS, ConstantDefault.SESSION_INDEX_REPAIR_SECONDS, 0, 86_400);
+        CAPACITY_FAST_PATH_MARGIN_PERCENT = parseLongEnv(Env.CAPACITY_FAST_PATH_MARGIN_PERCENT, ConstantDefault.CAPACITY_FAST_PATH_MARGIN_PERCENT, 0, 100);
+        FENCE_LEASE_SECONDS = parseLongEnv(Env.FENCE_LEASE_SECONDS, ConstantDefault.FENCE_LEASE_SECONDS, 0, 3600);
+        COMPACTION_INTERVAL_SECONDS = parseLongEnv(Env.COMPACTION_INTERVAL_SECONDS, ConstantDefault.COMPACTION_INTERVAL_SECONDS, 0, 86_400);
+        COMPACTION_GRACE_SECONDS = parseLongEnv(Env.COMPACTION_GRACE_SECONDS, ConstantDefault.COMPACTION_GRACE_SECONDS, 0, 30 * 86_400);
+        COMPACTION_BATCH_SIZE = parseLongEnv(Env.COMPACTION_BATCH_SIZE, ConstantDefault.COMPACTION_BATCH_SIZE, 1, 100_000);
+        CAPABILITY_PATTERN_INDEX_REFRESH_SECONDS = parseLongEnv(Env.CAPABILITY_PATTERN_INDEX_REFRESH_SECONDS, ConstantDefault.CAPABILITY_PATTERN_INDEX_REFRESH_SECONDS, 0, 3600);
+        LIVENESS_CACHE_MAX_ENTRIES = parseLongEnv(Env.LIVENESS_CACHE_MAX_ENTRIES, ConstantDefault.LIVENESS_CACHE_MAX_ENTRIES, 0, 10_000_000);
+        LIVENESS_CACHE_MAX_STALENESS_MILLIS = parseLongEnv(Env.LIVENESS_CACHE_MAX_STALENESS_MILLIS, ConstantDefault.LIVENESS_CACHE_MAX_STALENESS_MILLIS, 0, 60_000);
+        INSTANCE_HEARTBEAT_LEASE_SECONDS = parseLongEnv(Env.INSTANCE_HEARTBEAT_LEASE_SECONDS, ConstantDefault.INSTANCE_HEARTBEAT_LEASE_SECONDS, 0, 3600);
+        WATERMARK_RETENTION_SECONDS = parseLongEnv(Env.WATERMARK_RETENTION_SECONDS, ConstantDefault.WATERMARK_RETENTION_SECONDS, 0, 365 * 86_400);
     }
 
     private static String getEnvOrProp(String key) {
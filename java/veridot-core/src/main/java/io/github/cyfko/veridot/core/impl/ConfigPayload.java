@@ -5,7 +5,6 @@ import io.github.cyfko.veridot.core.exceptions.VeridotException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
@@ -42,38 +41,38 @@ record ConfigPayload(
     }
 
     public static ConfigPayload decode(byte[] tlvBytes) {
-        Map<Byte, byte[]> fields = TlvCodec.parse(tlvBytes);
+        TlvReader fields = TlvReader.parse(tlvBytes);
 
-        OptionalInt max = fields.containsKey(Tag.MAX.code) 
-            ? OptionalInt.of((int) TlvCodec.readU32(fields, Tag.MAX.code, true))
+        OptionalInt max = fields.has(Tag.MAX.code) 
+            ? OptionalInt.of((int) fields.readU32(Tag.MAX.code, true))
             : OptionalInt.empty();
 
-        byte pol = fields.containsKey(Tag.POL.code)
-            ? TlvCodec.readU8(fields, Tag.POL.code, true)
+        byte pol = fields.has(Tag.POL.code)
+            ? fields.readU8(Tag.POL.code, true)
             : 0x01; // Default FIFO
 
-        OptionalLong dttl = fields.containsKey(Tag.DTTL.code)
-            ? OptionalLong.of(TlvCodec.readU64(fields, Tag.DTTL.code, true))
+        OptionalLong dttl = fields.has(Tag.DTTL.code)
+            ? OptionalLong.of(fields.readU64(Tag.DTTL.code, true))
             : OptionalLong.empty();
 
-        Optional<String> name = fields.containsKey(Tag.NAME.code)
-            ? Optional.of(TlvCodec.readString(fields, Tag.NAME.code, true))
+        Optional<String> name = fields.has(Tag.NAME.code)
+            ? Optional.of(fields.readString(Tag.NAME.code, true))
             : Optional.empty();
 
-        Optional<String> description = fields.containsKey(Tag.DESCRIPTION.code)
-            ? Optional.of(TlvCodec.readString(fields, Tag.DESCRIPTION.code, true))
+        Optional<String> description = fields.has(Tag.DESCRIPTION.code)
+            ? Optional.of(fields.readString(Tag.DESCRIPTION.code, true))
             : Optional.empty();
 
-        OptionalLong validity = fields.containsKey(Tag.VALIDITY.code)
-            ? OptionalLong.of(TlvCodec.readU64(fields, Tag.VALIDITY.code, true))
+        OptionalLong validity = fields.has(Tag.VALIDITY.code)
+            ? OptionalLong.of(fields.readU64(Tag.VALIDITY.code, true))
             : OptionalLong.empty();
 
-        OptionalLong maxInstanceLifetime = fields.containsKey(Tag.MAX_INSTANCE_LIFETIME.code)
-            ? OptionalLong.of(TlvCodec.readU64(fields, Tag.MAX_INSTANCE_LIFETIME.code, true))
+        OptionalLong maxInstanceLifetime = fields.has(Tag.MAX_INSTANCE_LIFETIME.code)
+            ? OptionalLong.of(fields.readU64(Tag.MAX_INSTANCE_LIFETIME.code, true))
             : OptionalLong.empty();
 
-        Optional<String> attestationPlugin = fields.containsKey(Tag.ATTESTATION_PLUGIN.code)
-            ? Optional.of(TlvCodec.readString(fields, Tag.ATTESTATION_PLUGIN.code, true))
+        Optional<String> attestationPlugin = fields.has(Tag.ATTESTATION_PLUGIN.code)
+            ? Optional.of(fields.readString(Tag.ATTESTATION_PLUGIN.code, true))
             : Optional.empty();
 
         return new ConfigPayload(max, pol, dttl, name, description, validity, maxInstanceLifetime, attestationPlugin);
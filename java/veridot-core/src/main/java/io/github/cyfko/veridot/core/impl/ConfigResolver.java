@@ -79,8 +79,7 @@ final class ConfigResolver {
         }
 
         try {
-            Envelope envelope = Envelope.parse(bytes);
-            signatureVerifier.verify(envelope, trustRoot);
+            Envelope envelope = signatureVerifier.parseAndVerify(bytes, trustRoot);
             
             // §7.4: config issuer must hold capability for the scope
             capabilityVerifier.assertAuthorized(envelope.issuer, envelope.scope, broker, trustRoot);
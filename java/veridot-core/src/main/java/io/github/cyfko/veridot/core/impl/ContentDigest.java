@@ -0,0 +1,48 @@
+package io.github.cyfko.veridot.core.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * SHA-256 digest of raw content, used as a cache key so the content itself is never retained.
+ */
+final class ContentDigest {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final byte[] bytes;
+    private final int hash;
+
+    private ContentDigest(byte[] bytes) {
+        this.bytes = bytes;
+        this.hash = Arrays.hashCode(bytes);
+    }
+
+    static ContentDigest of(byte[] content) {
+        return new ContentDigest(SHA256.get().digest(content));
+    }
+
+    static ContentDigest of(String content) {
+        return of(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ContentDigest other)) return false;
+        return MessageDigest.isEqual(bytes, other.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,247 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Broker;
+import io.github.cyfko.veridot.core.TrustRoot;
+import io.github.cyfko.veridot.core.VeridotMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Background compaction of dead session entries.
+ *
+ * <p>Every {@code intervalMillis} the compactor walks the LIVENESS, SIGNED_DATA and SECURE_PAYLOAD
+ * entries of the scopes this node works in, through type-filtered snapshots. It deletes the entries
+ * of sessions that ended more than {@code graceMillis} ago by writing zero-length tombstones through
+ * the broker's {@code put}:
+ * <ul>
+ *   <li>a LIVENESS entry once its {@code validUntil} (or, for a REVOKED entry, its {@code asOf}) is
+ *       older than the grace window;</li>
+ *   <li>the SIGNED_DATA and SECURE_PAYLOAD entries of such a session;</li>
+ *   <li>a SIGNED_DATA entry whose LIVENESS entry is gone, once its own timestamp is older than the
+ *       grace window.</li>
+ * </ul>
+ * A SECURE_PAYLOAD entry without a LIVENESS entry carries no expiry and is kept.
+ *
+ * <p>Each run deletes at most {@code batchSize} entries as one {@link Broker#putAll} batch; the rest
+ * wait for the next run. Entries whose version is below this node's watermark are left alone, and an
+ * entry is only deleted if it still holds the snapshot's bytes just before the batch is written. The
+ * deleted versions are then recorded in the watermark, so a replay of a deleted envelope is rejected.
+ *
+ * <p>Each periodic run then {@link VersionWatermark#prune prunes} the session watermarks whose
+ * retention horizon has passed; the next watermark checkpoint leaves them out.
+ */
+final class EntryCompactor implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(EntryCompactor.class.getName());
+
+    private static final List<EntryType> SESSION_TYPES =
+        List.of(EntryType.LIVENESS, EntryType.SIGNED_DATA, EntryType.SECURE_PAYLOAD);
+
+    private final SignatureVerifier signatureVerifier = new SignatureVerifier();
+    private final List<Scope> scopes = new CopyOnWriteArrayList<>();
+    private final Set<Scope> tracked = ConcurrentHashMap.newKeySet();
+    private final Object runLock = new Object();
+    private final Broker broker;
+    private final TrustRoot trustRoot;
+    private final VersionWatermark watermark;
+    private final Runnable saveCallback;
+    private final long intervalMillis;
+    private final long graceMillis;
+    private final int batchSize;
+
+    // Guarded by runLock
+    private int cursor;
+    // Guarded by this
+    private ScheduledFuture<?> task;
+    private volatile boolean closed;
+
+    EntryCompactor(Broker broker, TrustRoot trustRoot, VersionWatermark watermark, Runnable saveCallback,
+                   long intervalMillis, long graceMillis, int batchSize) {
+        this.broker = broker;
+        this.trustRoot = trustRoot;
+        this.watermark = watermark;
+        this.saveCallback = saveCallback;
+        this.intervalMillis = intervalMillis;
+        this.graceMillis = graceMillis;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Adds {@code scope} to the compacted scopes. The first call starts the periodic run on
+     * {@code scheduler}, unless compaction is disabled.
+     */
+    void track(Scope scope, ScheduledExecutorService scheduler) {
+        if (closed || !tracked.add(scope)) {
+            return;
+        }
+        scopes.add(scope);
+        synchronized (this) {
+            if (task == null && intervalMillis > 0 && !closed) {
+                task = scheduler.scheduleWithFixedDelay(this::compactQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Deletes up to one batch of dead entries, resuming after the scope where the last run stopped.
+     *
+     * @return the number of entries deleted
+     */
+    int compact(long nowMillis) {
+        synchronized (runLock) {
+            return compactBatch(nowMillis);
+        }
+    }
+
+    private int compactBatch(long nowMillis) {
+        if (closed || scopes.isEmpty()) {
+            return 0;
+        }
+        List<Broker.BrokerEntry> dead = new ArrayList<>();
+        List<Envelope> deadEnvelopes = new ArrayList<>();
+        int visited = 0;
+        while (visited < scopes.size() && dead.size() < batchSize) {
+            Scope scope = scopes.get((cursor + visited) % scopes.size());
+            collect(scope, nowMillis, dead, deadEnvelopes);
+            visited++;
+        }
+        cursor = (cursor + visited) % scopes.size();
+        if (dead.isEmpty()) {
+            return 0;
+        }
+
+        // Skip entries rewritten since the snapshot, e.g. a session renewed at the last moment
+        List<byte[]> current = broker.getAll(dead.stream().map(Broker.BrokerEntry::storageKey).toList());
+        List<Broker.BrokerEntry> tombstones = new ArrayList<>(dead.size());
+        List<Envelope> deleted = new ArrayList<>(dead.size());
+        for (int i = 0; i < dead.size(); i++) {
+            if (Arrays.equals(current.get(i), dead.get(i).envelopeBytes())) {
+                tombstones.add(new Broker.BrokerEntry(dead.get(i).storageKey(), new byte[0]));
+                deleted.add(deadEnvelopes.get(i));
+            }
+        }
+        if (tombstones.isEmpty()) {
+            return 0;
+        }
+
+        broker.putAll(tombstones).join();
+        for (Envelope envelope : deleted) {
+            watermark.acceptIfNewer(envelope.entryId(), envelope.version);
+        }
+        if (saveCallback != null) {
+            saveCallback.run();
+        }
+        VeridotMetrics.ENTRIES_COMPACTED.add(tombstones.size());
+        return tombstones.size();
+    }
+
+    private void collect(Scope scope, long nowMillis, List<Broker.BrokerEntry> dead, List<Envelope> deadEnvelopes) {
+        List<Broker.BrokerEntry> entries = new ArrayList<>();
+        for (EntryType type : SESSION_TYPES) {
+            List<Broker.BrokerEntry> typed = broker.snapshot(scope, type);
+            if (typed != null) {
+                entries.addAll(typed);
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        // 1. LIVENESS entries decide which sessions are dead
+        Set<String> liveKeys = new HashSet<>();
+        Map<String, Broker.BrokerEntry> deadSessions = new LinkedHashMap<>();
+        Map<String, List<Broker.BrokerEntry>> dataByKey = new HashMap<>();
+        for (Broker.BrokerEntry entry : entries) {
+            try {
+                EnvelopeView view = EnvelopeView.parse(entry.envelopeBytes());
+                if (view.entryType() == EntryType.SIGNED_DATA || view.entryType() == EntryType.SECURE_PAYLOAD) {
+                    dataByKey.computeIfAbsent(view.key(), k -> new ArrayList<>()).add(entry);
+                } else if (view.entryType() == EntryType.LIVENESS) {
+                    liveKeys.add(view.key());
+                    LivenessPayload payload = LivenessPayload.decode(view.raw(), view.payloadOffset(), view.payloadLength());
+                    long endedAt = payload.isActive() ? payload.validUntil() : payload.asOf();
+                    if (endedAt + graceMillis <= nowMillis) {
+                        deadSessions.put(view.key(), entry);
+                    }
+                }
+            } catch (Exception ignored) {
+            }
+        }
+
+        // 2. A dead session goes out with its data entries in the same batch
+        for (Map.Entry<String, Broker.BrokerEntry> session : deadSessions.entrySet()) {
+            if (dead.size() >= batchSize) {
+                return;
+            }
+            if (add(session.getValue(), dead, deadEnvelopes)) {
+                for (Broker.BrokerEntry entry : dataByKey.getOrDefault(session.getKey(), List.of())) {
+                    add(entry, dead, deadEnvelopes);
+                }
+            }
+        }
+
+        // 3. SIGNED_DATA left behind by a session whose LIVENESS entry is already gone
+        for (Map.Entry<String, List<Broker.BrokerEntry>> keyed : dataByKey.entrySet()) {
+            if (liveKeys.contains(keyed.getKey())) {
+                continue;
+            }
+            for (Broker.BrokerEntry entry : keyed.getValue()) {
+                if (dead.size() >= batchSize) {
+                    return;
+                }
+                EnvelopeView view = EnvelopeView.parse(entry.envelopeBytes());
+                if (view.entryType() == EntryType.SIGNED_DATA && view.timestamp() + graceMillis <= nowMillis) {
+                    add(entry, dead, deadEnvelopes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues {@code entry} for deletion if it is authentic and not older than this node's watermark.
+     */
+    private boolean add(Broker.BrokerEntry entry, List<Broker.BrokerEntry> dead, List<Envelope> deadEnvelopes) {
+        Envelope envelope;
+        try {
+            envelope = signatureVerifier.parseAndVerify(entry.envelopeBytes(), trustRoot);
+        } catch (Exception e) {
+            return false; // unverifiable entries are never deleted
+        }
+        if (envelope.version < watermark.current(envelope.entryId())) {
+            return false; // the broker lags behind a version this node has seen
+        }
+        dead.add(entry);
+        deadEnvelopes.add(envelope);
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    private void compactQuietly() {
+        long now = System.currentTimeMillis();
+        try {
+            compact(now);
+        } catch (Exception e) {
+            logger.warning("Entry compaction failed: " + e.getMessage());
+        }
+        watermark.prune(now);
+    }
+}
@@ -61,6 +61,28 @@ record EntryId(Scope scope, EntryType entryType, String key) {
         return result;
     }
 
+    /**
+     * Parses a storage key computed by {@link #storageKey()}.
+     *
+     * @throws VeridotException if {@code storageKey} is not a protocol storage key, e.g. broker metadata
+     */
+    static EntryId fromStorageKey(byte[] storageKey) {
+        int separator = -1;
+        for (int i = 0; i < storageKey.length; i++) {
+            if (storageKey[i] == 0x00) {
+                separator = i;
+                break;
+            }
+        }
+        if (separator < 1 || storageKey.length < separator + 3 || storageKey[separator + 2] != 0x00) {
+            throw new VeridotException(ErrorCode.MALFORMED_PAYLOAD, null, "Not a protocol storage key");
+        }
+        Scope scope = Scope.parse(new String(storageKey, 0, separator, StandardCharsets.UTF_8));
+        EntryType entryType = EntryType.fromCode(storageKey[separator + 1]);
+        String key = new String(storageKey, separator + 3, storageKey.length - separator - 3, StandardCharsets.UTF_8);
+        return new EntryId(scope, entryType, key);
+    }
+
     public String loggable() {
         return "(" + scope.value() + ", " + entryType.name() + ", " + key + ")";
     }
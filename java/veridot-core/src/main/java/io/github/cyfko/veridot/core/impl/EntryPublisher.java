@@ -5,6 +5,8 @@ import io.github.cyfko.veridot.core.exceptions.VeridotException;
 import io.github.cyfko.veridot.core.Algorithm;
 import java.security.PrivateKey;
 import java.security.Signature;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -12,6 +14,20 @@ import java.util.concurrent.CompletableFuture;
  */
 final class EntryPublisher {
 
+    /** One entry of a {@link #publishAll} call. */
+    record Pending(EntryType type, Scope scope, String key, long version, byte[] payload) {}
+
+    // Follows this node's LIVENESS publications; null when no index is kept
+    private final SessionIndex sessionIndex;
+
+    EntryPublisher() {
+        this(null);
+    }
+
+    EntryPublisher(SessionIndex sessionIndex) {
+        this.sessionIndex = sessionIndex;
+    }
+
     /**
      * Encodes, cryptographically signs, caches locally, and publishes an entry to the broker.
      */
@@ -19,6 +35,38 @@ final class EntryPublisher {
                                            long version, byte[] payload,
                                            PrivateKey signingKey, Algorithm sigAlg,
                                            String issuer, Broker broker) {
+        validate(type, scope, signingKey, issuer, broker);
+        Broker.BrokerEntry entry = seal(type, scope, key, version, payload, signingKey, sigAlg, issuer);
+        cacheLocally(entry, broker);
+        index(type, scope, key, version, payload);
+
+        // Put to broker asynchronously
+        return broker.put(entry.storageKey(), entry.envelopeBytes());
+    }
+
+    /**
+     * Signs and caches every entry like {@link #publish}, then hands them to the broker as one
+     * {@link Broker#putAll(java.util.List) batch}.
+     */
+    public CompletableFuture<Void> publishAll(List<Pending> entries,
+                                              PrivateKey signingKey, Algorithm sigAlg,
+                                              String issuer, Broker broker) {
+        List<Broker.BrokerEntry> sealed = new ArrayList<>(entries.size());
+        for (Pending pending : entries) {
+            validate(pending.type(), pending.scope(), signingKey, issuer, broker);
+            sealed.add(seal(pending.type(), pending.scope(), pending.key(), pending.version(), pending.payload(),
+                signingKey, sigAlg, issuer));
+        }
+        for (Broker.BrokerEntry entry : sealed) {
+            cacheLocally(entry, broker);
+        }
+        for (Pending pending : entries) {
+            index(pending.type(), pending.scope(), pending.key(), pending.version(), pending.payload());
+        }
+        return broker.putAll(sealed);
+    }
+
+    private static void validate(EntryType type, Scope scope, PrivateKey signingKey, String issuer, Broker broker) {
         if (type == null) {
             throw new IllegalArgumentException("EntryType cannot be null");
         }
@@ -34,7 +82,16 @@ final class EntryPublisher {
         if (broker == null) {
             throw new IllegalArgumentException("Broker cannot be null");
         }
+    }
 
+    /**
+     * Encodes and signs an envelope.
+     *
+     * @return the storage key and envelope bytes
+     */
+    private static Broker.BrokerEntry seal(EntryType type, Scope scope, String key,
+                                           long version, byte[] payload,
+                                           PrivateKey signingKey, Algorithm sigAlg, String issuer) {
         EntryId entryId = new EntryId(scope, type, key);
         String loggable = entryId.loggable();
 
@@ -59,14 +116,7 @@ final class EntryPublisher {
 
         byte[] signatureBytes;
         try {
-            Signature sig = Signature.getInstance(sigAlg.getJcaSignatureAlg());
-            if (sigAlg == Algorithm.RSA_PSS) {
-                try {
-                    sig.setParameter(new java.security.spec.PSSParameterSpec(
-                        "SHA-256", "MGF1", java.security.spec.MGF1ParameterSpec.SHA256, 32, 1
-                    ));
-                } catch (Exception ignored) {}
-            }
+            Signature sig = SignaturePool.acquire(sigAlg);
             sig.initSign(signingKey);
             sig.update(tempEnvelope.canonicalSigningBytes());
             signatureBytes = sig.sign();
@@ -77,16 +127,21 @@ final class EntryPublisher {
         }
 
         byte[] envelopeBytes = Envelope.encode(builder, signatureBytes);
-        byte[] storageKey = entryId.storageKey();
+        return new Broker.BrokerEntry(entryId.storageKey(), envelopeBytes);
+    }
 
+    private static void cacheLocally(Broker.BrokerEntry entry, Broker broker) {
         // Write to local cache first to prevent read-after-write race
         try {
-            broker.putLocal(storageKey, envelopeBytes);
+            broker.putLocal(entry.storageKey(), entry.envelopeBytes());
         } catch (Exception e) {
             // Log or ignore local cache failure, but don't fail publishing
         }
+    }
 
-        // Put to broker asynchronously
-        return broker.put(storageKey, envelopeBytes);
+    private void index(EntryType type, Scope scope, String key, long version, byte[] payload) {
+        if (sessionIndex != null && type == EntryType.LIVENESS) {
+            sessionIndex.apply(scope, key, version, LivenessPayload.decode(payload), System.currentTimeMillis());
+        }
     }
 }
@@ -6,7 +6,7 @@ import io.github.cyfko.veridot.core.exceptions.VeridotException;
  * Registered Entry Types in Protocol V5 (§4, Appendix C.1).
  *
  * <p>Each entry type corresponds to a distinct payload schema. Entry type 0x01
- * is reserved (eliminated in V5). Codes 0x00 and 0x0B+ are
+ * is reserved (eliminated in V5). Codes 0x00 and 0x0C+ are
  * unregistered and MUST be rejected with {@link ErrorCode#UNREGISTERED_ENTRY_TYPE}.
  */
 public enum EntryType {
@@ -21,7 +21,8 @@ public enum EntryType {
     SECURE_PAYLOAD((byte) 0x07),
     SIGNED_DATA((byte) 0x08),
     AUDIT_ANCHOR((byte) 0x09),
-    TRUST_REVOCATION((byte) 0x0A);
+    TRUST_REVOCATION((byte) 0x0A),
+    INSTANCE_HEARTBEAT((byte) 0x0B);
 
     public final byte code;
 
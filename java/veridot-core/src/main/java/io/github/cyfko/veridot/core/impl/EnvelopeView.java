@@ -0,0 +1,396 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Algorithm;
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Zero-copy view over a raw V5 envelope (§3).
+ *
+ * <p>{@link #parse(byte[])} performs exactly the structural validation of {@link Envelope#parse(byte[])}
+ * but records fields as offsets into the original array instead of copying them. Scope, key and
+ * issuer Strings are decoded only when first requested, and the canonical signing bytes (§3.4) are
+ * exposed as a slice of the raw input rather than re-serialized.
+ *
+ * <p>The view does not copy the input: callers must not mutate the array while the view is in use.
+ */
+final class EnvelopeView {
+
+    private final byte[] raw;
+    private final EntryType entryType;
+    private final int flags;
+    private final int scopeOffset;
+    private final int scopeLength;
+    private final int keyOffset;
+    private final int keyLength;
+    private final long version;
+    private final long timestamp;
+    private final int issuerOffset;
+    private final int issuerLength;
+    private final int payloadOffset;
+    private final int payloadLength;
+    private final Algorithm sigAlg;
+    private final int signatureOffset;
+    private final int signatureLength;
+
+    private Scope scope;
+    private String key;
+    private String issuer;
+
+    private EnvelopeView(byte[] raw, EntryType entryType, int flags, int scopeOffset, int scopeLength,
+                         int keyOffset, int keyLength, long version, long timestamp,
+                         int issuerOffset, int issuerLength, int payloadOffset, int payloadLength,
+                         Algorithm sigAlg, int signatureOffset, int signatureLength, Scope scope) {
+        this.raw = raw;
+        this.entryType = entryType;
+        this.flags = flags;
+        this.scopeOffset = scopeOffset;
+        this.scopeLength = scopeLength;
+        this.keyOffset = keyOffset;
+        this.keyLength = keyLength;
+        this.version = version;
+        this.timestamp = timestamp;
+        this.issuerOffset = issuerOffset;
+        this.issuerLength = issuerLength;
+        this.payloadOffset = payloadOffset;
+        this.payloadLength = payloadLength;
+        this.sigAlg = sigAlg;
+        this.signatureOffset = signatureOffset;
+        this.signatureLength = signatureLength;
+        this.scope = scope;
+    }
+
+    /**
+     * Structurally validates a V5 envelope without copying its fields (§3.1, §3.2).
+     * Does not verify the cryptographic signature.
+     *
+     * @throws VeridotException if the envelope is malformed, with the same error codes as {@link Envelope#parse(byte[])}
+     */
+    static EnvelopeView parse(byte[] raw) {
+        if (raw == null) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, null, "Raw envelope bytes cannot be null");
+        }
+        if (raw.length < 3) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, null, "Raw envelope too short to read magic/protoVersion");
+        }
+
+        // 1. Magic and ProtoVersion validation (§3.2)
+        if (raw[0] != Envelope.MAGIC[0] || raw[1] != Envelope.MAGIC[1] || raw[2] != Envelope.PROTO_VERSION) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, null,
+                String.format("Invalid magic or protocol version. Expected 0x564405, got 0x%02X%02X%02X", raw[0], raw[1], raw[2]));
+        }
+        int pos = 3;
+
+        if (raw.length - pos < 3) { // entryType(1) + flags(2)
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, null, "Raw envelope truncated before entryType/flags");
+        }
+
+        // 2. EntryType validation
+        byte entryTypeCode = raw[pos++];
+        EntryType entryType;
+        try {
+            entryType = EntryType.fromCode(entryTypeCode);
+        } catch (VeridotException e) {
+            throw new VeridotException(ErrorCode.UNREGISTERED_ENTRY_TYPE, null, "Unregistered entry type code: " + entryTypeCode);
+        }
+
+        // 3. Flags validation — u16 BE (2 bytes) (§3.3)
+        int flags = Flags.decode(raw, pos);
+        pos += 2;
+        Flags.validateReservedBits(flags);
+
+        // 4. Scope validation
+        if (raw.length - pos < 2) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, null, "Raw envelope truncated before scope length");
+        }
+        int scopeLen = readU16(raw, pos);
+        pos += 2;
+        if (scopeLen < 1 || scopeLen > 4096) {
+            throw new VeridotException(ErrorCode.INVALID_IDENTIFIER_LENGTH, null, "Scope length must be 1-4096 bytes: " + scopeLen);
+        }
+        if (raw.length - pos < scopeLen) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, null, "Raw envelope truncated: scope string missing bytes");
+        }
+        int scopeOffset = pos;
+        pos += scopeLen;
+        Scope scope = null;
+        if (!isValidAsciiScope(raw, scopeOffset, scopeLen)) {
+            // Slow path: non-ASCII or invalid scope, let Scope report the exact violation
+            try {
+                scope = Scope.parse(new String(raw, scopeOffset, scopeLen, StandardCharsets.UTF_8));
+            } catch (VeridotException e) {
+                throw new VeridotException(ErrorCode.INVALID_SCOPE_GRAMMAR, null, "Invalid scope grammar: " + e.getMessage());
+            }
+        }
+
+        // 5. Key validation
+        if (raw.length - pos < 2) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, null, "Raw envelope truncated before key length");
+        }
+        int keyLen = readU16(raw, pos);
+        pos += 2;
+        if (keyLen > 4096) {
+            throw new VeridotException(ErrorCode.INVALID_IDENTIFIER_LENGTH, null, "Key length must be 0-4096 bytes: " + keyLen);
+        }
+        if (raw.length - pos < keyLen) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, null, "Raw envelope truncated: key string missing bytes");
+        }
+        int keyOffset = pos;
+        pos += keyLen;
+
+        // Validate key character and singleton constraints.
+        // Control characters are single ASCII bytes in UTF-8, so checking bytes is equivalent to checking chars.
+        boolean isSingleton = (entryType == EntryType.CONFIG ||
+                               entryType == EntryType.FENCE ||
+                               entryType == EntryType.SNAPSHOT_MARKER);
+        if (isSingleton && keyLen != 0) {
+            throw new VeridotException(ErrorCode.MALFORMED_PAYLOAD, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "Key must be empty for singleton entry type: " + entryType.name());
+        }
+        for (int i = keyOffset; i < keyOffset + keyLen; i++) {
+            int c = raw[i];
+            if (c >= 0x00 && c <= 0x1F) {
+                throw new VeridotException(ErrorCode.INVALID_SCOPE_GRAMMAR, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                    "Key contains invalid control character: " + String.format("0x%02X", c));
+            }
+        }
+
+        // 6. Version and Timestamp
+        if (raw.length - pos < 16) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "Raw envelope truncated before version/timestamp");
+        }
+        long version = readI64(raw, pos);
+        long timestamp = readI64(raw, pos + 8);
+        pos += 16;
+
+        // 7. Issuer
+        if (raw.length - pos < 2) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "Raw envelope truncated before issuer length");
+        }
+        int issuerLen = readU16(raw, pos);
+        pos += 2;
+        if (issuerLen < 1 || issuerLen > 4096) {
+            throw new VeridotException(ErrorCode.INVALID_IDENTIFIER_LENGTH, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "Issuer string length must be 1-4096 bytes: " + issuerLen);
+        }
+        if (raw.length - pos < issuerLen) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "Raw envelope truncated: issuer string missing bytes");
+        }
+        int issuerOffset = pos;
+        pos += issuerLen;
+
+        // 8. Payload
+        if (raw.length - pos < 4) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "Raw envelope truncated before payload length");
+        }
+        long payloadLen = readU32(raw, pos);
+        pos += 4;
+        if (payloadLen > 65536) {
+            throw new VeridotException(ErrorCode.INVALID_PAYLOAD_LENGTH, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "Payload length must be 0-65536 bytes: " + payloadLen);
+        }
+        if (raw.length - pos < (int) payloadLen) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "Raw envelope truncated: payload missing bytes");
+        }
+        int payloadOffset = pos;
+        pos += (int) payloadLen;
+
+        // 9. SigAlg and Signature
+        if (raw.length - pos < 3) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "Raw envelope truncated before sigAlg/sigLen");
+        }
+        Algorithm sigAlg;
+        try {
+            sigAlg = Algorithm.fromCode(raw[pos++]);
+        } catch (IllegalArgumentException e) {
+            throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                e.getMessage());
+        }
+
+        // Coherence check for COMPACT_SIG flag and sigAlg (§3.3)
+        boolean compactSigSet = Flags.has(flags, Flags.COMPACT_SIG);
+        if (compactSigSet && !sigAlg.isCompactSig()) {
+            throw new VeridotException(ErrorCode.COMPACT_SIG_FLAG_MISMATCH, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "COMPACT_SIG flag set but sigAlg " + sigAlg.name() + " does not produce compact signatures");
+        }
+        if (!compactSigSet && sigAlg.isCompactSig()) {
+            throw new VeridotException(ErrorCode.COMPACT_SIG_FLAG_MISMATCH, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "COMPACT_SIG flag not set but sigAlg " + sigAlg.name() + " requires it");
+        }
+
+        // Coherence check for HYBRID_SIG flag and sigAlg (§6.2)
+        boolean hybridSigSet = Flags.has(flags, Flags.HYBRID_SIG);
+        if (hybridSigSet && !sigAlg.isHybrid()) {
+            throw new VeridotException(ErrorCode.COMPACT_SIG_FLAG_MISMATCH, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "HYBRID_SIG flag set but sigAlg " + sigAlg.name() + " is not a hybrid algorithm");
+        }
+        if (!hybridSigSet && sigAlg.isHybrid()) {
+            throw new VeridotException(ErrorCode.COMPACT_SIG_FLAG_MISMATCH, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "HYBRID_SIG flag not set but sigAlg " + sigAlg.name() + " requires it");
+        }
+
+        int sigLen = readU16(raw, pos);
+        pos += 2;
+        if (raw.length - pos < sigLen) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "Raw envelope truncated: signature missing bytes");
+        }
+        int signatureOffset = pos;
+        pos += sigLen;
+
+        if (pos != raw.length) {
+            throw new VeridotException(ErrorCode.INVALID_ENVELOPE, loggable(raw, scopeOffset, scopeLen, entryType, keyOffset, keyLen),
+                "Trailing bytes found after envelope signature");
+        }
+
+        return new EnvelopeView(raw, entryType, flags, scopeOffset, scopeLen, keyOffset, keyLen, version, timestamp,
+            issuerOffset, issuerLen, payloadOffset, (int) payloadLen, sigAlg, signatureOffset, sigLen, scope);
+    }
+
+    EntryType entryType() { return entryType; }
+
+    int flags() { return flags; }
+
+    long version() { return version; }
+
+    long timestamp() { return timestamp; }
+
+    Algorithm sigAlg() { return sigAlg; }
+
+    Scope scope() {
+        if (scope == null) {
+            scope = Scope.parse(new String(raw, scopeOffset, scopeLength, StandardCharsets.UTF_8));
+        }
+        return scope;
+    }
+
+    String key() {
+        if (key == null) {
+            key = new String(raw, keyOffset, keyLength, StandardCharsets.UTF_8);
+        }
+        return key;
+    }
+
+    String issuer() {
+        if (issuer == null) {
+            issuer = new String(raw, issuerOffset, issuerLength, StandardCharsets.UTF_8);
+        }
+        return issuer;
+    }
+
+    EntryId entryId() {
+        return new EntryId(scope(), entryType, key());
+    }
+
+    /** Read-only slice of the payload, backed by the raw envelope. */
+    ByteBuffer payload() {
+        return ByteBuffer.wrap(raw, payloadOffset, payloadLength).slice().asReadOnlyBuffer();
+    }
+
+    /** Offset of the payload within {@link #raw()}. */
+    int payloadOffset() { return payloadOffset; }
+
+    /** Length of the payload in bytes. */
+    int payloadLength() { return payloadLength; }
+
+    /** Copy of the payload bytes, for decoders that need an array. */
+    byte[] payloadBytes() {
+        return Arrays.copyOfRange(raw, payloadOffset, payloadOffset + payloadLength);
+    }
+
+    /** The raw envelope bytes this view is backed by. */
+    byte[] raw() { return raw; }
+
+    /** Length of the canonical signing input (§3.4): all bytes preceding sigAlg, i.e. {@code raw[0, signingLength)}. */
+    int signingLength() { return payloadOffset + payloadLength; }
+
+    /** Read-only slice of the canonical signing bytes (§3.4), backed by the raw envelope. */
+    ByteBuffer signingInput() {
+        return ByteBuffer.wrap(raw, 0, signingLength()).slice().asReadOnlyBuffer();
+    }
+
+    int signatureOffset() { return signatureOffset; }
+
+    int signatureLength() { return signatureLength; }
+
+    /**
+     * Materializes a fully decoded {@link Envelope} that keeps a reference to the raw bytes
+     * for slice-based canonical signing input.
+     */
+    Envelope toEnvelope() {
+        return new Envelope(Envelope.PROTO_VERSION, entryType, flags, scope(), key(), version, timestamp, issuer(),
+            payloadBytes(), sigAlg, Arrays.copyOfRange(raw, signatureOffset, signatureOffset + signatureLength),
+            raw, signingLength());
+    }
+
+    /**
+     * Fast-path scope grammar check over ASCII bytes (§3.5). Returns false whenever the exact
+     * String-based validation in {@link Scope} must decide, including every invalid input.
+     */
+    private static boolean isValidAsciiScope(byte[] raw, int offset, int length) {
+        if (length == 6 && startsWith(raw, offset, length, "global")) {
+            return true;
+        }
+        int idStart;
+        if (startsWith(raw, offset, length, "group:")) {
+            idStart = offset + 6;
+        } else if (startsWith(raw, offset, length, "site:")) {
+            idStart = offset + 5;
+        } else {
+            return false;
+        }
+        int idLength = offset + length - idStart;
+        if (idLength < 1 || idLength > 125) {
+            return false;
+        }
+        for (int i = idStart; i < offset + length; i++) {
+            int c = raw[i];
+            if (c < 0x20 || c == ':') { // negative values are non-ASCII bytes
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWith(byte[] raw, int offset, int length, String prefix) {
+        if (length < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (raw[offset + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String loggable(byte[] raw, int scopeOffset, int scopeLength, EntryType entryType, int keyOffset, int keyLength) {
+        return "(" + new String(raw, scopeOffset, scopeLength, StandardCharsets.UTF_8) + ", " + entryType.name() + ", "
+            + new String(raw, keyOffset, keyLength, StandardCharsets.UTF_8) + ")";
+    }
+
+    private static int readU16(byte[] b, int pos) {
+        return ((b[pos] & 0xFF) << 8) | (b[pos + 1] & 0xFF);
+    }
+
+    private static long readU32(byte[] b, int pos) {
+        return ((long) (b[pos] & 0xFF) << 24) | ((b[pos + 1] & 0xFF) << 16) | ((b[pos + 2] & 0xFF) << 8) | (b[pos + 3] & 0xFF);
+    }
+
+    private static long readI64(byte[] b, int pos) {
+        long v = 0;
+        for (int i = 0; i < 8; i++) {
+            v = (v << 8) | (b[pos + i] & 0xFF);
+        }
+        return v;
+    }
+}
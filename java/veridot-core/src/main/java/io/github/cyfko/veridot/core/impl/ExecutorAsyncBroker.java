@@ -0,0 +1,107 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.AsyncBroker;
+import io.github.cyfko.veridot.core.Broker;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the blocking reads of a plain {@link Broker} on an executor so that they can be issued
+ * concurrently by the asynchronous verification pipeline.
+ */
+final class ExecutorAsyncBroker implements AsyncBroker {
+
+    private final Broker broker;
+    private final Executor executor;
+
+    private ExecutorAsyncBroker(Broker broker, Executor executor) {
+        this.broker = broker;
+        this.executor = executor;
+    }
+
+    /**
+     * @return {@code broker} itself if it is already an {@link AsyncBroker}, otherwise an adapter
+     */
+    static AsyncBroker adapt(Broker broker, Executor executor) {
+        if (broker instanceof AsyncBroker async) {
+            return async;
+        }
+        return new ExecutorAsyncBroker(broker, executor);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getAsync(byte[] storageKey) {
+        return CompletableFuture.supplyAsync(() -> broker.get(storageKey), executor);
+    }
+
+    /**
+     * Runs the lookup as one {@link Broker#getAll(List)} call, so a broker with a native multi-key
+     * read serves the whole batch in one round trip.
+     */
+    @Override
+    public CompletableFuture<List<byte[]>> getAllAsync(List<byte[]> storageKeys) {
+        return CompletableFuture.supplyAsync(() -> broker.getAll(storageKeys), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<BrokerEntry>> snapshotAsync(Scope scope) {
+        return CompletableFuture.supplyAsync(() -> broker.snapshot(scope), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> put(byte[] storageKey, byte[] envelopeBytes) {
+        return broker.put(storageKey, envelopeBytes);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAll(List<BrokerEntry> entries) {
+        return broker.putAll(entries);
+    }
+
+    @Override
+    public byte[] get(byte[] storageKey) {
+        return broker.get(storageKey);
+    }
+
+    @Override
+    public List<byte[]> getAll(List<byte[]> storageKeys) {
+        return broker.getAll(storageKeys);
+    }
+
+    @Override
+    public List<BrokerEntry> snapshot(Scope scope) {
+        return broker.snapshot(scope);
+    }
+
+    @Override
+    public List<BrokerEntry> snapshot(Scope scope, EntryType entryType) {
+        return broker.snapshot(scope, entryType);
+    }
+
+    @Override
+    public EntryCursor scan(Scope scope) {
+        return broker.scan(scope);
+    }
+
+    @Override
+    public EntryCursor scan(Scope scope, EntryType entryType) {
+        return broker.scan(scope, entryType);
+    }
+
+    @Override
+    public Subscription watch(Scope scope, ChangeListener listener) {
+        return broker.watch(scope, listener);
+    }
+
+    @Override
+    public boolean supportsWatch() {
+        return broker.supportsWatch();
+    }
+
+    @Override
+    public void putLocal(byte[] storageKey, byte[] envelopeBytes) {
+        broker.putLocal(storageKey, envelopeBytes);
+    }
+}
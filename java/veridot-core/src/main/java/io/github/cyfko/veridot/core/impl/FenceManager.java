@@ -2,6 +2,7 @@ package io.github.cyfko.veridot.core.impl;
 
 import io.github.cyfko.veridot.core.Broker;
 import io.github.cyfko.veridot.core.TrustRoot;
+import io.github.cyfko.veridot.core.VeridotMetrics;
 import io.github.cyfko.veridot.core.exceptions.VeridotException;
 
 import io.github.cyfko.veridot.core.Algorithm;
@@ -40,8 +41,7 @@ final class FenceManager {
 
         if (bytes != null) {
             try {
-                Envelope envelope = Envelope.parse(bytes);
-                signatureVerifier.verify(envelope, trustRoot);
+                Envelope envelope = signatureVerifier.parseAndVerify(bytes, trustRoot);
                 FencePayload currentPayload = FencePayload.decode(envelope.payload);
 
                 nextCounter = currentPayload.fenceCounter() + 1;
@@ -73,6 +73,7 @@ final class FenceManager {
 
         // 3. Update local watermark
         watermark.accept(fenceEntryId, nextVersion);
+        VeridotMetrics.FENCE_ACQUISITIONS.increment();
 
         return new FenceGrant(nextCounter, validUntilMillis);
     }
@@ -102,8 +103,7 @@ final class FenceManager {
 
         if (bytes != null) {
             try {
-                Envelope envelope = Envelope.parse(bytes);
-                signatureVerifier.verify(envelope, trustRoot);
+                Envelope envelope = signatureVerifier.parseAndVerify(bytes, trustRoot);
                 FencePayload currentPayload = FencePayload.decode(envelope.payload);
                 if (fenceCounter < currentPayload.fenceCounter()) {
                     // Update local watermark to prevent future redundant broker calls
@@ -2,7 +2,6 @@ package io.github.cyfko.veridot.core.impl;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.OptionalLong;
 
 /**
@@ -29,13 +28,13 @@ record FencePayload(
     }
 
     public static FencePayload decode(byte[] tlvBytes) {
-        Map<Byte, byte[]> fields = TlvCodec.parse(tlvBytes);
+        TlvReader fields = TlvReader.parse(tlvBytes);
 
-        long fenceCounter = TlvCodec.readU64(fields, Tag.FENCE_COUNTER.code, true);
-        String grantedTo = TlvCodec.readString(fields, Tag.GRANTED_TO.code, true);
-        long validUntil = TlvCodec.readI64(fields, Tag.VALID_UNTIL.code, true);
-        OptionalLong anchoredAt = fields.containsKey(Tag.ANCHORED_AT.code)
-            ? OptionalLong.of(TlvCodec.readI64(fields, Tag.ANCHORED_AT.code, true))
+        long fenceCounter = fields.readU64(Tag.FENCE_COUNTER.code, true);
+        String grantedTo = fields.readString(Tag.GRANTED_TO.code, true);
+        long validUntil = fields.readI64(Tag.VALID_UNTIL.code, true);
+        OptionalLong anchoredAt = fields.has(Tag.ANCHORED_AT.code)
+            ? OptionalLong.of(fields.readI64(Tag.ANCHORED_AT.code, true))
             : OptionalLong.empty();
 
         return new FencePayload(fenceCounter, grantedTo, validUntil, anchoredAt);
@@ -3,10 +3,16 @@ package io.github.cyfko.veridot.core.impl;
 import io.github.cyfko.veridot.core.WatermarkStore;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.crypto.Mac;
@@ -15,12 +21,25 @@ import javax.crypto.spec.SecretKeySpec;
 /**
  * File-based implementation of {@link WatermarkStore} using atomic write-and-rename
  * to prevent corruption during system crashes.
+ *
+ * <p>Supports incremental persistence: deltas are appended to a {@code <file>.journal} next to the
+ * checkpoint. Each journal record is {@code u32 length | deltas | mac}, where {@code mac} chains over
+ * the previous record's mac (HMAC-SHA256 when an HMAC key is configured, SHA-256 otherwise) and the
+ * chain is seeded from the checkpoint. Replay stops at the first record that does not verify, so a
+ * torn tail write or a journal left over from an older checkpoint is ignored. A {@link #save(byte[])}
+ * writes a new checkpoint and truncates the journal.
  */
 public final class FileWatermarkStore implements WatermarkStore {
     private static final Logger logger = Logger.getLogger(FileWatermarkStore.class.getName());
+    private static final int MAC_LENGTH = 32;
+
     private final File file;
+    private final File journal;
     private final byte[] hmacKey;
 
+    // Mac of the last journal record (or the checkpoint seed); null until the journal has been read
+    private byte[] chainTail;
+
     public FileWatermarkStore(File file) {
         this(file, null);
     }
@@ -30,13 +49,14 @@ public final class FileWatermarkStore implements WatermarkStore {
             throw new IllegalArgumentException("File cannot be null");
         }
         this.file = file;
+        this.journal = new File(file.getAbsolutePath() + ".journal");
         this.hmacKey = hmacKey;
     }
 
     @Override
-    public void save(byte[] snapshot) {
+    public synchronized void save(byte[] snapshot) {
         if (snapshot == null) return;
-        
+
         byte[] dataToWrite = snapshot;
         if (hmacKey != null) {
             byte[] hmac = computeHmac(snapshot);
@@ -53,16 +73,70 @@ public final class FileWatermarkStore implements WatermarkStore {
             Files.write(tmpFile.toPath(), dataToWrite);
             // Atomically rename to target file to prevent partial writes
             Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            // The checkpoint supersedes every journaled delta. A crash before this point leaves a
+            // journal chained to the previous checkpoint, which replay then ignores.
+            Files.deleteIfExists(journal.toPath());
+            chainTail = chain(new byte[0], snapshot);
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Failed to write watermarks to " + file.getAbsolutePath(), e);
             if (tmpFile.exists()) {
                 tmpFile.delete();
             }
+            chainTail = null;
+        }
+    }
+
+    @Override
+    public synchronized byte[] load() {
+        byte[] snapshot = loadCheckpoint();
+        if (snapshot == null && file.exists() && file.length() > 0) {
+            // Corrupted or tampered checkpoint: the journal cannot be trusted either
+            return null;
+        }
+
+        Map<String, Long> deltas = new HashMap<>();
+        replayJournal(snapshot, deltas);
+        if (deltas.isEmpty()) {
+            return snapshot;
         }
+        return WatermarkDeltas.merge(snapshot, deltas);
     }
 
     @Override
-    public byte[] load() {
+    public boolean supportsIncremental() {
+        return true;
+    }
+
+    /**
+     * Appends one journal record holding all deltas and forces it to disk.
+     *
+     * @throws UncheckedIOException if the record could not be written
+     */
+    @Override
+    public synchronized void append(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) return;
+        if (chainTail == null) {
+            replayJournal(loadCheckpoint(), new HashMap<>());
+        }
+
+        byte[] payload = WatermarkDeltas.encode(deltas);
+        byte[] mac = chain(chainTail, payload);
+        ByteBuffer record = ByteBuffer.allocate(4 + payload.length + MAC_LENGTH);
+        record.putInt(payload.length).put(payload).put(mac).flip();
+        try (FileChannel channel = FileChannel.open(journal.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(false);
+            chainTail = mac;
+        } catch (IOException e) {
+            chainTail = null;
+            throw new UncheckedIOException("Failed to append watermark journal " + journal.getAbsolutePath(), e);
+        }
+    }
+
+    private byte[] loadCheckpoint() {
         if (!file.exists() || !file.isFile() || file.length() == 0) {
             return null;
         }
@@ -93,6 +167,83 @@ public final class FileWatermarkStore implements WatermarkStore {
         }
     }
 
+    /**
+     * Replays the verified prefix of the journal into {@code deltas}, drops anything after it and
+     * leaves {@link #chainTail} at the last verified record.
+     */
+    private void replayJournal(byte[] checkpoint, Map<String, Long> deltas) {
+        byte[] tail = chain(new byte[0], checkpoint);
+        chainTail = tail;
+        if (!journal.exists() || journal.length() == 0) {
+            return;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(journal.toPath());
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to read watermark journal " + journal.getAbsolutePath(), e);
+            return;
+        }
+
+        int pos = 0;
+        int records = 0;
+        while (bytes.length - pos >= 4) {
+            int len = ByteBuffer.wrap(bytes, pos, 4).getInt();
+            if (len < 0 || bytes.length - pos - 4 < (long) len + MAC_LENGTH) {
+                break;
+            }
+            byte[] payload = Arrays.copyOfRange(bytes, pos + 4, pos + 4 + len);
+            byte[] storedMac = Arrays.copyOfRange(bytes, pos + 4 + len, pos + 4 + len + MAC_LENGTH);
+            byte[] expectedMac = chain(tail, payload);
+            if (!MessageDigest.isEqual(storedMac, expectedMac)) {
+                break;
+            }
+            try {
+                WatermarkDeltas.decode(payload, deltas);
+            } catch (IllegalArgumentException e) {
+                break;
+            }
+            tail = expectedMac;
+            pos += 4 + len + MAC_LENGTH;
+            records++;
+        }
+        chainTail = tail;
+
+        if (pos < bytes.length) {
+            logger.warning("Discarding " + (bytes.length - pos) + " unverifiable trailing bytes of watermark journal "
+                + journal.getAbsolutePath() + " after " + records + " valid records");
+            try (FileChannel channel = FileChannel.open(journal.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(pos);
+                channel.force(false);
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Failed to truncate watermark journal " + journal.getAbsolutePath(), e);
+                chainTail = null;
+            }
+        }
+    }
+
+    /**
+     * Next link of the journal chain: MAC over {@code previous || data}. With an empty
+     * {@code previous} and an HMAC key this equals the checkpoint's stored HMAC.
+     */
+    private byte[] chain(byte[] previous, byte[] data) {
+        byte[] input = data == null ? new byte[0] : data;
+        try {
+            if (hmacKey != null) {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(hmacKey, "HmacSHA256"));
+                mac.update(previous);
+                return mac.doFinal(input);
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(previous);
+            return digest.digest(input);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to compute watermark journal MAC", e);
+        }
+    }
+
     private byte[] computeHmac(byte[] data) {
         try {
             Mac mac = Mac.getInstance("HmacSHA256");
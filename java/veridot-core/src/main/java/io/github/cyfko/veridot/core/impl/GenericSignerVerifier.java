@@ -1,14 +1,14 @@
 package io.github.cyfko.veridot.core.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.cyfko.veridot.core.*;
 import io.github.cyfko.veridot.core.exceptions.BrokerExtractionException;
 import io.github.cyfko.veridot.core.exceptions.DataDeserializationException;
 import io.github.cyfko.veridot.core.exceptions.DataSerializationException;
+import io.github.cyfko.veridot.core.exceptions.SessionCapacityExceededException;
 import io.github.cyfko.veridot.core.exceptions.VeridotException;
 import io.github.cyfko.veridot.core.WatermarkStore;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.PrivateKey;
 import java.security.PublicKey;
@@ -32,40 +32,56 @@ import java.util.logging.Logger;
 public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRevoker, TokenTracker, AutoCloseable {
 
     private static final Logger logger = Logger.getLogger(GenericSignerVerifier.class.getName());
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-    static {
-        objectMapper.deactivateDefaultTyping();
-    }
 
     private final Broker broker;
+    private final AsyncBroker asyncBroker;   // broker itself, or an adapter running its reads on verifyExecutor
     private final TrustRoot trustRoot;
     private final String signerId;           // V5: CN@hash(instancePublicKey)
     private final PrivateKey instancePrivateKey;
     private final Algorithm envelopeSigAlg;
     private final WatermarkStore watermarkStore;
+    private final WatermarkFlusher watermarkFlusher;
 
     private final ConfigPayload defaultConfig;
 
     // Delegates — V5: no more key-rotation service
     final ReconciliationManager reconciliationManager = new ReconciliationManager();
     final CapabilityVerifier capabilityVerifier = new CapabilityVerifier();
-    private final EntryPublisher entryPublisher = new EntryPublisher();
+    private final SessionIndex sessionIndex = new SessionIndex(Config.SESSION_INDEX_REPAIR_SECONDS * 1000L);
+    private final EntryPublisher entryPublisher = new EntryPublisher(sessionIndex);
     private final ConfigResolver configResolver = new ConfigResolver();
     private final LivenessChecker livenessChecker = new LivenessChecker();
     private final LivenessManager livenessManager;
-    private final CapacityManager capacityManager = new CapacityManager();
+    private final RenewalWheel renewalWheel;
+    private final InstanceHeartbeat instanceHeartbeat; // null when sessions are renewed one by one
+    private final EntryCompactor entryCompactor;
+    private final Broker.Subscription changeSubscription;
+    private final CapacityManager capacityManager = new CapacityManager(sessionIndex);
     private final EntryVerifier entryVerifier = new EntryVerifier();
     private final SignatureVerifier signatureVerifier = new SignatureVerifier();
     private final VersionWatermark watermark = new VersionWatermark();
     private final SessionCounter sessionCounter = new SessionCounter();
+    private final JwtVerificationCache jwtCache = new JwtVerificationCache(
+        (int) Config.JWT_CACHE_MAX_ENTRIES,
+        Config.JWT_CACHE_TTL_SECONDS * 1000L,
+        Config.JWT_CACHE_NEGATIVE_TTL_SECONDS * 1000L);
 
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    // Set on verifyExecutor threads, where verifyAll must not wait for slices queued behind its caller
+    private final ThreadLocal<Boolean> onVerifyExecutor = ThreadLocal.withInitial(() -> false);
+    private final ExecutorService verifyExecutor = Executors.newFixedThreadPool(
+        (int) Math.max(Config.VERIFY_BATCH_PARALLELISM - 1, 1),
+        runnable -> new Thread(() -> {
+            onVerifyExecutor.set(true);
+            runnable.run();
+        }));
     private static final class RefCountedLock {
         final java.util.concurrent.locks.ReentrantLock lock = new java.util.concurrent.locks.ReentrantLock();
         int refCount = 0;
     }
 
     private final ConcurrentHashMap<String, RefCountedLock> groupLocks = new ConcurrentHashMap<>();
+    private final VersionReservations versions = new VersionReservations(watermark);
     private final long reconciliationIntervalMinutes;
 
     // ═══ V5 Constructors ═══
@@ -117,6 +133,7 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
         if (policy == null) throw new IllegalArgumentException("EvictionPolicy cannot be null");
 
         this.broker = broker;
+        this.asyncBroker = ExecutorAsyncBroker.adapt(broker, verifyExecutor);
         this.trustRoot = trustRoot;
         this.signerId = SubjectComputer.compute(cn, instancePublicKey); // V5: CN@hash
         this.instancePrivateKey = instanceKey;
@@ -143,8 +160,11 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
             }
         }
 
-        // Load watermark snapshot
-        if (this.watermarkStore != null) {
+        // Load watermark snapshot. A mapped store is read lazily per key instead.
+        if (this.watermarkStore instanceof MappedWatermarkStore mapped) {
+            mapped.horizons(watermark::horizonOf);
+            this.watermark.persistedVersions(mapped::version, mapped::prune);
+        } else if (this.watermarkStore != null) {
             try {
                 byte[] snap = this.watermarkStore.load();
                 if (snap != null && snap.length > 0) {
@@ -154,6 +174,10 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
                 logger.warning("Failed to load watermark snapshot: " + e.getMessage());
             }
         }
+        // Appends to a mapped store are already in place, so it never needs compacting
+        this.watermarkFlusher = new WatermarkFlusher(watermark, this.watermarkStore, scheduler,
+            Config.WATERMARK_FLUSH_INTERVAL_MILLIS, Config.WATERMARK_FLUSH_BYTES,
+            this.watermarkStore instanceof MappedWatermarkStore ? 0 : Config.WATERMARK_COMPACTION_INTERVAL_SECONDS);
 
         this.defaultConfig = new ConfigPayload(
             maxSessions == -1 ? OptionalInt.empty() : OptionalInt.of(maxSessions),
@@ -167,6 +191,21 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
         );
 
         this.livenessManager = new LivenessManager(entryPublisher, broker, instanceKey, envelopeSigAlg, signerId);
+        this.renewalWheel = new RenewalWheel(renewals -> livenessManager.publishActiveAll(renewals, versions),
+            Config.RENEWAL_TICK_MILLIS, (int) Config.RENEWAL_TICK_BUDGET);
+        this.instanceHeartbeat = Config.INSTANCE_HEARTBEAT_LEASE_SECONDS > 0
+            ? new InstanceHeartbeat(entryPublisher, broker, instanceKey, envelopeSigAlg, signerId, watermark,
+                  Config.INSTANCE_HEARTBEAT_LEASE_SECONDS * 1000L)
+            : null;
+        this.entryCompactor = new EntryCompactor(broker, trustRoot, watermark, this::saveWatermark,
+            Config.COMPACTION_INTERVAL_SECONDS * 1000L, Config.COMPACTION_GRACE_SECONDS * 1000L,
+            (int) Config.COMPACTION_BATCH_SIZE);
+        // Writes of other nodes reach the caches as they happen, not only at TTL expiry or reconciliation
+        this.changeSubscription = broker.watch(null, new BrokerChangeHandler(trustRoot, signerId, watermark,
+            capabilityVerifier, configResolver, livenessChecker, sessionIndex, jwtCache));
+        if (broker.supportsWatch()) {
+            sessionIndex.followBroker();
+        }
     }
 
     private static byte[] deriveHmacKey(PrivateKey key) throws Exception {
@@ -199,9 +238,7 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
         if (data == null) {
             throw new IllegalArgumentException("data must not be null");
         }
-        if (configurer.getDuration() <= 0) {
-            throw new IllegalArgumentException("duration must be positive");
-        }
+        validateDuration(configurer);
 
         String groupId = configurer.getGroupId();
         Protocol.validateIdentifier(groupId, "groupId");
@@ -217,40 +254,19 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
         long now = System.currentTimeMillis();
         long durationMs = configurer.getDuration() * 1000L;
 
-        RefCountedLock refLock = groupLocks.compute(groupId, (key, val) -> {
-            if (val == null) {
-                val = new RefCountedLock();
-            }
-            val.refCount++;
-            return val;
-        });
-
-        refLock.lock.lock();
+        RefCountedLock refLock = lockGroup(groupId);
         try {
             ensureReconciliationStarted(scope);
 
             // 1. Resolve Config
-            ConfigPayload config = configResolver.resolve(scope, null, broker, trustRoot, capabilityVerifier, watermark);
-            if (config == null) {
-                config = defaultConfig;
-            }
+            ConfigPayload config = resolveGroupConfig(scope);
 
             // 2. Enforce capacity limits
             capacityManager.enforceCapacity(scope, config, signerId, broker, trustRoot, entryPublisher, watermark, livenessChecker, instancePrivateKey, envelopeSigAlg, signerId);
 
-            // 3. Serialize data
-            String serializedData;
-            try {
-                serializedData = configurer.getSerializer().apply(data);
-            } catch (DataSerializationException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new DataSerializationException("Failed to serialize payload", e);
-            }
-
-            // 4. PRIVATE mode — encrypted SECURE_PAYLOAD
+            // 3. PRIVATE mode — encrypted SECURE_PAYLOAD
             if (configurer.getDistribution() == DistributionMode.PRIVATE) {
-                byte[] plaintext = serializedData.getBytes(StandardCharsets.UTF_8);
+                byte[] plaintext = serialize(data, configurer).getBytes(StandardCharsets.UTF_8);
                 try {
                     String secureToken = publishSecurePayloadInternal(scope, sequenceId, plaintext, configurer.getRecipients(), configurer.getMimeType());
                     saveWatermark();
@@ -260,49 +276,50 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
                 }
             }
 
-            // 5. Build signed JWT with instance key (V5: no more ephemeral key rotation)
-            String messageId = Protocol.buildMessageId(groupId, sequenceId);
-            String jwt;
-            try {
-                jwt = JwtMaker.builder()
-                        .subject(messageId)
-                        .claim("data", serializedData)
-                        .issuedAt(Instant.ofEpochMilli(now))
-                        .expiration(Instant.ofEpochMilli(now + durationMs))
-                        .signWith(instancePrivateKey)
-                        .alg(envelopeSigAlg)
-                        .header("kid", signerId)  // V5: kid = instance subject
-                        .compact();
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to build signed JWT", e);
-            }
+            // 4. Serialize and build signed JWT with instance key (V5: no more ephemeral key rotation)
+            IssuedJwt issued = issueJwt(data, configurer, scope, sequenceId, now);
+            String jwt = issued.jwt();
 
-            // 6. NATIVE mode — publish SIGNED_DATA entry
+            // 5. NATIVE mode — publish SIGNED_DATA entry. Versions are reserved like signAsync's,
+            //    whose publications of the same entry may still be in flight
             if (configurer.getDistribution() == DistributionMode.NATIVE) {
                 SignedDataPayload signedDataPayload = new SignedDataPayload(
                     configurer.getMimeType() != null ? configurer.getMimeType() : "application/jwt",
                     jwt.getBytes(StandardCharsets.UTF_8),
                     null,
                     now,
-                    messageId
+                    issued.messageId()
                 );
                 EntryId signedDataId = new EntryId(scope, EntryType.SIGNED_DATA, sequenceId);
-                long version = Math.max(watermark.current(signedDataId) + 1, 1);
+                long version = versions.reserve(signedDataId);
                 try {
                     entryPublisher.publish(EntryType.SIGNED_DATA, scope, sequenceId, version,
                         signedDataPayload.encode(), instancePrivateKey, envelopeSigAlg, signerId, broker).join();
-                    watermark.accept(signedDataId, version);
                 } catch (Exception e) {
+                    versions.release(signedDataId, version);
                     throw new RuntimeException("Broker publication failed for SIGNED_DATA", e);
                 }
+                versions.accept(signedDataId, version);
+                watermark.retainUntil(signedDataId, now + durationMs);
             }
 
-            // 7. Publish LIVENESS(ACTIVE)
+            // 6. Publish LIVENESS(ACTIVE), bound to the instance lease when there is one
             EntryId liveEntryId = new EntryId(scope, EntryType.LIVENESS, sequenceId);
-            livenessManager.publishActive(liveEntryId, durationMs, watermark);
+            OptionalLong leaseEpoch = leaseEpoch();
+            long liveVersion = versions.reserve(liveEntryId);
+            try {
+                livenessManager.publishActiveAsync(liveEntryId, durationMs, leaseEpoch, liveVersion).join();
+            } catch (CompletionException e) {
+                versions.release(liveEntryId, liveVersion);
+                throw asRuntime(unwrap(e));
+            }
+            versions.accept(liveEntryId, liveVersion);
+            watermark.retainUntil(liveEntryId, System.currentTimeMillis() + durationMs);
 
-            // 8. Start Renewal Loop
-            livenessManager.startRenewalLoop(liveEntryId, durationMs, watermark, scheduler);
+            // 7. Start Renewal Loop — a lease-bound session is kept alive by the heartbeat instead
+            if (leaseEpoch.isEmpty()) {
+                renewalWheel.schedule(liveEntryId, durationMs, scheduler);
+            }
 
             saveWatermark();
 
@@ -313,30 +330,547 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
                 default -> jwt;
             };
         } finally {
-            refLock.lock.unlock();
-            groupLocks.compute(groupId, (key, val) -> {
-                if (val != null) {
-                    val.refCount--;
-                    if (val.refCount == 0) {
-                        return null;
+            unlockGroup(groupId, refLock);
+        }
+    }
+
+    // ═══ signAsync() / signBatch() — V5 ═══
+
+    /**
+     * Pipelined variant of {@link #sign(Object, Configurer)}.
+     *
+     * <p>Serialization and JWT signing happen before the group lock is taken. The lock then covers
+     * only the capacity decision and the hand-off of the SIGNED_DATA (NATIVE) and LIVENESS(ACTIVE)
+     * envelopes to the broker: both are cached locally and sent without waiting for an
+     * acknowledgement, so the next sign in the same group can proceed while they are in flight.
+     * Watermarks advance as each publication completes; the renewal loop starts once both have.</p>
+     *
+     * <p>PRIVATE mode is signed synchronously, as by {@link #sign(Object, Configurer)}.</p>
+     */
+    @Override
+    public CompletableFuture<String> signAsync(Object data, Configurer configurer) {
+        if (data == null) {
+            throw new IllegalArgumentException("data must not be null");
+        }
+        validateDuration(configurer);
+        if (configurer.getDistribution() == DistributionMode.PRIVATE) {
+            return DataSigner.super.signAsync(data, configurer);
+        }
+
+        String groupId = configurer.getGroupId();
+        Protocol.validateIdentifier(groupId, "groupId");
+
+        String sequenceId = configurer.getSequenceId();
+        if (sequenceId != null) {
+            Protocol.validateIdentifier(sequenceId, "sequenceId");
+        } else {
+            sequenceId = UUID.randomUUID().toString();
+        }
+
+        Scope scope = Scope.group(groupId);
+        IssuedJwt issued;
+        try {
+            issued = issueJwt(data, configurer, scope, sequenceId, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<String> published;
+        RefCountedLock refLock = lockGroup(groupId);
+        try {
+            ensureReconciliationStarted(scope);
+            ConfigPayload config = resolveGroupConfig(scope);
+            capacityManager.enforceCapacity(scope, config, signerId, broker, trustRoot, entryPublisher, watermark, livenessChecker, instancePrivateKey, envelopeSigAlg, signerId);
+            published = publishIssued(issued, configurer);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            unlockGroup(groupId, refLock);
+        }
+
+        return published.thenApply(token -> {
+            saveWatermark();
+            return token;
+        });
+    }
+
+    /**
+     * Batch variant of {@link #signAsync(Object, Configurer)}.
+     *
+     * <p>Every payload is serialized and signed up front. The group configuration, the FENCE grant,
+     * the snapshot and the capacity decision are then taken once for the whole batch, and all
+     * SIGNED_DATA/LIVENESS publications go out together. When capacity cannot fit the batch the
+     * payloads are granted in input order and the remainder fail with
+     * {@link SessionCapacityExceededException}.</p>
+     *
+     * <p>PRIVATE mode is signed payload by payload, as by {@link #sign(Object, Configurer)}.</p>
+     */
+    @Override
+    public CompletableFuture<List<SignResult>> signBatchAsync(List<?> data, Configurer configurer) {
+        if (data == null) {
+            throw new IllegalArgumentException("data must not be null");
+        }
+        for (Object item : data) {
+            if (item == null) {
+                throw new IllegalArgumentException("data must not contain null");
+            }
+        }
+        validateDuration(configurer);
+        if (configurer.getDistribution() == DistributionMode.PRIVATE) {
+            return DataSigner.super.signBatchAsync(data, configurer);
+        }
+
+        String groupId = configurer.getGroupId();
+        Protocol.validateIdentifier(groupId, "groupId");
+
+        String sequenceId = configurer.getSequenceId();
+        if (sequenceId != null) {
+            if (data.size() > 1) {
+                throw new IllegalArgumentException("sequenceId must be null when signing more than one payload");
+            }
+            Protocol.validateIdentifier(sequenceId, "sequenceId");
+        }
+
+        Scope scope = Scope.group(groupId);
+        long now = System.currentTimeMillis();
+        SignResult[] results = new SignResult[data.size()];
+        IssuedJwt[] issued = new IssuedJwt[data.size()];
+        List<Integer> pending = new ArrayList<>(data.size());
+        for (int i = 0; i < issued.length; i++) {
+            try {
+                String key = sequenceId != null ? sequenceId : UUID.randomUUID().toString();
+                issued[i] = issueJwt(data.get(i), configurer, scope, key, now);
+                pending.add(i);
+            } catch (RuntimeException e) {
+                results[i] = SignResult.failure(e);
+            }
+        }
+        if (pending.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of(results));
+        }
+
+        List<CompletableFuture<String>> publications = new ArrayList<>(pending.size());
+        RefCountedLock refLock = lockGroup(groupId);
+        try {
+            ensureReconciliationStarted(scope);
+            ConfigPayload config = resolveGroupConfig(scope);
+            int granted = capacityManager.reserveCapacity(scope, config, pending.size(), signerId, broker, trustRoot,
+                entryPublisher, watermark, livenessChecker, instancePrivateKey, envelopeSigAlg, signerId);
+            for (int k = 0; k < pending.size(); k++) {
+                if (k < granted) {
+                    publications.add(publishIssued(issued[pending.get(k)], configurer));
+                } else {
+                    publications.add(CompletableFuture.failedFuture(
+                        new SessionCapacityExceededException(groupId, config.max().getAsInt())));
+                }
+            }
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            unlockGroup(groupId, refLock);
+        }
+
+        return CompletableFuture.allOf(publications.toArray(new CompletableFuture<?>[0]))
+            .handle((ignored, batchError) -> {
+                for (int k = 0; k < pending.size(); k++) {
+                    try {
+                        results[pending.get(k)] = SignResult.success(publications.get(k).join());
+                    } catch (CompletionException e) {
+                        results[pending.get(k)] = SignResult.failure(asRuntime(unwrap(e)));
                     }
                 }
-                return val;
+                saveWatermark();
+                return List.of(results);
             });
+    }
+
+    @Override
+    public List<SignResult> signBatch(List<?> data, Configurer configurer) {
+        try {
+            return signBatchAsync(data, configurer).join();
+        } catch (CompletionException e) {
+            throw asRuntime(unwrap(e));
+        }
+    }
+
+    /** A signed JWT awaiting publication. */
+    private record IssuedJwt(Scope scope, String sequenceId, String messageId, String jwt, long issuedAt, long durationMs) {}
+
+    /**
+     * Refuses a session that could outlive the retention of its watermarks: once a watermark is
+     * pruned, a replayed envelope of the session must already have expired on its own.
+     */
+    private static void validateDuration(Configurer configurer) {
+        if (configurer.getDuration() <= 0) {
+            throw new IllegalArgumentException("duration must be positive");
         }
+        if (Config.WATERMARK_RETENTION_SECONDS > 0 && configurer.getDuration() > Config.WATERMARK_RETENTION_SECONDS) {
+            throw new IllegalArgumentException("duration must not exceed the watermark retention of "
+                + Config.WATERMARK_RETENTION_SECONDS + " seconds (VDOT_WATERMARK_RETENTION_SECONDS)");
+        }
+    }
+
+    private static String serialize(Object data, Configurer configurer) {
+        try {
+            return configurer.getSerializer().apply(data);
+        } catch (DataSerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DataSerializationException("Failed to serialize payload", e);
+        }
+    }
+
+    /**
+     * Serializes the payload and signs its JWT. Needs no group lock.
+     */
+    private IssuedJwt issueJwt(Object data, Configurer configurer, Scope scope, String sequenceId, long now) {
+        long durationMs = configurer.getDuration() * 1000L;
+        String serializedData = serialize(data, configurer);
+
+        String messageId = Protocol.buildMessageId(scope.groupId(), sequenceId);
+        try {
+            String jwt = JwtMaker.builder()
+                    .subject(messageId)
+                    .claim("data", serializedData)
+                    .issuedAt(Instant.ofEpochMilli(now))
+                    .expiration(Instant.ofEpochMilli(now + durationMs))
+                    .signWith(instancePrivateKey)
+                    .alg(envelopeSigAlg)
+                    .header("kid", signerId)
+                    .compact();
+            return new IssuedJwt(scope, sequenceId, messageId, jwt, now, durationMs);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to build signed JWT", e);
+        }
+    }
+
+    /**
+     * Hands the SIGNED_DATA (NATIVE) and LIVENESS(ACTIVE) envelopes of an issued JWT to the broker.
+     * Must be called under the group lock, after capacity has been granted.
+     *
+     * @return a future completed with the token once both publications are acknowledged, their
+     *         watermarks advanced and the renewal loop started, or failed once the session has been
+     *         {@link #withdraw withdrawn} if either publication failed
+     */
+    private CompletableFuture<String> publishIssued(IssuedJwt issued, Configurer configurer) {
+        Scope scope = issued.scope();
+        String sequenceId = issued.sequenceId();
+        boolean nativeMode = configurer.getDistribution() == DistributionMode.NATIVE;
+
+        CompletableFuture<Void> signedData = CompletableFuture.completedFuture(null);
+        if (nativeMode) {
+            SignedDataPayload signedDataPayload = new SignedDataPayload(
+                configurer.getMimeType() != null ? configurer.getMimeType() : "application/jwt",
+                issued.jwt().getBytes(StandardCharsets.UTF_8),
+                null,
+                issued.issuedAt(),
+                issued.messageId()
+            );
+            EntryId signedDataId = new EntryId(scope, EntryType.SIGNED_DATA, sequenceId);
+            long version = versions.reserve(signedDataId);
+            try {
+                signedData = entryPublisher.publish(EntryType.SIGNED_DATA, scope, sequenceId, version,
+                    signedDataPayload.encode(), instancePrivateKey, envelopeSigAlg, signerId, broker);
+            } catch (Exception e) {
+                signedData = CompletableFuture.failedFuture(e);
+            }
+            signedData = signedData.handle((ignored, error) -> {
+                if (error != null) {
+                    versions.release(signedDataId, version);
+                    throw new RuntimeException("Broker publication failed for SIGNED_DATA", unwrap(error));
+                }
+                versions.accept(signedDataId, version);
+                watermark.retainUntil(signedDataId, issued.issuedAt() + issued.durationMs());
+                return null;
+            });
+        }
+
+        EntryId liveEntryId = new EntryId(scope, EntryType.LIVENESS, sequenceId);
+        OptionalLong leaseEpoch = leaseEpoch();
+        long liveVersion = versions.reserve(liveEntryId);
+        CompletableFuture<Void> liveness = livenessManager.publishActiveAsync(liveEntryId, issued.durationMs(), leaseEpoch, liveVersion)
+            .whenComplete((ignored, error) -> {
+                // A failed version stays reserved until withdraw() reserves the one above it
+                if (error == null) {
+                    versions.accept(liveEntryId, liveVersion);
+                    watermark.retainUntil(liveEntryId, System.currentTimeMillis() + issued.durationMs());
+                }
+            });
+
+        String token = nativeMode ? String.format("8:%s:%s", scope.value(), sequenceId) : issued.jwt();
+        return CompletableFuture.allOf(signedData, liveness)
+            .handle((ignored, error) -> error)
+            .thenCompose(error -> {
+                if (error == null) {
+                    if (leaseEpoch.isEmpty()) {
+                        renewalWheel.schedule(liveEntryId, issued.durationMs(), scheduler);
+                    }
+                    return CompletableFuture.completedFuture(token);
+                }
+                // The two writes went out in parallel: LIVENESS may be stored even though the sign failed
+                return withdraw(liveEntryId).handle((revoked, revokeError) -> {
+                    throw asRuntime(unwrap(error));
+                });
+            });
+    }
+
+    /**
+     * Publishes LIVENESS(REVOKED) above every reserved version of a session whose sign failed, so
+     * that an ACTIVE entry that did reach the broker neither verifies nor occupies a capacity slot.
+     * Publishing also drops the session from the local index, even if the broker write fails.
+     */
+    private CompletableFuture<Void> withdraw(EntryId liveEntryId) {
+        long version = versions.reserve(liveEntryId);
+        return livenessManager.publishRevokedAsync(liveEntryId, version)
+            .whenComplete((ignored, error) -> {
+                if (error != null) {
+                    versions.release(liveEntryId, version);
+                    logger.warning("Failed to withdraw LIVENESS of failed sign " + liveEntryId.loggable() + ": "
+                        + unwrap(error).getMessage());
+                } else {
+                    versions.accept(liveEntryId, version);
+                }
+            });
+    }
+
+    /**
+     * @return the epoch of this instance's heartbeat lease, published on first use, or empty when
+     *         sessions are renewed one by one
+     */
+    private OptionalLong leaseEpoch() {
+        return instanceHeartbeat != null ? OptionalLong.of(instanceHeartbeat.start(scheduler)) : OptionalLong.empty();
+    }
+
+    private ConfigPayload resolveGroupConfig(Scope scope) {
+        ConfigPayload config = configResolver.resolve(scope, null, broker, trustRoot, capabilityVerifier, watermark);
+        return config != null ? config : defaultConfig;
+    }
+
+    private RefCountedLock lockGroup(String groupId) {
+        RefCountedLock refLock = groupLocks.compute(groupId, (key, val) -> {
+            if (val == null) {
+                val = new RefCountedLock();
+            }
+            val.refCount++;
+            return val;
+        });
+        refLock.lock.lock();
+        return refLock;
+    }
+
+    private void unlockGroup(String groupId, RefCountedLock refLock) {
+        refLock.lock.unlock();
+        groupLocks.compute(groupId, (key, val) -> {
+            if (val != null) {
+                val.refCount--;
+                if (val.refCount == 0) {
+                    return null;
+                }
+            }
+            return val;
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static RuntimeException asRuntime(Throwable error) {
+        return error instanceof RuntimeException e ? e : new CompletionException(error);
     }
 
     // ═══ verify() — V5 ═══
 
     @Override
     public <T> VerifiedData<T> verify(String token, Function<String, T> deserializer) throws BrokerExtractionException {
+        return verifyWith(token, deserializer, broker, trustRoot::resolve);
+    }
+
+    /**
+     * Verifies a batch of tokens on the verification executor.
+     *
+     * <p>All tokens read through one {@link VerificationBatch}, so each distinct LIVENESS,
+     * SIGNED_DATA and capability entry is fetched once and each distinct {@code kid} is resolved
+     * through the TrustRoot once, however many tokens share it. The LIVENESS and SIGNED_DATA entries
+     * of the whole batch are fetched up front with one {@link Broker#getAll(List)} call. The batch is
+     * then split into at most {@link Config#VERIFY_BATCH_PARALLELISM} slices verified concurrently.
+     * Called from the verification executor itself, for instance by a deserializer, the batch is
+     * verified inline: waiting for slices queued behind busy executor threads could deadlock.</p>
+     */
+    @Override
+    public <T> List<VerificationResult<T>> verifyAll(Collection<String> tokens, Function<String, T> deserializer) {
+        List<String> batch = new ArrayList<>(tokens);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        VerificationResult<T>[] results = new VerificationResult[batch.size()];
+        VerificationBatch reads = new VerificationBatch(broker, trustRoot);
+
+        Map<ByteBuffer, byte[]> primaryKeys = new LinkedHashMap<>();
+        for (String token : batch) {
+            for (byte[] storageKey : primaryKeys(token)) {
+                primaryKeys.putIfAbsent(ByteBuffer.wrap(storageKey), storageKey);
+            }
+        }
+        if (!primaryKeys.isEmpty()) {
+            try {
+                reads.getAll(new ArrayList<>(primaryKeys.values()));
+            } catch (RuntimeException ignored) {
+                // Each token re-reads its entries and reports broker failures itself
+            }
+        }
+
+        int slices = onVerifyExecutor.get() ? Math.min(1, batch.size())
+            : (int) Math.min(Config.VERIFY_BATCH_PARALLELISM, batch.size());
+        List<CompletableFuture<Void>> running = new ArrayList<>(slices);
+        for (int slice = 0; slice < slices; slice++) {
+            int from = (int) ((long) batch.size() * slice / slices);
+            int to = (int) ((long) batch.size() * (slice + 1) / slices);
+            Runnable task = () -> {
+                for (int i = from; i < to; i++) {
+                    try {
+                        results[i] = VerificationResult.success(verifyWith(batch.get(i), deserializer, reads, reads::resolve));
+                    } catch (RuntimeException e) {
+                        results[i] = VerificationResult.failure(e);
+                    }
+                }
+            };
+            if (slice == slices - 1) {
+                task.run(); // the caller verifies the last slice itself
+            } else {
+                running.add(CompletableFuture.runAsync(task, verifyExecutor));
+            }
+        }
+        CompletableFuture.allOf(running.toArray(new CompletableFuture<?>[0])).join();
+        return List.of(results);
+    }
+
+    /**
+     * Asynchronous verification pipeline.
+     *
+     * <p>The broker lookups a token needs are issued together through {@link AsyncBroker} (or on
+     * the verification executor for a blocking broker): LIVENESS and SIGNED_DATA for a NATIVE token,
+     * then the capabilities of their issuers; LIVENESS and the signer's capability for a JWT.
+     * Capabilities with a cached verdict are not fetched. The checks then run on the verification
+     * executor against the fetched entries, in the same order as {@link #verify(String, Function)};
+     * anything the prefetch missed is read on demand.</p>
+     */
+    @Override
+    public <T> CompletableFuture<VerifiedData<T>> verifyAsync(String token, Function<String, T> deserializer) {
+        TokenParser.TokenInfo tokenInfo;
+        try {
+            tokenInfo = TokenParser.parse(token);
+        } catch (RuntimeException e) {
+            // Let the synchronous pipeline report the rejection
+            return TokenVerifier.super.verifyAsync(token, deserializer);
+        }
+
+        VerificationBatch reads = new VerificationBatch(broker, trustRoot);
+        CompletableFuture<Void> prefetched = switch (tokenInfo.format()) {
+            case SECURE_PAYLOAD -> CompletableFuture.completedFuture(null);
+            case NATIVE -> prefetchNative(tokenInfo.scope(), tokenInfo.key(), reads);
+            case JWT -> prefetchJwt(tokenInfo.rawToken(), reads);
+        };
+        return prefetched
+            .exceptionally(error -> null) // the pipeline re-reads missing entries and reports broker failures itself
+            .thenApplyAsync(ignored -> verifyWith(token, deserializer, reads, reads::resolve), verifyExecutor);
+    }
+
+    /**
+     * Storage keys the pipeline reads first for {@code token}: LIVENESS and SIGNED_DATA for a NATIVE
+     * token, LIVENESS for a JWT. Empty for tokens rejected before any broker read.
+     */
+    private List<byte[]> primaryKeys(String token) {
+        try {
+            TokenParser.TokenInfo tokenInfo = TokenParser.parse(token);
+            return switch (tokenInfo.format()) {
+                case SECURE_PAYLOAD -> List.of();
+                case NATIVE -> List.of(
+                    new EntryId(tokenInfo.scope(), EntryType.LIVENESS, tokenInfo.key()).storageKey(),
+                    new EntryId(tokenInfo.scope(), EntryType.SIGNED_DATA, tokenInfo.key()).storageKey());
+                case JWT -> {
+                    JwtVerificationCache.VerifiedClaims claims = jwtCache.peek(tokenInfo.rawToken(), System.currentTimeMillis());
+                    String sub = claims != null ? claims.sub() : CompactJws.decode(tokenInfo.rawToken()).sub();
+                    String[] parts = Protocol.parseMessageId(sub);
+                    yield List.of(new EntryId(Scope.group(parts[1]), EntryType.LIVENESS, parts[2]).storageKey());
+                }
+            };
+        } catch (Exception e) {
+            return List.of(); // Rejected by the pipeline
+        }
+    }
+
+    private CompletableFuture<Void> prefetchNative(Scope scope, String key, VerificationBatch reads) {
+        List<byte[]> keys = List.of(
+            new EntryId(scope, EntryType.LIVENESS, key).storageKey(),
+            new EntryId(scope, EntryType.SIGNED_DATA, key).storageKey());
+        return asyncBroker.getAllAsync(keys).thenCompose(values -> {
+            Set<String> issuers = new HashSet<>();
+            for (int i = 0; i < keys.size(); i++) {
+                reads.seed(keys.get(i), values.get(i));
+                if (values.get(i) != null) {
+                    try {
+                        issuers.add(EnvelopeView.parse(values.get(i)).issuer());
+                    } catch (Exception ignored) {
+                        // Rejected by the pipeline
+                    }
+                }
+            }
+            return prefetchCapabilities(scope, issuers, reads, List.of());
+        });
+    }
+
+    private CompletableFuture<Void> prefetchJwt(String jwt, VerificationBatch reads) {
+        String sub;
+        String kid;
+        JwtVerificationCache.VerifiedClaims claims = jwtCache.peek(jwt, System.currentTimeMillis());
+        try {
+            if (claims != null) {
+                sub = claims.sub();
+                kid = claims.kid();
+            } else {
+                CompactJws jws = CompactJws.decode(jwt);
+                sub = jws.sub();
+                kid = jws.kid();
+            }
+            String[] parts = Protocol.parseMessageId(sub);
+            Scope scope = Scope.group(parts[1]);
+            byte[] liveKey = new EntryId(scope, EntryType.LIVENESS, parts[2]).storageKey();
+            return prefetchCapabilities(scope, kid != null ? Set.of(kid) : Set.of(), reads, List.of(liveKey));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(null); // Rejected by the pipeline
+        }
+    }
+
+    /**
+     * Fetches {@code extraKeys} together with the CAPABILITY entries of the issuers whose verdict
+     * is not cached, and seeds them into {@code reads}.
+     */
+    private CompletableFuture<Void> prefetchCapabilities(Scope scope, Set<String> issuers,
+                                                         VerificationBatch reads, List<byte[]> extraKeys) {
+        List<byte[]> keys = new ArrayList<>(extraKeys);
+        for (String issuer : issuers) {
+            if (!capabilityVerifier.isCached(issuer, scope)) {
+                keys.add(new EntryId(scope, EntryType.CAPABILITY, issuer).storageKey());
+            }
+        }
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return asyncBroker.getAllAsync(keys).thenAccept(values -> {
+            for (int i = 0; i < keys.size(); i++) {
+                reads.seed(keys.get(i), values.get(i));
+            }
+        });
+    }
+
+    private <T> VerifiedData<T> verifyWith(String token, Function<String, T> deserializer,
+                                           Broker reads, Function<String, TrustIdentity> identities) {
         try {
             TokenParser.TokenInfo tokenInfo = TokenParser.parse(token);
 
             VerifiedData<T> result = switch (tokenInfo.format()) {
                 case SECURE_PAYLOAD -> verifySecurePayloadToken(tokenInfo, deserializer);
-                case NATIVE -> verifyNativeToken(tokenInfo, deserializer);
-                case JWT -> verifyJwtToken(tokenInfo, deserializer);
+                case NATIVE -> verifyNativeToken(tokenInfo, deserializer, reads, identities);
+                case JWT -> verifyJwtToken(tokenInfo, deserializer, reads, identities);
             };
             io.github.cyfko.veridot.core.VeridotMetrics.ENVELOPE_ACCEPTED.increment();
             return result;
@@ -369,7 +903,8 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
     /**
      * Verifies a NATIVE token (8:scope:key) — V5 SIGNED_DATA.
      */
-    private <T> VerifiedData<T> verifyNativeToken(TokenParser.TokenInfo tokenInfo, Function<String, T> deserializer) throws Exception {
+    private <T> VerifiedData<T> verifyNativeToken(TokenParser.TokenInfo tokenInfo, Function<String, T> deserializer,
+                                                  Broker reads, Function<String, TrustIdentity> identities) throws Exception {
         Scope scope = tokenInfo.scope();
         String keyStr = tokenInfo.key();
 
@@ -378,22 +913,20 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
 
         // Verify liveness
         EntryId liveEntryId = new EntryId(scope, EntryType.LIVENESS, keyStr);
-        livenessChecker.assertLive(liveEntryId, broker, trustRoot, watermark, capabilityVerifier, System.currentTimeMillis());
+        livenessChecker.assertLive(liveEntryId, reads, trustRoot, watermark, capabilityVerifier, System.currentTimeMillis());
 
         // 1. Fetch SIGNED_DATA from broker
         EntryId entryId = new EntryId(scope, EntryType.SIGNED_DATA, keyStr);
-        byte[] bytes = broker.get(entryId.storageKey());
+        byte[] bytes = reads.get(entryId.storageKey());
         if (bytes == null) {
             throw new BrokerExtractionException("SIGNED_DATA entry absent from broker: " + entryId.loggable());
         }
 
-        Envelope envelope = Envelope.parse(bytes);
-
-        // 2. Verify envelope signature
-        signatureVerifier.verify(envelope, trustRoot);
+        // 2. Parse and verify envelope signature
+        Envelope envelope = signatureVerifier.parseAndVerify(bytes, trustRoot);
 
         // 3. Verify capability
-        capabilityVerifier.assertAuthorized(envelope.issuer, envelope.scope, broker, trustRoot);
+        capabilityVerifier.assertAuthorized(envelope.issuer, envelope.scope, reads, trustRoot);
 
         // 4. Version watermark check
         if (envelope.version == 0) {
@@ -405,8 +938,7 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
             throw new VeridotException(ErrorCode.VERSION_REJECTED, entryId.loggable(),
                 "SIGNED_DATA version is stale. Watermark is " + currentWatermark);
         }
-        if (envelope.version > currentWatermark) {
-            watermark.accept(entryId, envelope.version);
+        if (envelope.version > currentWatermark && watermark.acceptIfNewer(entryId, envelope.version)) {
             saveWatermark();
         }
 
@@ -415,16 +947,39 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
         String embeddedJwt = new String(sdPayload.data(), StandardCharsets.UTF_8);
 
         // 6. Verify JWT using TrustRoot (same as direct JWT verification)
-        return verifyJwtDirect(embeddedJwt, scope.groupId(), keyStr, deserializer);
+        JwtVerificationCache.VerifiedClaims claims = jwtCache.lookup(embeddedJwt, identities, System.currentTimeMillis());
+        if (claims == null) {
+            claims = verifyJwtAndCache(embeddedJwt, CompactJws.decode(embeddedJwt), identities);
+        }
+        // A replay of this envelope is refused by the JWT's exp once the watermark is pruned
+        watermark.retainUntil(entryId, claims.expMillis());
+        return new VerifiedData<>(scope.groupId(), keyStr, deserializer.apply(claims.data()));
     }
 
     /**
      * Verifies a JWT token (direct mode).
+     *
+     * <p>A cached verification outcome skips decoding and the signature check, but liveness is
+     * checked on every call through the {@link LivenessVerdictCache}: a revocation by this node, or
+     * delivered by the broker change feed, takes effect on the next call, and one published by
+     * another node is otherwise seen at most {@link Config#LIVENESS_CACHE_MAX_STALENESS_MILLIS} late.
      */
-    private <T> VerifiedData<T> verifyJwtToken(TokenParser.TokenInfo tokenInfo, Function<String, T> deserializer) throws Exception {
+    private <T> VerifiedData<T> verifyJwtToken(TokenParser.TokenInfo tokenInfo, Function<String, T> deserializer,
+                                               Broker reads, Function<String, TrustIdentity> identities) throws Exception {
         String jwt = tokenInfo.rawToken();
 
-        String messageId = extractSubFromJwt(jwt);
+        JwtVerificationCache.VerifiedClaims claims = jwtCache.lookup(jwt, identities, System.currentTimeMillis());
+        CompactJws jws = null;
+        String messageId;
+        if (claims != null) {
+            messageId = claims.sub();
+        } else {
+            jws = CompactJws.decode(jwt);
+            messageId = jws.sub();
+        }
+        if (messageId == null) {
+            throw new BrokerExtractionException("JWT has no 'sub' claim");
+        }
         String[] parts = Protocol.parseMessageId(messageId);
         String groupId = parts[1];
         String sequenceId = parts[2];
@@ -435,69 +990,102 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
 
         // Verify liveness
         EntryId liveEntryId = new EntryId(scope, EntryType.LIVENESS, sequenceId);
-        livenessChecker.assertLive(liveEntryId, broker, trustRoot, watermark, capabilityVerifier, System.currentTimeMillis());
+        livenessChecker.assertLive(liveEntryId, reads, trustRoot, watermark, capabilityVerifier, System.currentTimeMillis());
 
-        return verifyJwtDirect(jwt, groupId, sequenceId, deserializer);
+        if (claims == null) {
+            claims = verifyJwtAndCache(jwt, jws, identities);
+        }
+        return new VerifiedData<>(groupId, sequenceId, deserializer.apply(claims.data()));
     }
 
     /**
-     * V5 JWT verification pipeline — resolves identity via kid header → TrustRoot.
+     * Runs the full JWT verification pipeline and records the outcome in the JWT cache.
+     * Only rejections caused by the token itself are cached, under the key its {@code kid} resolved
+     * to; a failure to resolve the {@code kid}, possibly transient, and unexpected decoding failures
+     * are not.
      */
-    private <T> VerifiedData<T> verifyJwtDirect(String jwt, String groupId, String sequenceId,
-                                                  Function<String, T> deserializer) throws Exception {
-        String[] jwtParts = jwt.split("\\.");
-        if (jwtParts.length < 3) {
-            throw new BrokerExtractionException("Malformed JWT: expected 3 parts");
+    private JwtVerificationCache.VerifiedClaims verifyJwtAndCache(String jwt, CompactJws jws,
+                                                                  Function<String, TrustIdentity> identities) {
+        String kid;
+        try {
+            kid = jwtKid(jws);
+        } catch (VeridotException e) {
+            jwtCache.putRejected(jwt, null, null, e, System.currentTimeMillis());
+            throw e;
+        }
+        TrustIdentity identity = resolveJwtIdentity(kid, identities);
+        JwtVerificationCache.VerifiedClaims claims;
+        try {
+            claims = verifyJwtDirect(jws, kid, identity);
+        } catch (VeridotException e) {
+            jwtCache.putRejected(jwt, kid, identity.publicKey(), e, System.currentTimeMillis());
+            throw e;
         }
+        jwtCache.putVerified(jwt, claims, System.currentTimeMillis());
+        return claims;
+    }
 
-        // 1. Parse JWT header
-        String headerJson = new String(Base64.getUrlDecoder().decode(jwtParts[0]), StandardCharsets.UTF_8);
-        JsonNode headerNode = objectMapper.readTree(headerJson);
-        if (headerNode == null || !headerNode.has("alg")) {
+    /**
+     * Checks the JWT header and returns its {@code kid} (§8.2 steps 1-2).
+     */
+    private static String jwtKid(CompactJws jws) {
+        if (jws.alg() == null) {
             throw new BrokerExtractionException("JWT header missing 'alg'");
         }
-        String jwtAlg = headerNode.get("alg").asText();
-
-        // 2. Extract kid → resolve identity via TrustRoot
-        if (!headerNode.has("kid")) {
+        String kid = jws.kid();
+        if (kid == null) {
             throw new BrokerExtractionException("JWT header missing 'kid' (required in V5)");
         }
-        String kid = headerNode.get("kid").asText();
-        TrustIdentity identity = trustRoot.resolve(kid);
+        return kid;
+    }
+
+    /**
+     * Resolves the identity of a JWT's {@code kid} through the TrustRoot.
+     */
+    private static TrustIdentity resolveJwtIdentity(String kid, Function<String, TrustIdentity> identities) {
+        TrustIdentity identity = identities.apply(kid);
         if (identity == null) {
             throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, null,
                 "TrustRoot resolution failed for kid: " + kid);
         }
+        return identity;
+    }
 
+    /**
+     * V5 JWT verification pipeline, once the header checks passed and {@code kid} was resolved to
+     * {@code identity} through the TrustRoot.
+     */
+    private JwtVerificationCache.VerifiedClaims verifyJwtDirect(CompactJws jws, String kid, TrustIdentity identity) {
         // 3. Algorithm confusion check (§8.2 step 4): jwtAlg must match identity algorithm
+        String jwtAlg = jws.alg();
         String expectedAlg = identity.algorithm().jwtAlg();
         if (!expectedAlg.equals(jwtAlg)) {
             throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, null,
                 "JWT algorithm mismatch: header=" + jwtAlg + " expected=" + expectedAlg);
         }
 
-        // 4. Verify cryptographic signature
-        byte[] signedBytes = (jwtParts[0] + "." + jwtParts[1]).getBytes(StandardCharsets.UTF_8);
-        byte[] signatureBytes = Base64.getUrlDecoder().decode(jwtParts[2]);
-        signatureVerifier.verifyRaw(signedBytes, signatureBytes, identity.publicKey(), identity.algorithm());
+        // 4. Verify cryptographic signature over the header.payload byte range
+        signatureVerifier.verifyRaw(jws.signingInput(), 0, jws.signingInputLength(),
+            jws.signature(), jws.signatureOffset(), jws.signatureLength(),
+            identity.publicKey(), identity.algorithm());
 
         // 5. Check expiration with clock drift tolerance (§8.2)
-        String payloadJson = new String(Base64.getUrlDecoder().decode(jwtParts[1]), StandardCharsets.UTF_8);
-        JsonNode payloadNode = objectMapper.readTree(payloadJson);
-        if (payloadNode.has("exp")) {
-            long expEpochSec = payloadNode.get("exp").asLong();
+        long expClaimMillis = Long.MAX_VALUE;
+        if (jws.hasExp()) {
+            long expEpochSec = jws.exp();
             long expMillis = expEpochSec * 1000L + Config.MAX_CLOCK_DRIFT_SECONDS * 1000L;
             if (System.currentTimeMillis() > expMillis) {
                 throw new VeridotException(ErrorCode.ENTRY_EXPIRED, null,
                     "JWT expired. exp=" + expEpochSec + ", clock drift tolerance=" + Config.MAX_CLOCK_DRIFT_SECONDS + "s");
             }
+            expClaimMillis = expEpochSec * 1000L;
         }
 
-        // 6. Decode data
-        String dataStr = payloadNode.get("data").asText();
-        T deserialized = deserializer.apply(dataStr);
-
-        return new VerifiedData<>(groupId, sequenceId, deserialized);
+        // 6. Extract claims
+        if (jws.data() == null) {
+            throw new BrokerExtractionException("JWT has no 'data' claim");
+        }
+        return new JwtVerificationCache.VerifiedClaims(kid, identity, jws.sub(), jws.data(), expClaimMillis);
     }
 
     // ═══ revoke() ═══
@@ -519,15 +1107,18 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
         try {
             if (sequenceId == null) {
                 List<SessionCounter.SessionInfo> active = sessionCounter.listActive(scope, broker, trustRoot, watermark, livenessChecker, now);
+                List<EntryId> liveEntryIds = new ArrayList<>(active.size());
                 for (SessionCounter.SessionInfo session : active) {
-                    EntryId liveEntryId = new EntryId(scope, EntryType.LIVENESS, session.sessionKey());
-                    livenessManager.publishRevoked(liveEntryId, watermark);
-                    livenessManager.stopRenewalLoop(liveEntryId);
+                    liveEntryIds.add(new EntryId(scope, EntryType.LIVENESS, session.sessionKey()));
                 }
+                // Cancel first so no renewal starts after the revocation; one already in flight
+                // holds a reserved version below it
+                liveEntryIds.forEach(renewalWheel::cancel);
+                livenessManager.publishRevokedAll(liveEntryIds, versions);
             } else {
                 EntryId liveEntryId = new EntryId(scope, EntryType.LIVENESS, sequenceId);
-                livenessManager.publishRevoked(liveEntryId, watermark);
-                livenessManager.stopRenewalLoop(liveEntryId);
+                renewalWheel.cancel(liveEntryId);
+                livenessManager.publishRevoked(liveEntryId, versions);
             }
             saveWatermark();
         } catch (Exception e) {
@@ -624,13 +1215,28 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
             // Try as groupId
             try {
                 Scope groupScope = Scope.group(s);
-                return sessionCounter.countActive(groupScope, broker, trustRoot, watermark, livenessChecker, now) > 0;
+                return countActive(groupScope, now) > 0;
             } catch (Exception ex) {
                 return false;
             }
         }
     }
 
+    /**
+     * Counts the active sessions of a group from the session index, rebuilding it from a snapshot
+     * when it is due for repair.
+     */
+    private int countActive(Scope groupScope, long now) {
+        if (sessionIndex.needsRebuild(groupScope, -1, now)) {
+            sessionIndex.rebuild(groupScope,
+                sessionCounter.listActive(groupScope, broker, trustRoot, watermark, livenessChecker, now), -1, now);
+        } else {
+            sessionIndex.expire(groupScope, now, key -> sessionCounter.reload(
+                new EntryId(groupScope, EntryType.LIVENESS, key), broker, trustRoot, watermark, livenessChecker, now));
+        }
+        return sessionIndex.size(groupScope);
+    }
+
     // ═══ Reconciliation ═══
 
     private final java.util.Set<Scope> reconciledScopes = java.util.concurrent.ConcurrentHashMap.newKeySet();
@@ -651,33 +1257,37 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
                 capabilityVerifier,
                 this::saveWatermark
             );
+            entryCompactor.track(scope, scheduler);
         }
     }
 
     @Override
     public void close() {
-        if (livenessManager != null) {
-            livenessManager.stopAll();
+        if (changeSubscription != null) {
+            changeSubscription.close();
+        }
+        if (renewalWheel != null) {
+            renewalWheel.close();
         }
         if (reconciliationManager != null) {
             reconciliationManager.close();
         }
-        saveWatermark();
+        if (instanceHeartbeat != null) {
+            instanceHeartbeat.close();
+        }
+        entryCompactor.close();
+        watermarkFlusher.close();
+        jwtCache.clear();
         scheduler.shutdownNow();
+        verifyExecutor.shutdownNow();
     }
 
-    private static String extractSubFromJwt(String jwt) throws Exception {
-        String[] parts = jwt.split("\\.");
-        if (parts.length < 2) {
-            throw new IllegalArgumentException("Malformed JWT: less than 2 parts");
-        }
-        String payloadJson = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
-        JsonNode node = objectMapper.readTree(payloadJson);
-        JsonNode subNode = node.get("sub");
-        if (subNode == null) {
+    private static String extractSubFromJwt(String jwt) {
+        String sub = CompactJws.decode(jwt).sub();
+        if (sub == null) {
             throw new IllegalArgumentException("JWT has no 'sub' claim");
         }
-        return subNode.asText();
+        return sub;
     }
 
     // Visible for testing
@@ -685,6 +1295,16 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
         return watermark;
     }
 
+    // Visible for testing
+    LivenessChecker livenessCheckerForTest() {
+        return livenessChecker;
+    }
+
+    // Visible for testing
+    EntryCompactor entryCompactorForTest() {
+        return entryCompactor;
+    }
+
     private void checkReconciliationStaleness(Scope scope) {
         if (reconciledScopes.contains(scope)) {
             long last = reconciliationManager.getLastReconciled(scope);
@@ -698,13 +1318,7 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
     }
 
     private void saveWatermark() {
-        if (watermarkStore != null) {
-            try {
-                watermarkStore.save(watermark.snapshot());
-            } catch (Exception e) {
-                logger.warning("Failed to save watermark snapshot: " + e.getMessage());
-            }
-        }
+        watermarkFlusher.onAdvance();
     }
 
     @Override
@@ -783,9 +1397,7 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
             throw new BrokerExtractionException("SECURE_PAYLOAD entry absent from broker");
         }
 
-        Envelope envelope = Envelope.parse(bytes);
-
-        signatureVerifier.verify(envelope, trustRoot);
+        Envelope envelope = signatureVerifier.parseAndVerify(bytes, trustRoot);
         capabilityVerifier.assertAuthorized(envelope.issuer, envelope.scope, broker, trustRoot);
 
         if (envelope.version == 0) {
@@ -797,8 +1409,7 @@ public class GenericSignerVerifier implements DataSigner, TokenVerifier, TokenRe
             throw new VeridotException(ErrorCode.VERSION_REJECTED, entryId.loggable(),
                 "SECURE_PAYLOAD version is stale. Watermark is " + currentWatermark);
         }
-        if (envelope.version > currentWatermark) {
-            watermark.accept(entryId, envelope.version);
+        if (envelope.version > currentWatermark && watermark.acceptIfNewer(entryId, envelope.version)) {
             saveWatermark();
         }
 
@@ -0,0 +1,104 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Algorithm;
+import io.github.cyfko.veridot.core.Broker;
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
+
+import java.security.PrivateKey;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Publishes this instance's INSTANCE_HEARTBEAT lease (§4.12).
+ *
+ * <p>The lease lives in the global scope under the instance subject. It is published once by the first
+ * {@link #start} and then republished every third of {@code leaseMillis}, so a single missed
+ * publication does not end it. The epoch is fixed for the lifetime of this object: sessions bound to
+ * it end when the instance stops renewing, and a restarted instance never revives them.
+ */
+final class InstanceHeartbeat implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(InstanceHeartbeat.class.getName());
+
+    private final EntryPublisher publisher;
+    private final Broker broker;
+    private final PrivateKey signingKey;
+    private final Algorithm sigAlg;
+    private final String issuerId;
+    private final VersionWatermark watermark;
+    private final long leaseMillis;
+    private final long epoch;
+    private final EntryId heartbeatId;
+
+    // Guarded by this
+    private ScheduledFuture<?> task;
+    private boolean closed;
+
+    InstanceHeartbeat(EntryPublisher publisher, Broker broker, PrivateKey signingKey, Algorithm sigAlg,
+                      String issuerId, VersionWatermark watermark, long leaseMillis) {
+        this.publisher = publisher;
+        this.broker = broker;
+        this.signingKey = signingKey;
+        this.sigAlg = sigAlg;
+        this.issuerId = issuerId;
+        this.watermark = watermark;
+        this.leaseMillis = leaseMillis;
+        this.epoch = System.currentTimeMillis();
+        this.heartbeatId = new EntryId(Scope.global(), EntryType.INSTANCE_HEARTBEAT, issuerId);
+    }
+
+    /**
+     * Publishes the lease, if not done yet, and starts renewing it on {@code scheduler}.
+     *
+     * @return the lease epoch to bind sessions to
+     * @throws VeridotException with {@link ErrorCode#BROKER_UNREACHABLE} if the first publication fails
+     */
+    long start(ScheduledExecutorService scheduler) {
+        synchronized (this) {
+            if (task == null && !closed) {
+                // A previous run of this instance may have left a higher version than the local watermark
+                byte[] previous = broker.get(heartbeatId.storageKey());
+                if (previous != null && previous.length > 0) {
+                    watermark.acceptIfNewer(heartbeatId, EnvelopeView.parse(previous).version());
+                }
+                publish(System.currentTimeMillis());
+                long period = Math.max(leaseMillis / 3, 1);
+                task = scheduler.scheduleAtFixedRate(this::publishQuietly, period, period, TimeUnit.MILLISECONDS);
+            }
+        }
+        return epoch;
+    }
+
+    long epoch() {
+        return epoch;
+    }
+
+    void publish(long nowMillis) {
+        long version = Math.max(watermark.current(heartbeatId) + 1, 1);
+        byte[] payloadBytes = new InstanceHeartbeatPayload(epoch, nowMillis, nowMillis + leaseMillis).encode();
+        try {
+            publisher.publish(EntryType.INSTANCE_HEARTBEAT, heartbeatId.scope(), heartbeatId.key(), version,
+                payloadBytes, signingKey, sigAlg, issuerId, broker).join();
+            watermark.acceptIfNewer(heartbeatId, version);
+        } catch (Exception e) {
+            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, heartbeatId.loggable(), "Failed to publish INSTANCE_HEARTBEAT entry", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    private void publishQuietly() {
+        try {
+            publish(System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.warning("Instance heartbeat renewal failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.cyfko.veridot.core.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Payload of an INSTANCE_HEARTBEAT entry (§4.12).
+ *
+ * <p>The lease of one signing instance. LIVENESS entries that carry the same {@code epoch} stay
+ * active only while this lease is fresh.
+ */
+record InstanceHeartbeatPayload(
+    long epoch,       // tag 0x01: lease epoch, chosen when the instance starts
+    long asOf,        // tag 0x02: milliseconds since epoch
+    long validUntil   // tag 0x03: milliseconds since epoch
+) {
+
+    public enum Tag {
+        EPOCH((byte) 0x01),
+        AS_OF((byte) 0x02),
+        VALID_UNTIL((byte) 0x03);
+
+        public final byte code;
+        Tag(byte code) { this.code = code; }
+    }
+
+    public static InstanceHeartbeatPayload decode(byte[] tlvBytes) {
+        TlvReader fields = TlvReader.parse(tlvBytes);
+
+        long epoch = fields.readI64(Tag.EPOCH.code, true);
+        long asOf = fields.readI64(Tag.AS_OF.code, true);
+        long validUntil = fields.readI64(Tag.VALID_UNTIL.code, true);
+
+        return new InstanceHeartbeatPayload(epoch, asOf, validUntil);
+    }
+
+    public byte[] encode() {
+        List<TlvCodec.TlvField> fields = new ArrayList<>();
+        fields.add(TlvCodec.i64(Tag.EPOCH.code, epoch));
+        fields.add(TlvCodec.i64(Tag.AS_OF.code, asOf));
+        fields.add(TlvCodec.i64(Tag.VALID_UNTIL.code, validUntil));
+        return TlvCodec.encode(fields);
+    }
+
+    public boolean isFresh(long nowMillis) {
+        return nowMillis < validUntil;
+    }
+}
@@ -103,15 +103,7 @@ class JwtMaker {
     }
 
     private static String signToken(String data, PrivateKey privateKey, Algorithm alg) throws Exception {
-        String jcaAlg = alg.getJcaSignatureAlg();
-        Signature signature = Signature.getInstance(jcaAlg);
-        if (alg == Algorithm.RSA_PSS) {
-            try {
-                signature.setParameter(new java.security.spec.PSSParameterSpec(
-                    "SHA-256", "MGF1", java.security.spec.MGF1ParameterSpec.SHA256, 32, 1
-                ));
-            } catch (Exception ignored) {}
-        }
+        Signature signature = SignaturePool.acquire(alg);
         signature.initSign(privateKey);
         signature.update(data.getBytes(StandardCharsets.UTF_8));
         byte[] signed = signature.sign();
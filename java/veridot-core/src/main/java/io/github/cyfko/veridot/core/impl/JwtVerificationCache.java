@@ -0,0 +1,214 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.TrustIdentity;
+import io.github.cyfko.veridot.core.VeridotMetrics;
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
+
+import java.security.PublicKey;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of JWT verification outcomes (§8.2).
+ *
+ * <p>Entries are keyed by the SHA-256 digest of the compact token. A positive outcome holds the
+ * claims extracted once the signature was verified, so a repeated token skips Base64/JSON decoding
+ * and the signature check. Liveness is deliberately NOT part of the outcome: callers still run
+ * {@link LivenessChecker#assertLive} on every hit.
+ *
+ * <p>Like {@link VerifiedEnvelopeMemo}, each outcome records the public key it was reached with and
+ * is only reused while the TrustRoot still resolves the token's {@code kid} to that same key, so a
+ * key rotation or revocation in the TrustRoot invalidates it. Rejections are cached for a shorter
+ * window so that a flood of the same forged token costs a single signature check; only rejections
+ * that the token itself causes are remembered, never a failure to resolve its {@code kid}. Positive
+ * entries never outlive the token's {@code exp} claim (plus the configured clock drift tolerance).
+ *
+ * <p>The entries are spread over lock-striped LRU segments by digest, so concurrent verifications of
+ * different tokens rarely contend.
+ */
+final class JwtVerificationCache {
+
+    // Segments are only split off once each can hold this many entries, so small caches stay exact LRU
+    private static final int MIN_SEGMENT_ENTRIES = 64;
+    private static final int MAX_SEGMENTS = 16;
+
+    /**
+     * Claims of a JWT whose signature has been verified against {@code identity}.
+     *
+     * @param kid       the {@code kid} header the identity was resolved from
+     * @param identity  the identity resolved through the TrustRoot at verification time
+     * @param sub       the {@code sub} claim (Protocol messageId), or null if absent
+     * @param data      the {@code data} claim
+     * @param expMillis the {@code exp} claim in epoch milliseconds, or {@link Long#MAX_VALUE} if absent
+     */
+    record VerifiedClaims(String kid, TrustIdentity identity, String sub, String data, long expMillis) {}
+
+    /**
+     * @param kid       the {@code kid} the outcome was reached under, or null for a token rejected
+     *                  before its {@code kid} was resolved
+     * @param issuerKey the public key {@code kid} resolved to, or null along with {@code kid}
+     */
+    private record Outcome(VerifiedClaims claims, String kid, PublicKey issuerKey, VeridotException rejection,
+                           long expiresAt) {}
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Map<ContentDigest, Outcome>[] segments;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    JwtVerificationCache(int maxEntries, long ttlMillis, long negativeTtlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS, maxEntries / MIN_SEGMENT_ENTRIES));
+        int segmentEntries = maxEntries / segmentCount;
+        this.segments = new Map[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ContentDigest, Outcome> eldest) {
+                    return size() > segmentEntries;
+                }
+            };
+        }
+    }
+
+    /**
+     * Returns the cached claims for the token, rethrowing a cached rejection if any. An outcome whose
+     * {@code kid} no longer resolves to the key it was reached with is dropped as a miss.
+     *
+     * @param identities resolves a {@code kid} through the TrustRoot
+     * @return the verified claims, or null on a cache miss
+     * @throws VeridotException if the token was recently rejected
+     */
+    VerifiedClaims lookup(String token, Function<String, TrustIdentity> identities, long nowMillis) {
+        if (!isEnabled()) {
+            return null;
+        }
+        ContentDigest digest = ContentDigest.of(token);
+        Outcome outcome = current(digest, nowMillis);
+        if (outcome != null && outcome.kid != null && !outcome.issuerKey.equals(resolveKey(outcome.kid, identities))) {
+            remove(digest, outcome);
+            outcome = null;
+        }
+        if (outcome == null) {
+            VeridotMetrics.JWT_CACHE_MISSES.increment();
+            return null;
+        }
+        VeridotMetrics.JWT_CACHE_HITS.increment();
+        if (outcome.rejection != null) {
+            VeridotException cause = outcome.rejection;
+            throw new VeridotException(cause.getErrorCode() != null ? cause.getErrorCode() : ErrorCode.INVALID_ENVELOPE,
+                cause.getEntryId(), "JWT was rejected (cached)", cause);
+        }
+        return outcome.claims;
+    }
+
+    /**
+     * Returns the cached claims for the token without checking its {@code kid} against the
+     * TrustRoot, for callers that only need its claims as a hint, such as prefetching.
+     *
+     * @return the claims of a cached positive outcome, or null
+     */
+    VerifiedClaims peek(String token, long nowMillis) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Outcome outcome = current(ContentDigest.of(token), nowMillis);
+        return outcome != null ? outcome.claims : null;
+    }
+
+    void putVerified(String token, VerifiedClaims claims, long nowMillis) {
+        if (!isEnabled() || ttlMillis <= 0) {
+            return;
+        }
+        long expLimit = claims.expMillis() == Long.MAX_VALUE
+            ? Long.MAX_VALUE
+            : claims.expMillis() + Config.MAX_CLOCK_DRIFT_SECONDS * 1000L;
+        long expiresAt = Math.min(nowMillis + ttlMillis, expLimit);
+        if (nowMillis >= expiresAt) {
+            return;
+        }
+        PublicKey issuerKey = claims.identity() != null ? claims.identity().publicKey() : null;
+        store(token, new Outcome(claims, issuerKey != null ? claims.kid() : null, issuerKey, null, expiresAt));
+    }
+
+    /**
+     * Caches a rejection caused by the token itself: a malformed header or claim, an algorithm
+     * mismatch, an invalid signature or an expired token.
+     *
+     * @param kid       the {@code kid} whose key the token was rejected under, or null if the token
+     *                  was rejected before its {@code kid} was resolved
+     * @param issuerKey the public key {@code kid} resolved to, or null along with {@code kid}
+     */
+    void putRejected(String token, String kid, PublicKey issuerKey, VeridotException rejection, long nowMillis) {
+        if (!isEnabled() || negativeTtlMillis <= 0) {
+            return;
+        }
+        store(token, new Outcome(null, issuerKey != null ? kid : null, issuerKey, rejection, nowMillis + negativeTtlMillis));
+    }
+
+    void clear() {
+        for (Map<ContentDigest, Outcome> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Map<ContentDigest, Outcome> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    private Map<ContentDigest, Outcome> segment(ContentDigest digest) {
+        return segments[Math.floorMod(digest.hashCode(), segments.length)];
+    }
+
+    private Outcome current(ContentDigest digest, long nowMillis) {
+        Map<ContentDigest, Outcome> segment = segment(digest);
+        synchronized (segment) {
+            Outcome outcome = segment.get(digest);
+            if (outcome != null && nowMillis >= outcome.expiresAt) {
+                segment.remove(digest);
+                return null;
+            }
+            return outcome;
+        }
+    }
+
+    private void remove(ContentDigest digest, Outcome outcome) {
+        Map<ContentDigest, Outcome> segment = segment(digest);
+        synchronized (segment) {
+            segment.remove(digest, outcome);
+        }
+    }
+
+    private static PublicKey resolveKey(String kid, Function<String, TrustIdentity> identities) {
+        try {
+            TrustIdentity identity = identities.apply(kid);
+            return identity != null ? identity.publicKey() : null;
+        } catch (Exception e) {
+            return null; // let full verification report the resolution failure
+        }
+    }
+
+    private void store(String token, Outcome outcome) {
+        ContentDigest digest = ContentDigest.of(token);
+        Map<ContentDigest, Outcome> segment = segment(digest);
+        synchronized (segment) {
+            segment.put(digest, outcome);
+        }
+    }
+}
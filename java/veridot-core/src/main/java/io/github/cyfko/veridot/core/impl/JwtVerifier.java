@@ -96,14 +96,7 @@ class JwtVerifier {
     }
 
     private boolean verifySignature(String data, byte[] signatureBytes) throws Exception {
-        Signature signature = Signature.getInstance(expectedAlg.getJcaSignatureAlg());
-        if (expectedAlg == Algorithm.RSA_PSS) {
-            try {
-                signature.setParameter(new java.security.spec.PSSParameterSpec(
-                    "SHA-256", "MGF1", java.security.spec.MGF1ParameterSpec.SHA256, 32, 1
-                ));
-            } catch (Exception ignored) {}
-        }
+        Signature signature = SignaturePool.acquire(expectedAlg);
         signature.initVerify(publicKey);
         signature.update(data.getBytes(StandardCharsets.UTF_8));
         return signature.verify(signatureBytes);
@@ -7,12 +7,33 @@ import io.github.cyfko.veridot.core.exceptions.VeridotException;
 
 /**
  * Enforces positive-proof default-deny liveness verification (§8.3, §8.6).
+ *
+ * <p>A LIVENESS entry bound to an instance lease is only live while the INSTANCE_HEARTBEAT entry of
+ * its issuer carries the same epoch and is fresh (§4.12).
+ *
+ * <p>Positive verdicts are remembered in a {@link LivenessVerdictCache}, so a hot session costs a
+ * lookup instead of a broker read and a signature check.
  */
 final class LivenessChecker {
 
     private final SignatureVerifier signatureVerifier = new SignatureVerifier();
+    private final LivenessVerdictCache verdicts;
 
-    public void assertLive(EntryId liveEntryId, Broker broker, TrustRoot trustRoot,
+    LivenessChecker() {
+        this(new LivenessVerdictCache((int) Config.LIVENESS_CACHE_MAX_ENTRIES, Config.LIVENESS_CACHE_MAX_STALENESS_MILLIS));
+    }
+
+    LivenessChecker(LivenessVerdictCache verdicts) {
+        this.verdicts = verdicts;
+    }
+
+    /**
+     * Asserts that the LIVENESS entry is present, authentic, ACTIVE and fresh, and that the lease it
+     * is bound to, if any, is held.
+     *
+     * @return the verified liveness payload
+     */
+    public LivenessPayload assertLive(EntryId liveEntryId, Broker broker, TrustRoot trustRoot,
                            VersionWatermark watermark, CapabilityVerifier capabilityVerifier,
                            long nowMillis) {
         if (liveEntryId == null) {
@@ -31,6 +52,11 @@ final class LivenessChecker {
             throw new IllegalArgumentException("CapabilityVerifier cannot be null");
         }
 
+        LivenessPayload cached = verdicts.lookup(liveEntryId, watermark, nowMillis);
+        if (cached != null) {
+            return cached;
+        }
+
         String loggable = liveEntryId.loggable();
 
         // 1. Fetch liveness entry
@@ -45,11 +71,20 @@ final class LivenessChecker {
             throw new VeridotException(ErrorCode.LIVENESS_INVALID, loggable, "Liveness entry absent");
         }
 
-        // 2. Parse envelope & TLV Payload (V-10 duplicate check before signature)
+        // 2. Parse envelope & TLV Payload (V-10 duplicate check before signature),
+        //    reusing the remembered verdict when these exact bytes were already verified
         Envelope envelope;
+        try {
+            envelope = signatureVerifier.memoized(bytes, trustRoot);
+        } catch (Exception e) {
+            throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, loggable, "Liveness envelope signature verification failed", e);
+        }
+        boolean signatureVerified = envelope != null;
         LivenessPayload payload;
         try {
-            envelope = Envelope.parse(bytes);
+            if (envelope == null) {
+                envelope = Envelope.parse(bytes);
+            }
             payload = LivenessPayload.decode(envelope.payload);
         } catch (VeridotException e) {
             throw e;
@@ -58,10 +93,12 @@ final class LivenessChecker {
         }
 
         // 3. Verify signature
-        try {
-            signatureVerifier.verify(envelope, trustRoot);
-        } catch (Exception e) {
-            throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, loggable, "Liveness envelope signature verification failed", e);
+        if (!signatureVerified) {
+            try {
+                signatureVerifier.verifyAndRemember(bytes, envelope, trustRoot);
+            } catch (Exception e) {
+                throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, loggable, "Liveness envelope signature verification failed", e);
+            }
         }
 
         // 4. Verify capability of the liveness issuer (§8.6)
@@ -85,8 +122,9 @@ final class LivenessChecker {
                 "Liveness version " + envelope.version + " is stale. Watermark is " + currentWatermark);
         }
         if (envelope.version > currentWatermark) {
-            watermark.accept(liveEntryId, envelope.version);
+            watermark.acceptIfNewer(liveEntryId, envelope.version);
         }
+        watermark.retainUntil(liveEntryId, payload.validUntil());
 
         // 7. Verify ACTIVE status
         if (!payload.isActive()) {
@@ -97,5 +135,91 @@ final class LivenessChecker {
         if (!payload.isFresh(nowMillis)) {
             throw new VeridotException(ErrorCode.LIVENESS_INVALID, loggable, "Liveness attestation expired at " + payload.validUntil());
         }
+
+        // 9. A lease-bound session lives no longer than its issuer's heartbeat (§4.12)
+        long verdictUntil = payload.validUntil();
+        if (payload.isLeaseBound()) {
+            InstanceHeartbeatPayload lease = assertLeaseHeld(envelope.issuer, payload.leaseEpoch().getAsLong(),
+                loggable, broker, trustRoot, watermark, nowMillis);
+            verdictUntil = Math.min(verdictUntil, lease.validUntil());
+        }
+        verdicts.putVerified(liveEntryId, payload, envelope.version, verdictUntil, nowMillis);
+        return payload;
+    }
+
+    /**
+     * Drops the cached verdict of a session, e.g. when its LIVENESS entry was deleted by another node.
+     */
+    void invalidate(EntryId liveEntryId) {
+        verdicts.invalidate(liveEntryId);
+    }
+
+    /**
+     * Asserts that {@code issuer} publishes an authentic, fresh INSTANCE_HEARTBEAT at {@code leaseEpoch}.
+     *
+     * @return the verified heartbeat payload
+     */
+    private InstanceHeartbeatPayload assertLeaseHeld(String issuer, long leaseEpoch, String loggable, Broker broker,
+                                                     TrustRoot trustRoot, VersionWatermark watermark, long nowMillis) {
+        EntryId heartbeatId = new EntryId(Scope.global(), EntryType.INSTANCE_HEARTBEAT, issuer);
+        InstanceHeartbeatPayload cached = verdicts.lookupLease(heartbeatId, watermark, nowMillis);
+        if (cached != null && cached.epoch() == leaseEpoch) {
+            return cached;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = broker.get(heartbeatId.storageKey());
+        } catch (Exception e) {
+            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, loggable, "Broker unavailable when fetching instance heartbeat", e);
+        }
+        if (bytes == null) {
+            throw new VeridotException(ErrorCode.LIVENESS_INVALID, loggable, "Instance heartbeat absent");
+        }
+
+        Envelope envelope;
+        try {
+            envelope = signatureVerifier.memoized(bytes, trustRoot);
+            if (envelope == null) {
+                envelope = Envelope.parse(bytes);
+                signatureVerifier.verifyAndRemember(bytes, envelope, trustRoot);
+            }
+        } catch (Exception e) {
+            throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, loggable, "Instance heartbeat signature verification failed", e);
+        }
+
+        // An instance only attests its own lease
+        if (envelope.entryType != EntryType.INSTANCE_HEARTBEAT || !issuer.equals(envelope.issuer) || !issuer.equals(envelope.key)) {
+            throw new VeridotException(ErrorCode.NO_CAPABILITY, loggable, "Instance heartbeat not signed by the session issuer");
+        }
+
+        if (envelope.version == 0) {
+            throw new VeridotException(ErrorCode.VERSION_REJECTED, loggable,
+                "Entry version 0 is unconditionally rejected (§11.1 V4201)");
+        }
+        long currentWatermark = watermark.current(heartbeatId);
+        if (envelope.version < currentWatermark) {
+            throw new VeridotException(ErrorCode.VERSION_REJECTED, loggable,
+                "Instance heartbeat version " + envelope.version + " is stale. Watermark is " + currentWatermark);
+        }
+        if (envelope.version > currentWatermark) {
+            watermark.acceptIfNewer(heartbeatId, envelope.version);
+        }
+
+        InstanceHeartbeatPayload lease;
+        try {
+            lease = InstanceHeartbeatPayload.decode(envelope.payload);
+        } catch (Exception e) {
+            throw new VeridotException(ErrorCode.LIVENESS_INVALID, loggable, "Malformed instance heartbeat payload", e);
+        }
+        if (lease.epoch() != leaseEpoch) {
+            throw new VeridotException(ErrorCode.LIVENESS_INVALID, loggable,
+                "Session is bound to lease epoch " + leaseEpoch + " but the issuer holds epoch " + lease.epoch());
+        }
+        if (!lease.isFresh(nowMillis)) {
+            throw new VeridotException(ErrorCode.LIVENESS_INVALID, loggable, "Instance heartbeat expired at " + lease.validUntil());
+        }
+        verdicts.putLease(heartbeatId, lease, envelope.version, nowMillis);
+        return lease;
     }
 }
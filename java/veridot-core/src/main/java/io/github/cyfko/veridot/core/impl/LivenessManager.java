@@ -5,14 +5,14 @@ import io.github.cyfko.veridot.core.exceptions.VeridotException;
 
 import io.github.cyfko.veridot.core.Algorithm;
 import java.security.PrivateKey;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
- * Manages active session publication, revoking, and periodic renewal loops (§8.5).
+ * Manages active session publication, revoking, and batched renewal (§8.5).
  */
 final class LivenessManager {
 
@@ -22,8 +22,6 @@ final class LivenessManager {
     private final Algorithm sigAlg;
     private final String issuerId;
 
-    private final Map<EntryId, ScheduledFuture<?>> renewalTasks = new ConcurrentHashMap<>();
-
     public LivenessManager(EntryPublisher publisher, Broker broker, PrivateKey signingKey, Algorithm sigAlg, String issuerId) {
         this.publisher = publisher;
         this.broker = broker;
@@ -32,68 +30,153 @@ final class LivenessManager {
         this.issuerId = issuerId;
     }
 
-    public void publishActive(EntryId liveEntryId, long validityDurationMillis, VersionWatermark watermark) {
-        long now = System.currentTimeMillis();
+    /**
+     * @param leaseEpoch the epoch of the instance lease the session is bound to, or empty for a session
+     *                   renewed on its own
+     */
+    public void publishActive(EntryId liveEntryId, long validityDurationMillis, OptionalLong leaseEpoch, VersionWatermark watermark) {
         long version = Math.max(watermark.current(liveEntryId) + 1, 1);
-
-        LivenessPayload payload = new LivenessPayload(LivenessPayload.ACTIVE, now, now + validityDurationMillis);
-        byte[] payloadBytes = payload.encode();
-
         try {
-            publisher.publish(EntryType.LIVENESS, liveEntryId.scope(), liveEntryId.key(), version, payloadBytes, signingKey, sigAlg, issuerId, broker)
-                     .join();
+            publishActiveAsync(liveEntryId, validityDurationMillis, leaseEpoch, version).join();
+        } catch (CompletionException e) {
+            throw (VeridotException) e.getCause();
+        }
+        try {
             watermark.accept(liveEntryId, version);
+            watermark.retainUntil(liveEntryId, System.currentTimeMillis() + validityDurationMillis);
         } catch (Exception e) {
             throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, liveEntryId.loggable(), "Failed to publish LIVENESS(ACTIVE) entry", e);
         }
     }
 
-    public void publishRevoked(EntryId liveEntryId, VersionWatermark watermark) {
+    /**
+     * Publishes LIVENESS(ACTIVE) at the given version without waiting for the broker. The caller
+     * advances the watermark once the returned future completes.
+     *
+     * @return a future failing with {@link ErrorCode#BROKER_UNREACHABLE} if the publication fails
+     */
+    public CompletableFuture<Void> publishActiveAsync(EntryId liveEntryId, long validityDurationMillis, OptionalLong leaseEpoch, long version) {
         long now = System.currentTimeMillis();
-        long version = Math.max(watermark.current(liveEntryId) + 1, 1);
 
-        LivenessPayload payload = new LivenessPayload(LivenessPayload.REVOKED, now, now);
+        LivenessPayload payload = new LivenessPayload(LivenessPayload.ACTIVE, now, now + validityDurationMillis, leaseEpoch);
         byte[] payloadBytes = payload.encode();
 
+        CompletableFuture<Void> published;
         try {
-            publisher.publish(EntryType.LIVENESS, liveEntryId.scope(), liveEntryId.key(), version, payloadBytes, signingKey, sigAlg, issuerId, broker)
-                     .join();
-            watermark.accept(liveEntryId, version);
+            published = publisher.publish(EntryType.LIVENESS, liveEntryId.scope(), liveEntryId.key(), version, payloadBytes, signingKey, sigAlg, issuerId, broker);
         } catch (Exception e) {
-            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, liveEntryId.loggable(), "Failed to publish LIVENESS(REVOKED) entry", e);
+            published = CompletableFuture.failedFuture(e);
         }
+        return published.handle((ignored, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, liveEntryId.loggable(), "Failed to publish LIVENESS(ACTIVE) entry", cause);
+            }
+            return null;
+        });
     }
 
-    public void startRenewalLoop(EntryId liveEntryId, long renewalWindowMillis, VersionWatermark watermark, ScheduledExecutorService scheduler) {
-        stopRenewalLoop(liveEntryId);
+    /**
+     * Publishes LIVENESS(REVOKED) at the given version without waiting for the broker. The caller
+     * advances the watermark once the returned future completes.
+     *
+     * @return a future failing with {@link ErrorCode#BROKER_UNREACHABLE} if the publication fails
+     */
+    public CompletableFuture<Void> publishRevokedAsync(EntryId liveEntryId, long version) {
+        long now = System.currentTimeMillis();
+        byte[] payloadBytes = new LivenessPayload(LivenessPayload.REVOKED, now, now).encode();
 
-        // Renew at 80% of the validity duration to satisfy the "within the last 20%" rule
-        long delay = (long) (renewalWindowMillis * 0.8);
-        if (delay <= 0) {
-            delay = 1000; // fallback to 1 second minimum
+        CompletableFuture<Void> published;
+        try {
+            published = publisher.publish(EntryType.LIVENESS, liveEntryId.scope(), liveEntryId.key(), version, payloadBytes, signingKey, sigAlg, issuerId, broker);
+        } catch (Exception e) {
+            published = CompletableFuture.failedFuture(e);
         }
-
-        ScheduledFuture<?> future = scheduler.scheduleWithFixedDelay(() -> {
-            try {
-                publishActive(liveEntryId, renewalWindowMillis, watermark);
-            } catch (Exception e) {
-                // Log and ignore to allow subsequent renewal retries
+        return published.handle((ignored, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, liveEntryId.loggable(), "Failed to publish LIVENESS(REVOKED) entry", cause);
             }
-        }, delay, delay, TimeUnit.MILLISECONDS);
+            return null;
+        });
+    }
 
-        renewalTasks.put(liveEntryId, future);
+    /**
+     * Revokes a session under a version reserved above any renewal of it still in flight.
+     */
+    public void publishRevoked(EntryId liveEntryId, VersionReservations versions) {
+        long version = versions.reserve(liveEntryId);
+        try {
+            publishRevokedAsync(liveEntryId, version).join();
+        } catch (CompletionException e) {
+            versions.release(liveEntryId, version);
+            throw (VeridotException) e.getCause();
+        }
+        versions.accept(liveEntryId, version);
     }
 
-    public void stopRenewalLoop(EntryId liveEntryId) {
-        ScheduledFuture<?> future = renewalTasks.remove(liveEntryId);
-        if (future != null) {
-            future.cancel(false);
+    /**
+     * Revokes several sessions with a single {@link Broker#putAll(List) batched} publication, under
+     * versions reserved like {@link #publishRevoked}'s.
+     */
+    public void publishRevokedAll(List<EntryId> liveEntryIds, VersionReservations versions) {
+        if (liveEntryIds.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        byte[] payloadBytes = new LivenessPayload(LivenessPayload.REVOKED, now, now).encode();
+
+        List<EntryPublisher.Pending> pending = new ArrayList<>(liveEntryIds.size());
+        for (EntryId liveEntryId : liveEntryIds) {
+            long version = versions.reserve(liveEntryId);
+            pending.add(new EntryPublisher.Pending(EntryType.LIVENESS, liveEntryId.scope(), liveEntryId.key(), version, payloadBytes));
+        }
+
+        try {
+            publisher.publishAll(pending, signingKey, sigAlg, issuerId, broker).join();
+        } catch (Exception e) {
+            for (int i = 0; i < pending.size(); i++) {
+                versions.release(liveEntryIds.get(i), pending.get(i).version());
+            }
+            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Failed to publish " + pending.size() + " LIVENESS(REVOKED) entries", e);
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            versions.accept(liveEntryIds.get(i), pending.get(i).version());
         }
     }
 
-    public void stopAll() {
-        for (EntryId id : renewalTasks.keySet()) {
-            stopRenewalLoop(id);
+    /**
+     * Renews several sessions with a single {@link Broker#putAll(List) batched} LIVENESS(ACTIVE)
+     * publication. Versions are reserved, so a revocation issued while the batch is in flight
+     * publishes above it; the watermark of each entry advances once the batch is stored.
+     */
+    public CompletableFuture<Void> publishActiveAll(List<RenewalWheel.Renewal> renewals, VersionReservations versions) {
+        long now = System.currentTimeMillis();
+        List<EntryPublisher.Pending> pending = new ArrayList<>(renewals.size());
+        for (RenewalWheel.Renewal renewal : renewals) {
+            EntryId liveEntryId = renewal.liveEntryId();
+            long version = versions.reserve(liveEntryId);
+            byte[] payloadBytes = new LivenessPayload(LivenessPayload.ACTIVE, now, now + renewal.validityMillis()).encode();
+            pending.add(new EntryPublisher.Pending(EntryType.LIVENESS, liveEntryId.scope(), liveEntryId.key(), version, payloadBytes));
+        }
+
+        CompletableFuture<Void> published;
+        try {
+            published = publisher.publishAll(pending, signingKey, sigAlg, issuerId, broker);
+        } catch (Exception e) {
+            published = CompletableFuture.failedFuture(e);
         }
+        return published.whenComplete((ignored, error) -> {
+            for (int i = 0; i < pending.size(); i++) {
+                EntryId liveEntryId = renewals.get(i).liveEntryId();
+                long version = pending.get(i).version();
+                if (error != null) {
+                    versions.release(liveEntryId, version);
+                } else {
+                    versions.accept(liveEntryId, version);
+                    versions.watermark().retainUntil(liveEntryId, now + renewals.get(i).validityMillis());
+                }
+            }
+        });
     }
 }
@@ -2,16 +2,20 @@ package io.github.cyfko.veridot.core.impl;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.OptionalLong;
 
 /**
  * Payload of a LIVENESS entry (§8.2).
  * Represents positive-proof session validation/revocation.
+ *
+ * <p>An entry with a {@code leaseEpoch} is bound to the INSTANCE_HEARTBEAT lease of its issuer
+ * (§4.12) and is not renewed on its own.
  */
 record LivenessPayload(
-    byte status,      // tag 0x01: 0x01=ACTIVE, 0x02=REVOKED
-    long asOf,        // tag 0x02: milliseconds since epoch
-    long validUntil   // tag 0x03: milliseconds since epoch
+    byte status,            // tag 0x01: 0x01=ACTIVE, 0x02=REVOKED
+    long asOf,              // tag 0x02: milliseconds since epoch
+    long validUntil,        // tag 0x03: milliseconds since epoch
+    OptionalLong leaseEpoch // tag 0x05: optional i64 — epoch of the issuer's heartbeat lease
 ) {
     public static final byte ACTIVE  = 0x01;
     public static final byte REVOKED = 0x02;
@@ -19,20 +23,39 @@ record LivenessPayload(
     public enum Tag {
         STATUS((byte) 0x01),
         AS_OF((byte) 0x02),
-        VALID_UNTIL((byte) 0x03);
+        VALID_UNTIL((byte) 0x03),
+        LEASE_EPOCH((byte) 0x05);
 
         public final byte code;
         Tag(byte code) { this.code = code; }
     }
 
+    LivenessPayload(byte status, long asOf, long validUntil) {
+        this(status, asOf, validUntil, OptionalLong.empty());
+    }
+
     public static LivenessPayload decode(byte[] tlvBytes) {
-        Map<Byte, byte[]> fields = TlvCodec.parse(tlvBytes);
+        return decode(TlvReader.parse(tlvBytes));
+    }
+
+    /**
+     * Decodes the payload directly from a slice of a larger buffer, such as a raw envelope,
+     * without copying it out first.
+     */
+    static LivenessPayload decode(byte[] buf, int offset, int length) {
+        return decode(TlvReader.parse(buf, offset, length));
+    }
+
+    private static LivenessPayload decode(TlvReader fields) {
 
-        byte status = TlvCodec.readU8(fields, Tag.STATUS.code, true);
-        long asOf = TlvCodec.readI64(fields, Tag.AS_OF.code, true);
-        long validUntil = TlvCodec.readI64(fields, Tag.VALID_UNTIL.code, true);
+        byte status = fields.readU8(Tag.STATUS.code, true);
+        long asOf = fields.readI64(Tag.AS_OF.code, true);
+        long validUntil = fields.readI64(Tag.VALID_UNTIL.code, true);
+        OptionalLong leaseEpoch = fields.has(Tag.LEASE_EPOCH.code)
+            ? OptionalLong.of(fields.readI64(Tag.LEASE_EPOCH.code, true))
+            : OptionalLong.empty();
 
-        return new LivenessPayload(status, asOf, validUntil);
+        return new LivenessPayload(status, asOf, validUntil, leaseEpoch);
     }
 
     public byte[] encode() {
@@ -40,6 +63,7 @@ record LivenessPayload(
         fields.add(TlvCodec.u8(Tag.STATUS.code, status));
         fields.add(TlvCodec.i64(Tag.AS_OF.code, asOf));
         fields.add(TlvCodec.i64(Tag.VALID_UNTIL.code, validUntil));
+        leaseEpoch.ifPresent(epoch -> fields.add(TlvCodec.i64(Tag.LEASE_EPOCH.code, epoch)));
         return TlvCodec.encode(fields);
     }
 
@@ -47,6 +71,10 @@ record LivenessPayload(
         return status == ACTIVE;
     }
 
+    public boolean isLeaseBound() {
+        return leaseEpoch.isPresent();
+    }
+
     public boolean isFresh(long nowMillis) {
         return nowMillis < validUntil;
     }
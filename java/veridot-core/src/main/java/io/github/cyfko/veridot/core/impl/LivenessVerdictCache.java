@@ -0,0 +1,138 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.VeridotMetrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of positive liveness verdicts (§8.3).
+ *
+ * <p>An entry holds the {@link LivenessPayload} that passed every check of
+ * {@link LivenessChecker#assertLive} together with the envelope version it was read at. It expires at
+ * {@code min(validUntil, verifiedAt + maxStalenessMillis)}, where a lease-bound session's {@code validUntil}
+ * is also capped by its issuer's heartbeat lease, so a REVOKED entry published by another
+ * node is seen at most {@code maxStalenessMillis} late. A hit is also dropped as soon as the local
+ * watermark for the key has moved past the cached version: every REVOKED or renewed LIVENESS this node
+ * publishes, reconciles or reads advances the watermark first.
+ *
+ * <p>The INSTANCE_HEARTBEAT leases that lease-bound sessions depend on are remembered the same way, one
+ * per issuing instance, so checking many sessions of one instance reads its heartbeat once.
+ *
+ * <p>Rejections are never cached.
+ */
+final class LivenessVerdictCache {
+
+    private record Verdict(LivenessPayload payload, long version, long expiresAt) {}
+
+    private record Lease(InstanceHeartbeatPayload payload, long version, long expiresAt) {}
+
+    private final int maxEntries;
+    private final long maxStalenessMillis;
+    private final Map<EntryId, Verdict> entries;
+    private final ConcurrentHashMap<EntryId, Lease> leases = new ConcurrentHashMap<>();
+
+    LivenessVerdictCache(int maxEntries, long maxStalenessMillis) {
+        this.maxEntries = maxEntries;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<EntryId, Verdict> eldest) {
+                return size() > LivenessVerdictCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return the cached payload, or null on a miss
+     */
+    LivenessPayload lookup(EntryId liveEntryId, VersionWatermark watermark, long nowMillis) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Verdict verdict;
+        synchronized (entries) {
+            verdict = entries.get(liveEntryId);
+            if (verdict != null && nowMillis >= verdict.expiresAt) {
+                entries.remove(liveEntryId);
+                verdict = null;
+            }
+        }
+        if (verdict != null && watermark.current(liveEntryId) > verdict.version) {
+            invalidate(liveEntryId);
+            verdict = null;
+        }
+        if (verdict == null) {
+            VeridotMetrics.LIVENESS_CACHE_MISSES.increment();
+            return null;
+        }
+        VeridotMetrics.LIVENESS_CACHE_HITS.increment();
+        return verdict.payload;
+    }
+
+    void putVerified(EntryId liveEntryId, LivenessPayload payload, long version, long nowMillis) {
+        putVerified(liveEntryId, payload, version, payload.validUntil(), nowMillis);
+    }
+
+    /**
+     * @param validUntil end of the verdict, earlier than the payload's own {@code validUntil} for a
+     *                   session bound to an instance lease
+     */
+    void putVerified(EntryId liveEntryId, LivenessPayload payload, long version, long validUntil, long nowMillis) {
+        if (!isEnabled()) {
+            return;
+        }
+        long expiresAt = Math.min(validUntil, nowMillis + maxStalenessMillis);
+        if (nowMillis >= expiresAt) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(liveEntryId, new Verdict(payload, version, expiresAt));
+        }
+    }
+
+    /**
+     * @return the cached heartbeat, or null on a miss
+     */
+    InstanceHeartbeatPayload lookupLease(EntryId heartbeatId, VersionWatermark watermark, long nowMillis) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Lease lease = leases.get(heartbeatId);
+        if (lease == null) {
+            return null;
+        }
+        if (nowMillis >= lease.expiresAt || watermark.current(heartbeatId) > lease.version) {
+            leases.remove(heartbeatId, lease);
+            return null;
+        }
+        return lease.payload;
+    }
+
+    void putLease(EntryId heartbeatId, InstanceHeartbeatPayload payload, long version, long nowMillis) {
+        if (!isEnabled()) {
+            return;
+        }
+        long expiresAt = Math.min(payload.validUntil(), nowMillis + maxStalenessMillis);
+        if (nowMillis < expiresAt) {
+            leases.put(heartbeatId, new Lease(payload, version, expiresAt));
+        }
+    }
+
+    void invalidate(EntryId liveEntryId) {
+        synchronized (entries) {
+            entries.remove(liveEntryId);
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private boolean isEnabled() {
+        return maxEntries > 0 && maxStalenessMillis > 0;
+    }
+}
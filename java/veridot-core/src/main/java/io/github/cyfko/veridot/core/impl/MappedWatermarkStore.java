@@ -0,0 +1,646 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.WatermarkStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Memory-mapped implementation of {@link WatermarkStore} (§12.3.1).
+ *
+ * <p>Watermarks are kept as fixed-size slots {@code (key hash, version, retainUntil, checksum)} in an
+ * open-addressing table spread over 4 KiB pages of a mapped file. Persisting a group of deltas only
+ * rewrites the pages they touch: the new page images are first written to {@code <file>.journal} and
+ * forced, then copied into the mapping and forced. A crash between the two leaves a journal that is
+ * replayed on the next open, so torn page writes are repaired rather than lost.
+ *
+ * <p>When an HMAC key is configured each page ends with an HMAC-SHA256 over its index and contents,
+ * and the header page's HMAC covers the header, including a generation advanced by every commit, and
+ * every other page's HMAC. An older copy of a page therefore fails verification even though its own
+ * HMAC is valid. All pages are verified when the file is opened, and a file that fails verification
+ * is refused rather than discarded: dropping watermarks would reopen the rollback window they close.
+ *
+ * <p>Slots hold only a 64-bit hash of the watermark key, so {@link #load()} returns null. Instead,
+ * {@code GenericSignerVerifier} seeds its watermarks lazily from {@link #version(long)}, which makes
+ * restarts independent of the number of stored watermarks. Two keys colliding on the hash share the
+ * higher version: a collision can only cause a spurious rejection, never accept a rollback. Each slot
+ * also keeps the retention horizon of its watermark (see {@link VersionWatermark}), and
+ * {@link #prune(long)} rebuilds the file without the slots whose horizon has passed.
+ */
+public final class MappedWatermarkStore implements WatermarkStore {
+    private static final Logger logger = Logger.getLogger(MappedWatermarkStore.class.getName());
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int SLOT_SIZE = 32;
+    private static final int SLOTS_PER_PAGE = 127;
+    private static final int MAC_OFFSET = SLOTS_PER_PAGE * SLOT_SIZE;
+    private static final int MAC_LENGTH = 32;
+    private static final int INITIAL_PAGES = 16;
+    private static final int MAGIC = 0x5644574D; // "VDWM"
+    private static final int FORMAT_VERSION = 1;
+
+    // Header page fields
+    private static final int PAGES_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int GENERATION_OFFSET = 16;
+
+    // Slot fields
+    private static final int VERSION = 8;
+    private static final int RETAIN_UNTIL = 16;
+    private static final int CHECKSUM = 24;
+
+    private final File file;
+    private final File journal;
+    private final byte[] hmacKey;
+    private volatile ToLongFunction<String> horizons = key -> 0L;
+
+    private MappedByteBuffer map;
+    private int slotPages;
+    private int count;
+    private long generation;
+    // Page images modified by the commit being prepared, by page index
+    private final TreeMap<Integer, ByteBuffer> pending = new TreeMap<>();
+
+    public MappedWatermarkStore(File file) {
+        this(file, null);
+    }
+
+    /**
+     * @throws IllegalStateException if the file exists but fails its integrity checks
+     */
+    public MappedWatermarkStore(File file, byte[] hmacKey) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        this.file = file;
+        this.journal = new File(file.getAbsolutePath() + ".journal");
+        this.hmacKey = hmacKey;
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map watermark file " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Sets the lookup of the retention horizon of a watermark key, written alongside each appended
+     * version. Without it, or when it returns 0, appended watermarks are never pruned.
+     */
+    void horizons(ToLongFunction<String> horizonOf) {
+        this.horizons = horizonOf;
+    }
+
+    /**
+     * Writes every watermark of a serialized snapshot in place. Versions never decrease.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized void save(byte[] snapshot) {
+        if (snapshot == null || snapshot.length == 0) return;
+        try {
+            Map<String, Object> entries = mapper.readValue(snapshot, Map.class);
+            Map<String, Object> recorded = entries.get(VersionWatermark.RETAIN_UNTIL_KEY) instanceof Map<?, ?> horizonMap
+                ? (Map<String, Object>) horizonMap
+                : Map.of();
+            ensureCapacity(entries.size());
+            int committed = count;
+            try {
+                for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                    if (entry.getValue() instanceof Number version) {
+                        long horizon = recorded.get(entry.getKey()) instanceof Number h ? h.longValue() : 0L;
+                        write(VersionWatermark.hash(entry.getKey()), version.longValue(), horizon);
+                    }
+                }
+                commit();
+            } catch (IOException | RuntimeException e) {
+                abort(committed);
+                throw e;
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to write watermarks to " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * @return always null: slots store key hashes, not keys; use {@link #version(long)}
+     */
+    @Override
+    public byte[] load() {
+        return null;
+    }
+
+    @Override
+    public boolean supportsIncremental() {
+        return true;
+    }
+
+    /**
+     * Journals the pages touched by the deltas, then writes them in place.
+     *
+     * @throws UncheckedIOException if the file could not be grown or written
+     */
+    @Override
+    public void append(Map<String, Long> deltas) {
+        // Resolved before taking the lock: the lookup locks the watermark, which may be waiting on version()
+        ToLongFunction<String> horizonOf = horizons;
+        Map<String, Long> retainUntil = new HashMap<>();
+        for (String key : deltas.keySet()) {
+            retainUntil.put(key, horizonOf.applyAsLong(key));
+        }
+        synchronized (this) {
+            int committed = count;
+            try {
+                ensureCapacity(deltas.size());
+                for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+                    write(VersionWatermark.hash(delta.getKey()), delta.getValue(), retainUntil.get(delta.getKey()));
+                }
+                commit();
+            } catch (IOException e) {
+                abort(committed);
+                throw new UncheckedIOException("Failed to append watermarks to " + file.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    /**
+     * @param hash {@link VersionWatermark#hash(String)} of the watermark key
+     * @return the persisted version, or 0 if none
+     */
+    synchronized long version(long hash) {
+        int slot = find(hash);
+        return slot < 0 ? 0L : slotLong(slot, VERSION);
+    }
+
+    /**
+     * @return the number of persisted watermarks
+     */
+    synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Rebuilds the file without the watermarks whose retention horizon is at or before
+     * {@code nowMillis}, shrinking it to fit the remaining ones.
+     *
+     * @return the number of watermarks dropped
+     */
+    synchronized int prune(long nowMillis) {
+        int expired = 0;
+        for (int slot = 0; slot < capacity(); slot++) {
+            if (slotLong(slot, 0) != 0 && expired(slot, nowMillis)) {
+                expired++;
+            }
+        }
+        if (expired == 0) {
+            return 0;
+        }
+        int pages = INITIAL_PAGES;
+        while ((count - expired) * 20L > pages * (long) SLOTS_PER_PAGE * 7L && pages < slotPages) {
+            pages *= 2;
+        }
+        try {
+            rebuild(pages, nowMillis);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to prune watermarks in " + file.getAbsolutePath(), e);
+            return 0;
+        }
+        return expired;
+    }
+
+    // ── Table ──
+
+    private int capacity() {
+        return slotPages * SLOTS_PER_PAGE;
+    }
+
+    private static int pageOf(int slot) {
+        return 1 + slot / SLOTS_PER_PAGE;
+    }
+
+    private static int offsetOf(int slot) {
+        return (slot % SLOTS_PER_PAGE) * SLOT_SIZE;
+    }
+
+    private long slotLong(int slot, int field) {
+        int page = pageOf(slot);
+        ByteBuffer image = pending.isEmpty() ? null : pending.get(page);
+        return image != null
+            ? image.getLong(offsetOf(slot) + field)
+            : map.getLong(page * PAGE_SIZE + offsetOf(slot) + field);
+    }
+
+    private boolean expired(int slot, long nowMillis) {
+        long retainUntil = slotLong(slot, RETAIN_UNTIL);
+        return retainUntil > 0 && retainUntil <= nowMillis;
+    }
+
+    private int find(long hash) {
+        int capacity = capacity();
+        int slot = (int) Long.remainderUnsigned(hash, capacity);
+        for (int probes = 0; probes < capacity; probes++) {
+            long stored = slotLong(slot, 0);
+            if (stored == 0) {
+                return -1;
+            }
+            if (stored == hash) {
+                return slot;
+            }
+            slot = slot + 1 == capacity ? 0 : slot + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Stages a watermark into the pending page images. A horizon of 0 means "never pruned" and wins
+     * over any other.
+     */
+    private void write(long hash, long version, long retainUntil) {
+        int slot = find(hash);
+        if (slot >= 0) {
+            long storedVersion = slotLong(slot, VERSION);
+            long storedHorizon = slotLong(slot, RETAIN_UNTIL);
+            long horizon = storedHorizon == 0 || retainUntil == 0 ? 0 : Math.max(storedHorizon, retainUntil);
+            if (storedVersion >= version && storedHorizon == horizon) {
+                return;
+            }
+            writeSlot(slot, hash, Math.max(storedVersion, version), horizon);
+            return;
+        }
+
+        int capacity = capacity();
+        slot = (int) Long.remainderUnsigned(hash, capacity);
+        while (slotLong(slot, 0) != 0) {
+            slot = slot + 1 == capacity ? 0 : slot + 1;
+        }
+        writeSlot(slot, hash, version, retainUntil);
+        count++;
+    }
+
+    private void writeSlot(int slot, long hash, long version, long retainUntil) {
+        ByteBuffer image = stage(pageOf(slot));
+        int pos = offsetOf(slot);
+        image.putLong(pos, hash);
+        image.putLong(pos + VERSION, version);
+        image.putLong(pos + RETAIN_UNTIL, retainUntil);
+        image.putLong(pos + CHECKSUM, checksum(hash, version, retainUntil));
+    }
+
+    /**
+     * @return the pending image of {@code page}, copied from the mapping on first use
+     */
+    private ByteBuffer stage(int page) {
+        return pending.computeIfAbsent(page, p -> {
+            ByteBuffer image = ByteBuffer.allocate(PAGE_SIZE);
+            image.put(0, map, p * PAGE_SIZE, PAGE_SIZE);
+            return image;
+        });
+    }
+
+    private static long checksum(long hash, long version, long retainUntil) {
+        long h = hash ^ (version * 0x9E3779B97F4A7C15L) ^ Long.rotateLeft(retainUntil, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Seals the pending pages under the next generation, forces them to the journal, then copies them
+     * into the mapping and forces it.
+     */
+    private void commit() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long next = generation + 1;
+        ByteBuffer header = stage(0);
+        header.putInt(COUNT_OFFSET, count);
+        header.putLong(GENERATION_OFFSET, next);
+        for (Map.Entry<Integer, ByteBuffer> page : pending.entrySet()) {
+            if (page.getKey() != 0) {
+                writeMac(page.getValue(), page.getKey());
+            }
+        }
+        writeRootMac(header, slotPages, page -> pending.containsKey(page) ? pending.get(page) : pageSlice(map, page));
+
+        writeJournal(next);
+        for (Map.Entry<Integer, ByteBuffer> page : pending.entrySet()) {
+            map.put(page.getKey() * PAGE_SIZE, page.getValue(), 0, PAGE_SIZE);
+        }
+        map.force();
+        generation = next;
+        pending.clear();
+    }
+
+    /**
+     * Drops the pending page images, leaving the mapping as of the last commit.
+     */
+    private void abort(int committedCount) {
+        pending.clear();
+        count = committedCount;
+    }
+
+    /**
+     * Grows the table ahead of a commit that may insert {@code inserts} new watermarks.
+     */
+    private void ensureCapacity(int inserts) throws IOException {
+        long needed = (long) count + inserts;
+        if (needed * 10 <= capacity() * 7L) {
+            return;
+        }
+        int pages = slotPages;
+        while (needed * 10 > pages * (long) SLOTS_PER_PAGE * 7L) {
+            pages *= 2;
+        }
+        rebuild(pages, Long.MIN_VALUE);
+    }
+
+    // ── File ──
+
+    private void open() throws IOException {
+        if (!file.exists() || file.length() == 0) {
+            Files.deleteIfExists(journal.toPath());
+            create(file, INITIAL_PAGES, 0);
+        } else if (file.length() < 2L * PAGE_SIZE || file.length() % PAGE_SIZE != 0) {
+            throw tampered("unexpected file length " + file.length());
+        }
+        mapFile();
+        recover();
+        verify();
+    }
+
+    private void mapFile() throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        slotPages = map.capacity() / PAGE_SIZE - 1;
+        count = map.getInt(COUNT_OFFSET);
+        generation = map.getLong(GENERATION_OFFSET);
+    }
+
+    /**
+     * Creates an empty, sealed table of {@code pages} slot pages at {@code generation}.
+     */
+    private void create(File target, int pages, long generation) throws IOException {
+        Files.deleteIfExists(target.toPath());
+        try (FileChannel channel = FileChannel.open(target.toPath(),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer fresh = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) (pages + 1) * PAGE_SIZE);
+            fresh.putInt(0, MAGIC);
+            fresh.putInt(4, FORMAT_VERSION);
+            fresh.putInt(PAGES_OFFSET, pages);
+            fresh.putInt(COUNT_OFFSET, 0);
+            fresh.putLong(GENERATION_OFFSET, generation);
+            seal(fresh, pages);
+            fresh.force();
+        }
+    }
+
+    /**
+     * Copies every watermark not expired at {@code nowMillis} into a new file of {@code pages} slot
+     * pages at the next generation, atomically replaces the old one and remaps. The journal of the
+     * last commit belongs to the old layout; the generation bump keeps it from being replayed.
+     */
+    private void rebuild(int pages, long nowMillis) throws IOException {
+        File tmp = new File(file.getAbsolutePath() + ".tmp");
+        create(tmp, pages, generation + 1);
+        try (FileChannel channel = FileChannel.open(tmp.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer target = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int newCapacity = pages * SLOTS_PER_PAGE;
+            int moved = 0;
+            for (int slot = 0; slot < capacity(); slot++) {
+                long hash = slotLong(slot, 0);
+                if (hash == 0 || expired(slot, nowMillis)) {
+                    continue;
+                }
+                int to = (int) Long.remainderUnsigned(hash, newCapacity);
+                while (target.getLong(pageOf(to) * PAGE_SIZE + offsetOf(to)) != 0) {
+                    to = to + 1 == newCapacity ? 0 : to + 1;
+                }
+                int toPos = pageOf(to) * PAGE_SIZE + offsetOf(to);
+                for (int i = 0; i < SLOT_SIZE; i += 8) {
+                    target.putLong(toPos + i, slotLong(slot, i));
+                }
+                moved++;
+            }
+            target.putInt(COUNT_OFFSET, moved);
+            seal(target, pages);
+            target.force();
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        mapFile();
+    }
+
+    // ── Journal ──
+
+    /**
+     * Writes the pending page images as {@code u64 generation | u32 pages | (u32 index | page)* | mac}
+     * and forces them, replacing the previous commit's journal.
+     */
+    private void writeJournal(long next) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(12 + pending.size() * (4 + PAGE_SIZE) + MAC_LENGTH);
+        record.putLong(next).putInt(pending.size());
+        for (Map.Entry<Integer, ByteBuffer> page : pending.entrySet()) {
+            record.putInt(page.getKey()).put(page.getValue().duplicate().clear());
+        }
+        record.put(journalMac(record.array(), record.position()));
+        record.flip();
+        try (FileChannel channel = FileChannel.open(journal.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Replays the journal of an interrupted commit. Only the journal of the current or next generation
+     * applies: an older one is left over from a completed commit or an earlier layout. A journal whose
+     * MAC fails was torn before any page was written in place, and is ignored.
+     */
+    private void recover() throws IOException {
+        if (!journal.exists() || journal.length() == 0) {
+            return;
+        }
+        ByteBuffer record = ByteBuffer.wrap(Files.readAllBytes(journal.toPath()));
+        int length = record.capacity() - MAC_LENGTH;
+        if (length < 12) {
+            return;
+        }
+        byte[] storedMac = new byte[MAC_LENGTH];
+        record.get(length, storedMac);
+        long journalGeneration = record.getLong(0);
+        int pages = record.getInt(8);
+        if (pages <= 0 || 12L + pages * (4L + PAGE_SIZE) != length
+                || !MessageDigest.isEqual(storedMac, journalMac(record.array(), length))) {
+            logger.warning("Ignoring incomplete watermark journal " + journal.getAbsolutePath());
+            return;
+        }
+        if (journalGeneration != generation && journalGeneration != generation + 1) {
+            return;
+        }
+
+        int pos = 12;
+        for (int i = 0; i < pages; i++, pos += 4 + PAGE_SIZE) {
+            int page = record.getInt(pos);
+            if (page < 0 || page > slotPages) {
+                throw tampered("journal page " + page + " is out of range");
+            }
+            map.put(page * PAGE_SIZE, record, pos + 4, PAGE_SIZE);
+        }
+        map.force();
+        count = map.getInt(COUNT_OFFSET);
+        generation = map.getLong(GENERATION_OFFSET);
+        logger.warning("Recovered interrupted watermark commit " + journalGeneration + " from " + journal.getAbsolutePath());
+    }
+
+    private byte[] journalMac(byte[] data, int length) {
+        try {
+            if (hmacKey != null) {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(hmacKey, "HmacSHA256"));
+                mac.update(data, 0, length);
+                return mac.doFinal();
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(data, 0, length);
+            return digest.digest();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to compute watermark journal MAC", e);
+        }
+    }
+
+    // ── Integrity ──
+
+    /**
+     * Checks the header, every page MAC, the header MAC binding them, and every slot checksum.
+     *
+     * @throws IllegalStateException on the first failure
+     */
+    private void verify() {
+        if (map.getInt(0) != MAGIC || map.getInt(4) != FORMAT_VERSION || map.getInt(PAGES_OFFSET) != slotPages) {
+            throw tampered("header mismatch");
+        }
+        if (hmacKey != null) {
+            for (int page = 1; page <= slotPages; page++) {
+                ByteBuffer image = pageSlice(map, page);
+                if (!MessageDigest.isEqual(storedMac(image), computeMac(image, page))) {
+                    throw tampered("page " + page + " MAC mismatch");
+                }
+            }
+            ByteBuffer header = pageSlice(map, 0);
+            if (!MessageDigest.isEqual(storedMac(header), computeRootMac(header, slotPages, page -> pageSlice(map, page)))) {
+                throw tampered("header MAC mismatch");
+            }
+        }
+        int stored = 0;
+        for (int slot = 0; slot < capacity(); slot++) {
+            long hash = slotLong(slot, 0);
+            if (hash == 0) {
+                continue;
+            }
+            if (slotLong(slot, CHECKSUM) != checksum(hash, slotLong(slot, VERSION), slotLong(slot, RETAIN_UNTIL))) {
+                throw tampered("slot " + slot + " checksum mismatch");
+            }
+            stored++;
+        }
+        if (stored != count) {
+            throw tampered("slot count mismatch");
+        }
+    }
+
+    private IllegalStateException tampered(String reason) {
+        logger.log(Level.SEVERE, "CRITICAL: Watermark mapped file integrity check failed (tampering detected): "
+            + reason + ": " + file.getAbsolutePath());
+        return new IllegalStateException("Watermark file " + file.getAbsolutePath()
+            + " failed its integrity check (" + reason + "); refusing to start with a possibly rolled-back watermark");
+    }
+
+    private static ByteBuffer pageSlice(ByteBuffer source, int page) {
+        return source.slice(page * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    private static byte[] storedMac(ByteBuffer image) {
+        byte[] stored = new byte[MAC_LENGTH];
+        image.get(MAC_OFFSET, stored);
+        return stored;
+    }
+
+    /**
+     * Writes every page MAC of {@code target}, then the header MAC over them.
+     */
+    private void seal(ByteBuffer target, int pages) {
+        if (hmacKey == null) {
+            return;
+        }
+        for (int page = 1; page <= pages; page++) {
+            writeMac(pageSlice(target, page), page);
+        }
+        writeRootMac(pageSlice(target, 0), pages, page -> pageSlice(target, page));
+    }
+
+    private void writeMac(ByteBuffer image, int page) {
+        if (hmacKey != null) {
+            image.put(MAC_OFFSET, computeMac(image, page));
+        }
+    }
+
+    private void writeRootMac(ByteBuffer header, int pages, IntFunction<ByteBuffer> images) {
+        if (hmacKey != null) {
+            header.put(MAC_OFFSET, computeRootMac(header, pages, images));
+        }
+    }
+
+    private Mac newMac() throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(hmacKey, "HmacSHA256"));
+        return mac;
+    }
+
+    private byte[] computeMac(ByteBuffer image, int page) {
+        try {
+            Mac mac = newMac();
+            mac.update(ByteBuffer.allocate(4).putInt(0, page));
+            mac.update(image.slice(0, MAC_OFFSET));
+            return mac.doFinal();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to compute watermark page HMAC", e);
+        }
+    }
+
+    /**
+     * HMAC over the header contents, which hold the generation, and the stored MAC of every slot page.
+     */
+    private byte[] computeRootMac(ByteBuffer header, int pages, IntFunction<ByteBuffer> images) {
+        try {
+            Mac mac = newMac();
+            mac.update(ByteBuffer.allocate(4).putInt(0, 0));
+            mac.update(header.slice(0, MAC_OFFSET));
+            for (int page = 1; page <= pages; page++) {
+                mac.update(images.apply(page).slice(MAC_OFFSET, MAC_LENGTH));
+            }
+            return mac.doFinal();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to compute watermark header HMAC", e);
+        }
+    }
+}
@@ -8,7 +8,6 @@ import io.github.cyfko.veridot.core.exceptions.VeridotException;
 import java.security.PrivateKey;
 import java.time.Duration;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
@@ -49,44 +48,25 @@ final class ReconciliationManager implements AutoCloseable {
             throw new IllegalArgumentException("Publisher cannot be null");
         }
 
-        List<Broker.BrokerEntry> entries;
-        try {
-            entries = broker.snapshot(scope);
-        } catch (Exception e) {
-            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Broker unavailable during reconciliation snapshot", e);
-        }
-
-        if (entries == null) {
-            return;
-        }
-
         Set<EntryId> distinctEntryIds = new HashSet<>();
         long now = System.currentTimeMillis();
-
-        for (Broker.BrokerEntry entry : entries) {
-            try {
-                Envelope envelope = Envelope.parse(entry.envelopeBytes());
-                sigVerifier.verify(envelope, trustRoot);
-
-                EntryId entryId = envelope.entryId();
-                distinctEntryIds.add(entryId);
-
-                // Reconcile watermark: accept if version > local watermark
-                try {
-                    watermark.accept(entryId, envelope.version);
-                    if (entryId.entryType() == EntryType.CAPABILITY && capabilityVerifier != null) {
-                        capabilityVerifier.invalidateAuthorization(envelope.key, envelope.scope);
-                        capabilityVerifier.invalidateAuthorization(envelope.issuer, envelope.scope);
-                    }
-                } catch (VeridotException e) {
-                    if (e.getErrorCode() != ErrorCode.VERSION_REJECTED) {
-                        throw e;
-                    }
-                    // If version <= watermark, ignore (it is not a violation for reconciliation)
+        CapabilityPatternIndex.Builder patterns = capabilityVerifier != null ? capabilityVerifier.patternIndexBuilder(scope) : null;
+
+        // Entries are streamed from the broker, so the largest scope is never held in memory at once
+        try (Broker.EntryCursor cursor = broker.scan(scope)) {
+            while (cursor.hasNext()) {
+                Broker.BrokerEntry entry = cursor.next();
+                reconcileEntry(entry, watermark, sigVerifier, trustRoot, capabilityVerifier, distinctEntryIds);
+                if (patterns != null) {
+                    patterns.add(entry);
                 }
-            } catch (Exception e) {
-                // Ignore invalid snapshot entries to proceed with other entries
             }
+        } catch (Exception e) {
+            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Broker unavailable during reconciliation snapshot", e);
+        }
+
+        if (patterns != null) {
+            patterns.publish(now);
         }
 
         // Publish SNAPSHOT_MARKER entry
@@ -115,6 +95,32 @@ final class ReconciliationManager implements AutoCloseable {
         }
     }
 
+    private static void reconcileEntry(Broker.BrokerEntry entry, VersionWatermark watermark, SignatureVerifier sigVerifier,
+                                       TrustRoot trustRoot, CapabilityVerifier capabilityVerifier, Set<EntryId> distinctEntryIds) {
+        try {
+            Envelope envelope = sigVerifier.parseAndVerify(entry.envelopeBytes(), trustRoot);
+
+            EntryId entryId = envelope.entryId();
+            distinctEntryIds.add(entryId);
+
+            // Reconcile watermark: accept if version > local watermark
+            try {
+                watermark.accept(entryId, envelope.version);
+                if (entryId.entryType() == EntryType.CAPABILITY && capabilityVerifier != null) {
+                    capabilityVerifier.invalidateAuthorization(envelope.key, envelope.scope);
+                    capabilityVerifier.invalidateAuthorization(envelope.issuer, envelope.scope);
+                }
+            } catch (VeridotException e) {
+                if (e.getErrorCode() != ErrorCode.VERSION_REJECTED) {
+                    throw e;
+                }
+                // If version <= watermark, ignore (it is not a violation for reconciliation)
+            }
+        } catch (Exception e) {
+            // Ignore invalid snapshot entries to proceed with other entries
+        }
+    }
+
     public void startPeriodicReconciliation(Scope scope, Duration maxInterval,
                                              ScheduledExecutorService scheduler,
                                              Broker broker, VersionWatermark watermark,
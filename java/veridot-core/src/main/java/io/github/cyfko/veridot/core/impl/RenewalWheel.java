@@ -0,0 +1,254 @@
+package io.github.cyfko.veridot.core.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Hashed timing wheel driving the LIVENESS(ACTIVE) renewals of every session signed by this node (§8.5).
+ *
+ * <p>A single task, started on the scheduler passed to the first {@link #schedule}, ticks every
+ * {@code tickMillis}. Each session sits in the bucket of its due tick;
+ * a tick collects the due sessions of the buckets it passes and hands them to the {@link Renewer} as
+ * one batch of at most {@code tickBudget} renewals. Sessions beyond the budget move to the next tick.
+ * A session is renewed at 80% of its validity window, less a random jitter of up to 10% of that
+ * period, so sessions signed together spread their renewals over later ticks.
+ *
+ * <p>Sessions live in primitive-indexed slots. A bucket holds {@code (generation, slot)} pairs
+ * packed into a {@code long}. Cancelling or rescheduling bumps the slot's generation, which makes its
+ * queued pairs stale; a tick drops stale pairs as it passes them.
+ */
+final class RenewalWheel implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(RenewalWheel.class.getName());
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final double RENEWAL_POINT = 0.8;
+    private static final double JITTER = 0.1;
+    private static final long MIN_PERIOD_MILLIS = 1000;
+
+    /** One session due for renewal. */
+    record Renewal(EntryId liveEntryId, long validityMillis) {}
+
+    /** Publishes a batch of renewals. */
+    @FunctionalInterface
+    interface Renewer {
+        CompletableFuture<Void> renew(List<Renewal> renewals);
+    }
+
+    private final Renewer renewer;
+    private final long tickMillis;
+    private final int tickBudget;
+
+    // Guarded by this
+    private final Map<EntryId, Integer> slotsById = new HashMap<>();
+    private EntryId[] ids = new EntryId[64];
+    private long[] validityMillis = new long[64];
+    private long[] dueAt = new long[64];
+    private int[] generations = new int[64];
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+    private int slotCount;
+    private final long[][] buckets = new long[WHEEL_SIZE][];
+    private final int[] bucketSizes = new int[WHEEL_SIZE];
+    private long lastTick = -1;
+    private ScheduledFuture<?> tickTask;
+    private boolean closed;
+
+    RenewalWheel(Renewer renewer, long tickMillis, int tickBudget) {
+        this.renewer = renewer;
+        this.tickMillis = tickMillis;
+        this.tickBudget = tickBudget;
+    }
+
+    /**
+     * Renews {@code liveEntryId} periodically until cancelled, replacing any previous schedule.
+     */
+    synchronized void schedule(EntryId liveEntryId, long validityMillis, ScheduledExecutorService scheduler) {
+        if (tickTask == null && !closed) {
+            tickTask = scheduler.scheduleAtFixedRate(this::tickQuietly, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+        schedule(liveEntryId, validityMillis, System.currentTimeMillis());
+    }
+
+    synchronized void schedule(EntryId liveEntryId, long validity, long now) {
+        if (closed) {
+            return;
+        }
+        if (lastTick < 0) {
+            lastTick = now / tickMillis;
+        }
+
+        Integer existing = slotsById.get(liveEntryId);
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            generations[slot]++;
+        } else {
+            slot = allocateSlot();
+            ids[slot] = liveEntryId;
+            slotsById.put(liveEntryId, slot);
+        }
+        validityMillis[slot] = validity;
+        dueAt[slot] = now + nextDelay(validity);
+        enqueue(slot, lastTick + 1);
+    }
+
+    /**
+     * Stops renewing {@code liveEntryId}.
+     */
+    synchronized void cancel(EntryId liveEntryId) {
+        Integer slot = slotsById.remove(liveEntryId);
+        if (slot != null) {
+            releaseSlot(slot);
+        }
+    }
+
+    /**
+     * @return the number of sessions currently scheduled
+     */
+    synchronized int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * Advances the wheel to {@code now} and publishes the renewals that fell due as one batch.
+     *
+     * @return the future of that batch, or {@code null} if nothing was due
+     */
+    CompletableFuture<Void> tick(long now) {
+        List<Renewal> due = collectDue(now);
+        if (due.isEmpty()) {
+            return null;
+        }
+        CompletableFuture<Void> published;
+        try {
+            published = renewer.renew(due);
+        } catch (Exception e) {
+            published = CompletableFuture.failedFuture(e);
+        }
+        // A failed batch is retried at each session's next renewal point
+        return published.whenComplete((ignored, error) -> {
+            if (error != null) {
+                logger.warning("Failed to renew " + due.size() + " LIVENESS entries: " + error.getMessage());
+            }
+        });
+    }
+
+    private synchronized List<Renewal> collectDue(long now) {
+        List<Renewal> due = new ArrayList<>();
+        if (closed || lastTick < 0) {
+            return due;
+        }
+        long nowTick = now / tickMillis;
+        // Past one full turn every bucket has been visited, so catching up stops there
+        long firstTick = Math.max(lastTick + 1, nowTick - WHEEL_MASK);
+        for (long tick = firstTick; tick <= nowTick; tick++) {
+            int bucket = (int) (tick & WHEEL_MASK);
+            long[] entries = buckets[bucket];
+            int size = bucketSizes[bucket];
+            if (size == 0) {
+                continue;
+            }
+
+            // Take the bucket and keep what is not due yet; requeued entries land in later ticks
+            buckets[bucket] = null;
+            bucketSizes[bucket] = 0;
+            for (int i = 0; i < size; i++) {
+                long entry = entries[i];
+                int slot = (int) entry;
+                if (ids[slot] == null || generations[slot] != (int) (entry >>> 32)) {
+                    continue; // cancelled or rescheduled
+                }
+                if (dueAt[slot] > now) {
+                    append(bucket, entry); // due in a later turn of the wheel
+                } else if (due.size() < tickBudget) {
+                    due.add(new Renewal(ids[slot], validityMillis[slot]));
+                    generations[slot]++;
+                    dueAt[slot] = now + nextDelay(validityMillis[slot]);
+                    enqueue(slot, nowTick + 1);
+                } else {
+                    append((int) ((tick + 1) & WHEEL_MASK), entry); // over budget, try next tick
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, nowTick);
+        return due;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (tickTask != null) {
+            tickTask.cancel(false);
+        }
+        slotsById.clear();
+        Arrays.fill(ids, null);
+        Arrays.fill(buckets, null);
+        Arrays.fill(bucketSizes, 0);
+    }
+
+    private void tickQuietly() {
+        try {
+            tick(System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.warning("Liveness renewal tick failed: " + e.getMessage());
+        }
+    }
+
+    private static long nextDelay(long validity) {
+        // Renew at 80% of the validity duration to satisfy the "within the last 20%" rule
+        long period = Math.max((long) (validity * RENEWAL_POINT), MIN_PERIOD_MILLIS);
+        long jitter = (long) (period * JITTER * ThreadLocalRandom.current().nextDouble());
+        return period - jitter;
+    }
+
+    /** Queues the current generation of {@code slot} in the bucket of its due tick, no earlier than {@code minTick}. */
+    private void enqueue(int slot, long minTick) {
+        long tick = Math.max(dueAt[slot] / tickMillis, minTick);
+        append((int) (tick & WHEEL_MASK), ((long) generations[slot] << 32) | slot);
+    }
+
+    private void append(int bucket, long entry) {
+        long[] entries = buckets[bucket];
+        int size = bucketSizes[bucket];
+        if (entries == null) {
+            entries = buckets[bucket] = new long[8];
+        } else if (size == entries.length) {
+            entries = buckets[bucket] = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size] = entry;
+        bucketSizes[bucket] = size + 1;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            validityMillis = Arrays.copyOf(validityMillis, capacity);
+            dueAt = Arrays.copyOf(dueAt, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void releaseSlot(int slot) {
+        ids[slot] = null;
+        generations[slot]++;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+}
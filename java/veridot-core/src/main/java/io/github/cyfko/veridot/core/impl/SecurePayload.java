@@ -2,7 +2,6 @@ package io.github.cyfko.veridot.core.impl;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Represents the TLV payload of a SECURE_PAYLOAD entry (§12.2).
@@ -26,13 +25,13 @@ public record SecurePayload(
     }
 
     public static SecurePayload decode(byte[] tlvBytes) {
-        Map<Byte, byte[]> fields = TlvCodec.parse(tlvBytes);
+        TlvReader fields = TlvReader.parse(tlvBytes);
         
-        Byte encAlg = fields.containsKey(Tag.ENC_ALG.code) ? fields.get(Tag.ENC_ALG.code)[0] : null;
-        byte[] nonce = TlvCodec.readBytes(fields, Tag.NONCE.code, false);
-        byte[] recipients = TlvCodec.readBytes(fields, Tag.RECIPIENTS.code, false);
-        byte[] data = TlvCodec.readBytes(fields, Tag.DATA.code, true);
-        String payloadType = TlvCodec.readString(fields, Tag.PAYLOAD_TYPE.code, false);
+        Byte encAlg = fields.has(Tag.ENC_ALG.code) ? fields.readBytes(Tag.ENC_ALG.code, true)[0] : null;
+        byte[] nonce = fields.readBytes(Tag.NONCE.code, false);
+        byte[] recipients = fields.readBytes(Tag.RECIPIENTS.code, false);
+        byte[] data = fields.readBytes(Tag.DATA.code, true);
+        String payloadType = fields.readString(Tag.PAYLOAD_TYPE.code, false);
         
         return new SecurePayload(encAlg, nonce, recipients, data, payloadType);
     }
@@ -13,13 +13,14 @@ import java.util.List;
  *
  * <p>V5: session validity is determined solely by LIVENESS entries. There is no longer
  * a dependency on the former key-epoch entry type. A session is active if its LIVENESS entry is ACTIVE
- * and not expired.
+ * and not expired, and, when it is bound to an instance lease, the issuing instance's heartbeat is
+ * fresh (§4.12).
  */
 final class SessionCounter {
 
     private final CapabilityVerifier capabilityVerifier = new CapabilityVerifier();
 
-    record SessionInfo(String sessionKey, long lastAsOf, long lastVersion) {}
+    record SessionInfo(String sessionKey, long lastAsOf, long lastVersion, long validUntil) {}
 
     public int countActive(Scope groupScope, Broker broker, TrustRoot trustRoot,
                            VersionWatermark watermark, LivenessChecker livenessChecker,
@@ -37,51 +38,75 @@ final class SessionCounter {
             throw new IllegalArgumentException("Broker cannot be null");
         }
 
-        List<Broker.BrokerEntry> entries;
-        try {
-            entries = broker.snapshot(groupScope);
+        List<SessionInfo> activeSessions = new ArrayList<>();
+
+        try (Broker.EntryCursor cursor = broker.scan(groupScope, EntryType.LIVENESS)) {
+            while (cursor.hasNext()) {
+                SessionInfo session = activeSession(cursor.next(), broker, trustRoot, watermark, livenessChecker, nowMillis);
+                if (session != null) {
+                    activeSessions.add(session);
+                }
+            }
         } catch (Exception e) {
             throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Failed to fetch snapshot for capacity check", e);
         }
 
-        if (entries == null || entries.isEmpty()) {
-            return List.of();
-        }
+        // Sort by asOf ascending to support eviction strategies (FIFO, LRU, LIFO)
+        activeSessions.sort(Comparator.comparingLong(SessionInfo::lastAsOf));
 
-        List<SessionInfo> activeSessions = new ArrayList<>();
+        return activeSessions;
+    }
 
-        for (Broker.BrokerEntry entry : entries) {
-            try {
-                Envelope envelope = Envelope.parse(entry.envelopeBytes());
-                if (envelope.entryType != EntryType.LIVENESS) {
-                    continue;
-                }
+    /**
+     * @return the session of a scanned LIVENESS entry, or {@code null} if it is not active
+     */
+    private SessionInfo activeSession(Broker.BrokerEntry entry, Broker broker, TrustRoot trustRoot,
+                                      VersionWatermark watermark, LivenessChecker livenessChecker,
+                                      long nowMillis) {
+        try {
+            // Zero-copy view; the type check guards against a broker that does not filter
+            EnvelopeView view = EnvelopeView.parse(entry.envelopeBytes());
+            if (view.entryType() != EntryType.LIVENESS) {
+                return null;
+            }
 
-                EntryId liveEntryId = envelope.entryId();
+            EntryId liveEntryId = view.entryId();
 
-                // V5: Verify liveness. If this throws, the session is not active.
+            // V5: Verify liveness. If this throws, the session is not active.
+            // The verified payload is reused to extract asOf instead of decoding it again.
+            LivenessPayload livenessPayload =
                 livenessChecker.assertLive(liveEntryId, broker, trustRoot, watermark, capabilityVerifier, nowMillis);
 
-                // Decode the LIVENESS payload to extract asOf
-                LivenessPayload livenessPayload = LivenessPayload.decode(envelope.payload);
+            // V5: LIVENESS alone determines session validity (no key-epoch check)
+            if (!livenessPayload.isActive() || !livenessPayload.isFresh(nowMillis)) {
+                return null;
+            }
 
-                // V5: LIVENESS alone determines session validity (no key-epoch check)
-                if (!livenessPayload.isActive()) {
-                    continue;
-                }
-                if (!livenessPayload.isFresh(nowMillis)) {
-                    continue;
-                }
+            return new SessionInfo(view.key(), livenessPayload.asOf(), view.version(), livenessPayload.validUntil());
+        } catch (Exception e) {
+            // Ignore any invalid or stale liveness entries (fail-closed / default-deny)
+            return null;
+        }
+    }
 
-                activeSessions.add(new SessionInfo(envelope.key, livenessPayload.asOf(), envelope.version));
-            } catch (Exception e) {
-                // Ignore any invalid or stale liveness entries (fail-closed / default-deny)
+    /**
+     * Re-reads a single session with the same checks as {@link #listActive}.
+     *
+     * @return the session, or {@code null} if it is not active
+     */
+    public SessionInfo reload(EntryId liveEntryId, Broker broker, TrustRoot trustRoot,
+                              VersionWatermark watermark, LivenessChecker livenessChecker,
+                              long nowMillis) {
+        try {
+            LivenessPayload livenessPayload =
+                livenessChecker.assertLive(liveEntryId, broker, trustRoot, watermark, capabilityVerifier, nowMillis);
+            if (!livenessPayload.isActive() || !livenessPayload.isFresh(nowMillis)) {
+                return null;
             }
+            long version = EnvelopeView.parse(broker.get(liveEntryId.storageKey())).version();
+            return new SessionInfo(liveEntryId.key(), livenessPayload.asOf(), version, livenessPayload.validUntil());
+        } catch (Exception e) {
+            return null;
         }
-
-        // Sort by asOf ascending to support eviction strategies (FIFO, LRU, LIFO)
-        activeSessions.sort(Comparator.comparingLong(SessionInfo::lastAsOf));
-
-        return activeSessions;
     }
 }
@@ -0,0 +1,229 @@
+package io.github.cyfko.veridot.core.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory index of the active sessions of each bounded group (§10.1).
+ *
+ * <p>A group is indexed once it has been {@link #rebuild rebuilt} from a verified snapshot. After that
+ * it follows every LIVENESS entry this node publishes, without reading the broker again. Sessions are
+ * ordered by {@code asOf}, so eviction victims are taken from either end in O(log n). A priority
+ * queue on {@code validUntil} retires expired sessions.
+ *
+ * <p>Other nodes' writes reach the index through the broker change feed when the broker has one
+ * (see {@link #followsBroker}), and otherwise only through a rebuild. The index asks for one when
+ * {@code repairIntervalMillis} has passed since the last rebuild, or when the FENCE counter shows
+ * that another processor changed the group's capacity since this node's last grant or lease. A
+ * session that reaches its {@code validUntil} is re-read before it is dropped, since another node
+ * may have renewed it.
+ */
+final class SessionIndex {
+
+    private static final Comparator<SessionCounter.SessionInfo> BY_AS_OF =
+        Comparator.comparingLong(SessionCounter.SessionInfo::lastAsOf).thenComparing(SessionCounter.SessionInfo::sessionKey);
+
+    private static final class Group {
+        final Map<String, SessionCounter.SessionInfo> byKey = new HashMap<>();
+        final TreeSet<SessionCounter.SessionInfo> byAsOf = new TreeSet<>(BY_AS_OF);
+        // May hold superseded records; they are skipped when polled
+        final PriorityQueue<SessionCounter.SessionInfo> byExpiry =
+            new PriorityQueue<>(Comparator.comparingLong(SessionCounter.SessionInfo::validUntil));
+        long rebuiltAt;
+        long fenceCounter;
+    }
+
+    private final ConcurrentHashMap<Scope, Group> groups = new ConcurrentHashMap<>();
+    private final long repairIntervalMillis;
+    private volatile boolean followsBroker;
+
+    SessionIndex(long repairIntervalMillis) {
+        this.repairIntervalMillis = repairIntervalMillis;
+    }
+
+    /**
+     * Records that the broker change feed {@link #apply applies} the LIVENESS entries of every node
+     * to this index.
+     */
+    void followBroker() {
+        followsBroker = true;
+    }
+
+    /**
+     * @return whether the index sees other nodes' sessions between two rebuilds, which a capacity
+     *         check needs to trust it without a FENCE grant
+     */
+    boolean followsBroker() {
+        return followsBroker;
+    }
+
+    /**
+     * @param fenceCounter the counter of the FENCE grant just acquired or reused for the group, or
+     *                     {@code -1} when the caller holds no grant
+     * @return whether the group must be rebuilt from a snapshot before its index can be used
+     */
+    boolean needsRebuild(Scope groupScope, long fenceCounter, long nowMillis) {
+        Group group = groups.get(groupScope);
+        if (group == null) {
+            return true;
+        }
+        synchronized (group) {
+            if (nowMillis - group.rebuiltAt >= repairIntervalMillis) {
+                return true;
+            }
+            // Consecutive grants of this node increment the counter by one; a reused lease keeps it
+            long gap = fenceCounter - group.fenceCounter;
+            return fenceCounter >= 0 && gap != 0 && gap != 1;
+        }
+    }
+
+    /**
+     * Replaces the group's index with the sessions of a verified snapshot.
+     */
+    void rebuild(Scope groupScope, List<SessionCounter.SessionInfo> active, long fenceCounter, long nowMillis) {
+        Group group = new Group();
+        for (SessionCounter.SessionInfo session : active) {
+            add(group, session);
+        }
+        group.rebuiltAt = nowMillis;
+        group.fenceCounter = fenceCounter;
+        groups.put(groupScope, group);
+    }
+
+    /**
+     * Records the grant of a capacity check that used the index without rebuilding it.
+     */
+    void fenced(Scope groupScope, long fenceCounter) {
+        Group group = groups.get(groupScope);
+        if (group != null) {
+            synchronized (group) {
+                group.fenceCounter = fenceCounter;
+            }
+        }
+    }
+
+    /**
+     * @return whether {@link #apply applying} this version of a LIVENESS entry would leave the index
+     *         unchanged because the group is not indexed or already holds that version or a later one
+     */
+    boolean isCurrent(Scope scope, String key, long version) {
+        Group group = groups.get(scope);
+        if (group == null) {
+            return true;
+        }
+        synchronized (group) {
+            SessionCounter.SessionInfo current = group.byKey.get(key);
+            return current != null && current.lastVersion() >= version;
+        }
+    }
+
+    /**
+     * Applies a LIVENESS entry published by this node or delivered by the broker change feed. Entries
+     * of groups that are not indexed, and entries older than the indexed version, are ignored.
+     */
+    void apply(Scope scope, String key, long version, LivenessPayload payload, long nowMillis) {
+        Group group = groups.get(scope);
+        if (group == null) {
+            return;
+        }
+        synchronized (group) {
+            SessionCounter.SessionInfo current = group.byKey.get(key);
+            if (current != null && current.lastVersion() >= version) {
+                return;
+            }
+            if (current != null) {
+                remove(group, current);
+            }
+            if (payload.isActive() && payload.isFresh(nowMillis)) {
+                add(group, new SessionCounter.SessionInfo(key, payload.asOf(), version, payload.validUntil()));
+            }
+        }
+    }
+
+    /**
+     * Retires the sessions whose {@code validUntil} has passed. Each is re-read through
+     * {@code reload} first and kept if it was renewed elsewhere.
+     *
+     * @param reload returns the current state of a session, or {@code null} if it is no longer active
+     */
+    void expire(Scope groupScope, long nowMillis, Function<String, SessionCounter.SessionInfo> reload) {
+        Group group = groups.get(groupScope);
+        if (group == null) {
+            return;
+        }
+        List<SessionCounter.SessionInfo> due = new ArrayList<>();
+        synchronized (group) {
+            SessionCounter.SessionInfo head;
+            while ((head = group.byExpiry.peek()) != null && head.validUntil() <= nowMillis) {
+                group.byExpiry.poll();
+                if (group.byKey.get(head.sessionKey()) == head) {
+                    due.add(head);
+                }
+            }
+        }
+
+        for (SessionCounter.SessionInfo session : due) {
+            SessionCounter.SessionInfo reloaded = reload.apply(session.sessionKey());
+            synchronized (group) {
+                if (group.byKey.get(session.sessionKey()) != session) {
+                    continue; // updated meanwhile by a local publish
+                }
+                remove(group, session);
+                if (reloaded != null && reloaded.lastVersion() >= session.lastVersion()) {
+                    add(group, reloaded);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of indexed active sessions of the group
+     */
+    int size(Scope groupScope) {
+        Group group = groups.get(groupScope);
+        if (group == null) {
+            return 0;
+        }
+        synchronized (group) {
+            return group.byKey.size();
+        }
+    }
+
+    /**
+     * @param oldestFirst whether to take the sessions with the lowest {@code asOf} first
+     * @return up to {@code count} sessions from one end of the {@code asOf} order
+     */
+    List<SessionCounter.SessionInfo> take(Scope groupScope, boolean oldestFirst, int count) {
+        Group group = groups.get(groupScope);
+        if (group == null || count <= 0) {
+            return List.of();
+        }
+        List<SessionCounter.SessionInfo> sessions = new ArrayList<>(count);
+        synchronized (group) {
+            Iterator<SessionCounter.SessionInfo> it = oldestFirst ? group.byAsOf.iterator() : group.byAsOf.descendingIterator();
+            while (it.hasNext() && sessions.size() < count) {
+                sessions.add(it.next());
+            }
+        }
+        return sessions;
+    }
+
+    private static void add(Group group, SessionCounter.SessionInfo session) {
+        group.byKey.put(session.sessionKey(), session);
+        group.byAsOf.add(session);
+        group.byExpiry.add(session);
+    }
+
+    private static void remove(Group group, SessionCounter.SessionInfo session) {
+        group.byKey.remove(session.sessionKey());
+        group.byAsOf.remove(session);
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Algorithm;
+
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.util.EnumMap;
+
+/**
+ * Thread-local pool of prepared JCA {@link Signature} objects, one per {@link Algorithm} (§14.1).
+ *
+ * <p>Provider lookup and RSA-PSS parameter setup happen once per thread and algorithm instead of on
+ * every sign/verify. Callers MUST re-initialize the returned object ({@code initSign}/{@code initVerify})
+ * and complete the operation before acquiring the same algorithm again on the same thread.
+ */
+final class SignaturePool {
+
+    private static final ThreadLocal<EnumMap<Algorithm, Signature>> LOCAL =
+        ThreadLocal.withInitial(() -> new EnumMap<>(Algorithm.class));
+
+    private SignaturePool() {}
+
+    /**
+     * Returns the calling thread's {@link Signature} for the algorithm, creating it on first use.
+     */
+    static Signature acquire(Algorithm alg) throws GeneralSecurityException {
+        EnumMap<Algorithm, Signature> signatures = LOCAL.get();
+        Signature sig = signatures.get(alg);
+        if (sig == null) {
+            sig = create(alg);
+            signatures.put(alg, sig);
+        }
+        return sig;
+    }
+
+    private static Signature create(Algorithm alg) throws GeneralSecurityException {
+        Signature sig = Signature.getInstance(alg.getJcaSignatureAlg());
+        if (alg == Algorithm.RSA_PSS) {
+            try {
+                sig.setParameter(new java.security.spec.PSSParameterSpec(
+                    "SHA-256", "MGF1", java.security.spec.MGF1ParameterSpec.SHA256, 32, 1
+                ));
+            } catch (Exception ignored) {}
+        }
+        return sig;
+    }
+}
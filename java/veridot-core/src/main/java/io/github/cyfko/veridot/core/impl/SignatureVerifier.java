@@ -7,6 +7,11 @@ import io.github.cyfko.veridot.core.Algorithm;
 import io.github.cyfko.veridot.core.exceptions.VeridotException;
 import java.security.PublicKey;
 import java.security.Signature;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Verifies envelope signatures using TrustRoot resolution (§13.1).
@@ -15,6 +20,18 @@ final class SignatureVerifier {
 
     private static final java.util.logging.Logger logger = java.util.logging.Logger.getLogger(SignatureVerifier.class.getName());
 
+    /** Public keys whose type/size constraints already passed, per algorithm. Weak keys follow TrustRoot eviction. */
+    private static final Map<PublicKey, Set<Algorithm>> VALIDATED_KEYS = new WeakHashMap<>();
+
+    /**
+     * CNs already warned about a non-constant-time algorithm (§14.1), so the warning is logged once per
+     * service rather than once per instance key of a churning fleet.
+     */
+    private static final Set<String> WARNED_ISSUERS = ConcurrentHashMap.newKeySet();
+
+    /** Node-wide memo of verdicts for identical envelope bytes, shared by every verifier instance. */
+    private static final VerifiedEnvelopeMemo MEMO = new VerifiedEnvelopeMemo((int) Config.ENVELOPE_MEMO_MAX_ENTRIES);
+
     public void verify(Envelope envelope, TrustRoot trustRoot) {
         if (envelope == null) {
             throw new IllegalArgumentException("Envelope cannot be null");
@@ -43,71 +60,170 @@ final class SignatureVerifier {
         }
 
         // 2. Resolve PublicKey via PublicKeyTrustRoot
-        PublicKey publicKey;
+        PublicKey publicKey = resolveIssuerKey(envelope, trustRoot);
+
+        // 3-4. Key constraints and cryptographic signature
+        verifyWithKey(envelope, publicKey);
+    }
+
+    /**
+     * Parses raw envelope bytes and verifies their signature, reusing the node-wide verdict for
+     * identical bytes when the issuer still resolves to the same key.
+     */
+    public Envelope parseAndVerify(byte[] raw, TrustRoot trustRoot) {
+        Envelope envelope = memoized(raw, trustRoot);
+        if (envelope == null) {
+            envelope = Envelope.parse(raw);
+            verifyAndRemember(raw, envelope, trustRoot);
+        }
+        return envelope;
+    }
+
+    /**
+     * Returns the already-verified envelope for these bytes, or null if no reusable verdict exists.
+     *
+     * @throws VeridotException if these bytes were previously rejected under the issuer's current key
+     */
+    public Envelope memoized(byte[] raw, TrustRoot trustRoot) {
+        if (raw == null || trustRoot == null || trustRoot instanceof DelegatedTrustRoot) {
+            return null;
+        }
+        VerifiedEnvelopeMemo.Verdict verdict = MEMO.get(ContentDigest.of(raw));
+        if (verdict == null) {
+            return null;
+        }
+        PublicKey currentKey;
+        try {
+            TrustIdentity identity = trustRoot.resolve(verdict.envelope().issuer);
+            currentKey = identity != null ? identity.publicKey() : null;
+        } catch (Exception e) {
+            return null; // let full verification report the resolution failure
+        }
+        if (!verdict.issuerKey().equals(currentKey)) {
+            return null;
+        }
+        if (verdict.rejection() != null) {
+            VeridotException cause = verdict.rejection();
+            throw new VeridotException(cause.getErrorCode(), cause.getEntryId(),
+                cause.getMessage() + " (cached)", cause);
+        }
+        return verdict.envelope();
+    }
+
+    /**
+     * Verifies an envelope parsed from {@code raw} and remembers the verdict for those bytes.
+     */
+    public void verifyAndRemember(byte[] raw, Envelope envelope, TrustRoot trustRoot) {
+        if (raw == null || trustRoot instanceof DelegatedTrustRoot) {
+            verify(envelope, trustRoot);
+            return;
+        }
+        if (envelope == null) {
+            throw new IllegalArgumentException("Envelope cannot be null");
+        }
+        if (trustRoot == null) {
+            throw new IllegalArgumentException("TrustRoot cannot be null");
+        }
+        if (!Config.ALLOWED_SIG_ALGS.contains(envelope.sigAlg)) {
+            throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, envelope.entryId().loggable(),
+                "Signature algorithm " + envelope.sigAlg + " is not allowed by configuration");
+        }
+        PublicKey publicKey = resolveIssuerKey(envelope, trustRoot);
+        ContentDigest digest = ContentDigest.of(raw);
+        try {
+            verifyWithKey(envelope, publicKey);
+        } catch (VeridotException e) {
+            MEMO.put(digest, new VerifiedEnvelopeMemo.Verdict(envelope, publicKey, e));
+            throw e;
+        }
+        MEMO.put(digest, new VerifiedEnvelopeMemo.Verdict(envelope, publicKey, null));
+    }
+
+    // Visible for testing
+    static VerifiedEnvelopeMemo memo() {
+        return MEMO;
+    }
+
+    private static PublicKey resolveIssuerKey(Envelope envelope, TrustRoot trustRoot) {
         try {
             TrustIdentity identity = trustRoot.resolve(envelope.issuer);
             if (identity == null) {
                 throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, envelope.entryId().loggable(), "Resolved identity is null");
             }
-            publicKey = identity.publicKey();
+            return identity.publicKey();
         } catch (VeridotException e) {
             throw e;
         } catch (Exception e) {
             throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, envelope.entryId().loggable(), "TrustRoot resolution failed", e);
         }
+    }
+
+    private void verifyWithKey(Envelope envelope, PublicKey publicKey) {
+        // 3. Verify key type consistency and constraints (cached per public key)
+        checkKeyConstraints(publicKey, envelope.sigAlg, envelope.entryId());
+
+        // 4. Verify cryptographic signature
+        try {
+            if (envelope.sigAlg != Algorithm.ED25519 && WARNED_ISSUERS.add(SubjectComputer.isInstanceScoped(envelope.issuer)
+                    ? SubjectComputer.extractCn(envelope.issuer) : envelope.issuer)) {
+                logger.warning("Non-constant-time signature algorithm in use: "
+                    + envelope.sigAlg + " by issuer " + envelope.issuer
+                    + ". §14.1 recommends Ed25519 for timing-safe verification.");
+            }
+            Signature sig = SignaturePool.acquire(envelope.sigAlg);
+            sig.initVerify(publicKey);
+            sig.update(envelope.canonicalSigningInput());
+            if (!sig.verify(envelope.signature)) {
+                throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, envelope.entryId().loggable(), "Cryptographic signature verification failed");
+            }
+        } catch (VeridotException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, envelope.entryId().loggable(), "Signature verification threw an exception", e);
+        }
+    }
+
+    /**
+     * Checks that the key type matches the algorithm and, for RSA, that the modulus is long enough.
+     * Successful checks are remembered per public key so they run once per resolved identity.
+     */
+    private static void checkKeyConstraints(PublicKey publicKey, Algorithm sigAlg, EntryId entryId) {
+        synchronized (VALIDATED_KEYS) {
+            Set<Algorithm> validated = VALIDATED_KEYS.get(publicKey);
+            if (validated != null && validated.contains(sigAlg)) {
+                return;
+            }
+        }
 
-        // 3. Verify key type consistency and constraints
         String keyAlg = publicKey.getAlgorithm();
-        if (envelope.sigAlg.getJcaKeyAlg().equalsIgnoreCase("RSA")) {
+        if (sigAlg.getJcaKeyAlg().equalsIgnoreCase("RSA")) {
             if (!"RSA".equalsIgnoreCase(keyAlg)) {
-                throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, envelope.entryId().loggable(), "RSA signature requires an RSA key, got: " + keyAlg);
+                throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, entryId.loggable(), "RSA signature requires an RSA key, got: " + keyAlg);
             }
             if (publicKey instanceof java.security.interfaces.RSAPublicKey rsaKey) {
                 int keyLen = rsaKey.getModulus().bitLength();
                 if (keyLen < Config.MIN_RSA_KEY_LENGTH) {
-                    throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, envelope.entryId().loggable(),
+                    throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, entryId.loggable(),
                         "RSA key size must be at least " + Config.MIN_RSA_KEY_LENGTH + " bits, got: " + keyLen);
                 }
             }
-        } else if (envelope.sigAlg == Algorithm.ED25519) {
+        } else if (sigAlg == Algorithm.ED25519) {
             if (!"Ed25519".equalsIgnoreCase(keyAlg) && !"EdDSA".equalsIgnoreCase(keyAlg)) {
-                throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, envelope.entryId().loggable(), "Ed25519 signature requires Ed25519 key, got: " + keyAlg);
+                throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, entryId.loggable(), "Ed25519 signature requires Ed25519 key, got: " + keyAlg);
             }
-        } else if (envelope.sigAlg == Algorithm.ECDSA_P256) {
+        } else if (sigAlg == Algorithm.ECDSA_P256) {
             if (!"EC".equalsIgnoreCase(keyAlg)) {
-                throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, envelope.entryId().loggable(), "ECDSA signature requires an EC key, got: " + keyAlg);
+                throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, entryId.loggable(), "ECDSA signature requires an EC key, got: " + keyAlg);
             }
-        } else if (envelope.sigAlg.isPostQuantum() || envelope.sigAlg.isHybrid()) {
+        } else if (sigAlg.isPostQuantum() || sigAlg.isHybrid()) {
             // PQ/Hybrid algorithms: key type check is implementation-specific (bouncy castle, etc.)
             // For now, just verify the signature works
         } else {
-            throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, envelope.entryId().loggable(), "Unknown signature algorithm: " + envelope.sigAlg);
+            throw new VeridotException(ErrorCode.ALGORITHM_MISMATCH, entryId.loggable(), "Unknown signature algorithm: " + sigAlg);
         }
 
-        // 4. Verify cryptographic signature
-        try {
-            if (envelope.sigAlg != Algorithm.ED25519) {
-                logger.warning("Non-constant-time signature algorithm in use: " 
-                    + envelope.sigAlg + " for entry " + envelope.entryId().loggable() 
-                    + ". §14.1 recommends Ed25519 for timing-safe verification.");
-            }
-            Signature sig = Signature.getInstance(envelope.sigAlg.getJcaSignatureAlg());
-            if (envelope.sigAlg == Algorithm.RSA_PSS) {
-                try {
-                    sig.setParameter(new java.security.spec.PSSParameterSpec(
-                        "SHA-256", "MGF1", java.security.spec.MGF1ParameterSpec.SHA256, 32, 1
-                    ));
-                } catch (Exception ignored) {}
-            }
-            sig.initVerify(publicKey);
-            sig.update(envelope.canonicalSigningBytes());
-            if (!sig.verify(envelope.signature)) {
-                throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, envelope.entryId().loggable(), "Cryptographic signature verification failed");
-            }
-        } catch (VeridotException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, envelope.entryId().loggable(), "Signature verification threw an exception", e);
+        synchronized (VALIDATED_KEYS) {
+            VALIDATED_KEYS.computeIfAbsent(publicKey, k -> EnumSet.noneOf(Algorithm.class)).add(sigAlg);
         }
     }
 
@@ -115,18 +231,20 @@ final class SignatureVerifier {
      * Verifies a raw signature against a public key (used by GenericSignerVerifier for JWT verification).
      */
     public void verifyRaw(byte[] signedBytes, byte[] signatureBytes, PublicKey publicKey, Algorithm alg) {
+        verifyRaw(signedBytes, 0, signedBytes.length, signatureBytes, 0, signatureBytes.length, publicKey, alg);
+    }
+
+    /**
+     * Verifies a raw signature given as byte ranges, so callers can pass slices of reused buffers.
+     */
+    public void verifyRaw(byte[] signed, int signedOffset, int signedLength,
+                          byte[] signature, int signatureOffset, int signatureLength,
+                          PublicKey publicKey, Algorithm alg) {
         try {
-            Signature sig = Signature.getInstance(alg.getJcaSignatureAlg());
-            if (alg == Algorithm.RSA_PSS) {
-                try {
-                    sig.setParameter(new java.security.spec.PSSParameterSpec(
-                        "SHA-256", "MGF1", java.security.spec.MGF1ParameterSpec.SHA256, 32, 1
-                    ));
-                } catch (Exception ignored) {}
-            }
+            Signature sig = SignaturePool.acquire(alg);
             sig.initVerify(publicKey);
-            sig.update(signedBytes);
-            if (!sig.verify(signatureBytes)) {
+            sig.update(signed, signedOffset, signedLength);
+            if (!sig.verify(signature, signatureOffset, signatureLength)) {
                 throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, null, "Cryptographic signature verification failed");
             }
         } catch (VeridotException e) {
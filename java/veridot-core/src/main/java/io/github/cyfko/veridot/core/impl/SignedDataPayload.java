@@ -2,7 +2,6 @@ package io.github.cyfko.veridot.core.impl;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Payload of a SIGNED_DATA entry (§4.9).
@@ -30,16 +29,16 @@ record SignedDataPayload(
     }
 
     public static SignedDataPayload decode(byte[] tlvBytes) {
-        Map<Byte, byte[]> fields = TlvCodec.parse(tlvBytes);
+        TlvReader fields = TlvReader.parse(tlvBytes);
 
-        String contentType = TlvCodec.readString(fields, Tag.CONTENT_TYPE.code, true);
-        byte[] data = TlvCodec.readBytes(fields, Tag.DATA.code, true);
-        String label = fields.containsKey(Tag.LABEL.code)
-            ? TlvCodec.readString(fields, Tag.LABEL.code, true)
+        String contentType = fields.readString(Tag.CONTENT_TYPE.code, true);
+        byte[] data = fields.readBytes(Tag.DATA.code, true);
+        String label = fields.has(Tag.LABEL.code)
+            ? fields.readString(Tag.LABEL.code, true)
             : null;
-        long createdAt = TlvCodec.readI64(fields, Tag.CREATED_AT.code, true);
-        String correlationId = fields.containsKey(Tag.CORRELATION_ID.code)
-            ? TlvCodec.readString(fields, Tag.CORRELATION_ID.code, true)
+        long createdAt = fields.readI64(Tag.CREATED_AT.code, true);
+        String correlationId = fields.has(Tag.CORRELATION_ID.code)
+            ? fields.readString(Tag.CORRELATION_ID.code, true)
             : null;
 
         return new SignedDataPayload(contentType, data, label, createdAt, correlationId);
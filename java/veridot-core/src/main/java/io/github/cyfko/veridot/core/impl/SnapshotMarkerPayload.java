@@ -3,7 +3,6 @@ package io.github.cyfko.veridot.core.impl;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Payload of a SNAPSHOT_MARKER entry (§11.5).
@@ -23,10 +22,10 @@ record SnapshotMarkerPayload(
     }
 
     public static SnapshotMarkerPayload decode(byte[] tlvBytes) {
-        Map<Byte, byte[]> fields = TlvCodec.parse(tlvBytes);
+        TlvReader fields = TlvReader.parse(tlvBytes);
 
-        long snapshotAt = TlvCodec.readI64(fields, Tag.SNAPSHOT_AT.code, true);
-        long entryCount = TlvCodec.readU32(fields, Tag.ENTRY_COUNT.code, true);
+        long snapshotAt = fields.readI64(Tag.SNAPSHOT_AT.code, true);
+        long entryCount = fields.readU32(Tag.ENTRY_COUNT.code, true);
 
         return new SnapshotMarkerPayload(snapshotAt, entryCount);
     }
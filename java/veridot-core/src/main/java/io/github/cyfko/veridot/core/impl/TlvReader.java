@@ -0,0 +1,207 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Flat, cursor-style TLV reader (§4.1).
+ *
+ * <p>Indexes a payload in a single pass into a small array of {@code (tag, offset, length)} slots over
+ * the original bytes, then reads values in place. Unlike {@link TlvCodec#parse(byte[])} no tag is boxed
+ * and no value is copied until a String or byte array is explicitly requested. The 0x00-tag and
+ * duplicate-tag checks, and all error messages, match {@link TlvCodec}.
+ */
+final class TlvReader {
+
+    private static final int INITIAL_SLOTS = 8;
+
+    private final byte[] buf;
+    // Each slot packs tag (bits 48-55), value offset (bits 16-47) and value length (bits 0-15)
+    private long[] slots = new long[INITIAL_SLOTS];
+    private int count;
+
+    private TlvReader(byte[] buf) {
+        this.buf = buf;
+    }
+
+    static TlvReader parse(byte[] payload) {
+        if (payload == null) {
+            return new TlvReader(new byte[0]);
+        }
+        return parse(payload, 0, payload.length);
+    }
+
+    /**
+     * Indexes the TLV fields in {@code payload[offset, offset + length)} without copying them.
+     *
+     * @throws VeridotException if the payload is truncated, uses tag 0x00 or repeats a tag
+     */
+    static TlvReader parse(byte[] payload, int offset, int length) {
+        TlvReader reader = new TlvReader(payload);
+        int pos = offset;
+        int end = offset + length;
+        while (pos < end) {
+            if (end - pos < 3) {
+                throw new VeridotException(ErrorCode.MALFORMED_PAYLOAD, null, "Malformed TLV payload: incomplete tag/length");
+            }
+
+            byte tag = payload[pos];
+            if (tag == 0x00) {
+                throw new VeridotException(ErrorCode.MALFORMED_PAYLOAD, null, "TLV tag cannot be 0x00");
+            }
+
+            int len = ((payload[pos + 1] & 0xFF) << 8) | (payload[pos + 2] & 0xFF);
+            pos += 3;
+            if (end - pos < len) {
+                throw new VeridotException(ErrorCode.MALFORMED_PAYLOAD, null,
+                    "Malformed TLV payload: expected " + len + " bytes for tag " + String.format("0x%02X", tag) + ", got " + (end - pos));
+            }
+
+            if (reader.indexOf(tag) >= 0) {
+                throw new VeridotException(ErrorCode.MALFORMED_PAYLOAD, null,
+                    "Duplicate TLV tag " + String.format("0x%02X", tag) + " in payload");
+            }
+            reader.add(tag, pos, len);
+            pos += len;
+        }
+        return reader;
+    }
+
+    boolean has(byte tag) {
+        return indexOf(tag) >= 0;
+    }
+
+    byte readU8(byte tag, boolean required) {
+        int slot = find(tag, required);
+        if (slot < 0) {
+            return 0;
+        }
+        checkLength(tag, slot, 1);
+        return buf[offset(slot)];
+    }
+
+    int readU16(byte tag, boolean required) {
+        int slot = find(tag, required);
+        if (slot < 0) {
+            return 0;
+        }
+        checkLength(tag, slot, 2);
+        return (int) readBigEndian(offset(slot), 2);
+    }
+
+    long readU32(byte tag, boolean required) {
+        int slot = find(tag, required);
+        if (slot < 0) {
+            return 0;
+        }
+        checkLength(tag, slot, 4);
+        return readBigEndian(offset(slot), 4);
+    }
+
+    long readU64(byte tag, boolean required) {
+        int slot = find(tag, required);
+        if (slot < 0) {
+            return 0;
+        }
+        checkLength(tag, slot, 8);
+        return readBigEndian(offset(slot), 8);
+    }
+
+    long readI64(byte tag, boolean required) {
+        return readU64(tag, required);
+    }
+
+    String readString(byte tag, boolean required) {
+        int slot = find(tag, required);
+        if (slot < 0) {
+            return null;
+        }
+        return new String(buf, offset(slot), length(slot), StandardCharsets.UTF_8);
+    }
+
+    byte[] readBytes(byte tag, boolean required) {
+        int slot = find(tag, required);
+        if (slot < 0) {
+            return null;
+        }
+        int off = offset(slot);
+        return Arrays.copyOfRange(buf, off, off + length(slot));
+    }
+
+    List<String> readStringList(byte tag, boolean required) {
+        int slot = find(tag, required);
+        if (slot < 0) {
+            return null;
+        }
+
+        List<String> list = new ArrayList<>();
+        int pos = offset(slot);
+        int end = pos + length(slot);
+        while (pos < end) {
+            if (end - pos < 2) {
+                throw new VeridotException(ErrorCode.MALFORMED_PAYLOAD, null, "Malformed string list encoding: incomplete length");
+            }
+            int len = (int) readBigEndian(pos, 2);
+            pos += 2;
+            if (end - pos < len) {
+                throw new VeridotException(ErrorCode.MALFORMED_PAYLOAD, null, "Malformed string list encoding: string truncated");
+            }
+            list.add(new String(buf, pos, len, StandardCharsets.UTF_8));
+            pos += len;
+        }
+        return list;
+    }
+
+    private void add(byte tag, int offset, int length) {
+        if (count == slots.length) {
+            slots = Arrays.copyOf(slots, count * 2);
+        }
+        slots[count++] = ((long) (tag & 0xFF) << 48) | ((long) offset << 16) | length;
+    }
+
+    private int indexOf(byte tag) {
+        long t = tag & 0xFF;
+        for (int i = 0; i < count; i++) {
+            if ((slots[i] >>> 48) == t) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int find(byte tag, boolean required) {
+        int slot = indexOf(tag);
+        if (slot < 0 && required) {
+            throw new VeridotException(ErrorCode.MALFORMED_PAYLOAD, null, "Missing required tag: " + String.format("0x%02X", tag));
+        }
+        return slot;
+    }
+
+    private void checkLength(byte tag, int slot, int expected) {
+        int actual = length(slot);
+        if (actual != expected) {
+            throw new VeridotException(ErrorCode.MALFORMED_PAYLOAD, null,
+                "Invalid length for tag " + String.format("0x%02X", tag) + ": expected " + expected + ", got " + actual);
+        }
+    }
+
+    private int offset(int slot) {
+        return (int) ((slots[slot] >>> 16) & 0xFFFFFFFFL);
+    }
+
+    private int length(int slot) {
+        return (int) (slots[slot] & 0xFFFF);
+    }
+
+    private long readBigEndian(int pos, int width) {
+        long v = 0;
+        for (int i = 0; i < width; i++) {
+            v = (v << 8) | (buf[pos + i] & 0xFF);
+        }
+        return v;
+    }
+}
@@ -2,7 +2,6 @@ package io.github.cyfko.veridot.core.impl;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Payload of a TRUST_REVOCATION entry (§4.11).
@@ -26,12 +25,12 @@ record TrustRevocationPayload(
     }
 
     public static TrustRevocationPayload decode(byte[] tlvBytes) {
-        Map<Byte, byte[]> fields = TlvCodec.parse(tlvBytes);
+        TlvReader fields = TlvReader.parse(tlvBytes);
 
-        String revokedSubject = TlvCodec.readString(fields, Tag.REVOKED_SUBJECT.code, true);
-        long revokedAt = TlvCodec.readI64(fields, Tag.REVOKED_AT.code, true);
-        String reason = fields.containsKey(Tag.REASON.code)
-            ? TlvCodec.readString(fields, Tag.REASON.code, true)
+        String revokedSubject = fields.readString(Tag.REVOKED_SUBJECT.code, true);
+        long revokedAt = fields.readI64(Tag.REVOKED_AT.code, true);
+        String reason = fields.has(Tag.REASON.code)
+            ? fields.readString(Tag.REASON.code, true)
             : null;
 
         return new TrustRevocationPayload(revokedSubject, revokedAt, reason);
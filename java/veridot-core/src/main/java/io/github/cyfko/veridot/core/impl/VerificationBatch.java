@@ -0,0 +1,115 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Broker;
+import io.github.cyfko.veridot.core.TrustIdentity;
+import io.github.cyfko.veridot.core.TrustRoot;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-through view of the broker and the trust root shared by the tokens of one
+ * {@code verifyAll} call.
+ *
+ * <p>Each distinct broker key, scope snapshot and issuer identity is fetched once, however many
+ * tokens of the batch need it; concurrent lookups of the same item wait for the first one. The
+ * view reflects the broker as of the batch and is discarded with it. Writes pass through.
+ */
+final class VerificationBatch implements Broker {
+
+    private static final byte[] ABSENT = new byte[0];
+
+    private record ScopedType(Scope scope, EntryType entryType) {}
+
+    private final Broker broker;
+    private final TrustRoot trustRoot;
+    private final ConcurrentHashMap<ByteBuffer, byte[]> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Scope, List<BrokerEntry>> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ScopedType, List<BrokerEntry>> typedSnapshots = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Optional<TrustIdentity>> identities = new ConcurrentHashMap<>();
+
+    VerificationBatch(Broker broker, TrustRoot trustRoot) {
+        this.broker = broker;
+        this.trustRoot = trustRoot;
+    }
+
+    /**
+     * Resolves an issuer through the trust root, once per batch.
+     *
+     * @return the identity, or {@code null} if the trust root does not know the issuer
+     */
+    TrustIdentity resolve(String issuer) {
+        return identities.computeIfAbsent(issuer, id -> Optional.ofNullable(trustRoot.resolve(id))).orElse(null);
+    }
+
+    /**
+     * Records an entry fetched ahead of the batch, e.g. by a multi-key lookup.
+     */
+    void seed(byte[] storageKey, byte[] envelopeBytes) {
+        entries.putIfAbsent(ByteBuffer.wrap(storageKey.clone()), envelopeBytes != null ? envelopeBytes : ABSENT);
+    }
+
+    @Override
+    public byte[] get(byte[] storageKey) {
+        byte[] bytes = entries.computeIfAbsent(ByteBuffer.wrap(storageKey.clone()), key -> {
+            byte[] fetched = broker.get(storageKey);
+            return fetched != null ? fetched : ABSENT;
+        });
+        return bytes == ABSENT ? null : bytes;
+    }
+
+    /**
+     * Serves the keys already seen by the batch and fetches the others with one
+     * {@link Broker#getAll(List)} call.
+     */
+    @Override
+    public List<byte[]> getAll(List<byte[]> storageKeys) {
+        List<byte[]> misses = new ArrayList<>();
+        for (byte[] storageKey : storageKeys) {
+            if (!entries.containsKey(ByteBuffer.wrap(storageKey))) {
+                misses.add(storageKey);
+            }
+        }
+        if (!misses.isEmpty()) {
+            List<byte[]> fetched = broker.getAll(misses);
+            for (int i = 0; i < misses.size(); i++) {
+                seed(misses.get(i), fetched.get(i));
+            }
+        }
+        List<byte[]> values = new ArrayList<>(storageKeys.size());
+        for (byte[] storageKey : storageKeys) {
+            values.add(get(storageKey));
+        }
+        return values;
+    }
+
+    @Override
+    public List<BrokerEntry> snapshot(Scope scope) {
+        return snapshots.computeIfAbsent(scope, broker::snapshot);
+    }
+
+    @Override
+    public List<BrokerEntry> snapshot(Scope scope, EntryType entryType) {
+        return typedSnapshots.computeIfAbsent(new ScopedType(scope, entryType),
+            key -> broker.snapshot(key.scope(), key.entryType()));
+    }
+
+    @Override
+    public CompletableFuture<Void> put(byte[] storageKey, byte[] envelopeBytes) {
+        return broker.put(storageKey, envelopeBytes);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAll(List<BrokerEntry> entries) {
+        return broker.putAll(entries);
+    }
+
+    @Override
+    public void putLocal(byte[] storageKey, byte[] envelopeBytes) {
+        broker.putLocal(storageKey, envelopeBytes);
+    }
+}
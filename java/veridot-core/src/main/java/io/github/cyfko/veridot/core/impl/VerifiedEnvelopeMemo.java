@@ -0,0 +1,87 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.VeridotMetrics;
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
+
+import java.security.PublicKey;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded memo of envelope signature verdicts, keyed by the SHA-256 digest of the raw envelope bytes (§13.1).
+ *
+ * <p>Each verdict records the issuer public key it was reached with. A verdict is only reused while
+ * the TrustRoot still resolves the issuer to that same key, so a key rotation or revocation in the
+ * TrustRoot invalidates it. Both acceptances and cryptographic rejections are remembered; structural
+ * parse failures and TrustRoot resolution failures are not.
+ */
+final class VerifiedEnvelopeMemo {
+
+    /**
+     * Outcome of verifying one envelope.
+     *
+     * @param envelope  the parsed envelope
+     * @param issuerKey the issuer public key the verdict was reached with
+     * @param rejection the verification failure, or null if the signature is valid
+     */
+    record Verdict(Envelope envelope, PublicKey issuerKey, VeridotException rejection) {}
+
+    private final int maxEntries;
+    private final Map<ContentDigest, Verdict> entries;
+
+    VerifiedEnvelopeMemo(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ContentDigest, Verdict> eldest) {
+                return size() > VerifiedEnvelopeMemo.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return the remembered verdict for the digest, or null on a miss
+     */
+    Verdict get(ContentDigest digest) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        Verdict verdict;
+        synchronized (entries) {
+            verdict = entries.get(digest);
+        }
+        if (verdict == null) {
+            VeridotMetrics.ENVELOPE_MEMO_MISSES.increment();
+        } else {
+            VeridotMetrics.ENVELOPE_MEMO_HITS.increment();
+        }
+        return verdict;
+    }
+
+    void put(ContentDigest digest, Verdict verdict) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(digest, verdict);
+        }
+    }
+
+    void remove(ContentDigest digest) {
+        synchronized (entries) {
+            entries.remove(digest);
+        }
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
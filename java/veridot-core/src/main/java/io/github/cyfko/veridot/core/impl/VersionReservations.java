@@ -0,0 +1,50 @@
+package io.github.cyfko.veridot.core.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out the versions this node publishes entries under.
+ *
+ * <p>A version is reserved above both the watermark and every version still in flight for the same
+ * entry, so that a renewal, a revocation and a pipelined sign racing on one LIVENESS entry never
+ * publish under the same version. A reservation ends when its publication completes, by
+ * {@link #accept advancing the watermark}, or when it fails, by {@link #release releasing it}.
+ */
+final class VersionReservations {
+
+    private final VersionWatermark watermark;
+    // Highest version handed to a publication that has not completed yet
+    private final ConcurrentHashMap<EntryId, Long> pending = new ConcurrentHashMap<>();
+
+    VersionReservations(VersionWatermark watermark) {
+        this.watermark = watermark;
+    }
+
+    /**
+     * @return the next version for an entry whose previous publication may still be in flight
+     */
+    long reserve(EntryId entryId) {
+        return pending.merge(entryId, Math.max(watermark.current(entryId) + 1, 1),
+            (inFlight, next) -> Math.max(inFlight + 1, next));
+    }
+
+    /**
+     * Ends a reservation whose publication failed. A later reservation keeps its own version.
+     */
+    void release(EntryId entryId, long version) {
+        pending.remove(entryId, version);
+    }
+
+    /**
+     * Ends a reservation whose publication completed and advances the watermark. A later version
+     * of the same entry may have completed first, in which case this one is already superseded.
+     */
+    void accept(EntryId entryId, long version) {
+        release(entryId, version);
+        watermark.acceptIfNewer(entryId, version);
+    }
+
+    VersionWatermark watermark() {
+        return watermark;
+    }
+}
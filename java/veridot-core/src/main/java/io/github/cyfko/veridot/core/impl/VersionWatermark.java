@@ -1,65 +1,368 @@
 package io.github.cyfko.veridot.core.impl;
 
+import io.github.cyfko.veridot.core.VeridotMetrics;
 import io.github.cyfko.veridot.core.exceptions.VeridotException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongUnaryOperator;
 
 /**
  * Thread-safe registry for tracking and enforcing monotonic version updates per EntryId (§11.1).
+ *
+ * <p>Watermarks live in lock-striped open-addressing tables of primitive longs. Each slot is indexed by
+ * a 64-bit hash of the watermark key and keeps the UTF-8 key bytes for collision-safe verification, so
+ * {@link #current} and {@link #accept} neither build a String key nor box the version. The serialized
+ * snapshot format (a JSON object of {@code "scope\0code\0key"} to version) is unchanged.
+ *
+ * <p>Every watermark advanced since the last {@link #drainDirty()} is remembered, so incremental
+ * {@link io.github.cyfko.veridot.core.WatermarkStore}s can persist deltas instead of full snapshots.
+ *
+ * <p>The watermarks of per-session entries that expire (LIVENESS, SIGNED_DATA) carry a retention
+ * horizon and are dropped by {@link #prune} once it has passed. The horizon is the later of
+ * <ul>
+ *   <li>the last advance plus {@code retentionMillis}, which signing enforces as an upper bound on
+ *       any session's validity, and</li>
+ *   <li>the latest {@code validUntil} reported through {@link #retainUntil},</li>
+ * </ul>
+ * plus {@code marginMillis} of clock drift. Every version of the key, including ones this node never
+ * saw, was published before the last advance and so stopped being fresh before the horizon: once the
+ * watermark is gone, a replayed envelope is still rejected by its own expiry (the embedded JWT's
+ * {@code exp} for SIGNED_DATA).
+ *
+ * <p>Other entry types are kept forever. This includes SECURE_PAYLOAD, whose envelopes never expire,
+ * so the watermark is all that refuses a rolled-back copy. Horizons are written to snapshots under a
+ * reserved key that older readers skip.
  */
 final class VersionWatermark {
-    private final ConcurrentHashMap<String, Long> watermarks = new ConcurrentHashMap<>();
     private static final ObjectMapper mapper = new ObjectMapper();
 
+    private static final int SEGMENTS = 16;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final String[] CODE_STRINGS = new String[256];
+    private static final boolean[] PRUNABLE = new boolean[256];
+    // Cannot clash with a watermark key, whose scope is never empty
+    static final String RETAIN_UNTIL_KEY = "\0retainUntil";
+
+    static {
+        for (int i = 0; i < CODE_STRINGS.length; i++) {
+            CODE_STRINGS[i] = Byte.toString((byte) i);
+        }
+        PRUNABLE[EntryType.LIVENESS.code & 0xFF] = true;
+        PRUNABLE[EntryType.SIGNED_DATA.code & 0xFF] = true;
+    }
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    // Approximate serialized size of the pending deltas (key bytes + 8-byte version each)
+    private final AtomicLong dirtyBytes = new AtomicLong();
+    private volatile boolean trackDirty;
+    // Optional lookup of persisted versions by key hash, consulted on a miss (see MappedWatermarkStore)
+    private volatile LongUnaryOperator persisted;
+    private volatile LongConsumer prunePersisted;
+    // 0 disables pruning
+    private final long retentionMillis;
+    private final long marginMillis;
+
+    VersionWatermark() {
+        this(Config.WATERMARK_RETENTION_SECONDS * 1000L, Config.MAX_CLOCK_DRIFT_SECONDS * 1000L);
+    }
+
+    VersionWatermark(long retentionMillis, long marginMillis) {
+        this.retentionMillis = retentionMillis;
+        this.marginMillis = marginMillis;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
     public void accept(EntryId entryId, long version) {
         if (version == 0) {
             throw new VeridotException(ErrorCode.VERSION_REJECTED, entryId.loggable(), "Version cannot be 0");
         }
 
-        String key = toMapKey(entryId);
-        watermarks.compute(key, (k, current) -> {
-            long currentVal = current == null ? 0L : current;
+        String scope = entryId.scope().value();
+        String code = CODE_STRINGS[entryId.entryType().code & 0xFF];
+        String key = entryId.key();
+        long hash = hash(scope, code, key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.find(hash, scope, code, key);
+            if (slot < 0) {
+                slot = loadPersisted(segment, hash, scope, code, key);
+            }
+            long currentVal = slot < 0 ? 0L : segment.values[slot];
             if (version <= currentVal) {
                 throw new VeridotException(ErrorCode.VERSION_REJECTED, entryId.loggable(),
                     "Incoming version " + version + " is not strictly greater than recorded watermark " + currentVal);
             }
-            return version;
-        });
+            long horizon = horizon(entryId.entryType().code, System.currentTimeMillis());
+            if (slot < 0) {
+                slot = segment.insert(hash, toMapKey(scope, code, key).getBytes(StandardCharsets.UTF_8), version, horizon);
+            } else {
+                segment.values[slot] = version;
+                segment.retainUntil[slot] = Math.max(segment.retainUntil[slot], horizon);
+            }
+            if (trackDirty && segment.markDirty(slot)) {
+                dirtyBytes.addAndGet(segment.keys[slot].length + 8);
+            }
+        }
+    }
+
+    /**
+     * Like {@link #accept(EntryId, long)}, but tolerates a concurrent accept of the same or a later
+     * version, as when several threads verify the same entry at once.
+     *
+     * @return {@code false} if the watermark had already reached {@code version}
+     */
+    public boolean acceptIfNewer(EntryId entryId, long version) {
+        try {
+            accept(entryId, version);
+            return true;
+        } catch (VeridotException e) {
+            if (version != 0 && current(entryId) >= version) {
+                return false;
+            }
+            throw e;
+        }
     }
 
     public long current(EntryId entryId) {
-        return watermarks.getOrDefault(toMapKey(entryId), 0L);
+        String scope = entryId.scope().value();
+        String code = CODE_STRINGS[entryId.entryType().code & 0xFF];
+        String key = entryId.key();
+        long hash = hash(scope, code, key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.find(hash, scope, code, key);
+            if (slot < 0) {
+                slot = loadPersisted(segment, hash, scope, code, key);
+            }
+            return slot < 0 ? 0L : segment.values[slot];
+        }
+    }
+
+    /**
+     * Keeps the watermark of {@code entryId} at least until {@code validUntilMillis} (plus the clock
+     * drift margin), for an entry known to stay fresh longer than the retention period. Has no effect
+     * on keys that are not tracked or never pruned. An extended horizon is reported by
+     * {@link #drainDirty()} like an advance, so that stores keeping horizons see it.
+     */
+    void retainUntil(EntryId entryId, long validUntilMillis) {
+        if (retentionMillis <= 0 || !PRUNABLE[entryId.entryType().code & 0xFF]) {
+            return;
+        }
+        String scope = entryId.scope().value();
+        String code = CODE_STRINGS[entryId.entryType().code & 0xFF];
+        String key = entryId.key();
+        long hash = hash(scope, code, key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.find(hash, scope, code, key);
+            // Saturates for an entry that never expires, which is then never pruned
+            long horizon = validUntilMillis > Long.MAX_VALUE - marginMillis ? Long.MAX_VALUE : validUntilMillis + marginMillis;
+            if (slot >= 0 && horizon > segment.retainUntil[slot]) {
+                segment.retainUntil[slot] = horizon;
+                if (trackDirty && segment.markDirty(slot)) {
+                    dirtyBytes.addAndGet(segment.keys[slot].length + 8);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param mapKey a snapshot key ({@code scope\0code\0key})
+     * @return the retention horizon of the tracked watermark, or 0 if it is not tracked or never pruned
+     */
+    long horizonOf(String mapKey) {
+        long hash = hash(mapKey);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.findBytes(hash, mapKey.getBytes(StandardCharsets.UTF_8));
+            return slot < 0 ? 0L : segment.retainUntil[slot];
+        }
+    }
+
+    /**
+     * Drops every watermark whose retention horizon is at or before {@code nowMillis}, then lets the
+     * persisted versions, if any, drop theirs so that they are not seeded back.
+     *
+     * @return the number of watermarks dropped
+     */
+    int prune(long nowMillis) {
+        int pruned = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                pruned += segment.removeExpired(nowMillis);
+            }
+        }
+        VeridotMetrics.WATERMARKS_PRUNED.add(pruned);
+        LongConsumer persistedPruner = prunePersisted;
+        if (persistedPruner != null) {
+            persistedPruner.accept(nowMillis);
+        }
+        return pruned;
+    }
+
+    /**
+     * @return the horizon given to a watermark of {@code entryTypeCode} advanced at {@code nowMillis},
+     *         or 0 if it is never pruned
+     */
+    private long horizon(byte entryTypeCode, long nowMillis) {
+        if (retentionMillis <= 0 || !PRUNABLE[entryTypeCode & 0xFF]) {
+            return 0;
+        }
+        return nowMillis + retentionMillis + marginMillis;
+    }
+
+    private long horizon(String mapKey, long nowMillis) {
+        int first = mapKey.indexOf('\0');
+        int second = first < 0 ? -1 : mapKey.indexOf('\0', first + 1);
+        if (second < 0) {
+            return 0;
+        }
+        try {
+            return horizon(Byte.parseByte(mapKey.substring(first + 1, second)), nowMillis);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Backs this registry with persisted versions looked up by {@link #hash(String)} of the snapshot key
+     * instead of a restored snapshot. A key seen for the first time is seeded from the lookup, which
+     * returns 0 for an unknown hash. {@link #prune} then calls {@code prune} with its time, and the
+     * persisted versions must drop the watermarks whose horizon has passed by then.
+     */
+    void persistedVersions(LongUnaryOperator lookup, LongConsumer prune) {
+        this.persisted = lookup;
+        this.prunePersisted = prune;
+    }
+
+    private int loadPersisted(Segment segment, long hash, String scope, String code, String key) {
+        LongUnaryOperator lookup = persisted;
+        if (lookup == null) {
+            return -1;
+        }
+        long version = lookup.applyAsLong(hash);
+        if (version <= 0) {
+            return -1;
+        }
+        return segment.insert(hash, toMapKey(scope, code, key).getBytes(StandardCharsets.UTF_8), version,
+            horizon(Byte.parseByte(code), System.currentTimeMillis()));
+    }
+
+    /**
+     * @return the number of tracked watermarks
+     */
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Starts remembering advanced watermarks for {@link #drainDirty()}. Off by default so that nodes
+     * without an incremental store do not accumulate a pending set nobody drains.
+     */
+    void trackDirty() {
+        trackDirty = true;
+    }
+
+    /**
+     * @return the approximate serialized size in bytes of the watermarks advanced since the last drain
+     */
+    long dirtyBytes() {
+        return dirtyBytes.get();
+    }
+
+    /**
+     * Returns the watermarks advanced since the previous call, keyed like the snapshot, and forgets them.
+     * A watermark advanced concurrently with the drain is reported either now or by the next call.
+     */
+    Map<String, Long> drainDirty() {
+        Map<String, Long> deltas = new HashMap<>();
+        long drained = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                for (int i = 0; i < segment.dirtyCount; i++) {
+                    int slot = segment.findBytes(segment.dirtyHashes[i], segment.dirtyKeys[i]);
+                    if (slot >= 0) { // pruned since it advanced otherwise
+                        deltas.put(new String(segment.keys[slot], StandardCharsets.UTF_8), segment.values[slot]);
+                        segment.dirty[slot] = false;
+                    }
+                    drained += segment.dirtyKeys[i].length + 8;
+                    segment.dirtyKeys[i] = null;
+                }
+                segment.dirtyCount = 0;
+            }
+        }
+        dirtyBytes.addAndGet(-drained);
+        return deltas;
     }
 
     /**
      * Serializes the watermarks to a byte array (§12.3.1).
      */
     public byte[] snapshot() {
+        Map<String, Object> copy = new HashMap<>();
+        Map<String, Long> horizons = new HashMap<>();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                for (int i = 0; i < segment.keys.length; i++) {
+                    if (segment.keys[i] != null) {
+                        String mapKey = new String(segment.keys[i], StandardCharsets.UTF_8);
+                        copy.put(mapKey, segment.values[i]);
+                        if (segment.retainUntil[i] > 0) {
+                            horizons.put(mapKey, segment.retainUntil[i]);
+                        }
+                    }
+                }
+            }
+        }
+        if (!horizons.isEmpty()) {
+            copy.put(RETAIN_UNTIL_KEY, horizons);
+        }
         try {
-            return mapper.writeValueAsBytes(new HashMap<>(watermarks));
+            return mapper.writeValueAsBytes(copy);
         } catch (IOException e) {
             throw new RuntimeException("Failed to serialize VersionWatermark", e);
         }
     }
 
     /**
-     * Restores the watermarks from a serialized snapshot.
+     * Restores the watermarks from a serialized snapshot. A prunable watermark without a recorded
+     * horizon, as in snapshots written before horizons existed, is retained as if it advanced now.
      */
     @SuppressWarnings("unchecked")
     public void restore(byte[] snapshot) {
         if (snapshot == null || snapshot.length == 0) {
-            watermarks.clear();
+            clear();
             return;
         }
         try {
             Map<String, Object> rawMap = mapper.readValue(snapshot, Map.class);
-            watermarks.clear();
+            Map<String, Object> horizons = rawMap.get(RETAIN_UNTIL_KEY) instanceof Map<?, ?> recorded
+                ? (Map<String, Object>) recorded
+                : Map.of();
+            long now = System.currentTimeMillis();
+            clear();
             for (Map.Entry<String, Object> entry : rawMap.entrySet()) {
                 if (entry.getValue() instanceof Number) {
-                    watermarks.put(entry.getKey(), ((Number) entry.getValue()).longValue());
+                    long horizon = horizon(entry.getKey(), now);
+                    if (horizon > 0 && horizons.get(entry.getKey()) instanceof Number recorded) {
+                        horizon = recorded.longValue();
+                    }
+                    put(entry.getKey(), ((Number) entry.getValue()).longValue(), horizon);
                 }
             }
         } catch (IOException e) {
@@ -67,8 +370,263 @@ final class VersionWatermark {
         }
     }
 
-    private static String toMapKey(EntryId entryId) {
+    private void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.reset();
+            }
+        }
+        dirtyBytes.set(0);
+    }
+
+    private void put(String mapKey, long version, long horizon) {
+        long hash = hash(mapKey);
+        byte[] keyBytes = mapKey.getBytes(StandardCharsets.UTF_8);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.findBytes(hash, keyBytes);
+            if (slot < 0) {
+                segment.insert(hash, keyBytes, version, horizon);
+            } else {
+                segment.values[slot] = version;
+                segment.retainUntil[slot] = horizon;
+            }
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 60) & (SEGMENTS - 1)];
+    }
+
+    private static String toMapKey(String scope, String code, String key) {
         // Safe key construction using NUL separator
-        return entryId.scope().value() + "\0" + entryId.entryType().code + "\0" + entryId.key();
+        return scope + "\0" + code + "\0" + key;
+    }
+
+    /**
+     * 64-bit FNV-1a over the chars of {@code scope + "\0" + code + "\0" + key}, finished with a
+     * MurmurHash3 mix so both the table index and the segment selector bits are well spread.
+     * Hashing the concatenation means a restored map key hashes identically to its parts.
+     */
+    private static long hash(String scope, String code, String key) {
+        long h = hashChars(FNV_OFFSET, scope);
+        h *= FNV_PRIME; // NUL separator: h ^ 0 == h
+        h = hashChars(h, code);
+        h *= FNV_PRIME;
+        return finish(hashChars(h, key));
+    }
+
+    /**
+     * @return the 64-bit hash of a snapshot key ({@code scope\0code\0key}), never 0
+     */
+    static long hash(String mapKey) {
+        return finish(hashChars(FNV_OFFSET, mapKey));
+    }
+
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        // 0 marks an empty slot
+        return h == 0 ? 1 : h;
+    }
+
+    private static long hashChars(long h, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    /**
+     * One lock stripe: a linear-probing table of (hash, key bytes, version, retention horizon) in
+     * parallel arrays, plus the list of slots advanced since the last drain. Dirty entries are listed by hash and key so they
+     * survive a rehash.
+     */
+    private static final class Segment {
+        private static final int INITIAL_CAPACITY = 16;
+
+        long[] hashes;
+        byte[][] keys;
+        long[] values;
+        long[] retainUntil; // 0 = never pruned
+        boolean[] dirty;
+        int size;
+
+        long[] dirtyHashes;
+        byte[][] dirtyKeys;
+        int dirtyCount;
+
+        Segment() {
+            reset();
+        }
+
+        void reset() {
+            hashes = new long[INITIAL_CAPACITY];
+            keys = new byte[INITIAL_CAPACITY][];
+            values = new long[INITIAL_CAPACITY];
+            retainUntil = new long[INITIAL_CAPACITY];
+            dirty = new boolean[INITIAL_CAPACITY];
+            size = 0;
+            dirtyHashes = new long[INITIAL_CAPACITY];
+            dirtyKeys = new byte[INITIAL_CAPACITY][];
+            dirtyCount = 0;
+        }
+
+        /**
+         * @return true if the slot was not already pending
+         */
+        boolean markDirty(int slot) {
+            if (dirty[slot]) {
+                return false;
+            }
+            dirty[slot] = true;
+            if (dirtyCount == dirtyHashes.length) {
+                dirtyHashes = Arrays.copyOf(dirtyHashes, dirtyCount * 2);
+                dirtyKeys = Arrays.copyOf(dirtyKeys, dirtyCount * 2);
+            }
+            dirtyHashes[dirtyCount] = hashes[slot];
+            dirtyKeys[dirtyCount] = keys[slot];
+            dirtyCount++;
+            return true;
+        }
+
+        int find(long hash, String scope, String code, String key) {
+            int mask = hashes.length - 1;
+            for (int i = (int) hash & mask; hashes[i] != 0; i = (i + 1) & mask) {
+                if (hashes[i] == hash && keyEquals(keys[i], scope, code, key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int findBytes(long hash, byte[] keyBytes) {
+            int mask = hashes.length - 1;
+            for (int i = (int) hash & mask; hashes[i] != 0; i = (i + 1) & mask) {
+                if (hashes[i] == hash && Arrays.equals(keys[i], keyBytes)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int insert(long hash, byte[] keyBytes, long version, long horizon) {
+            if ((size + 1) * 4 > hashes.length * 3) {
+                grow();
+            }
+            int mask = hashes.length - 1;
+            int i = (int) hash & mask;
+            while (hashes[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            hashes[i] = hash;
+            keys[i] = keyBytes;
+            values[i] = version;
+            retainUntil[i] = horizon;
+            size++;
+            return i;
+        }
+
+        private void grow() {
+            rehash(hashes.length * 2, Long.MIN_VALUE);
+        }
+
+        /**
+         * Drops the slots whose horizon is at or before {@code nowMillis}, shrinking the table to fit.
+         *
+         * @return the number of slots dropped
+         */
+        int removeExpired(long nowMillis) {
+            int expired = 0;
+            for (int j = 0; j < hashes.length; j++) {
+                if (hashes[j] != 0 && retainUntil[j] > 0 && retainUntil[j] <= nowMillis) {
+                    expired++;
+                }
+            }
+            if (expired == 0) {
+                return 0;
+            }
+            int capacity = INITIAL_CAPACITY;
+            while ((size - expired) * 4 > capacity * 3) {
+                capacity *= 2;
+            }
+            rehash(capacity, nowMillis);
+            return expired;
+        }
+
+        /**
+         * Moves every slot not expired at {@code nowMillis} into a table of {@code capacity} slots.
+         */
+        private void rehash(int capacity, long nowMillis) {
+            long[] oldHashes = hashes;
+            byte[][] oldKeys = keys;
+            long[] oldValues = values;
+            long[] oldRetainUntil = retainUntil;
+            boolean[] oldDirty = dirty;
+            hashes = new long[capacity];
+            keys = new byte[capacity][];
+            values = new long[capacity];
+            retainUntil = new long[capacity];
+            dirty = new boolean[capacity];
+            size = 0;
+            int mask = capacity - 1;
+            for (int j = 0; j < oldHashes.length; j++) {
+                if (oldHashes[j] != 0 && (oldRetainUntil[j] == 0 || oldRetainUntil[j] > nowMillis)) {
+                    int i = (int) oldHashes[j] & mask;
+                    while (hashes[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    hashes[i] = oldHashes[j];
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                    retainUntil[i] = oldRetainUntil[j];
+                    dirty[i] = oldDirty[j];
+                    size++;
+                }
+            }
+        }
+
+        /**
+         * Compares stored UTF-8 key bytes against {@code scope\0code\0key} without building the string.
+         * Only ASCII is compared in place; anything else falls back to encoding the key.
+         */
+        private static boolean keyEquals(byte[] stored, String scope, String code, String key) {
+            int pos = 0;
+            pos = matchAscii(stored, pos, scope);
+            if (pos >= 0 && pos < stored.length && stored[pos] == 0) {
+                pos = matchAscii(stored, pos + 1, code);
+                if (pos >= 0 && pos < stored.length && stored[pos] == 0) {
+                    pos = matchAscii(stored, pos + 1, key);
+                    if (pos >= 0) {
+                        return pos == stored.length;
+                    }
+                }
+            }
+            if (pos == -2) {
+                return Arrays.equals(stored, toMapKey(scope, code, key).getBytes(StandardCharsets.UTF_8));
+            }
+            return false;
+        }
+
+        /**
+         * @return the position after {@code s}, -1 on mismatch, or -2 if {@code s} is not ASCII
+         */
+        private static int matchAscii(byte[] stored, int pos, String s) {
+            int len = s.length();
+            for (int i = 0; i < len; i++) {
+                char c = s.charAt(i);
+                if (c >= 0x80) {
+                    return -2;
+                }
+                if (pos >= stored.length || stored[pos] != c) {
+                    return -1;
+                }
+                pos++;
+            }
+            return pos;
+        }
     }
 }
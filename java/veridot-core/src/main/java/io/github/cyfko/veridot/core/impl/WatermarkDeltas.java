@@ -0,0 +1,98 @@
+package io.github.cyfko.veridot.core.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.cyfko.veridot.core.WatermarkStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Helpers for incremental {@link WatermarkStore} implementations (§12.3.1).
+ *
+ * <p>Deltas use the snapshot key format ({@code scope\0code\0key}) and are merged with "highest
+ * version wins", so replaying a delta more than once, or replaying one already covered by a
+ * checkpoint, is harmless.
+ */
+public final class WatermarkDeltas {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private WatermarkDeltas() {
+    }
+
+    /**
+     * Applies deltas on top of a serialized watermark snapshot.
+     *
+     * @param snapshot the checkpoint snapshot, or null if there is none
+     * @param deltas   watermark key to version
+     * @return the merged snapshot in the same serialized format
+     */
+    @SuppressWarnings("unchecked")
+    public static byte[] merge(byte[] snapshot, Map<String, Long> deltas) {
+        try {
+            Map<String, Object> merged = snapshot == null || snapshot.length == 0
+                ? new HashMap<>()
+                : mapper.readValue(snapshot, Map.class);
+            for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+                Object current = merged.get(delta.getKey());
+                if (!(current instanceof Number) || ((Number) current).longValue() < delta.getValue()) {
+                    merged.put(delta.getKey(), delta.getValue());
+                }
+            }
+            return mapper.writeValueAsBytes(merged);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to merge watermark deltas", e);
+        }
+    }
+
+    /**
+     * Encodes deltas as {@code u32 count} followed by {@code (u16 keyLen, key UTF-8, u64 version)} per delta.
+     */
+    static byte[] encode(Map<String, Long> deltas) {
+        int size = 4;
+        Map<byte[], Long> encoded = new HashMap<>();
+        for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+            byte[] key = delta.getKey().getBytes(StandardCharsets.UTF_8);
+            if (key.length > 0xFFFF) {
+                throw new IllegalArgumentException("Watermark key too long: " + key.length + " bytes");
+            }
+            encoded.put(key, delta.getValue());
+            size += 2 + key.length + 8;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.putInt(encoded.size());
+        for (Map.Entry<byte[], Long> delta : encoded.entrySet()) {
+            buf.putShort((short) delta.getKey().length);
+            buf.put(delta.getKey());
+            buf.putLong(delta.getValue());
+        }
+        return buf.array();
+    }
+
+    /**
+     * Decodes deltas produced by {@link #encode(Map)} into {@code into}, keeping the highest version per key.
+     *
+     * @throws IllegalArgumentException if the bytes are malformed
+     */
+    static void decode(byte[] bytes, Map<String, Long> into) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        if (buf.remaining() < 4) {
+            throw new IllegalArgumentException("Truncated watermark delta record");
+        }
+        int count = buf.getInt();
+        for (int i = 0; i < count; i++) {
+            if (buf.remaining() < 2) {
+                throw new IllegalArgumentException("Truncated watermark delta record");
+            }
+            int keyLen = buf.getShort() & 0xFFFF;
+            if (buf.remaining() < keyLen + 8) {
+                throw new IllegalArgumentException("Truncated watermark delta record");
+            }
+            String key = new String(bytes, buf.position(), keyLen, StandardCharsets.UTF_8);
+            buf.position(buf.position() + keyLen);
+            into.merge(key, buf.getLong(), Math::max);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.WatermarkStore;
+
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Persists a {@link VersionWatermark} to its {@link WatermarkStore} (§12.3.1).
+ *
+ * <p>With an incremental store, {@link #onAdvance()} only records that deltas are pending. They are
+ * group-committed by a background flush every {@code flushIntervalMillis}, or immediately on the
+ * calling thread once they exceed {@code flushBytes}, and rolled into a full checkpoint every
+ * {@code compactionIntervalSeconds}. A flush interval of 0 appends synchronously on every advance; a
+ * compaction interval of 0 never checkpoints, for stores whose appends already update in place.
+ * Stores without incremental support get a full snapshot on every advance, as before.
+ *
+ * <p>Write-behind trades durability for throughput: a crash can lose up to one flush interval of
+ * advances. Those are recovered from the broker by reconciliation (§11.2).
+ */
+final class WatermarkFlusher implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(WatermarkFlusher.class.getName());
+
+    private final VersionWatermark watermark;
+    private final WatermarkStore store;
+    private final boolean incremental;
+    private final long flushIntervalMillis;
+    private final long flushBytes;
+    private final boolean compacting;
+    private ScheduledFuture<?> flushTask;
+    private ScheduledFuture<?> compactionTask;
+
+    WatermarkFlusher(VersionWatermark watermark, WatermarkStore store, ScheduledExecutorService scheduler,
+                     long flushIntervalMillis, long flushBytes, long compactionIntervalSeconds) {
+        this.watermark = watermark;
+        this.store = store;
+        this.incremental = store != null && store.supportsIncremental();
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushBytes = flushBytes;
+        this.compacting = compactionIntervalSeconds > 0;
+
+        if (incremental) {
+            watermark.trackDirty();
+            if (flushIntervalMillis > 0) {
+                flushTask = scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                    flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+            if (compacting) {
+                compactionTask = scheduler.scheduleWithFixedDelay(this::checkpointQuietly,
+                    compactionIntervalSeconds, compactionIntervalSeconds, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    /**
+     * Called after the watermark advanced.
+     */
+    void onAdvance() {
+        if (store == null) {
+            return;
+        }
+        if (!incremental) {
+            checkpointQuietly();
+        } else if (flushIntervalMillis == 0 || watermark.dirtyBytes() >= flushBytes) {
+            flushQuietly();
+        }
+    }
+
+    /**
+     * Appends every pending delta. If the append fails a full checkpoint is written instead, so no
+     * drained delta is lost.
+     */
+    synchronized void flush() {
+        Map<String, Long> deltas = watermark.drainDirty();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            store.append(deltas);
+        } catch (Exception e) {
+            logger.warning("Failed to append watermark deltas, writing a full checkpoint instead: " + e.getMessage());
+            checkpoint();
+        }
+    }
+
+    /**
+     * Writes a full snapshot, superseding every delta appended so far.
+     */
+    synchronized void checkpoint() {
+        if (incremental) {
+            // Drain first: an advance racing with the snapshot is then either in it or still pending
+            watermark.drainDirty();
+        }
+        store.save(watermark.snapshot());
+    }
+
+    @Override
+    public void close() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        if (compactionTask != null) {
+            compactionTask.cancel(false);
+        }
+        if (incremental && !compacting) {
+            flushQuietly();
+        } else {
+            checkpointQuietly();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.warning("Failed to flush watermark deltas: " + e.getMessage());
+        }
+    }
+
+    private void checkpointQuietly() {
+        if (store == null) {
+            return;
+        }
+        try {
+            checkpoint();
+        } catch (Exception e) {
+            logger.warning("Failed to save watermark snapshot: " + e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.cyfko.veridot.core;
 
+import io.github.cyfko.veridot.core.impl.ChangeFeed;
 import io.github.cyfko.veridot.core.impl.Scope;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,6 +35,7 @@ public class InMemoryBroker implements Broker {
     }
 
     private final ConcurrentHashMap<ByteArrayKey, byte[]> store = new ConcurrentHashMap<>();
+    private final ChangeFeed changes = new ChangeFeed();
 
     @Override
     public CompletableFuture<Void> put(byte[] storageKey, byte[] envelopeBytes) {
@@ -44,6 +46,7 @@ public class InMemoryBroker implements Broker {
         } else {
             store.put(key, envelopeBytes);
         }
+        changes.publish(storageKey, envelopeBytes);
         return CompletableFuture.completedFuture(null);
     }
 
@@ -72,6 +75,16 @@ public class InMemoryBroker implements Broker {
         return result;
     }
 
+    @Override
+    public Subscription watch(Scope scope, ChangeListener listener) {
+        return changes.register(scope, listener);
+    }
+
+    @Override
+    public boolean supportsWatch() {
+        return true;
+    }
+
     @Override
     public void putLocal(byte[] storageKey, byte[] envelopeBytes) {
         put(storageKey, envelopeBytes);
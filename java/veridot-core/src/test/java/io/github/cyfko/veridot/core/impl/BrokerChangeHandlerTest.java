@@ -0,0 +1,112 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Algorithm;
+import io.github.cyfko.veridot.core.Broker;
+import io.github.cyfko.veridot.core.InMemoryBroker;
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BrokerChangeHandlerTest {
+
+    private static final Scope GROUP = Scope.group("u1");
+    private static final EntryId SESSION = new EntryId(GROUP, EntryType.LIVENESS, "s1");
+
+    private InMemoryBroker broker;
+    private TestTrustSetup trust;
+    private VersionWatermark watermark;
+    private CapabilityVerifier capabilityVerifier;
+    private LivenessChecker livenessChecker;
+    private LivenessManager otherNode;
+
+    @BeforeEach
+    void setUp() {
+        broker = new InMemoryBroker();
+        trust = TestTrustSetup.create();
+        watermark = new VersionWatermark();
+        capabilityVerifier = new CapabilityVerifier();
+        livenessChecker = new LivenessChecker(new LivenessVerdictCache(100, 60_000));
+        otherNode = new LivenessManager(new EntryPublisher(), broker, trust.instanceKeyPair.getPrivate(),
+            Algorithm.ED25519, trust.signerId);
+    }
+
+    private Broker.Subscription watchAs(String signerId) {
+        return broker.watch(null, new BrokerChangeHandler(trust.trustRoot, signerId, watermark, capabilityVerifier,
+            new ConfigResolver(), livenessChecker, new SessionIndex(60_000),
+            new JwtVerificationCache(10, 60_000, 5_000)));
+    }
+
+    @Test
+    void capability_deleted_on_another_node_is_no_longer_authorized_before_the_cache_ttl() {
+        watchAs("this-node");
+        Scope scope = Scope.group("group1");
+        new EntryPublisher().publish(EntryType.CAPABILITY, scope, "subject1", 1L,
+            new CapabilityPayload("subject1", List.of("group:group1"), (byte) 2, System.currentTimeMillis() + 3600000L, null).encode(),
+            trust.longTermKeyPair.getPrivate(), Algorithm.ED25519, trust.signerId, broker).join();
+        assertDoesNotThrow(() -> capabilityVerifier.assertAuthorized("subject1", scope, broker, trust.trustRoot));
+
+        broker.put(new EntryId(scope, EntryType.CAPABILITY, "subject1").storageKey(), null).join();
+
+        assertThrows(VeridotException.class, () -> capabilityVerifier.assertAuthorized("subject1", scope, broker, trust.trustRoot));
+    }
+
+    @Test
+    void revocation_by_another_node_advances_the_watermark_and_ends_the_cached_verdict() {
+        watchAs("this-node");
+        otherNode.publishActive(SESSION, 60_000, OptionalLong.empty(), new VersionWatermark());
+        assertEquals(1, watermark.current(SESSION));
+        long now = System.currentTimeMillis();
+        assertTrue(livenessChecker.assertLive(SESSION, broker, trust.trustRoot, watermark, capabilityVerifier, now).isActive());
+
+        VersionWatermark otherWatermark = new VersionWatermark();
+        otherWatermark.accept(SESSION, 1);
+        otherNode.publishRevoked(SESSION, new VersionReservations(otherWatermark));
+
+        assertEquals(2, watermark.current(SESSION));
+        assertThrows(VeridotException.class, () ->
+            livenessChecker.assertLive(SESSION, broker, trust.trustRoot, watermark, capabilityVerifier, now));
+    }
+
+    @Test
+    void own_misplaced_and_forged_envelopes_leave_the_watermark_alone() {
+        try (Broker.Subscription ignored = watchAs(trust.signerId)) {
+            otherNode.publishActive(SESSION, 60_000, OptionalLong.empty(), new VersionWatermark());
+            assertEquals(0, watermark.current(SESSION));
+        }
+
+        watchAs("this-node");
+        byte[] envelope = broker.get(SESSION.storageKey());
+        EntryId elsewhere = new EntryId(GROUP, EntryType.LIVENESS, "s2");
+        broker.put(elsewhere.storageKey(), envelope).join();
+        assertEquals(0, watermark.current(elsewhere));
+
+        byte[] forged = envelope.clone();
+        forged[forged.length - 1] ^= 0x01;
+        broker.put(SESSION.storageKey(), forged).join();
+        assertEquals(0, watermark.current(SESSION));
+    }
+
+    @Test
+    void watchers_only_see_their_scope_until_closed() {
+        List<byte[]> seen = new ArrayList<>();
+        Broker.Subscription subscription = broker.watch(GROUP, (storageKey, envelopeBytes) -> seen.add(storageKey));
+
+        otherNode.publishActive(SESSION, 60_000, OptionalLong.empty(), new VersionWatermark());
+        otherNode.publishActive(new EntryId(Scope.group("u10"), EntryType.LIVENESS, "s1"), 60_000, OptionalLong.empty(), new VersionWatermark());
+        // Delivery may repeat a change, but never leaves the scope
+        assertFalse(seen.isEmpty());
+        seen.forEach(storageKey -> assertArrayEquals(SESSION.storageKey(), storageKey));
+
+        int delivered = seen.size();
+        subscription.close();
+        broker.put(SESSION.storageKey(), null).join();
+        assertEquals(delivered, seen.size());
+    }
+}
@@ -249,4 +249,27 @@ class CapabilityCacheTest {
         );
         assertEquals(ErrorCode.DELEGATION_DEPTH_EXCEEDED, ex.getErrorCode());
     }
+
+    @Test
+    void pattern_capability_lookups_share_one_snapshot_per_scope() throws Exception {
+        int[] snapshots = {0};
+        InMemoryBroker countingBroker = new InMemoryBroker() {
+            @Override
+            public java.util.List<BrokerEntry> snapshot(Scope scope) {
+                snapshots[0]++;
+                return super.snapshot(scope);
+            }
+        };
+        CapabilityPayload capPayload = new CapabilityPayload(null, java.util.List.of("group:group1"), (byte) 2,
+                System.currentTimeMillis() + 3600000L, "orders@*");
+        new EntryPublisher().publish(EntryType.CAPABILITY, Scope.group("group1"), "orders-pods", 1L, capPayload.encode(),
+                trust.longTermKeyPair.getPrivate(), Algorithm.ED25519, trust.signerId, countingBroker).join();
+
+        assertDoesNotThrow(() -> capabilityVerifier.assertAuthorized("orders@pod-a", Scope.group("group1"), countingBroker, trust.trustRoot));
+        assertDoesNotThrow(() -> capabilityVerifier.assertAuthorized("orders@pod-b", Scope.group("group1"), countingBroker, trust.trustRoot));
+        assertThrows(VeridotException.class,
+                () -> capabilityVerifier.assertAuthorized("billing@pod-a", Scope.group("group1"), countingBroker, trust.trustRoot));
+
+        assertEquals(1, snapshots[0]);
+    }
 }
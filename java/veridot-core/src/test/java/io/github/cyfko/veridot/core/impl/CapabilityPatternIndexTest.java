@@ -0,0 +1,68 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Algorithm;
+import io.github.cyfko.veridot.core.InMemoryBroker;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CapabilityPatternIndexTest {
+
+    private static final Scope SCOPE = Scope.group("g1");
+
+    private InMemoryBroker broker;
+    private TestTrustSetup trust;
+    private CapabilityPatternIndex index;
+
+    @BeforeEach
+    void setUp() {
+        broker = new InMemoryBroker();
+        trust = TestTrustSetup.create();
+        index = new CapabilityPatternIndex(30_000);
+    }
+
+    private void publish(String key, String subjectSid, String subjectPattern) {
+        CapabilityPayload payload = new CapabilityPayload(subjectSid, List.of("group:g1"), (byte) 2,
+                System.currentTimeMillis() + 3600000L, subjectPattern);
+        new EntryPublisher().publish(EntryType.CAPABILITY, SCOPE, key, 1L, payload.encode(),
+                trust.longTermKeyPair.getPrivate(), Algorithm.ED25519, trust.signerId, broker).join();
+    }
+
+    @Test
+    void candidates_are_ordered_most_specific_first() {
+        publish("any", null, "*");
+        publish("orders", null, "orders*");
+        publish("orders-pod", null, "orders@pod-1");
+        publish("exact", "orders@pod-1", null); // exact-subject capabilities are not indexed
+        index.rebuild(SCOPE, broker.snapshot(SCOPE), 0);
+
+        assertEquals(List.of("orders-pod", "orders", "any"), index.candidates(SCOPE, "orders@pod-1"));
+        assertEquals(List.of("orders", "any"), index.candidates(SCOPE, "orders@pod-2"));
+        assertEquals(List.of("any"), index.candidates(SCOPE, "billing"));
+    }
+
+    @Test
+    void hierarchical_pattern_matches_its_prefix_and_children() {
+        publish("svc", null, "svc:*");
+        index.rebuild(SCOPE, broker.snapshot(SCOPE), 0);
+
+        assertEquals(List.of("svc"), index.candidates(SCOPE, "svc"));
+        assertEquals(List.of("svc"), index.candidates(SCOPE, "svc:orders"));
+        assertEquals(List.of(), index.candidates(SCOPE, "svc-other"));
+        assertEquals(List.of(), index.candidates(SCOPE, "sv"));
+    }
+
+    @Test
+    void index_goes_stale_after_the_refresh_interval() {
+        assertFalse(index.isFresh(SCOPE, 0));
+        index.rebuild(SCOPE, List.of(), 1_000);
+
+        assertTrue(index.isFresh(SCOPE, 30_999));
+        assertFalse(index.isFresh(SCOPE, 31_000));
+        assertEquals(List.of(), index.candidates(Scope.group("other"), "x"));
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Algorithm;
+import io.github.cyfko.veridot.core.exceptions.BrokerExtractionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactJwsTest {
+
+    private KeyPair keyPair;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    }
+
+    private String token(String data) throws Exception {
+        return JwtMaker.builder()
+            .subject("5:u1:s1")
+            .claim("data", data)
+            .issuedAt(Instant.ofEpochSecond(1_700_000_000L))
+            .expiration(Instant.ofEpochSecond(1_700_000_600L))
+            .signWith(keyPair.getPrivate())
+            .alg(Algorithm.ED25519)
+            .header("kid", "svc@abc")
+            .compact();
+    }
+
+    private static String b64(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void decodes_header_and_claims() throws Exception {
+        CompactJws jws = CompactJws.decode(token("{\"k\":\"é\"}"));
+
+        assertEquals("EdDSA", jws.alg());
+        assertEquals("JWT", jws.typ());
+        assertEquals("svc@abc", jws.kid());
+        assertEquals("5:u1:s1", jws.sub());
+        assertEquals("{\"k\":\"é\"}", jws.data());
+        assertTrue(jws.hasIat());
+        assertEquals(1_700_000_000L, jws.iat());
+        assertTrue(jws.hasExp());
+        assertEquals(1_700_000_600L, jws.exp());
+    }
+
+    @Test
+    void signing_input_and_signature_ranges_verify() throws Exception {
+        String jwt = token("hello");
+        CompactJws jws = CompactJws.decode(jwt);
+
+        String signingInput = jwt.substring(0, jwt.lastIndexOf('.'));
+        assertArrayEquals(signingInput.getBytes(StandardCharsets.US_ASCII),
+            Arrays.copyOf(jws.signingInput(), jws.signingInputLength()));
+
+        byte[] expectedSig = Base64.getUrlDecoder().decode(jwt.substring(jwt.lastIndexOf('.') + 1));
+        assertArrayEquals(expectedSig, Arrays.copyOfRange(jws.signature(),
+            jws.signatureOffset(), jws.signatureOffset() + jws.signatureLength()));
+
+        assertDoesNotThrow(() -> new SignatureVerifier().verifyRaw(jws.signingInput(), 0, jws.signingInputLength(),
+            jws.signature(), jws.signatureOffset(), jws.signatureLength(), keyPair.getPublic(), Algorithm.ED25519));
+    }
+
+    @Test
+    void a_later_decode_does_not_overwrite_an_earlier_token() throws Exception {
+        String large = "x".repeat(4096);
+        String largeToken = token(large);
+        CompactJws first = CompactJws.decode(largeToken);
+        CompactJws small = CompactJws.decode(token("y"));
+        assertEquals("y", small.data());
+        assertEquals("svc@abc", small.kid());
+        assertEquals(large, first.data());
+        assertArrayEquals(largeToken.substring(0, first.signingInputLength()).getBytes(StandardCharsets.US_ASCII),
+            Arrays.copyOf(first.signingInput(), first.signingInputLength()));
+    }
+
+    @Test
+    void unknown_members_are_skipped_and_missing_claims_are_null() {
+        String jwt = b64("{\"alg\":\"EdDSA\",\"x5c\":[\"a\",{\"b\":1}]}") + "."
+            + b64("{\"nested\":{\"sub\":\"no\"},\"data\":\"d\"}") + ".AAAA";
+        CompactJws jws = CompactJws.decode(jwt);
+
+        assertEquals("EdDSA", jws.alg());
+        assertNull(jws.kid());
+        assertNull(jws.sub());
+        assertEquals("d", jws.data());
+        assertFalse(jws.hasExp());
+    }
+
+    @Test
+    void rejects_malformed_tokens() {
+        String header = b64("{\"alg\":\"EdDSA\"}");
+        String claims = b64("{\"sub\":\"s\"}");
+
+        assertThrows(BrokerExtractionException.class, () -> CompactJws.decode(header + "." + claims));
+        assertThrows(BrokerExtractionException.class, () -> CompactJws.decode(header + "." + claims + ".AA.AA"));
+        assertThrows(BrokerExtractionException.class, () -> CompactJws.decode(header + "." + claims + ".A*A"));
+        assertThrows(BrokerExtractionException.class, () -> CompactJws.decode(header + "." + claims + ".AAAAA"));
+        assertThrows(BrokerExtractionException.class, () -> CompactJws.decode(b64("[1]") + "." + claims + ".AA"));
+        assertThrows(BrokerExtractionException.class, () -> CompactJws.decode(header + "." + b64("{\"exp\":\"soon\"}") + ".AA"));
+    }
+}
@@ -83,6 +83,46 @@ public class CoreUnitTest {
         assertThrows(VeridotException.class, () -> TlvCodec.parse(encoded));
     }
 
+    @Test
+    public void testTlvReader() {
+        List<TlvCodec.TlvField> fields = new ArrayList<>();
+        fields.add(TlvCodec.u8((byte) 0x01, (byte) 42));
+        fields.add(TlvCodec.u64((byte) 0x02, 123456789L));
+        fields.add(TlvCodec.string((byte) 0x03, "hello world"));
+        fields.add(TlvCodec.stringList((byte) 0x04, List.of("a", "b", "c")));
+        for (int tag = 0x05; tag <= 0x14; tag++) {
+            fields.add(TlvCodec.u64((byte) tag, tag));
+        }
+        byte[] encoded = TlvCodec.encode(fields);
+
+        // Decode from a slice of a larger buffer
+        byte[] framed = new byte[encoded.length + 7];
+        System.arraycopy(encoded, 0, framed, 5, encoded.length);
+        TlvReader reader = TlvReader.parse(framed, 5, encoded.length);
+
+        assertEquals(42, reader.readU8((byte) 0x01, true));
+        assertEquals(123456789L, reader.readU64((byte) 0x02, true));
+        assertEquals("hello world", reader.readString((byte) 0x03, true));
+        assertEquals(List.of("a", "b", "c"), reader.readStringList((byte) 0x04, true));
+        assertEquals(0x14, reader.readU64((byte) 0x14, true));
+        assertFalse(reader.has((byte) 0x15));
+        assertNull(reader.readString((byte) 0x15, false));
+        assertThrows(VeridotException.class, () -> reader.readU8((byte) 0x15, true));
+        assertThrows(VeridotException.class, () -> reader.readU8((byte) 0x02, true));
+    }
+
+    @Test
+    public void testTlvReaderRejectsMalformed() {
+        byte[] duplicate = TlvCodec.encode(List.of(
+            TlvCodec.u8((byte) 0x01, (byte) 42),
+            TlvCodec.u8((byte) 0x01, (byte) 43)
+        ));
+        assertThrows(VeridotException.class, () -> TlvReader.parse(duplicate));
+        assertThrows(VeridotException.class, () -> TlvReader.parse(new byte[]{0x00, 0x00, 0x00}));
+        assertThrows(VeridotException.class, () -> TlvReader.parse(new byte[]{0x01, 0x00}));
+        assertThrows(VeridotException.class, () -> TlvReader.parse(new byte[]{0x01, 0x00, 0x04, 1, 2}));
+    }
+
     @Test
     public void testScopeValidation() {
         // Valid
@@ -191,6 +231,41 @@ public class CoreUnitTest {
         assertEquals(5L, wm2.current(id));
     }
 
+    @Test
+    public void testVersionWatermarkManyEntries() {
+        VersionWatermark wm = new VersionWatermark();
+        Scope scope = Scope.parse("group:user");
+        for (int i = 0; i < 5000; i++) {
+            wm.accept(new EntryId(scope, EntryType.LIVENESS, "s-" + i), i + 1);
+        }
+        // Non-ASCII keys take the encoded comparison path
+        EntryId accented = new EntryId(scope, EntryType.LIVENESS, "séance-\u00e9t\u00e9");
+        wm.accept(accented, 7L);
+
+        assertEquals(5001, wm.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i + 1, wm.current(new EntryId(scope, EntryType.LIVENESS, "s-" + i)));
+        }
+        assertEquals(7L, wm.current(accented));
+        assertEquals(0L, wm.current(new EntryId(scope, EntryType.SIGNED_DATA, "s-1")));
+
+        VersionWatermark restored = new VersionWatermark();
+        restored.restore(wm.snapshot());
+        assertEquals(5001, restored.size());
+        assertEquals(7L, restored.current(accented));
+        assertThrows(VeridotException.class, () -> restored.accept(accented, 7L));
+    }
+
+    @Test
+    public void testVersionWatermarkRestoresLegacySnapshot() {
+        // Snapshot written by the previous String-keyed map implementation
+        byte[] legacy = ("{\"group:user\\u0000" + EntryType.LIVENESS.code + "\\u0000key\":12}")
+            .getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        VersionWatermark wm = new VersionWatermark();
+        wm.restore(legacy);
+        assertEquals(12L, wm.current(new EntryId(Scope.parse("group:user"), EntryType.LIVENESS, "key")));
+    }
+
     @Test
     public void testRsaKeySizeRestriction() throws Exception {
         KeyPairGenerator rsaGen = KeyPairGenerator.getInstance("RSA");
@@ -253,6 +328,8 @@ public class CoreUnitTest {
             // Corrupt a liveness entry in broker to increment rejected during next verification
             EntryId livenessId = new EntryId(Scope.group("group1"), EntryType.LIVENESS, "sessionA");
             inMemoryBroker.put(livenessId.storageKey(), new byte[] { 0x00, 0x00, 0x00 });
+            // Drop the cached liveness verdict of the first verification
+            sv.livenessCheckerForTest().invalidate(livenessId);
             
             assertThrows(Exception.class, () -> sv.verify(token, s -> s));
             assertTrue(io.github.cyfko.veridot.core.VeridotMetrics.ENVELOPE_REJECTED.sum() > 0);
@@ -811,6 +888,48 @@ public class CoreUnitTest {
         assertThrows(SecurityException.class, () -> badVerifier.parseSignedClaims(token));
     }
 
+    @Test
+    void testSignaturePoolReusesPreparedInstancePerThread() throws Exception {
+        java.security.Signature first = SignaturePool.acquire(Algorithm.RSA_PSS);
+        assertSame(first, SignaturePool.acquire(Algorithm.RSA_PSS));
+        assertNotSame(first, SignaturePool.acquire(Algorithm.RSA_SHA256));
+
+        // The pooled RSA-PSS instance must keep its parameters across sign/verify cycles
+        SignatureVerifier verifier = new SignatureVerifier();
+        for (int i = 0; i < 3; i++) {
+            byte[] data = ("payload-" + i).getBytes();
+            java.security.Signature signer = SignaturePool.acquire(Algorithm.RSA_PSS);
+            signer.initSign(rsaKeyPair.getPrivate());
+            signer.update(data);
+            byte[] sig = signer.sign();
+            assertDoesNotThrow(() -> verifier.verifyRaw(data, sig, rsaKeyPair.getPublic(), Algorithm.RSA_PSS));
+        }
+
+        java.security.Signature[] other = new java.security.Signature[1];
+        Thread t = new Thread(() -> {
+            try {
+                other[0] = SignaturePool.acquire(Algorithm.RSA_PSS);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        t.start();
+        t.join();
+        assertNotSame(first, other[0]);
+    }
+
+    @Test
+    void testKeyConstraintFailuresAreNotCached() throws Exception {
+        String signerId = SubjectComputer.compute("root-ec", ecKeyPair.getPublic());
+        Envelope env = new Envelope(Envelope.PROTO_VERSION, EntryType.CONFIG, (byte) 0, Scope.global(), "",
+            1, System.currentTimeMillis(), signerId, new byte[0], Algorithm.RSA_SHA256, new byte[64]);
+        SignatureVerifier verifier = new SignatureVerifier();
+        for (int i = 0; i < 2; i++) {
+            VeridotException e = assertThrows(VeridotException.class, () -> verifier.verify(env, trustRoot));
+            assertEquals(ErrorCode.ALGORITHM_MISMATCH, e.getErrorCode());
+        }
+    }
+
     @Test
     void testHybridEncryptor() throws Exception {
         byte[] symKey = new byte[32];
@@ -0,0 +1,110 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.DistributionMode;
+import io.github.cyfko.veridot.core.InMemoryBroker;
+import io.github.cyfko.veridot.core.VeridotMetrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntryCompactorTest {
+
+    private static final long GRACE = Config.COMPACTION_GRACE_SECONDS * 1000L;
+    private static final Scope GROUP = Scope.group("u1");
+
+    private InMemoryBroker broker;
+    private TestTrustSetup trust;
+    private GenericSignerVerifier sv;
+
+    @BeforeEach
+    void setUp() {
+        broker = new InMemoryBroker();
+        trust = TestTrustSetup.create();
+        sv = trust.newSignerVerifier(broker);
+        VeridotMetrics.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sv.close();
+    }
+
+    private void sign(String sequenceId, long validitySeconds, DistributionMode mode) {
+        sv.sign("d", BasicConfigurer.builder().groupId("u1").sequenceId(sequenceId)
+                .validity(validitySeconds).distribution(mode).build());
+    }
+
+    private boolean stored(EntryType type, String key) {
+        return broker.get(new EntryId(GROUP, type, key).storageKey()) != null;
+    }
+
+    @Test
+    void dead_sessions_are_deleted_with_their_data_after_the_grace_window() {
+        sign("old", 1, DistributionMode.NATIVE);
+        sign("live", 600, DistributionMode.NATIVE);
+        long now = System.currentTimeMillis();
+
+        assertEquals(0, sv.entryCompactorForTest().compact(now + 60_000));
+        assertEquals(2, sv.entryCompactorForTest().compact(now + GRACE + 2_000));
+
+        assertFalse(stored(EntryType.LIVENESS, "old"));
+        assertFalse(stored(EntryType.SIGNED_DATA, "old"));
+        assertTrue(stored(EntryType.LIVENESS, "live"));
+        assertTrue(stored(EntryType.SIGNED_DATA, "live"));
+        assertEquals(2, VeridotMetrics.ENTRIES_COMPACTED.sum());
+        // The deleted versions stay in the watermark, so the old envelopes cannot be replayed
+        assertTrue(sv.watermarkForTest().current(new EntryId(GROUP, EntryType.LIVENESS, "old")) >= 1);
+    }
+
+    @Test
+    void revoked_sessions_are_deleted_once_the_revocation_is_older_than_the_grace_window() {
+        sign("s1", 600, DistributionMode.DIRECT);
+        sv.revoke("u1", "s1");
+
+        assertEquals(1, sv.entryCompactorForTest().compact(System.currentTimeMillis() + GRACE + 1_000));
+        assertFalse(stored(EntryType.LIVENESS, "s1"));
+    }
+
+    @Test
+    void typed_snapshots_return_only_entries_of_that_type() {
+        sign("s1", 600, DistributionMode.NATIVE);
+        sign("s2", 600, DistributionMode.NATIVE);
+
+        assertEquals(4, broker.snapshot(GROUP).size());
+        for (EntryType type : new EntryType[] {EntryType.LIVENESS, EntryType.SIGNED_DATA}) {
+            var entries = broker.snapshot(GROUP, type);
+            assertEquals(2, entries.size());
+            entries.forEach(e -> assertEquals(type, EnvelopeView.parse(e.envelopeBytes()).entryType()));
+        }
+        assertTrue(broker.snapshot(GROUP, EntryType.SECURE_PAYLOAD).isEmpty());
+    }
+
+    @Test
+    void each_run_deletes_at_most_one_batch() {
+        for (int i = 0; i < 3; i++) {
+            sign("s" + i, 1, DistributionMode.DIRECT);
+        }
+        EntryCompactor compactor = new EntryCompactor(broker, trust.trustRoot, new VersionWatermark(), null, 0, 0, 2);
+        compactor.track(GROUP, null);
+        long later = System.currentTimeMillis() + 5_000;
+
+        assertEquals(2, compactor.compact(later));
+        assertEquals(1, compactor.compact(later));
+        assertEquals(0, compactor.compact(later));
+    }
+
+    @Test
+    void entries_behind_the_local_watermark_are_kept() {
+        sign("s1", 1, DistributionMode.DIRECT);
+        VersionWatermark watermark = new VersionWatermark();
+        watermark.accept(new EntryId(GROUP, EntryType.LIVENESS, "s1"), 99);
+        EntryCompactor compactor = new EntryCompactor(broker, trust.trustRoot, watermark, null, 0, 0, 10);
+        compactor.track(GROUP, null);
+
+        assertEquals(0, compactor.compact(System.currentTimeMillis() + 5_000));
+        assertTrue(stored(EntryType.LIVENESS, "s1"));
+    }
+}
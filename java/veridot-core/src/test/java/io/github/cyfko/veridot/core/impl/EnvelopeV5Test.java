@@ -156,10 +156,10 @@ class EnvelopeV5Test {
     }
 
     @Test
-    void parse_rejectsUnknownEntryType0x0B() {
+    void parse_rejectsUnknownEntryType0x0C() {
         EnvelopeBuilder builder = minimalBuilder();
         byte[] encoded = Envelope.encode(builder, new byte[64]);
-        encoded[3] = 0x0B; // out-of-range
+        encoded[3] = 0x0C; // out-of-range
         VeridotException ex = assertThrows(VeridotException.class,
                 () -> Envelope.parse(encoded));
         assertEquals(ErrorCode.UNREGISTERED_ENTRY_TYPE, ex.getErrorCode());
@@ -230,6 +230,70 @@ class EnvelopeV5Test {
         assertEquals(encoded.length - 1 - 2 - sig.length, canonical.length);
     }
 
+    @Test
+    void canonicalSigningBytes_sliceMatchesReserialization() {
+        EnvelopeBuilder builder = minimalBuilder().scope(Scope.group("team-é")).payload(new byte[]{9, 8, 7});
+        byte[] encoded = Envelope.encode(builder, new byte[64]);
+        Envelope parsed = Envelope.parse(encoded);
+
+        Envelope rebuilt = new Envelope(parsed.protoVersion, parsed.entryType, parsed.flags, parsed.scope, parsed.key,
+                parsed.version, parsed.timestamp, parsed.issuer, parsed.payload, parsed.sigAlg, parsed.signature);
+        assertArrayEquals(rebuilt.canonicalSigningBytes(), parsed.canonicalSigningBytes());
+
+        ByteBuffer input = parsed.canonicalSigningInput();
+        byte[] fromSlice = new byte[input.remaining()];
+        input.get(fromSlice);
+        assertArrayEquals(rebuilt.canonicalSigningBytes(), fromSlice);
+    }
+
+    // ── EnvelopeView ─────────────────────────────────────────────────
+
+    @Test
+    void view_exposesFieldsWithoutCopyingRaw() {
+        EnvelopeBuilder builder = minimalBuilder().scope(Scope.group("g1")).payload(new byte[]{5, 6});
+        byte[] encoded = Envelope.encode(builder, new byte[64]);
+
+        EnvelopeView view = EnvelopeView.parse(encoded);
+
+        assertSame(encoded, view.raw());
+        assertEquals(EntryType.LIVENESS, view.entryType());
+        assertEquals(1L, view.version());
+        assertEquals(1000L, view.timestamp());
+        assertEquals("k1", view.key());
+        assertEquals("test-issuer", view.issuer());
+        assertEquals(Scope.group("g1"), view.scope());
+        assertEquals(new EntryId(Scope.group("g1"), EntryType.LIVENESS, "k1"), view.entryId());
+        assertArrayEquals(new byte[]{5, 6}, view.payloadBytes());
+        assertEquals(2, view.payload().remaining());
+        assertEquals(64, view.signatureLength());
+        assertEquals(encoded.length - 3 - 64, view.signingLength());
+    }
+
+    @Test
+    void view_rejectsSameInputsAsParse() {
+        byte[] controlCharKey = Envelope.encode(minimalBuilder().key("a\u0001b"), new byte[64]);
+        VeridotException viaView = assertThrows(VeridotException.class, () -> EnvelopeView.parse(controlCharKey));
+        VeridotException viaParse = assertThrows(VeridotException.class, () -> Envelope.parse(controlCharKey));
+        assertEquals(ErrorCode.INVALID_SCOPE_GRAMMAR, viaView.getErrorCode());
+        assertEquals(viaParse.getErrorCode(), viaView.getErrorCode());
+
+        byte[] trailing = Envelope.encode(minimalBuilder(), new byte[64]);
+        byte[] withTrailing = java.util.Arrays.copyOf(trailing, trailing.length + 1);
+        assertEquals(ErrorCode.INVALID_ENVELOPE,
+                assertThrows(VeridotException.class, () -> EnvelopeView.parse(withTrailing)).getErrorCode());
+    }
+
+    @Test
+    void view_rejectsInvalidScopeGrammar() {
+        byte[] encoded = Envelope.encode(minimalBuilder(), new byte[64]);
+        // Overwrite "global" (scope starts at offset 8) with an unknown scope kind of the same length
+        byte[] bogus = "globel".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bogus, 0, encoded, 8, bogus.length);
+
+        VeridotException e = assertThrows(VeridotException.class, () -> EnvelopeView.parse(encoded));
+        assertEquals(ErrorCode.INVALID_SCOPE_GRAMMAR, e.getErrorCode());
+    }
+
     // ── helpers ──────────────────────────────────────────────────────
 
     /**
@@ -0,0 +1,128 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Algorithm;
+import io.github.cyfko.veridot.core.InMemoryBroker;
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstanceHeartbeatTest {
+
+    private static final long LEASE = 60_000;
+    private static final long SESSION = 600_000;
+    private static final Scope GROUP = Scope.group("u1");
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final EntryPublisher publisher = new EntryPublisher();
+    private final VersionWatermark watermark = new VersionWatermark();
+    private final LivenessChecker checker = new LivenessChecker(new LivenessVerdictCache(0, 0));
+    private InMemoryBroker broker;
+    private TestTrustSetup trust;
+    private LivenessManager livenessManager;
+
+    @BeforeEach
+    void setUp() {
+        broker = new InMemoryBroker();
+        trust = TestTrustSetup.create();
+        livenessManager = new LivenessManager(publisher, broker, trust.instanceKeyPair.getPrivate(), Algorithm.ED25519, trust.signerId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private InstanceHeartbeat heartbeat() {
+        return new InstanceHeartbeat(publisher, broker, trust.instanceKeyPair.getPrivate(), Algorithm.ED25519,
+            trust.signerId, watermark, LEASE);
+    }
+
+    private EntryId publishSession(String key, OptionalLong leaseEpoch) {
+        EntryId liveEntryId = new EntryId(GROUP, EntryType.LIVENESS, key);
+        livenessManager.publishActive(liveEntryId, SESSION, leaseEpoch, watermark);
+        return liveEntryId;
+    }
+
+    private LivenessPayload assertLive(EntryId liveEntryId, long nowMillis) {
+        return checker.assertLive(liveEntryId, broker, trust.trustRoot, watermark, new CapabilityVerifier(), nowMillis);
+    }
+
+    @Test
+    void lease_bound_session_lives_as_long_as_the_heartbeat() {
+        InstanceHeartbeat heartbeat = heartbeat();
+        long epoch = heartbeat.start(scheduler);
+        EntryId liveEntryId = publishSession("s1", OptionalLong.of(epoch));
+        long now = System.currentTimeMillis();
+
+        assertEquals(OptionalLong.of(epoch), assertLive(liveEntryId, now).leaseEpoch());
+
+        // The session's own validity is far away, but nothing renewed the lease
+        VeridotException ex = assertThrows(VeridotException.class, () -> assertLive(liveEntryId, now + LEASE + 1_000));
+        assertEquals(ErrorCode.LIVENESS_INVALID, ex.getErrorCode());
+
+        // A later heartbeat keeps the session alive without touching its LIVENESS entry
+        byte[] liveness = broker.get(liveEntryId.storageKey());
+        heartbeat.publish(now + LEASE);
+        assertNotNull(assertLive(liveEntryId, now + LEASE + 1_000));
+        assertArrayEquals(liveness, broker.get(liveEntryId.storageKey()));
+        heartbeat.close();
+    }
+
+    @Test
+    void sessions_of_a_previous_epoch_end_when_the_instance_restarts() throws InterruptedException {
+        InstanceHeartbeat previous = heartbeat();
+        EntryId liveEntryId = publishSession("s1", OptionalLong.of(previous.start(scheduler)));
+        previous.close();
+
+        Thread.sleep(2); // the epoch is the start time
+        InstanceHeartbeat restarted = heartbeat();
+        restarted.start(scheduler);
+
+        VeridotException ex = assertThrows(VeridotException.class, () -> assertLive(liveEntryId, System.currentTimeMillis()));
+        assertEquals(ErrorCode.LIVENESS_INVALID, ex.getErrorCode());
+        restarted.close();
+    }
+
+    @Test
+    void lease_bound_session_without_a_heartbeat_is_rejected() {
+        EntryId liveEntryId = publishSession("s1", OptionalLong.of(42));
+
+        VeridotException ex = assertThrows(VeridotException.class, () -> assertLive(liveEntryId, System.currentTimeMillis()));
+        assertEquals(ErrorCode.LIVENESS_INVALID, ex.getErrorCode());
+    }
+
+    @Test
+    void session_counter_drops_the_sessions_of_a_lapsed_lease() {
+        InstanceHeartbeat heartbeat = heartbeat();
+        long epoch = heartbeat.start(scheduler);
+        publishSession("bound1", OptionalLong.of(epoch));
+        publishSession("bound2", OptionalLong.of(epoch));
+        publishSession("renewed", OptionalLong.empty());
+        heartbeat.close();
+        SessionCounter counter = new SessionCounter();
+        long now = System.currentTimeMillis();
+
+        assertEquals(3, counter.countActive(GROUP, broker, trust.trustRoot, watermark, checker, now));
+        assertEquals(1, counter.countActive(GROUP, broker, trust.trustRoot, watermark, checker, now + LEASE + 1_000));
+    }
+
+    @Test
+    void lease_epoch_is_optional_on_the_wire() {
+        LivenessPayload plain = new LivenessPayload(LivenessPayload.ACTIVE, 1, 2);
+        LivenessPayload bound = new LivenessPayload(LivenessPayload.ACTIVE, 1, 2, OptionalLong.of(7));
+
+        assertEquals(plain, LivenessPayload.decode(plain.encode()));
+        assertEquals(bound, LivenessPayload.decode(bound.encode()));
+        assertFalse(plain.isLeaseBound());
+        assertEquals(new InstanceHeartbeatPayload(7, 1, 2),
+            InstanceHeartbeatPayload.decode(new InstanceHeartbeatPayload(7, 1, 2).encode()));
+    }
+}
@@ -0,0 +1,206 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Algorithm;
+import io.github.cyfko.veridot.core.DistributionMode;
+import io.github.cyfko.veridot.core.InMemoryBroker;
+import io.github.cyfko.veridot.core.PublicKeyTrustRoot;
+import io.github.cyfko.veridot.core.TrustIdentity;
+import io.github.cyfko.veridot.core.VeridotMetrics;
+import io.github.cyfko.veridot.core.exceptions.BrokerExtractionException;
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPairGenerator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerificationCacheTest {
+
+    private static final Function<String, TrustIdentity> UNRESOLVED = kid -> null;
+
+    private InMemoryBroker broker;
+    private GenericSignerVerifier sv;
+
+    @BeforeEach
+    void setUp() {
+        broker = new InMemoryBroker();
+        sv = TestTrustSetup.create().newSignerVerifier(broker);
+        VeridotMetrics.reset();
+    }
+
+    private static JwtVerificationCache.VerifiedClaims claims(long expMillis) {
+        return new JwtVerificationCache.VerifiedClaims("kid", null, "sub", "data", expMillis);
+    }
+
+    @Test
+    void repeated_verification_is_served_from_cache() {
+        var cfg = BasicConfigurer.builder().groupId("u1").sequenceId("s1").validity(600)
+                .distribution(DistributionMode.DIRECT).build();
+        String jwt = sv.sign("payload", cfg);
+
+        assertEquals("payload", sv.verify(jwt, s -> s).data());
+        assertEquals(0, VeridotMetrics.JWT_CACHE_HITS.sum());
+
+        assertEquals("payload", sv.verify(jwt, s -> s).data());
+        assertEquals(1, VeridotMetrics.JWT_CACHE_HITS.sum());
+    }
+
+    @Test
+    void cached_token_still_fails_after_revocation() {
+        var cfg = BasicConfigurer.builder().groupId("u1").sequenceId("s1").validity(600)
+                .distribution(DistributionMode.DIRECT).build();
+        String jwt = sv.sign("payload", cfg);
+        sv.verify(jwt, s -> s);
+
+        sv.revoke("u1", "s1");
+
+        assertThrows(BrokerExtractionException.class, () -> sv.verify(jwt, s -> s),
+                "A cache hit must not bypass the liveness check");
+    }
+
+    @Test
+    void native_token_reuses_cached_embedded_jwt() {
+        var cfg = BasicConfigurer.builder().groupId("u1").sequenceId("s2").validity(600)
+                .distribution(DistributionMode.NATIVE).build();
+        String ref = sv.sign("payload", cfg);
+
+        assertEquals("payload", sv.verify(ref, s -> s).data());
+        assertEquals("payload", sv.verify(ref, s -> s).data());
+        assertEquals(1, VeridotMetrics.JWT_CACHE_HITS.sum());
+    }
+
+    @Test
+    void forged_token_rejection_is_cached() {
+        var cfg = BasicConfigurer.builder().groupId("u1").sequenceId("s1").validity(600)
+                .distribution(DistributionMode.DIRECT).build();
+        String jwt = sv.sign("payload", cfg);
+        String sig = jwt.substring(jwt.lastIndexOf('.') + 1);
+        char flipped = sig.charAt(0) == 'A' ? 'B' : 'A';
+        String forged = jwt.substring(0, jwt.lastIndexOf('.') + 1) + flipped + sig.substring(1);
+
+        assertThrows(BrokerExtractionException.class, () -> sv.verify(forged, s -> s));
+        BrokerExtractionException second = assertThrows(BrokerExtractionException.class,
+                () -> sv.verify(forged, s -> s));
+        assertTrue(second.getMessage().contains("(cached)"), "Second rejection must come from the cache");
+    }
+
+    @Test
+    void cache_is_bounded_by_max_entries() {
+        JwtVerificationCache cache = new JwtVerificationCache(2, 60_000, 5_000);
+        long now = System.currentTimeMillis();
+        cache.putVerified("a", claims(Long.MAX_VALUE), now);
+        cache.putVerified("b", claims(Long.MAX_VALUE), now);
+        cache.putVerified("c", claims(Long.MAX_VALUE), now);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.lookup("a", UNRESOLVED, now), "Least recently used entry must be evicted");
+        assertNotNull(cache.lookup("c", UNRESOLVED, now));
+    }
+
+    @Test
+    void positive_entry_never_outlives_exp_claim() {
+        JwtVerificationCache cache = new JwtVerificationCache(10, 60_000, 5_000);
+        long now = System.currentTimeMillis();
+        long exp = now + 1_000;
+        cache.putVerified("t", claims(exp), now);
+
+        long drift = Config.MAX_CLOCK_DRIFT_SECONDS * 1000L;
+        assertNotNull(cache.lookup("t", UNRESOLVED, exp + drift - 1));
+        assertNull(cache.lookup("t", UNRESOLVED, exp + drift));
+    }
+
+    @Test
+    void negative_entry_expires_after_negative_ttl() {
+        JwtVerificationCache cache = new JwtVerificationCache(10, 60_000, 5_000);
+        long now = System.currentTimeMillis();
+        cache.putRejected("t", null, null, new VeridotException(ErrorCode.SIGNATURE_INVALID, null, "bad"), now);
+
+        VeridotException e = assertThrows(VeridotException.class, () -> cache.lookup("t", UNRESOLVED, now + 4_999));
+        assertEquals(ErrorCode.SIGNATURE_INVALID, e.getErrorCode());
+        assertNull(cache.lookup("t", UNRESOLVED, now + 5_000));
+    }
+
+    @Test
+    void zero_max_entries_disables_cache() {
+        JwtVerificationCache cache = new JwtVerificationCache(0, 60_000, 5_000);
+        long now = System.currentTimeMillis();
+        cache.putVerified("t", claims(Long.MAX_VALUE), now);
+        assertEquals(0, cache.size());
+        assertNull(cache.lookup("t", UNRESOLVED, now));
+    }
+
+    @Test
+    void cached_outcome_is_dropped_once_the_kid_resolves_to_another_key() throws Exception {
+        KeyPairGenerator gen = KeyPairGenerator.getInstance("Ed25519");
+        TrustIdentity current = new TrustIdentity(gen.generateKeyPair().getPublic(), true, Algorithm.ED25519);
+        TrustIdentity rotated = new TrustIdentity(gen.generateKeyPair().getPublic(), true, Algorithm.ED25519);
+        JwtVerificationCache cache = new JwtVerificationCache(10, 60_000, 5_000);
+        long now = System.currentTimeMillis();
+        cache.putVerified("t", new JwtVerificationCache.VerifiedClaims("kid", current, "sub", "data", Long.MAX_VALUE), now);
+        cache.putRejected("forged", "kid", current.publicKey(),
+            new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, null, "bad signature"), now);
+
+        assertNotNull(cache.lookup("t", kid -> current, now));
+        assertNull(cache.lookup("t", kid -> rotated, now), "A rotated key must not reuse the cached claims");
+        assertNull(cache.lookup("t", kid -> current, now), "The stale outcome must be dropped");
+        assertNull(cache.lookup("forged", kid -> rotated, now), "A rotated key must not reuse the cached rejection");
+    }
+
+    @Test
+    void striped_cache_stays_within_max_entries() {
+        JwtVerificationCache cache = new JwtVerificationCache(1_024, 60_000, 5_000);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5_000; i++) {
+            cache.putVerified("t" + i, claims(Long.MAX_VALUE), now);
+        }
+
+        assertTrue(cache.size() <= 1_024, "size=" + cache.size());
+        assertNotNull(cache.lookup("t4999", UNRESOLVED, now), "The latest entry must be kept");
+    }
+
+    @Test
+    void trust_revocation_change_clears_the_cache() {
+        var cfg = BasicConfigurer.builder().groupId("u1").sequenceId("s1").validity(600)
+                .distribution(DistributionMode.DIRECT).build();
+        String jwt = sv.sign("payload", cfg);
+        sv.verify(jwt, s -> s);
+
+        broker.put(new EntryId(Scope.global(), EntryType.TRUST_REVOCATION, "k1").storageKey(), new byte[] { 1 });
+
+        sv.verify(jwt, s -> s);
+        assertEquals(0, VeridotMetrics.JWT_CACHE_HITS.sum());
+    }
+
+    @Test
+    void trust_resolution_failure_is_not_cached() {
+        TestTrustSetup trust = TestTrustSetup.create();
+        AtomicBoolean outage = new AtomicBoolean();
+        PublicKeyTrustRoot flaky = new PublicKeyTrustRoot() {
+            @Override
+            public TrustIdentity resolve(String issuer) {
+                if (outage.get()) {
+                    throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, null, "TrustRoot unreachable");
+                }
+                return trust.trustRoot.resolve(issuer);
+            }
+        };
+        GenericSignerVerifier node = new GenericSignerVerifier(broker, flaky, trust.cn,
+                trust.instanceKeyPair.getPrivate(), trust.instanceKeyPair.getPublic(), Algorithm.ED25519);
+        var cfg = BasicConfigurer.builder().groupId("u1").sequenceId("s1").validity(600)
+                .distribution(DistributionMode.DIRECT).build();
+        String jwt = node.sign("payload", cfg);
+        node.verify(jwt, s -> s);
+        // Drop the cached outcome so that the next verification resolves the kid again
+        broker.put(new EntryId(Scope.global(), EntryType.TRUST_REVOCATION, "k1").storageKey(), new byte[] { 1 });
+
+        outage.set(true);
+        assertThrows(BrokerExtractionException.class, () -> node.verify(jwt, s -> s));
+        outage.set(false);
+
+        assertEquals("payload", node.verify(jwt, s -> s).data());
+    }
+}
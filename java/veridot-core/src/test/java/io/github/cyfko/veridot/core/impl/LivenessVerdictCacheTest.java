@@ -0,0 +1,73 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.InMemoryBroker;
+import io.github.cyfko.veridot.core.VeridotMetrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LivenessVerdictCacheTest {
+
+    private static final long T0 = 1_000_000;
+    private static final EntryId ID = new EntryId(Scope.group("u1"), EntryType.LIVENESS, "s1");
+
+    private final VersionWatermark watermark = new VersionWatermark();
+
+    @BeforeEach
+    void setUp() {
+        VeridotMetrics.reset();
+    }
+
+    private static LivenessPayload active(long validUntil) {
+        return new LivenessPayload(LivenessPayload.ACTIVE, T0, validUntil);
+    }
+
+    @Test
+    void verdict_expires_at_the_earlier_of_validUntil_and_max_staleness() {
+        LivenessVerdictCache cache = new LivenessVerdictCache(100, 1_000);
+        cache.putVerified(ID, active(T0 + 60_000), 1, T0);
+        assertNotNull(cache.lookup(ID, watermark, T0 + 999));
+        assertNull(cache.lookup(ID, watermark, T0 + 1_000));
+
+        cache.putVerified(ID, active(T0 + 500), 1, T0);
+        assertNull(cache.lookup(ID, watermark, T0 + 500));
+        assertEquals(1, VeridotMetrics.LIVENESS_CACHE_HITS.sum());
+    }
+
+    @Test
+    void watermark_advance_drops_the_verdict() {
+        LivenessVerdictCache cache = new LivenessVerdictCache(100, 1_000);
+        watermark.accept(ID, 1);
+        cache.putVerified(ID, active(T0 + 60_000), 1, T0);
+
+        watermark.accept(ID, 2);
+        assertNull(cache.lookup(ID, watermark, T0 + 1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void cache_is_bounded() {
+        LivenessVerdictCache cache = new LivenessVerdictCache(2, 1_000);
+        for (int i = 0; i < 5; i++) {
+            cache.putVerified(new EntryId(Scope.group("u1"), EntryType.LIVENESS, "s" + i), active(T0 + 60_000), 1, T0);
+        }
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void repeated_verify_reads_liveness_once_and_local_revocation_is_seen_immediately() {
+        TestTrustSetup trust = TestTrustSetup.create();
+        InMemoryBroker broker = new InMemoryBroker();
+        try (GenericSignerVerifier sv = trust.newSignerVerifier(broker)) {
+            String token = sv.sign("d", BasicConfigurer.builder().groupId("u1").sequenceId("s1").validity(600).build());
+            sv.verify(token, s -> s);
+            sv.verify(token, s -> s);
+            assertTrue(VeridotMetrics.LIVENESS_CACHE_HITS.sum() >= 1);
+
+            sv.revoke("u1", "s1");
+            assertThrows(Exception.class, () -> sv.verify(token, s -> s));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedWatermarkStoreTest {
+
+    private static final byte[] HMAC_KEY = "0123456789abcdef0123456789abcdef".getBytes();
+
+    @TempDir
+    File dir;
+
+    private static String mapKey(String key) {
+        return "group:u1\0" + EntryType.LIVENESS.code + "\0" + key;
+    }
+
+    private static long version(MappedWatermarkStore store, String key) {
+        return store.version(VersionWatermark.hash(mapKey(key)));
+    }
+
+    @Test
+    void appended_versions_survive_reopen() {
+        File file = new File(dir, "wm.map");
+        MappedWatermarkStore store = new MappedWatermarkStore(file, HMAC_KEY);
+        store.append(Map.of(mapKey("a"), 3L, mapKey("b"), 5L));
+
+        MappedWatermarkStore reopened = new MappedWatermarkStore(file, HMAC_KEY);
+        assertEquals(3, version(reopened, "a"));
+        assertEquals(5, version(reopened, "b"));
+        assertEquals(0, version(reopened, "c"));
+        assertEquals(2, reopened.size());
+    }
+
+    @Test
+    void writes_are_monotonic() {
+        MappedWatermarkStore store = new MappedWatermarkStore(new File(dir, "wm.map"));
+        store.append(Map.of(mapKey("a"), 9L));
+        store.append(Map.of(mapKey("a"), 4L));
+        store.save(WatermarkDeltas.merge(null, Map.of(mapKey("a"), 2L)));
+
+        assertEquals(9, version(store, "a"));
+    }
+
+    @Test
+    void table_grows_past_initial_capacity() {
+        File file = new File(dir, "wm.map");
+        MappedWatermarkStore store = new MappedWatermarkStore(file, HMAC_KEY);
+        Map<String, Long> deltas = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            deltas.put(mapKey("s-" + i), i + 1L);
+        }
+        store.append(deltas);
+
+        MappedWatermarkStore reopened = new MappedWatermarkStore(file, HMAC_KEY);
+        assertEquals(5000, reopened.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i + 1L, version(reopened, "s-" + i));
+        }
+    }
+
+    @Test
+    void tampered_page_refuses_to_open() throws Exception {
+        File file = new File(dir, "wm.map");
+        MappedWatermarkStore store = new MappedWatermarkStore(file, HMAC_KEY);
+        store.append(Map.of(mapKey("a"), 3L));
+
+        // Flip a byte in every slot page; the version of "a" is in one of them
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            for (long page = 1; page < raf.length() / 4096; page++) {
+                raf.seek(page * 4096 + 100);
+                int b = raf.read();
+                raf.seek(page * 4096 + 100);
+                raf.write(b ^ 0x01);
+            }
+        }
+
+        assertThrows(IllegalStateException.class, () -> new MappedWatermarkStore(file, HMAC_KEY));
+    }
+
+    @Test
+    void older_copy_of_a_valid_page_refuses_to_open() throws Exception {
+        File file = new File(dir, "wm.map");
+        MappedWatermarkStore store = new MappedWatermarkStore(file, HMAC_KEY);
+        store.append(Map.of(mapKey("a"), 3L));
+        byte[] older = Files.readAllBytes(file.toPath());
+        store.append(Map.of(mapKey("a"), 5L));
+
+        // Every slot page of the older copy carries its own valid MAC; only the header binds them
+        byte[] current = Files.readAllBytes(file.toPath());
+        System.arraycopy(older, 4096, current, 4096, current.length - 4096);
+        Files.write(file.toPath(), current);
+        Files.delete(new File(dir, "wm.map.journal").toPath());
+
+        assertThrows(IllegalStateException.class, () -> new MappedWatermarkStore(file, HMAC_KEY));
+    }
+
+    @Test
+    void commit_torn_by_a_crash_is_replayed_from_the_journal() throws Exception {
+        File file = new File(dir, "wm.map");
+        MappedWatermarkStore store = new MappedWatermarkStore(file, HMAC_KEY);
+        store.append(Map.of(mapKey("a"), 3L));
+        byte[] before = Files.readAllBytes(file.toPath());
+        store.append(Map.of(mapKey("a"), 5L, mapKey("b"), 1L));
+        byte[] after = Files.readAllBytes(file.toPath());
+
+        // Only the first half of each rewritten page reached the disk
+        byte[] torn = before.clone();
+        for (int page = 0; page < torn.length / 4096; page++) {
+            System.arraycopy(after, page * 4096, torn, page * 4096, 2048);
+        }
+        Files.write(file.toPath(), torn);
+
+        MappedWatermarkStore reopened = new MappedWatermarkStore(file, HMAC_KEY);
+        assertEquals(5, version(reopened, "a"));
+        assertEquals(1, version(reopened, "b"));
+        assertEquals(2, reopened.size());
+    }
+
+    @Test
+    void pruned_watermarks_are_dropped_from_the_file_and_not_seeded_back() {
+        File file = new File(dir, "wm.map");
+        MappedWatermarkStore store = new MappedWatermarkStore(file, HMAC_KEY);
+        VersionWatermark wm = new VersionWatermark(60_000, 0);
+        wm.persistedVersions(store::version, store::prune);
+        store.horizons(wm::horizonOf);
+        wm.trackDirty();
+
+        EntryId config = new EntryId(Scope.group("u1"), EntryType.CONFIG, "");
+        wm.accept(config, 2);
+        for (int i = 0; i < 2000; i++) {
+            wm.accept(new EntryId(Scope.group("u1"), EntryType.LIVENESS, "s-" + i), 4);
+        }
+        store.append(wm.drainDirty());
+        long grown = file.length();
+        assertEquals(4, version(store, "s-7"));
+
+        wm.prune(System.currentTimeMillis() + 120_000);
+
+        EntryId session = new EntryId(Scope.group("u1"), EntryType.LIVENESS, "s-7");
+        assertEquals(0, wm.current(session));
+        assertEquals(2, wm.current(config));
+        assertEquals(1, store.size());
+        assertTrue(file.length() < grown);
+
+        MappedWatermarkStore reopened = new MappedWatermarkStore(file, HMAC_KEY);
+        assertEquals(0, version(reopened, "s-7"));
+        assertEquals(1, reopened.size());
+    }
+
+    @Test
+    void watermark_is_seeded_lazily_from_store() {
+        MappedWatermarkStore store = new MappedWatermarkStore(new File(dir, "wm.map"), HMAC_KEY);
+        store.append(Map.of(mapKey("a"), 7L));
+
+        VersionWatermark wm = new VersionWatermark();
+        wm.persistedVersions(store::version, store::prune);
+        EntryId id = new EntryId(Scope.group("u1"), EntryType.LIVENESS, "a");
+
+        assertEquals(7, wm.current(id));
+        assertThrows(VeridotException.class, () -> wm.accept(id, 7));
+        wm.accept(id, 8);
+        assertEquals(8, wm.current(id));
+    }
+}
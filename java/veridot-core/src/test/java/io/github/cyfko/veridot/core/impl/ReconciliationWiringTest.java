@@ -1,11 +1,16 @@
 package io.github.cyfko.veridot.core.impl;
 
+import io.github.cyfko.veridot.core.Algorithm;
 import io.github.cyfko.veridot.core.InMemoryBroker;
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalLong;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -94,4 +99,100 @@ class ReconciliationWiringTest {
         assertEquals(0, sv.reconciliationManager.tasksCountForTest(),
                 "All reconciliation tasks must be cancelled and cleared upon close()");
     }
+
+    /**
+     * Serves scans from a cursor that counts its open instances and can fail after a number of
+     * entries, like a connection lost mid-scan.
+     */
+    private static final class StreamingBroker extends InMemoryBroker {
+        int snapshots;
+        int openCursors;
+        int failAfter = Integer.MAX_VALUE;
+
+        @Override
+        public List<BrokerEntry> snapshot(Scope scope) {
+            snapshots++;
+            return super.snapshot(scope);
+        }
+
+        @Override
+        public EntryCursor scan(Scope scope) {
+            Iterator<BrokerEntry> entries = super.snapshot(scope).iterator();
+            openCursors++;
+            return new EntryCursor() {
+                private int served;
+                private boolean closed;
+
+                @Override
+                public boolean hasNext() {
+                    if (served >= failAfter) {
+                        throw new IllegalStateException("connection lost");
+                    }
+                    return entries.hasNext();
+                }
+
+                @Override
+                public BrokerEntry next() {
+                    served++;
+                    return entries.next();
+                }
+
+                @Override
+                public void close() {
+                    if (!closed) {
+                        closed = true;
+                        openCursors--;
+                    }
+                }
+            };
+        }
+    }
+
+    private void reconcile(StreamingBroker streaming, TestTrustSetup trust, VersionWatermark watermark, Scope scope) {
+        sv.reconciliationManager.reconcile(scope, streaming, watermark, new SignatureVerifier(), trust.trustRoot,
+            new EntryPublisher(), trust.signerId, trust.instanceKeyPair.getPrivate(), Algorithm.ED25519,
+            new CapabilityVerifier(), null);
+    }
+
+    @Test
+    void reconciliation_streams_the_scope_through_a_cursor_and_closes_it() {
+        StreamingBroker streaming = new StreamingBroker();
+        TestTrustSetup trust = TestTrustSetup.create();
+        Scope scope = Scope.group("u1");
+        LivenessManager livenessManager = new LivenessManager(new EntryPublisher(), streaming,
+            trust.instanceKeyPair.getPrivate(), Algorithm.ED25519, trust.signerId);
+        EntryId s1 = new EntryId(scope, EntryType.LIVENESS, "s1");
+        EntryId s2 = new EntryId(scope, EntryType.LIVENESS, "s2");
+        livenessManager.publishActive(s1, 60_000, OptionalLong.empty(), new VersionWatermark());
+        livenessManager.publishActive(s2, 60_000, OptionalLong.empty(), new VersionWatermark());
+
+        VersionWatermark watermark = new VersionWatermark();
+        reconcile(streaming, trust, watermark, scope);
+
+        assertEquals(1, watermark.current(s1));
+        assertEquals(1, watermark.current(s2));
+        assertEquals(1, watermark.current(new EntryId(scope, EntryType.SNAPSHOT_MARKER, "")));
+        assertEquals(0, streaming.snapshots);
+        assertEquals(0, streaming.openCursors);
+    }
+
+    @Test
+    void a_scan_failing_midway_is_reported_and_its_cursor_closed() {
+        StreamingBroker streaming = new StreamingBroker();
+        TestTrustSetup trust = TestTrustSetup.create();
+        Scope scope = Scope.group("u1");
+        LivenessManager livenessManager = new LivenessManager(new EntryPublisher(), streaming,
+            trust.instanceKeyPair.getPrivate(), Algorithm.ED25519, trust.signerId);
+        livenessManager.publishActive(new EntryId(scope, EntryType.LIVENESS, "s1"), 60_000, OptionalLong.empty(), new VersionWatermark());
+        livenessManager.publishActive(new EntryId(scope, EntryType.LIVENESS, "s2"), 60_000, OptionalLong.empty(), new VersionWatermark());
+        streaming.failAfter = 1;
+
+        VersionWatermark watermark = new VersionWatermark();
+        VeridotException ex = assertThrows(VeridotException.class, () -> reconcile(streaming, trust, watermark, scope));
+
+        assertEquals(ErrorCode.BROKER_UNREACHABLE, ex.getErrorCode());
+        assertEquals(0, streaming.openCursors);
+        // No SNAPSHOT_MARKER for an incomplete pass
+        assertEquals(0, watermark.current(new EntryId(scope, EntryType.SNAPSHOT_MARKER, "")));
+    }
 }
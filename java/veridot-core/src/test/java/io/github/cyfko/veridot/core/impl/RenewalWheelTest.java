@@ -0,0 +1,113 @@
+package io.github.cyfko.veridot.core.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenewalWheelTest {
+
+    private static final long T0 = 1_000_000;
+    private static final long VALIDITY = 10_000; // renewed between 7.2s and 8s
+
+    private final List<List<RenewalWheel.Renewal>> batches = new ArrayList<>();
+
+    private RenewalWheel wheel(int budget) {
+        return new RenewalWheel(renewals -> {
+            batches.add(renewals);
+            return CompletableFuture.completedFuture(null);
+        }, 100, budget);
+    }
+
+    private static EntryId id(String key) {
+        return new EntryId(Scope.group("u1"), EntryType.LIVENESS, key);
+    }
+
+    @Test
+    void due_sessions_are_published_as_one_batch() {
+        RenewalWheel wheel = wheel(100);
+        wheel.schedule(id("a"), VALIDITY, T0);
+        wheel.schedule(id("b"), VALIDITY, T0);
+        wheel.schedule(id("c"), VALIDITY, T0);
+
+        assertNull(wheel.tick(T0 + 7_000));
+        assertNotNull(wheel.tick(T0 + 8_000));
+
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertEquals(VALIDITY, batches.get(0).get(0).validityMillis());
+    }
+
+    @Test
+    void sessions_keep_renewing_until_cancelled() {
+        RenewalWheel wheel = wheel(100);
+        wheel.schedule(id("a"), VALIDITY, T0);
+        wheel.schedule(id("b"), VALIDITY, T0);
+
+        wheel.tick(T0 + 8_000);
+        wheel.cancel(id("b"));
+        assertNull(wheel.tick(T0 + 15_000));
+        wheel.tick(T0 + 16_000);
+
+        assertEquals(2, batches.size());
+        assertEquals(List.of(new RenewalWheel.Renewal(id("a"), VALIDITY)), batches.get(1));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void renewals_over_budget_move_to_next_tick() {
+        RenewalWheel wheel = wheel(2);
+        for (int i = 0; i < 5; i++) {
+            wheel.schedule(id("s" + i), VALIDITY, T0);
+        }
+
+        wheel.tick(T0 + 8_000);
+        wheel.tick(T0 + 8_100);
+        wheel.tick(T0 + 8_200);
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+    }
+
+    @Test
+    void rescheduling_replaces_the_previous_schedule() {
+        RenewalWheel wheel = wheel(100);
+        wheel.schedule(id("a"), VALIDITY, T0);
+        wheel.schedule(id("a"), VALIDITY, T0 + 5_000);
+
+        assertNull(wheel.tick(T0 + 8_000));
+        wheel.tick(T0 + 13_000);
+
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).size());
+    }
+
+    @Test
+    void catch_up_after_a_stall_renews_each_session_once() {
+        RenewalWheel wheel = wheel(100);
+        wheel.schedule(id("a"), VALIDITY, T0);
+
+        // More than one full turn of the wheel (512 ticks) has passed
+        wheel.tick(T0 + 120_000);
+
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).size());
+    }
+
+    @Test
+    void failed_batches_are_retried_at_the_next_renewal_point() {
+        List<Integer> attempts = new ArrayList<>();
+        RenewalWheel wheel = new RenewalWheel(renewals -> {
+            attempts.add(renewals.size());
+            return CompletableFuture.failedFuture(new IllegalStateException("broker down"));
+        }, 100, 100);
+        wheel.schedule(id("a"), VALIDITY, T0);
+
+        assertTrue(wheel.tick(T0 + 8_000).isCompletedExceptionally());
+        wheel.tick(T0 + 16_000);
+
+        assertEquals(List.of(1, 1), attempts);
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.cyfko.veridot.core.impl;
 
+import io.github.cyfko.veridot.core.Algorithm;
 import io.github.cyfko.veridot.core.DistributionMode;
 import io.github.cyfko.veridot.core.InMemoryBroker;
 import io.github.cyfko.veridot.core.exceptions.BrokerExtractionException;
@@ -7,6 +8,11 @@ import io.github.cyfko.veridot.core.exceptions.BrokerExtractionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class RevocationTest {
@@ -130,4 +136,57 @@ class RevocationTest {
         assertFalse(getLivenessPayload("g1", "ses-B").isActive());
         assertFalse(getLivenessPayload("g1", "ses-C").isActive());
     }
+
+    @Test
+    void revokeGroup_publishes_revocations_as_one_batch() {
+        List<Integer> batches = new ArrayList<>();
+        InMemoryBroker batching = new InMemoryBroker() {
+            @Override
+            public CompletableFuture<Void> putAll(List<BrokerEntry> entries) {
+                batches.add(entries.size());
+                return super.putAll(entries);
+            }
+        };
+        GenericSignerVerifier verifier = TestTrustSetup.create().newSignerVerifier(batching);
+        String t1 = verifier.sign("d1", BasicConfigurer.builder().groupId("g1").sequenceId("s1").validity(600).build());
+        String t2 = verifier.sign("d2", BasicConfigurer.builder().groupId("g1").sequenceId("s2").validity(600).build());
+
+        batches.clear();
+        verifier.revoke("g1", null);
+
+        assertEquals(List.of(2), batches);
+        assertThrows(BrokerExtractionException.class, () -> verifier.verify(t1, s -> s));
+        assertThrows(BrokerExtractionException.class, () -> verifier.verify(t2, s -> s));
+    }
+
+    @Test
+    void revocation_during_an_in_flight_renewal_publishes_above_it() {
+        List<CompletableFuture<Void>> held = new ArrayList<>();
+        InMemoryBroker slow = new InMemoryBroker() {
+            @Override
+            public CompletableFuture<Void> putAll(List<BrokerEntry> entries) {
+                CompletableFuture<Void> ack = new CompletableFuture<>();
+                held.add(ack);
+                return super.putAll(entries).thenCompose(stored -> ack);
+            }
+        };
+        TestTrustSetup trust = TestTrustSetup.create();
+        LivenessManager livenessManager = new LivenessManager(new EntryPublisher(), slow,
+                trust.instanceKeyPair.getPrivate(), Algorithm.ED25519, trust.signerId);
+        VersionWatermark watermark = new VersionWatermark();
+        VersionReservations versions = new VersionReservations(watermark);
+        EntryId liveId = new EntryId(Scope.group("g1"), EntryType.LIVENESS, "s1");
+        livenessManager.publishActive(liveId, 60_000, OptionalLong.empty(), watermark);
+
+        CompletableFuture<Void> renewal = livenessManager.publishActiveAll(
+                List.of(new RenewalWheel.Renewal(liveId, 60_000)), versions);
+        livenessManager.publishRevoked(liveId, versions);
+        held.forEach(ack -> ack.complete(null));
+        renewal.join();
+
+        Envelope stored = Envelope.parse(slow.get(liveId.storageKey()));
+        assertEquals(3, stored.version);
+        assertFalse(LivenessPayload.decode(stored.payload).isActive());
+        assertEquals(3, watermark.current(liveId));
+    }
 }
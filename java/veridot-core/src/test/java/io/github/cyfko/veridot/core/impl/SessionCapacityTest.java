@@ -3,11 +3,14 @@ package io.github.cyfko.veridot.core.impl;
 import io.github.cyfko.veridot.core.EvictionPolicy;
 import io.github.cyfko.veridot.core.ConfigScope;
 import io.github.cyfko.veridot.core.InMemoryBroker;
+import io.github.cyfko.veridot.core.SignResult;
+import io.github.cyfko.veridot.core.VeridotMetrics;
 import io.github.cyfko.veridot.core.exceptions.BrokerExtractionException;
 import io.github.cyfko.veridot.core.exceptions.SessionCapacityExceededException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -300,23 +303,146 @@ class SessionCapacityTest {
     }
 
     @Test
-    void expired_sessions_are_garbage_collected_on_next_sign() throws InterruptedException {
-        try (var sv1 = trust.newSignerVerifier(broker, 2, EvictionPolicy.FIFO)) {
+    void expired_sessions_do_not_count_against_capacity() throws InterruptedException {
+        try (var sv1 = trust.newSignerVerifier(broker, 2, EvictionPolicy.REJECT)) {
             sv1.sign("d1", BasicConfigurer.builder().groupId("gc").sequenceId("s1").validity(1).build());
             sv1.sign("d2", BasicConfigurer.builder().groupId("gc").sequenceId("s2").validity(1).build());
         }
 
-        assertTrue(hasActiveLivenessEntry("gc", "s1"), "s1 must exist before expiry");
-        assertTrue(hasActiveLivenessEntry("gc", "s2"), "s2 must exist before expiry");
-
         Thread.sleep(2500);
 
-        try (var sv2 = trust.newSignerVerifier(broker, 2, EvictionPolicy.FIFO)) {
+        try (var sv2 = trust.newSignerVerifier(broker, 2, EvictionPolicy.REJECT)) {
             sv2.sign("d3", BasicConfigurer.builder().groupId("gc").sequenceId("s3").validity(600).build());
+            sv2.sign("d4", BasicConfigurer.builder().groupId("gc").sequenceId("s4").validity(600).build());
+        }
+
+        // Signing does no garbage collection: the expired entries are left to the compactor
+        assertNotNull(broker.get(new EntryId(Scope.group("gc"), EntryType.LIVENESS, "s1").storageKey()));
+        assertTrue(hasActiveLivenessEntry("gc", "s3"));
+        assertTrue(hasActiveLivenessEntry("gc", "s4"));
+    }
+
+    @Test
+    void signBatch_reject_grants_free_slots_in_input_order() {
+        var sv = trust.newSignerVerifier(broker, 2, EvictionPolicy.REJECT);
+        sv.sign("d0", BasicConfigurer.builder().groupId("u1").sequenceId("s0").validity(600).build());
+
+        List<SignResult> results = sv.signBatch(List.of("d1", "d2", "d3"),
+                BasicConfigurer.builder().groupId("u1").validity(600).build());
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertInstanceOf(SessionCapacityExceededException.class, results.get(1).error());
+        assertInstanceOf(SessionCapacityExceededException.class, results.get(2).error());
+        assertEquals("d1", sv.verify(results.get(0).token(), s -> s).data());
+    }
+
+    @Test
+    void signBatch_fifo_evicts_enough_sessions_for_the_batch() throws InterruptedException {
+        var sv = trust.newSignerVerifier(broker, 3, EvictionPolicy.FIFO);
+        sv.sign("d1", BasicConfigurer.builder().groupId("u1").sequenceId("s1").validity(600).build());
+        Thread.sleep(1100);
+        sv.sign("d2", BasicConfigurer.builder().groupId("u1").sequenceId("s2").validity(600).build());
+        Thread.sleep(1100);
+        sv.sign("d3", BasicConfigurer.builder().groupId("u1").sequenceId("s3").validity(600).build());
+
+        List<SignResult> results = sv.signBatch(List.of("b1", "b2"),
+                BasicConfigurer.builder().groupId("u1").validity(600).build());
+
+        assertTrue(results.stream().allMatch(SignResult::isSuccess));
+        assertFalse(hasActiveLivenessEntry("u1", "s1"), "s1 must be evicted (oldest, FIFO)");
+        assertFalse(hasActiveLivenessEntry("u1", "s2"), "s2 must be evicted (second oldest, FIFO)");
+        assertTrue(hasActiveLivenessEntry("u1", "s3"), "s3 must still be active");
+    }
+
+    @Test
+    void fence_lease_is_reused_for_consecutive_capacity_decisions() {
+        VeridotMetrics.reset();
+        var sv = trust.newSignerVerifier(broker, 2, EvictionPolicy.REJECT);
+        sv.sign("d1", BasicConfigurer.builder().groupId("u1").sequenceId("s1").validity(600).build());
+        sv.sign("d2", BasicConfigurer.builder().groupId("u1").sequenceId("s2").validity(600).build());
+        assertThrows(SessionCapacityExceededException.class,
+                () -> sv.sign("d3", BasicConfigurer.builder().groupId("u1").sequenceId("s3").validity(600).build()));
+
+        assertEquals(1, VeridotMetrics.FENCE_ACQUISITIONS.sum());
+        assertEquals(2, VeridotMetrics.FENCE_LEASE_REUSES.sum());
+    }
+
+    @Test
+    void group_well_below_max_skips_fencing() {
+        VeridotMetrics.reset();
+        var sv = trust.newSignerVerifier(broker, 10, EvictionPolicy.FIFO);
+        for (int i = 1; i <= 5; i++) {
+            sv.sign("d" + i, BasicConfigurer.builder().groupId("u1").sequenceId("s" + i).validity(600).build());
         }
 
-        assertFalse(hasActiveLivenessEntry("gc", "s1"), "Expired s1 must be GC'd after next sign");
-        assertFalse(hasActiveLivenessEntry("gc", "s2"), "Expired s2 must be GC'd after next sign");
-        assertTrue(hasActiveLivenessEntry("gc", "s3"), "New s3 must exist");
+        // The first sign builds the session index under a FENCE grant, the rest fit within the margin
+        assertEquals(1, VeridotMetrics.FENCE_ACQUISITIONS.sum());
+        assertEquals(4, VeridotMetrics.CAPACITY_FAST_PATHS.sum());
+    }
+
+    @Test
+    void lease_superseded_by_another_node_is_dropped_and_capacity_recounted() {
+        VeridotMetrics.reset();
+        var sv1 = trust.newSignerVerifier(broker, 2, EvictionPolicy.REJECT);
+        var sv2 = trust.newSignerVerifier(broker, 2, EvictionPolicy.REJECT);
+        sv1.sign("d1", BasicConfigurer.builder().groupId("u1").sequenceId("s1").validity(600).build());
+        sv2.sign("d2", BasicConfigurer.builder().groupId("u1").sequenceId("s2").validity(600).build());
+
+        // sv1's lease fails the broker check and the retry rebuilds the count
+        assertThrows(SessionCapacityExceededException.class,
+                () -> sv1.sign("d3", BasicConfigurer.builder().groupId("u1").sequenceId("s3").validity(600).build()));
+        assertEquals(1, VeridotMetrics.FENCE_CONTENTIONS.sum());
+        assertTrue(hasActiveLivenessEntry("u1", "s1"));
+        assertTrue(hasActiveLivenessEntry("u1", "s2"));
+    }
+
+    @Test
+    void two_nodes_filling_a_group_never_exceed_max() {
+        assertTwoNodesStayWithinMax(20);
+    }
+
+    @Test
+    void two_nodes_without_a_change_feed_never_exceed_max() {
+        broker = new InMemoryBroker() {
+            @Override
+            public Subscription watch(Scope scope, ChangeListener listener) {
+                return () -> {};
+            }
+
+            @Override
+            public boolean supportsWatch() {
+                return false;
+            }
+        };
+        VeridotMetrics.reset();
+        assertTwoNodesStayWithinMax(20);
+
+        // Neither node sees the other's sessions between rebuilds, so no grant skips fencing
+        assertEquals(0, VeridotMetrics.CAPACITY_FAST_PATHS.sum());
+    }
+
+    private void assertTwoNodesStayWithinMax(int max) {
+        var sv1 = trust.newSignerVerifier(broker, max, EvictionPolicy.REJECT);
+        var sv2 = trust.newSignerVerifier(broker, max, EvictionPolicy.REJECT);
+        int granted = 0;
+        for (int i = 1; i <= 2 * max; i++) {
+            var sv = i % 2 == 0 ? sv2 : sv1;
+            try {
+                sv.sign("d" + i, BasicConfigurer.builder().groupId("u1").sequenceId("s" + i).validity(600).build());
+                granted++;
+            } catch (SessionCapacityExceededException e) {
+                // The group is full
+            }
+        }
+
+        int active = 0;
+        for (int i = 1; i <= 2 * max; i++) {
+            if (hasActiveLivenessEntry("u1", "s" + i)) {
+                active++;
+            }
+        }
+        assertEquals(max, granted);
+        assertEquals(max, active);
     }
 }
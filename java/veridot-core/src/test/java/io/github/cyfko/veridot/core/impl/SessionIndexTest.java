@@ -0,0 +1,82 @@
+package io.github.cyfko.veridot.core.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionIndexTest {
+
+    private static final long T0 = 1_000_000;
+    private static final Scope GROUP = Scope.group("u1");
+
+    private static SessionCounter.SessionInfo session(String key, long asOf, long validUntil) {
+        return new SessionCounter.SessionInfo(key, asOf, 1, validUntil);
+    }
+
+    private static List<String> keys(List<SessionCounter.SessionInfo> sessions) {
+        return sessions.stream().map(SessionCounter.SessionInfo::sessionKey).toList();
+    }
+
+    @Test
+    void published_entries_update_an_indexed_group() {
+        SessionIndex index = new SessionIndex(60_000);
+        index.apply(GROUP, "ignored", 1, new LivenessPayload(LivenessPayload.ACTIVE, T0, T0 + 10_000), T0);
+        assertEquals(0, index.size(GROUP));
+
+        index.rebuild(GROUP, List.of(session("a", T0, T0 + 10_000)), -1, T0);
+        index.apply(GROUP, "b", 1, new LivenessPayload(LivenessPayload.ACTIVE, T0 + 5, T0 + 10_000), T0);
+        index.apply(GROUP, "a", 2, new LivenessPayload(LivenessPayload.REVOKED, T0 + 10, T0 + 10_000), T0);
+        // An older version of an indexed session is ignored
+        index.apply(GROUP, "b", 0, new LivenessPayload(LivenessPayload.REVOKED, T0, T0 + 10_000), T0);
+
+        assertEquals(1, index.size(GROUP));
+        assertEquals(List.of("b"), keys(index.take(GROUP, true, 5)));
+    }
+
+    @Test
+    void take_reads_either_end_of_the_as_of_order() {
+        SessionIndex index = new SessionIndex(60_000);
+        index.rebuild(GROUP, List.of(
+            session("mid", T0 + 2, T0 + 10_000),
+            session("old", T0 + 1, T0 + 10_000),
+            session("new", T0 + 3, T0 + 10_000)), -1, T0);
+
+        assertEquals(List.of("old", "mid"), keys(index.take(GROUP, true, 2)));
+        assertEquals(List.of("new"), keys(index.take(GROUP, false, 1)));
+    }
+
+    @Test
+    void expired_sessions_are_reloaded_before_being_dropped() {
+        SessionIndex index = new SessionIndex(60_000);
+        index.rebuild(GROUP, List.of(
+            session("gone", T0, T0 + 1_000),
+            session("renewed", T0, T0 + 1_000),
+            session("live", T0, T0 + 10_000)), -1, T0);
+
+        index.expire(GROUP, T0 + 2_000,
+            key -> key.equals("renewed") ? new SessionCounter.SessionInfo(key, T0 + 1_500, 2, T0 + 20_000) : null);
+
+        assertEquals(2, index.size(GROUP));
+        assertEquals(List.of("live", "renewed"), keys(index.take(GROUP, true, 5)));
+    }
+
+    @Test
+    void rebuild_is_needed_after_the_repair_interval_or_a_fence_gap() {
+        SessionIndex index = new SessionIndex(60_000);
+        assertTrue(index.needsRebuild(GROUP, 1, T0));
+
+        index.rebuild(GROUP, List.of(), 1, T0);
+        assertFalse(index.needsRebuild(GROUP, 2, T0 + 1_000));
+        // The same grant, reused as a lease
+        assertFalse(index.needsRebuild(GROUP, 1, T0 + 1_000));
+        assertFalse(index.needsRebuild(GROUP, -1, T0 + 1_000));
+        // Another node acquired the fence in between
+        assertTrue(index.needsRebuild(GROUP, 3, T0 + 1_000));
+        assertTrue(index.needsRebuild(GROUP, -1, T0 + 60_000));
+
+        index.fenced(GROUP, 2);
+        assertFalse(index.needsRebuild(GROUP, 3, T0 + 1_000));
+    }
+}
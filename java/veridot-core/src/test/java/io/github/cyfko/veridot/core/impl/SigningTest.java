@@ -2,10 +2,19 @@ package io.github.cyfko.veridot.core.impl;
 
 import io.github.cyfko.veridot.core.DistributionMode;
 import io.github.cyfko.veridot.core.InMemoryBroker;
+import io.github.cyfko.veridot.core.SignResult;
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class SigningTest {
@@ -111,4 +120,182 @@ class SigningTest {
                 .count();
         assertEquals(2, livenessCount, "Two signs with auto-sequenceId must create 2 distinct LIVENESS entries");
     }
+
+    @Test
+    void signAsync_native_returns_verifiable_reference() {
+        var cfg = BasicConfigurer.builder().groupId("user1").validity(60)
+                .distribution(DistributionMode.NATIVE).build();
+        String ref = signer.signAsync("data", cfg).join();
+        assertTrue(ref.startsWith("8:"));
+        assertEquals("data", signer.verify(ref, s -> s).data());
+    }
+
+    @Test
+    void signAsync_pipelines_publications_until_acknowledged() {
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        InMemoryBroker slowBroker = new InMemoryBroker() {
+            @Override
+            public CompletableFuture<Void> put(byte[] storageKey, byte[] envelopeBytes) {
+                CompletableFuture<Void> stored = super.put(storageKey, envelopeBytes);
+                EntryType type = Envelope.parse(envelopeBytes).entryType;
+                if (type != EntryType.SIGNED_DATA && type != EntryType.LIVENESS) {
+                    return stored;
+                }
+                CompletableFuture<Void> ack = new CompletableFuture<>();
+                synchronized (inFlight) {
+                    inFlight.add(ack);
+                }
+                return ack;
+            }
+
+            @Override
+            public void putLocal(byte[] storageKey, byte[] envelopeBytes) {
+                super.put(storageKey, envelopeBytes);
+            }
+        };
+        GenericSignerVerifier sv = TestTrustSetup.create().newSignerVerifier(slowBroker);
+        var cfg = BasicConfigurer.builder().groupId("user1").validity(60)
+                .distribution(DistributionMode.NATIVE).build();
+
+        CompletableFuture<String> first = sv.signAsync("a", cfg);
+        CompletableFuture<String> second = sv.signAsync("b", cfg);
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(4, inFlight.size(), "SIGNED_DATA and LIVENESS of both signs must be in flight together");
+
+        inFlight.forEach(ack -> ack.complete(null));
+        assertEquals("a", sv.verify(first.join(), s -> s).data());
+        assertEquals("b", sv.verify(second.join(), s -> s).data());
+    }
+
+    @Test
+    void signAsync_same_sequence_advances_watermark_per_publication() {
+        var cfg = BasicConfigurer.builder().groupId("user1").sequenceId("dev-1").validity(60)
+                .distribution(DistributionMode.NATIVE).build();
+        CompletableFuture.allOf(signer.signAsync("a", cfg), signer.signAsync("b", cfg)).join();
+
+        EntryId liveId = new EntryId(Scope.group("user1"), EntryType.LIVENESS, "dev-1");
+        assertEquals(2, signer.watermarkForTest().current(liveId));
+        assertEquals("b", signer.verify("8:group:user1:dev-1", s -> s).data());
+    }
+
+    @Test
+    void sign_publishes_above_versions_still_in_flight_from_signAsync() {
+        List<CompletableFuture<Void>> held = new ArrayList<>();
+        AtomicBoolean holding = new AtomicBoolean(true);
+        InMemoryBroker slowBroker = new InMemoryBroker() {
+            @Override
+            public CompletableFuture<Void> put(byte[] storageKey, byte[] envelopeBytes) {
+                CompletableFuture<Void> stored = super.put(storageKey, envelopeBytes);
+                EntryType type = Envelope.parse(envelopeBytes).entryType;
+                if (!holding.get() || (type != EntryType.SIGNED_DATA && type != EntryType.LIVENESS)) {
+                    return stored;
+                }
+                CompletableFuture<Void> ack = new CompletableFuture<>();
+                held.add(ack);
+                return ack;
+            }
+
+            @Override
+            public void putLocal(byte[] storageKey, byte[] envelopeBytes) {
+                super.put(storageKey, envelopeBytes);
+            }
+        };
+        GenericSignerVerifier sv = TestTrustSetup.create().newSignerVerifier(slowBroker);
+        var cfg = BasicConfigurer.builder().groupId("user1").sequenceId("dev-1").validity(60)
+                .distribution(DistributionMode.NATIVE).build();
+
+        CompletableFuture<String> inFlight = sv.signAsync("a", cfg);
+        holding.set(false);
+        sv.sign("b", cfg);
+        held.forEach(ack -> ack.complete(null));
+        inFlight.join();
+
+        assertEquals(2, sv.watermarkForTest().current(new EntryId(Scope.group("user1"), EntryType.LIVENESS, "dev-1")));
+        assertEquals(2, sv.watermarkForTest().current(new EntryId(Scope.group("user1"), EntryType.SIGNED_DATA, "dev-1")));
+        assertEquals("b", sv.verify("8:group:user1:dev-1", s -> s).data());
+    }
+
+    @Test
+    void signAsync_fails_when_liveness_publication_fails() {
+        byte[] liveKey = new EntryId(Scope.group("user1"), EntryType.LIVENESS, "s1").storageKey();
+        InMemoryBroker failing = new InMemoryBroker() {
+            @Override
+            public CompletableFuture<Void> put(byte[] storageKey, byte[] envelopeBytes) {
+                if (Arrays.equals(storageKey, liveKey)) {
+                    return CompletableFuture.failedFuture(new IllegalStateException("broker down"));
+                }
+                return super.put(storageKey, envelopeBytes);
+            }
+        };
+        GenericSignerVerifier sv = TestTrustSetup.create().newSignerVerifier(failing);
+        var cfg = BasicConfigurer.builder().groupId("user1").sequenceId("s1").validity(60).build();
+
+        CompletionException e = assertThrows(CompletionException.class, () -> sv.signAsync("data", cfg).join());
+        assertInstanceOf(VeridotException.class, e.getCause());
+    }
+
+    @Test
+    void signAsync_revokes_stored_liveness_when_signed_data_publication_fails() {
+        byte[] signedDataKey = new EntryId(Scope.group("user1"), EntryType.SIGNED_DATA, "s1").storageKey();
+        InMemoryBroker failing = new InMemoryBroker() {
+            @Override
+            public CompletableFuture<Void> put(byte[] storageKey, byte[] envelopeBytes) {
+                if (Arrays.equals(storageKey, signedDataKey)) {
+                    return CompletableFuture.failedFuture(new IllegalStateException("broker down"));
+                }
+                return super.put(storageKey, envelopeBytes);
+            }
+        };
+        GenericSignerVerifier sv = TestTrustSetup.create().newSignerVerifier(failing);
+        var cfg = BasicConfigurer.builder().groupId("user1").sequenceId("s1").validity(60)
+                .distribution(DistributionMode.NATIVE).build();
+
+        assertThrows(CompletionException.class, () -> sv.signAsync("data", cfg).join());
+
+        EntryId liveId = new EntryId(Scope.group("user1"), EntryType.LIVENESS, "s1");
+        Envelope live = Envelope.parse(failing.get(liveId.storageKey()));
+        assertEquals(2, live.version);
+        assertFalse(LivenessPayload.decode(live.payload).isActive());
+        assertFalse(sv.hasActiveToken("user1"));
+    }
+
+    @Test
+    void signAsync_null_data_throws() {
+        var cfg = BasicConfigurer.builder().groupId("user1").validity(60).build();
+        assertThrows(IllegalArgumentException.class, () -> signer.signAsync(null, cfg));
+    }
+
+    @Test
+    void signBatch_returns_results_in_input_order() {
+        var cfg = BasicConfigurer.builder().groupId("user1").validity(60)
+                .distribution(DistributionMode.NATIVE).build();
+        List<SignResult> results = signer.signBatch(List.of("a", "b", "c"), cfg);
+
+        assertEquals(3, results.size());
+        assertEquals("a", signer.verify(results.get(0).getOrThrow(), s -> s).data());
+        assertEquals("b", signer.verify(results.get(1).getOrThrow(), s -> s).data());
+        assertEquals("c", signer.verify(results.get(2).getOrThrow(), s -> s).data());
+    }
+
+    @Test
+    void signBatch_reports_per_item_errors() {
+        var cfg = BasicConfigurer.builder().groupId("user1").validity(60)
+                .serializedBy(o -> {
+                    if ("bad".equals(o)) throw new IllegalStateException("cannot serialize");
+                    return o.toString();
+                })
+                .build();
+        List<SignResult> results = signer.signBatchAsync(List.of("ok", "bad"), cfg).join();
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertInstanceOf(io.github.cyfko.veridot.core.exceptions.DataSerializationException.class, results.get(1).error());
+    }
+
+    @Test
+    void signBatch_rejects_shared_sequenceId() {
+        var cfg = BasicConfigurer.builder().groupId("user1").sequenceId("s1").validity(60).build();
+        assertThrows(IllegalArgumentException.class, () -> signer.signBatch(List.of("a", "b"), cfg));
+    }
 }
@@ -1,9 +1,11 @@
 package io.github.cyfko.veridot.core.impl;
 
 import io.github.cyfko.veridot.core.Algorithm;
+import io.github.cyfko.veridot.core.AsyncBroker;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.cyfko.veridot.core.DistributionMode;
 import io.github.cyfko.veridot.core.InMemoryBroker;
+import io.github.cyfko.veridot.core.VerificationResult;
 import io.github.cyfko.veridot.core.VerifiedData;
 import io.github.cyfko.veridot.core.exceptions.BrokerExtractionException;
 
@@ -14,7 +16,13 @@ import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.SecureRandom;
 import java.security.Signature;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -165,4 +173,132 @@ class VerificationTest {
                 () -> sv.verify("8:attack-grp:evil-session", s -> s),
                 "Must reject metadata with invalid signature");
     }
+
+    @Test
+    void verifyAll_returns_per_token_results_in_order() {
+        String direct = sv.sign("a", BasicConfigurer.builder().groupId("u1").validity(600).build());
+        String nativeRef = sv.sign("b", BasicConfigurer.builder().groupId("u1").validity(600)
+                .distribution(DistributionMode.NATIVE).build());
+
+        List<VerificationResult<String>> results = sv.verifyAll(
+                List.of(direct, "invalid.token.here", nativeRef, "8:group:u1:missing"), s -> s);
+
+        assertEquals(4, results.size());
+        assertEquals("a", results.get(0).getOrThrow().data());
+        assertInstanceOf(BrokerExtractionException.class, results.get(1).error());
+        assertEquals("b", results.get(2).getOrThrow().data());
+        assertFalse(results.get(3).isSuccess());
+    }
+
+    @Test
+    void verifyAll_fetches_each_entry_once() {
+        List<String> reads = Collections.synchronizedList(new ArrayList<>());
+        InMemoryBroker counting = new InMemoryBroker() {
+            @Override
+            public byte[] get(byte[] storageKey) {
+                reads.add(new String(storageKey, java.nio.charset.StandardCharsets.UTF_8));
+                return super.get(storageKey);
+            }
+        };
+        GenericSignerVerifier verifier = trust.newSignerVerifier(counting);
+        String nativeRef = verifier.sign("b", BasicConfigurer.builder().groupId("u1").validity(600)
+                .distribution(DistributionMode.NATIVE).build());
+        List<String> tokens = Collections.nCopies(16, nativeRef);
+
+        reads.clear();
+        List<VerificationResult<String>> results = verifier.verifyAll(tokens, s -> s);
+
+        assertTrue(results.stream().allMatch(VerificationResult::isSuccess));
+        assertEquals(reads.size(), reads.stream().distinct().count(), "Each broker key must be read once per batch");
+    }
+
+    @Test
+    void verifyAll_prefetches_liveness_and_signed_data_in_one_call() {
+        List<Integer> multiGets = Collections.synchronizedList(new ArrayList<>());
+        InMemoryBroker counting = new InMemoryBroker() {
+            @Override
+            public List<byte[]> getAll(List<byte[]> storageKeys) {
+                multiGets.add(storageKeys.size());
+                return super.getAll(storageKeys);
+            }
+        };
+        GenericSignerVerifier verifier = trust.newSignerVerifier(counting);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tokens.add(verifier.sign("n" + i, BasicConfigurer.builder().groupId("u1").validity(600)
+                    .distribution(DistributionMode.NATIVE).build()));
+        }
+        tokens.add(verifier.sign("jwt", BasicConfigurer.builder().groupId("u1").validity(600).build()));
+        tokens.add(tokens.get(0));
+
+        List<VerificationResult<String>> results = verifier.verifyAll(tokens, s -> s);
+
+        assertTrue(results.stream().allMatch(VerificationResult::isSuccess));
+        assertEquals(List.of(5 * 2 + 1), multiGets, "Distinct primary entries must be fetched with one getAll");
+    }
+
+    @Test
+    void verifyAll_called_from_the_verification_executor_does_not_deadlock() {
+        String inner = sv.sign("inner", BasicConfigurer.builder().groupId("u1").validity(600).build());
+        String outer = sv.sign("outer", BasicConfigurer.builder().groupId("u1").validity(600).build());
+        // Every outer slice holds an executor thread while its deserializer waits on a nested batch
+        List<String> tokens = Collections.nCopies(Runtime.getRuntime().availableProcessors() * 2, outer);
+        List<String> nested = Collections.nCopies(4, inner);
+
+        List<VerificationResult<Integer>> results = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                sv.verifyAll(tokens, s -> sv.verifyAll(nested, t -> t).size()));
+
+        assertTrue(results.stream().allMatch(r -> r.getOrThrow().data() == 4));
+    }
+
+    @Test
+    void verifyAsync_returns_payload_for_both_token_forms() {
+        String direct = sv.sign("a", BasicConfigurer.builder().groupId("u1").validity(600).build());
+        String nativeRef = sv.sign("b", BasicConfigurer.builder().groupId("u1").validity(600)
+                .distribution(DistributionMode.NATIVE).build());
+
+        assertEquals("a", sv.verifyAsync(direct, s -> s).join().data());
+        assertEquals("b", sv.verifyAsync(nativeRef, s -> s).join().data());
+    }
+
+    @Test
+    void verifyAsync_completes_exceptionally_on_rejection() {
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> sv.verifyAsync("8:group:u1:missing", s -> s).join());
+        assertInstanceOf(BrokerExtractionException.class, e.getCause());
+    }
+
+    @Test
+    void verifyAsync_issues_liveness_and_signed_data_lookups_together() throws Exception {
+        record Lookup(byte[] key, CompletableFuture<byte[]> future) {}
+        List<Lookup> lookups = Collections.synchronizedList(new ArrayList<>());
+        class DeferredBroker extends InMemoryBroker implements AsyncBroker {
+            @Override
+            public CompletableFuture<byte[]> getAsync(byte[] storageKey) {
+                CompletableFuture<byte[]> future = new CompletableFuture<>();
+                lookups.add(new Lookup(storageKey, future));
+                return future;
+            }
+
+            @Override
+            public CompletableFuture<List<BrokerEntry>> snapshotAsync(Scope scope) {
+                return CompletableFuture.completedFuture(snapshot(scope));
+            }
+        }
+        DeferredBroker deferred = new DeferredBroker();
+        GenericSignerVerifier verifier = trust.newSignerVerifier(deferred);
+        String nativeRef = verifier.sign("b", BasicConfigurer.builder().groupId("u1").validity(600)
+                .distribution(DistributionMode.NATIVE).build());
+
+        CompletableFuture<VerifiedData<String>> result = verifier.verifyAsync(nativeRef, s -> s);
+        assertFalse(result.isDone());
+        assertEquals(2, lookups.size(), "LIVENESS and SIGNED_DATA must be requested before either completes");
+
+        // Answer every lookup, including those issued once the first round completes
+        for (int answered = 0; answered < lookups.size(); answered++) {
+            Lookup lookup = lookups.get(answered);
+            lookup.future().complete(deferred.get(lookup.key()));
+        }
+        assertEquals("b", result.get(5, java.util.concurrent.TimeUnit.SECONDS).data());
+    }
 }
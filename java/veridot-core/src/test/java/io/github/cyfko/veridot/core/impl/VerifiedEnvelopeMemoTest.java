@@ -0,0 +1,113 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Algorithm;
+import io.github.cyfko.veridot.core.PublicKeyTrustRoot;
+import io.github.cyfko.veridot.core.TrustIdentity;
+import io.github.cyfko.veridot.core.TrustRoot;
+import io.github.cyfko.veridot.core.VeridotMetrics;
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedEnvelopeMemoTest {
+
+    private KeyPair keyPair;
+    private String issuer;
+    private AtomicReference<TrustIdentity> identity;
+    private TrustRoot trustRoot;
+    private final SignatureVerifier verifier = new SignatureVerifier();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        issuer = SubjectComputer.compute("memo-svc", keyPair.getPublic());
+        identity = new AtomicReference<>(new TrustIdentity(keyPair.getPublic(), true, Algorithm.ED25519));
+        trustRoot = new PublicKeyTrustRoot() {
+            @Override
+            public TrustIdentity resolve(String id) {
+                if (issuer.equals(id)) {
+                    return identity.get();
+                }
+                throw new VeridotException(ErrorCode.TRUST_RESOLUTION_FAILED, null, "Unknown issuer: " + id);
+            }
+        };
+        SignatureVerifier.memo().clear();
+        VeridotMetrics.reset();
+    }
+
+    private byte[] envelopeBytes(String key, boolean tamper) throws Exception {
+        EnvelopeBuilder builder = new EnvelopeBuilder()
+            .entryType(EntryType.LIVENESS)
+            .flags((byte) 0x01)
+            .scope(Scope.group("u1"))
+            .key(key)
+            .version(1L)
+            .timestamp(System.currentTimeMillis())
+            .issuer(issuer)
+            .payload(new byte[]{1, 2, 3})
+            .sigAlg(Algorithm.ED25519);
+        Envelope unsigned = new Envelope(Envelope.PROTO_VERSION, EntryType.LIVENESS, (byte) 0x01, Scope.group("u1"), key,
+            1L, builder.timestamp, issuer, new byte[]{1, 2, 3}, Algorithm.ED25519, null);
+        Signature sig = Signature.getInstance("Ed25519");
+        sig.initSign(keyPair.getPrivate());
+        sig.update(unsigned.canonicalSigningBytes());
+        byte[] signature = sig.sign();
+        if (tamper) {
+            signature[0] ^= 0x01;
+        }
+        return Envelope.encode(builder, signature);
+    }
+
+    @Test
+    void identical_bytes_are_verified_once() throws Exception {
+        byte[] raw = envelopeBytes("s1", false);
+
+        Envelope first = verifier.parseAndVerify(raw, trustRoot);
+        Envelope second = verifier.parseAndVerify(raw.clone(), trustRoot);
+
+        assertSame(first, second, "Second call must reuse the remembered envelope");
+        assertEquals(1, VeridotMetrics.ENVELOPE_MEMO_HITS.sum());
+    }
+
+    @Test
+    void rejection_is_remembered_for_identical_bytes() throws Exception {
+        byte[] raw = envelopeBytes("s1", true);
+
+        assertThrows(VeridotException.class, () -> verifier.parseAndVerify(raw, trustRoot));
+        VeridotException cached = assertThrows(VeridotException.class, () -> verifier.memoized(raw, trustRoot));
+        assertTrue(cached.getMessage().contains("(cached)"));
+    }
+
+    @Test
+    void issuer_key_change_invalidates_verdict() throws Exception {
+        byte[] raw = envelopeBytes("s1", false);
+        verifier.parseAndVerify(raw, trustRoot);
+        assertNotNull(verifier.memoized(raw, trustRoot));
+
+        KeyPair rotated = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        identity.set(new TrustIdentity(rotated.getPublic(), true, Algorithm.ED25519));
+
+        assertNull(verifier.memoized(raw, trustRoot), "Verdict reached with the old key must not be reused");
+        assertThrows(VeridotException.class, () -> verifier.parseAndVerify(raw, trustRoot));
+    }
+
+    @Test
+    void memo_is_bounded() {
+        VerifiedEnvelopeMemo memo = new VerifiedEnvelopeMemo(2);
+        VerifiedEnvelopeMemo.Verdict verdict = new VerifiedEnvelopeMemo.Verdict(null, keyPair.getPublic(), null);
+        memo.put(ContentDigest.of(new byte[]{1}), verdict);
+        memo.put(ContentDigest.of(new byte[]{2}), verdict);
+        memo.put(ContentDigest.of(new byte[]{3}), verdict);
+
+        assertEquals(2, memo.size());
+        assertNull(memo.get(ContentDigest.of(new byte[]{1})));
+    }
+}
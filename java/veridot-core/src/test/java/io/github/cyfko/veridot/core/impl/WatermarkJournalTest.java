@@ -0,0 +1,175 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.WatermarkStore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatermarkJournalTest {
+
+    private static final byte[] HMAC_KEY = "0123456789abcdef0123456789abcdef".getBytes();
+    private static final Scope SCOPE = Scope.group("u1");
+
+    @TempDir
+    File dir;
+
+    private static EntryId id(String key) {
+        return new EntryId(SCOPE, EntryType.LIVENESS, key);
+    }
+
+    private static VersionWatermark restore(WatermarkStore store) {
+        return restoreFrom(store.load());
+    }
+
+    @Test
+    void journaled_deltas_are_replayed_on_top_of_checkpoint() {
+        File file = new File(dir, "wm.bin");
+        FileWatermarkStore store = new FileWatermarkStore(file, HMAC_KEY);
+        VersionWatermark wm = new VersionWatermark();
+        wm.trackDirty();
+
+        wm.accept(id("a"), 1);
+        store.save(wm.snapshot());
+        wm.drainDirty();
+
+        wm.accept(id("a"), 2);
+        wm.accept(id("b"), 7);
+        store.append(wm.drainDirty());
+        wm.accept(id("b"), 9);
+        store.append(wm.drainDirty());
+
+        VersionWatermark restored = restore(new FileWatermarkStore(file, HMAC_KEY));
+        assertEquals(2, restored.current(id("a")));
+        assertEquals(9, restored.current(id("b")));
+    }
+
+    @Test
+    void checkpoint_truncates_journal() {
+        File file = new File(dir, "wm.bin");
+        FileWatermarkStore store = new FileWatermarkStore(file);
+        store.append(Map.of("k", 3L));
+        File journal = new File(file.getAbsolutePath() + ".journal");
+        assertTrue(journal.length() > 0);
+
+        store.save(WatermarkDeltas.merge(null, Map.of("k", 3L)));
+
+        assertFalse(journal.exists());
+        assertEquals(Map.of("k", 3), readJson(store.load()));
+    }
+
+    @Test
+    void torn_tail_record_is_dropped() throws Exception {
+        File file = new File(dir, "wm.bin");
+        FileWatermarkStore store = new FileWatermarkStore(file, HMAC_KEY);
+        store.append(Map.of("k", 1L));
+        store.append(Map.of("k", 2L));
+
+        File journal = new File(file.getAbsolutePath() + ".journal");
+        try (RandomAccessFile raf = new RandomAccessFile(journal, "rw")) {
+            raf.setLength(raf.length() - 5);
+        }
+
+        FileWatermarkStore reopened = new FileWatermarkStore(file, HMAC_KEY);
+        assertEquals(Map.of("k", 1), readJson(reopened.load()));
+
+        // Appends continue the chain from the last valid record
+        reopened.append(Map.of("k", 4L));
+        assertEquals(Map.of("k", 4), readJson(new FileWatermarkStore(file, HMAC_KEY).load()));
+    }
+
+    @Test
+    void tampered_record_breaks_the_chain() throws Exception {
+        File file = new File(dir, "wm.bin");
+        FileWatermarkStore store = new FileWatermarkStore(file, HMAC_KEY);
+        store.append(Map.of("k", 1L));
+        store.append(Map.of("k", 2L));
+
+        File journal = new File(file.getAbsolutePath() + ".journal");
+        byte[] bytes = Files.readAllBytes(journal.toPath());
+        // Forge the version of the first record; its MAC and every later link no longer verify
+        bytes[4 + 4 + 2 + 1 + 7] ^= 0x40;
+        Files.write(journal.toPath(), bytes);
+
+        assertNull(new FileWatermarkStore(file, HMAC_KEY).load());
+    }
+
+    @Test
+    void flusher_appends_deltas_and_compacts_on_close() throws Exception {
+        List<Map<String, Long>> appended = new ArrayList<>();
+        List<byte[]> saved = new ArrayList<>();
+        WatermarkStore store = new WatermarkStore() {
+            @Override public void save(byte[] snapshot) { saved.add(snapshot); }
+            @Override public byte[] load() { return null; }
+            @Override public boolean supportsIncremental() { return true; }
+            @Override public void append(Map<String, Long> deltas) { appended.add(deltas); }
+        };
+        VersionWatermark wm = new VersionWatermark();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            WatermarkFlusher flusher = new WatermarkFlusher(wm, store, scheduler, 60_000, 1 << 20, 3600);
+            wm.accept(id("a"), 1);
+            flusher.onAdvance();
+            wm.accept(id("a"), 2);
+            flusher.onAdvance();
+            assertTrue(appended.isEmpty(), "Deltas are group-committed, not written per advance");
+
+            flusher.flush();
+            assertEquals(List.of(Map.of("group:u1\0" + EntryType.LIVENESS.code + "\0a", 2L)), appended);
+
+            wm.accept(id("b"), 1);
+            flusher.close();
+            assertEquals(1, saved.size());
+            assertEquals(1, restoreFrom(saved.get(0)).current(id("b")));
+            assertEquals(0, wm.dirtyBytes());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void flusher_flushes_inline_past_byte_budget() {
+        List<Map<String, Long>> appended = new ArrayList<>();
+        WatermarkStore store = new WatermarkStore() {
+            @Override public void save(byte[] snapshot) { }
+            @Override public byte[] load() { return null; }
+            @Override public boolean supportsIncremental() { return true; }
+            @Override public void append(Map<String, Long> deltas) { appended.add(deltas); }
+        };
+        VersionWatermark wm = new VersionWatermark();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            WatermarkFlusher flusher = new WatermarkFlusher(wm, store, scheduler, 60_000, 1, 3600);
+            wm.accept(id("a"), 1);
+            flusher.onAdvance();
+            assertEquals(1, appended.size());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static VersionWatermark restoreFrom(byte[] snapshot) {
+        VersionWatermark wm = new VersionWatermark();
+        wm.restore(snapshot);
+        return wm;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readJson(byte[] bytes) {
+        try {
+            return new com.fasterxml.jackson.databind.ObjectMapper().readValue(bytes, Map.class);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
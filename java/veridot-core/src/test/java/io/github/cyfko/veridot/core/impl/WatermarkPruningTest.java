@@ -0,0 +1,190 @@
+package io.github.cyfko.veridot.core.impl;
+
+import io.github.cyfko.veridot.core.Algorithm;
+import io.github.cyfko.veridot.core.DistributionMode;
+import io.github.cyfko.veridot.core.InMemoryBroker;
+import io.github.cyfko.veridot.core.VeridotMetrics;
+import io.github.cyfko.veridot.core.exceptions.VeridotException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatermarkPruningTest {
+
+    private static final long RETENTION = 10_000;
+    private static final long MARGIN = 1_000;
+    private static final Scope GROUP = Scope.group("u1");
+    private static final EntryId LIVENESS = new EntryId(GROUP, EntryType.LIVENESS, "s1");
+    private static final EntryId SIGNED_DATA = new EntryId(GROUP, EntryType.SIGNED_DATA, "s1");
+    private static final EntryId SECURE_PAYLOAD = new EntryId(GROUP, EntryType.SECURE_PAYLOAD, "p1");
+    private static final EntryId FENCE = new EntryId(GROUP, EntryType.FENCE, "");
+    private static final EntryId CAPABILITY = new EntryId(GROUP, EntryType.CAPABILITY, "svc");
+
+    private VersionWatermark watermark;
+
+    @BeforeEach
+    void setUp() {
+        watermark = new VersionWatermark(RETENTION, MARGIN);
+        VeridotMetrics.reset();
+    }
+
+    @Test
+    void session_watermarks_are_pruned_once_their_horizon_has_passed() {
+        long now = System.currentTimeMillis();
+        watermark.accept(LIVENESS, 3);
+        watermark.accept(SIGNED_DATA, 1);
+        watermark.accept(FENCE, 7);
+        watermark.accept(CAPABILITY, 2);
+        watermark.accept(SECURE_PAYLOAD, 5);
+
+        assertEquals(0, watermark.prune(now + RETENTION));
+        assertEquals(2, watermark.prune(now + RETENTION + MARGIN + 1_000));
+
+        assertEquals(0, watermark.current(LIVENESS));
+        assertEquals(0, watermark.current(SIGNED_DATA));
+        assertEquals(7, watermark.current(FENCE));
+        assertEquals(2, watermark.current(CAPABILITY));
+        assertEquals(5, watermark.current(SECURE_PAYLOAD));
+        assertEquals(3, watermark.size());
+        assertEquals(2, VeridotMetrics.WATERMARKS_PRUNED.sum());
+    }
+
+    @Test
+    void a_later_validUntil_extends_the_horizon() {
+        long now = System.currentTimeMillis();
+        watermark.accept(LIVENESS, 1);
+        watermark.retainUntil(LIVENESS, now + 60_000);
+
+        assertEquals(0, watermark.prune(now + RETENTION + MARGIN + 1_000));
+        assertEquals(1, watermark.current(LIVENESS));
+        assertEquals(1, watermark.prune(now + 60_000 + MARGIN));
+    }
+
+    @Test
+    void a_zero_retention_never_prunes() {
+        VersionWatermark keepAll = new VersionWatermark(0, MARGIN);
+        keepAll.accept(LIVENESS, 1);
+
+        assertEquals(0, keepAll.prune(Long.MAX_VALUE));
+        assertEquals(1, keepAll.current(LIVENESS));
+    }
+
+    @Test
+    void horizons_survive_a_snapshot_and_legacy_snapshots_start_retention_on_restore() {
+        long now = System.currentTimeMillis();
+        watermark.accept(LIVENESS, 1);
+        watermark.retainUntil(LIVENESS, now + 60_000);
+        watermark.accept(FENCE, 4);
+
+        VersionWatermark restored = new VersionWatermark(RETENTION, MARGIN);
+        restored.restore(watermark.snapshot());
+        assertEquals(0, restored.prune(now + 60_000));
+        assertEquals(1, restored.prune(now + 60_000 + MARGIN));
+        assertFalse(new String(restored.snapshot(), StandardCharsets.UTF_8).contains("s1"));
+        assertEquals(4, restored.current(FENCE));
+
+        // Written before horizons existed: retained as if every watermark advanced at restore time
+        VersionWatermark legacy = new VersionWatermark(RETENTION, MARGIN);
+        legacy.restore("{\"group:u1\\u00004\\u0000s1\":3}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(3, legacy.current(LIVENESS));
+        assertEquals(0, legacy.prune(now + RETENTION));
+        assertEquals(1, legacy.prune(System.currentTimeMillis() + RETENTION + MARGIN + 1_000));
+    }
+
+    /**
+     * Why pruning keeps replay protection: every version of a session was published no later than the
+     * last advance of its watermark, and sessions are valid for less than the retention period. So when
+     * the horizon passes, the envelope with the longest validity ever published for the key is already
+     * expired, and a replay is refused on its own {@code validUntil} instead of on the watermark.
+     */
+    @Test
+    void a_replayed_session_is_still_rejected_after_its_watermark_is_pruned() {
+        InMemoryBroker broker = new InMemoryBroker();
+        TestTrustSetup trust = TestTrustSetup.create();
+        LivenessManager livenessManager = new LivenessManager(new EntryPublisher(), broker,
+            trust.instanceKeyPair.getPrivate(), Algorithm.ED25519, trust.signerId);
+        LivenessChecker checker = new LivenessChecker(new LivenessVerdictCache(0, 0));
+        long now = System.currentTimeMillis();
+
+        livenessManager.publishActive(LIVENESS, RETENTION / 2, OptionalLong.empty(), watermark);
+        byte[] active = broker.get(LIVENESS.storageKey());
+        livenessManager.publishRevoked(LIVENESS, new VersionReservations(watermark));
+
+        // Before the horizon the watermark refuses the old ACTIVE envelope
+        broker.put(LIVENESS.storageKey(), active);
+        VeridotException stale = assertThrows(VeridotException.class, () ->
+            checker.assertLive(LIVENESS, broker, trust.trustRoot, watermark, new CapabilityVerifier(), now + 1_000));
+        assertEquals(ErrorCode.VERSION_REJECTED, stale.getErrorCode());
+
+        // After it the watermark is gone, and the envelope has expired on its own
+        long later = now + RETENTION + MARGIN + 1_000;
+        assertEquals(1, watermark.prune(later));
+        assertEquals(0, watermark.current(LIVENESS));
+        VeridotException expired = assertThrows(VeridotException.class, () ->
+            checker.assertLive(LIVENESS, broker, trust.trustRoot, watermark, new CapabilityVerifier(), later));
+        assertEquals(ErrorCode.LIVENESS_INVALID, expired.getErrorCode());
+    }
+
+    /**
+     * A SECURE_PAYLOAD envelope carries no expiry, so once a newer version is published only the
+     * watermark tells the old one apart: it must survive any amount of pruning.
+     */
+    @Test
+    void a_replayed_secure_payload_is_still_rejected_after_pruning() {
+        InMemoryBroker broker = new InMemoryBroker();
+        GenericSignerVerifier sv = TestTrustSetup.create().newSignerVerifier(broker);
+        var cfg = BasicConfigurer.builder().groupId("u1").sequenceId("p1").validity(60)
+                .distribution(DistributionMode.PRIVATE).build();
+        String token = sv.sign("old", cfg);
+        byte[] old = broker.get(SECURE_PAYLOAD.storageKey());
+        sv.sign("new", cfg);
+
+        sv.watermarkForTest().prune(Long.MAX_VALUE);
+        broker.put(SECURE_PAYLOAD.storageKey(), old);
+
+        assertEquals(2, sv.watermarkForTest().current(SECURE_PAYLOAD));
+        assertThrows(Exception.class, () -> sv.verify(token, s -> s));
+    }
+
+    @Test
+    void signed_data_is_retained_until_its_embedded_jwt_expires() {
+        VersionWatermark shortRetention = new VersionWatermark(RETENTION, MARGIN);
+        long now = System.currentTimeMillis();
+        shortRetention.accept(SIGNED_DATA, 1);
+        shortRetention.retainUntil(SIGNED_DATA, now + 60_000);
+
+        assertEquals(0, shortRetention.prune(now + RETENTION + MARGIN + 1_000));
+        assertEquals(1, shortRetention.prune(now + 60_000 + MARGIN));
+
+        // A token without exp never expires, and neither does its watermark
+        shortRetention.accept(SIGNED_DATA, 2);
+        shortRetention.retainUntil(SIGNED_DATA, Long.MAX_VALUE);
+        assertEquals(0, shortRetention.prune(Long.MAX_VALUE - 1));
+        assertEquals(2, shortRetention.current(SIGNED_DATA));
+    }
+
+    /**
+     * A session outliving the retention would let a verifier that only saw its REVOKED envelope prune
+     * the watermark while a rolled-back ACTIVE envelope is still fresh, so signing refuses it.
+     */
+    @Test
+    void sessions_longer_than_the_watermark_retention_are_refused() {
+        GenericSignerVerifier sv = TestTrustSetup.create().newSignerVerifier(new InMemoryBroker());
+        var tooLong = BasicConfigurer.builder().groupId("u1").validity(Config.WATERMARK_RETENTION_SECONDS + 1)
+                .distribution(DistributionMode.NATIVE).build();
+
+        assertThrows(IllegalArgumentException.class, () -> sv.sign("data", tooLong));
+        assertThrows(IllegalArgumentException.class, () -> sv.signAsync("data", tooLong));
+        assertThrows(IllegalArgumentException.class, () -> sv.signBatch(List.of("a", "b"), tooLong));
+
+        var longest = BasicConfigurer.builder().groupId("u1").validity(Config.WATERMARK_RETENTION_SECONDS)
+                .distribution(DistributionMode.NATIVE).build();
+        assertEquals("data", sv.verify(sv.sign("data", longest), s -> s).data());
+    }
+}
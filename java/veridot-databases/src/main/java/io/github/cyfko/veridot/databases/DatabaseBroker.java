@@ -1,26 +1,47 @@
 package io.github.cyfko.veridot.databases;
 
+import io.github.cyfko.veridot.core.AsyncBroker;
 import io.github.cyfko.veridot.core.Broker;
 import io.github.cyfko.veridot.core.WatermarkStore;
 import io.github.cyfko.veridot.core.exceptions.VeridotException;
+import io.github.cyfko.veridot.core.impl.ChangeFeed;
 import io.github.cyfko.veridot.core.impl.Envelope;
+import io.github.cyfko.veridot.core.impl.EntryType;
 import io.github.cyfko.veridot.core.impl.Scope;
 import io.github.cyfko.veridot.core.impl.ErrorCode;
+import io.github.cyfko.veridot.core.impl.WatermarkDeltas;
 import javax.sql.DataSource;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 /**
  * SQL Database implementation of the Broker interface for Protocol V4 (§13.2, §13.3).
+ *
+ * <p>Every write also appends its storage key to the {@code <table>_changes} log, in the same
+ * transaction. While {@link #watch} subscriptions are open, the log is polled in {@code id} order to
+ * drop stale local cache entries and notify the listeners of the writes of every node. Writers
+ * delete the rows older than an hour, through an index on {@code changed_at}.
  */
-public class DatabaseBroker implements Broker, WatermarkStore {
+public class DatabaseBroker implements AsyncBroker, WatermarkStore {
 
     private static final Logger logger = Logger.getLogger(DatabaseBroker.class.getName());
     
@@ -36,13 +57,52 @@ public class DatabaseBroker implements Broker, WatermarkStore {
         System.arraycopy(raw, 0, WATERMARK_KEY, 1, raw.length);
     }
 
+    // Incremental watermark deltas live under 0xFF "__watermark_delta__" NUL <watermark key>,
+    // one row per watermark, and are folded into WATERMARK_KEY on every checkpoint.
+    private static final byte[] WATERMARK_DELTA_PREFIX;
+    private static final byte[] WATERMARK_DELTA_UPPER;
+    static {
+        byte[] raw = "__watermark_delta__".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        WATERMARK_DELTA_PREFIX = new byte[raw.length + 2];
+        WATERMARK_DELTA_PREFIX[0] = (byte) 0xFF;
+        System.arraycopy(raw, 0, WATERMARK_DELTA_PREFIX, 1, raw.length);
+        WATERMARK_DELTA_UPPER = WATERMARK_DELTA_PREFIX.clone();
+        WATERMARK_DELTA_UPPER[WATERMARK_DELTA_UPPER.length - 1] = 0x01;
+    }
+
     private final DataSource dataSource;
     private final String tableName;
     private final UpsertDialect upsertDialect;
+    private final Executor readExecutor;   // runs the blocking selects of the *Async reads
 
     // Local cache to bypass read-after-write latencies on the signing node
     private final Map<String, byte[]> localCache = new ConcurrentHashMap<>();
 
+    // Maximum number of keys bound into one IN (...) select (Oracle allows at most 1000)
+    private static final int MAX_IN_LIST = 500;
+
+    // Threads of the default read executor, bounding the connections held by asynchronous reads
+    private static final int DEFAULT_READ_THREADS = 4;
+
+    // Rows buffered per round trip by scan cursors
+    private static final int SCAN_FETCH_SIZE = 256;
+
+    // Change log polling: period, rows read per poll, age after which rows are deleted, and how
+    // often a writer deletes them
+    private static final long CHANGE_POLL_MILLIS = 1000;
+    private static final int CHANGE_POLL_BATCH = 500;
+    private static final long CHANGE_RETENTION_MILLIS = 3_600_000;
+    private static final long CHANGE_PRUNE_MILLIS = 60_000;
+
+    private final String changesTableName;
+    private final ChangeFeed changes = new ChangeFeed();
+
+    // Guarded by changes
+    private ScheduledExecutorService changePoller;
+    private ScheduledFuture<?> changePollTask;
+    private long lastChangeId;
+    private final AtomicLong lastChangePrune = new AtomicLong();
+
     private enum UpsertDialect {
         POSTGRES_H2,
         MYSQL,
@@ -51,14 +111,31 @@ public class DatabaseBroker implements Broker, WatermarkStore {
     }
 
     public DatabaseBroker(DataSource dataSource, String tableName) {
+        this(dataSource, tableName, Executors.newFixedThreadPool(DEFAULT_READ_THREADS, r -> {
+            Thread thread = new Thread(r, "veridot-db-reads");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * @param readExecutor runs the selects of {@link #getAsync}, {@link #getAllAsync} and
+     *                     {@link #snapshotAsync}; size it to the connections the pool can spare
+     */
+    public DatabaseBroker(DataSource dataSource, String tableName, Executor readExecutor) {
         if (dataSource == null) {
             throw new IllegalArgumentException("DataSource cannot be null");
         }
         if (tableName == null || !tableName.matches("^[a-zA-Z][a-zA-Z0-9_]*$")) {
             throw new IllegalArgumentException("Invalid table name: " + tableName);
         }
+        if (readExecutor == null) {
+            throw new IllegalArgumentException("Read executor cannot be null");
+        }
         this.dataSource = dataSource;
         this.tableName = tableName;
+        this.readExecutor = readExecutor;
+        this.changesTableName = tableName + "_changes";
         this.upsertDialect = detectDialect();
         createBrokerTableIfNotExists();
     }
@@ -143,8 +220,58 @@ public class DatabaseBroker implements Broker, WatermarkStore {
                 """, tableName, idDefinition, keyType, valType, updatedAtDefinition);
             }
 
+            String changesKeyType = keyType.replace(" UNIQUE", "");
+            String changesDdl;
+            if (dbProduct.contains("sql server")) {
+                changesDdl = String.format("""
+                IF NOT EXISTS (
+                    SELECT * FROM INFORMATION_SCHEMA.TABLES
+                    WHERE TABLE_NAME = '%s'
+                )
+                BEGIN
+                    CREATE TABLE %s (
+                        %s,
+                        storage_key %s,
+                        changed_at BIGINT NOT NULL
+                    )
+                END
+                """, changesTableName, changesTableName, idDefinition, changesKeyType);
+            } else {
+                changesDdl = String.format("""
+                CREATE TABLE IF NOT EXISTS %s (
+                    %s,
+                    storage_key %s,
+                    changed_at %s NOT NULL
+                )
+                """, changesTableName, idDefinition, changesKeyType, dbProduct.contains("oracle") ? "NUMBER(19)" : "BIGINT");
+            }
+
+            // Pruning deletes by changed_at
+            String changedAtIndex = changesTableName + "_changed_at";
+            String changedAtIndexDdl;
+            if (dbProduct.contains("postgresql") || dbProduct.contains("h2")) {
+                changedAtIndexDdl = String.format("CREATE INDEX IF NOT EXISTS %s ON %s (changed_at)",
+                    changedAtIndex, changesTableName);
+            } else if (dbProduct.contains("sql server")) {
+                changedAtIndexDdl = String.format("""
+                IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = '%s')
+                    CREATE INDEX %s ON %s (changed_at)
+                """, changedAtIndex, changedAtIndex, changesTableName);
+            } else {
+                changedAtIndexDdl = String.format("CREATE INDEX %s ON %s (changed_at)", changedAtIndex, changesTableName);
+            }
+
             try (Statement stmt = connection.createStatement()) {
                 stmt.execute(ddl);
+                stmt.execute(changesDdl);
+                try {
+                    stmt.execute(changedAtIndexDdl);
+                } catch (SQLException e) {
+                    // MySQL (1061) and Oracle (ORA-00955) have no IF NOT EXISTS for indexes
+                    if (e.getErrorCode() != 1061 && e.getErrorCode() != 955) {
+                        throw e;
+                    }
+                }
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to initialize database broker table", e);
@@ -161,13 +288,22 @@ public class DatabaseBroker implements Broker, WatermarkStore {
             localCache.remove(toHexKey(storageKey));
             return CompletableFuture.runAsync(() -> {
                 try (Connection conn = dataSource.getConnection()) {
-                    String sql = String.format("DELETE FROM %s WHERE storage_key = ?", tableName);
-                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                        stmt.setBytes(1, storageKey);
-                        stmt.executeUpdate();
+                    conn.setAutoCommit(false);
+                    try {
+                        String sql = String.format("DELETE FROM %s WHERE storage_key = ?", tableName);
+                        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                            stmt.setBytes(1, storageKey);
+                            stmt.executeUpdate();
+                        }
+                        recordChanges(conn, List.of(storageKey));
+                        conn.commit();
+                        pruneChangesIfDue(conn);
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        throw e;
                     }
                 } catch (SQLException e) {
-                    throw new VeridotException(ErrorCode.TRANSPORT_UNAVAILABLE, null, "Database transport failure on delete()", e);
+                    throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Database transport failure on delete()", e);
                 }
             });
         }
@@ -186,14 +322,96 @@ public class DatabaseBroker implements Broker, WatermarkStore {
 
         return CompletableFuture.runAsync(() -> {
             try (Connection conn = dataSource.getConnection()) {
-                String sql = buildUpsertSql();
-                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    stmt.setBytes(1, storageKey);
-                    stmt.setBytes(2, envelopeBytes);
-                    stmt.executeUpdate();
+                conn.setAutoCommit(false);
+                try {
+                    String sql = buildUpsertSql();
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setBytes(1, storageKey);
+                        stmt.setBytes(2, envelopeBytes);
+                        stmt.executeUpdate();
+                    }
+                    recordChanges(conn, List.of(storageKey));
+                    conn.commit();
+                    pruneChangesIfDue(conn);
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
                 }
             } catch (SQLException e) {
-                throw new VeridotException(ErrorCode.TRANSPORT_UNAVAILABLE, null, "Database transport failure on put()", e);
+                throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Database transport failure on put()", e);
+            }
+        });
+    }
+
+    /**
+     * Validates every envelope and updates the local cache, then writes all entries in one
+     * transaction: one batched upsert plus one batched delete for empty envelopes.
+     */
+    @Override
+    public CompletableFuture<Void> putAll(List<BrokerEntry> entries) {
+        List<BrokerEntry> upserts = new ArrayList<>(entries.size());
+        List<byte[]> deletes = new ArrayList<>();
+        for (BrokerEntry entry : entries) {
+            if (entry.storageKey() == null || entry.envelopeBytes() == null) {
+                throw new IllegalArgumentException("storageKey and envelopeBytes cannot be null");
+            }
+            if (entry.envelopeBytes().length == 0) {
+                deletes.add(entry.storageKey());
+                continue;
+            }
+            try {
+                Envelope.parse(entry.envelopeBytes());
+            } catch (VeridotException e) {
+                return CompletableFuture.failedFuture(e);
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(new VeridotException(ErrorCode.INVALID_ENVELOPE, null, "Failed to parse envelope bytes", e));
+            }
+            upserts.add(entry);
+        }
+
+        for (byte[] storageKey : deletes) {
+            localCache.remove(toHexKey(storageKey));
+        }
+        for (BrokerEntry entry : upserts) {
+            localCache.put(toHexKey(entry.storageKey()), entry.envelopeBytes());
+        }
+
+        return CompletableFuture.runAsync(() -> {
+            try (Connection conn = dataSource.getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    if (!upserts.isEmpty()) {
+                        try (PreparedStatement stmt = conn.prepareStatement(buildUpsertSql())) {
+                            for (BrokerEntry entry : upserts) {
+                                stmt.setBytes(1, entry.storageKey());
+                                stmt.setBytes(2, entry.envelopeBytes());
+                                stmt.addBatch();
+                            }
+                            stmt.executeBatch();
+                        }
+                    }
+                    if (!deletes.isEmpty()) {
+                        String sql = String.format("DELETE FROM %s WHERE storage_key = ?", tableName);
+                        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                            for (byte[] storageKey : deletes) {
+                                stmt.setBytes(1, storageKey);
+                                stmt.addBatch();
+                            }
+                            stmt.executeBatch();
+                        }
+                    }
+                    List<byte[]> changedKeys = new ArrayList<>(entries.size());
+                    upserts.forEach(entry -> changedKeys.add(entry.storageKey()));
+                    changedKeys.addAll(deletes);
+                    recordChanges(conn, changedKeys);
+                    conn.commit();
+                    pruneChangesIfDue(conn);
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            } catch (SQLException e) {
+                throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Database transport failure on putAll()", e);
             }
         });
     }
@@ -227,44 +445,386 @@ public class DatabaseBroker implements Broker, WatermarkStore {
             }
         } catch (SQLException e) {
             logger.severe("Database error on get(): " + e.getMessage());
-            throw new VeridotException(ErrorCode.TRANSPORT_UNAVAILABLE, null, "Database transport failure on get()", e);
+            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Database transport failure on get()", e);
         }
     }
 
     @Override
     public List<BrokerEntry> snapshot(Scope scope) {
+        byte[] lowerBound = scopePrefix(scope);
+        return selectRange(lowerBound, upperBoundOf(lowerBound));
+    }
+
+    /**
+     * Narrows the {@code storage_key} range predicate to {@code scope ‖ 0x00 ‖ entryType ‖ 0x00}, so
+     * rows of other types, such as large SIGNED_DATA payloads, are never fetched.
+     */
+    @Override
+    public List<BrokerEntry> snapshot(Scope scope, EntryType entryType) {
+        byte[] lowerBound = Broker.typePrefix(scope, entryType);
+        return selectRange(lowerBound, upperBoundOf(lowerBound));
+    }
+
+    /**
+     * Streams the scope through a forward-only result set fetched {@value #SCAN_FETCH_SIZE} rows at a
+     * time. The cursor holds a pooled connection until it is closed.
+     */
+    @Override
+    public EntryCursor scan(Scope scope) {
+        byte[] lowerBound = scopePrefix(scope);
+        return new JdbcCursor(lowerBound, upperBoundOf(lowerBound));
+    }
+
+    @Override
+    public EntryCursor scan(Scope scope, EntryType entryType) {
+        byte[] lowerBound = Broker.typePrefix(scope, entryType);
+        return new JdbcCursor(lowerBound, upperBoundOf(lowerBound));
+    }
+
+    /**
+     * @return every row whose storage key is in {@code [lowerBound, upperBound)}
+     */
+    private List<BrokerEntry> selectRange(byte[] lowerBound, byte[] upperBound) {
+        List<BrokerEntry> list = new ArrayList<>();
+        try (JdbcCursor cursor = new JdbcCursor(lowerBound, upperBound)) {
+            cursor.forEachRemaining(list::add);
+        }
+        return list;
+    }
+
+    private static byte[] scopePrefix(Scope scope) {
         if (scope == null) {
             throw new IllegalArgumentException("Scope cannot be null");
         }
-
         byte[] scopeBytes = scope.value().getBytes(StandardCharsets.UTF_8);
-        byte[] lowerBound = new byte[scopeBytes.length + 1];
-        System.arraycopy(scopeBytes, 0, lowerBound, 0, scopeBytes.length);
-        lowerBound[scopeBytes.length] = 0x00; // Separator NUL byte
+        byte[] prefix = new byte[scopeBytes.length + 1];
+        System.arraycopy(scopeBytes, 0, prefix, 0, scopeBytes.length);
+        prefix[scopeBytes.length] = 0x00; // Separator NUL byte
+        return prefix;
+    }
 
-        // Upper bound is the scope bytes followed by 0x01 to cover all entry types and keys in this scope
-        byte[] upperBound = new byte[scopeBytes.length + 1];
-        System.arraycopy(scopeBytes, 0, upperBound, 0, scopeBytes.length);
-        upperBound[scopeBytes.length] = 0x01;
+    /**
+     * @return the prefix with its trailing NUL separator replaced by 0x01, i.e. the first key past
+     *         every key starting with {@code prefix}
+     */
+    private static byte[] upperBoundOf(byte[] prefix) {
+        byte[] upperBound = prefix.clone();
+        upperBound[upperBound.length - 1] = 0x01;
+        return upperBound;
+    }
 
-        List<BrokerEntry> list = new ArrayList<>();
+    /**
+     * Forward-only cursor over the rows of {@code [lowerBound, upperBound)}.
+     *
+     * <p>The query runs in its own read-only transaction: a single statement sees one consistent view
+     * of the table, and drivers such as PostgreSQL only honor the fetch size with auto-commit off.
+     */
+    private final class JdbcCursor implements EntryCursor {
+        private final Connection conn;
+        private final PreparedStatement stmt;
+        private final ResultSet rs;
+        private boolean advanced;
+        private boolean hasRow;
+        private boolean closed;
+
+        JdbcCursor(byte[] lowerBound, byte[] upperBound) {
+            Connection connection = null;
+            try {
+                connection = dataSource.getConnection();
+                connection.setAutoCommit(false);
+                String sql = String.format("SELECT storage_key, entry_bytes FROM %s WHERE storage_key >= ? AND storage_key < ?", tableName);
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(SCAN_FETCH_SIZE);
+                statement.setBytes(1, lowerBound);
+                statement.setBytes(2, upperBound);
+                this.rs = statement.executeQuery();
+                this.stmt = statement;
+                this.conn = connection;
+            } catch (SQLException e) {
+                if (connection != null) {
+                    try {
+                        connection.close();
+                    } catch (SQLException ignored) {}
+                }
+                logger.severe("Database error on scan(): " + e.getMessage());
+                throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Database transport failure on scan()", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            if (!advanced) {
+                try {
+                    hasRow = rs.next();
+                } catch (SQLException e) {
+                    throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Database transport failure on scan()", e);
+                }
+                advanced = true;
+            }
+            return hasRow;
+        }
+
+        @Override
+        public BrokerEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            advanced = false;
+            try {
+                return new BrokerEntry(rs.getBytes("storage_key"), rs.getBytes("entry_bytes"));
+            } catch (SQLException e) {
+                throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Database transport failure on scan()", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try (Connection connection = conn) {
+                rs.close();
+                stmt.close();
+                connection.commit();
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.warning("Failed to release scan cursor: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getAsync(byte[] storageKey) {
+        if (storageKey == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        byte[] cached = localCache.get(toHexKey(storageKey));
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> get(storageKey), readExecutor);
+    }
+
+    /**
+     * Serves cached keys directly and fetches the others with {@code IN (...)} selects on a
+     * single connection.
+     */
+    @Override
+    public List<byte[]> getAll(List<byte[]> storageKeys) {
+        byte[][] values = new byte[storageKeys.size()][];
+        List<Integer> misses = cachedValues(storageKeys, values);
+        if (!misses.isEmpty()) {
+            selectAll(storageKeys, misses, values);
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Same lookup as {@link #getAll(List)}, with the selects run on the read executor.
+     */
+    @Override
+    public CompletableFuture<List<byte[]>> getAllAsync(List<byte[]> storageKeys) {
+        byte[][] values = new byte[storageKeys.size()][];
+        List<Integer> misses = cachedValues(storageKeys, values);
+        if (misses.isEmpty()) {
+            return CompletableFuture.completedFuture(Arrays.asList(values));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            selectAll(storageKeys, misses, values);
+            return Arrays.asList(values);
+        }, readExecutor);
+    }
+
+    @Override
+    public CompletableFuture<List<BrokerEntry>> snapshotAsync(Scope scope) {
+        return CompletableFuture.supplyAsync(() -> snapshot(scope), readExecutor);
+    }
+
+    /**
+     * Fills {@code values} from the local cache.
+     *
+     * @return the indexes of the keys that are not cached
+     */
+    private List<Integer> cachedValues(List<byte[]> storageKeys, byte[][] values) {
+        List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            byte[] storageKey = storageKeys.get(i);
+            if (storageKey != null) {
+                values[i] = localCache.get(toHexKey(storageKey));
+                if (values[i] == null) {
+                    misses.add(i);
+                }
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * Fills {@code values[i]} for every index in {@code misses} from the table, warming the local
+     * cache. Keys are bound in chunks of {@link #MAX_IN_LIST}.
+     */
+    private void selectAll(List<byte[]> storageKeys, List<Integer> misses, byte[][] values) {
+        try (Connection conn = dataSource.getConnection()) {
+            for (int from = 0; from < misses.size(); from += MAX_IN_LIST) {
+                List<Integer> chunk = misses.subList(from, Math.min(from + MAX_IN_LIST, misses.size()));
+                Map<String, List<Integer>> positions = new HashMap<>();
+                for (int index : chunk) {
+                    positions.computeIfAbsent(toHexKey(storageKeys.get(index)), k -> new ArrayList<>()).add(index);
+                }
+
+                String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                String sql = String.format("SELECT storage_key, entry_bytes FROM %s WHERE storage_key IN (%s)", tableName, placeholders);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setBytes(i + 1, storageKeys.get(chunk.get(i)));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            String hexKey = toHexKey(rs.getBytes("storage_key"));
+                            byte[] bytes = rs.getBytes("entry_bytes");
+                            localCache.put(hexKey, bytes);
+                            for (int index : positions.getOrDefault(hexKey, List.of())) {
+                                values[index] = bytes;
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.severe("Database error on getAll(): " + e.getMessage());
+            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Database transport failure on getAll()", e);
+        }
+    }
+
+    /**
+     * Delivers the writes of every node sharing the table, read from the change log every
+     * {@value #CHANGE_POLL_MILLIS} ms. Writes committed before the first open subscription are not
+     * delivered, and a write whose transaction commits after a later-numbered one was polled is
+     * missed, which the callers' own expiry covers.
+     */
+    @Override
+    public Subscription watch(Scope scope, ChangeListener listener) {
+        Subscription subscription = changes.register(scope, listener);
+        synchronized (changes) {
+            if (changePoller == null) {
+                lastChangeId = maxChangeId();
+                changePoller = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "veridot-db-changes");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                changePoller.scheduleWithFixedDelay(this::pollChangesQuietly,
+                    CHANGE_POLL_MILLIS, CHANGE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+        return () -> {
+            subscription.close();
+            synchronized (changes) {
+                if (changes.isEmpty() && changePoller != null) {
+                    changePoller.shutdownNow();
+                    changePoller = null;
+                }
+            }
+        };
+    }
+
+    @Override
+    public boolean supportsWatch() {
+        return true;
+    }
+
+    /**
+     * Deletes the change log rows older than {@link #CHANGE_RETENTION_MILLIS}, at most once per
+     * {@link #CHANGE_PRUNE_MILLIS} on this node. Writers prune rather than watchers, so the log stays
+     * bounded whether or not any node watches it. A failure is logged and left to the next prune.
+     */
+    private void pruneChangesIfDue(Connection conn) {
+        long now = System.currentTimeMillis();
+        long last = lastChangePrune.get();
+        if (now - last < CHANGE_PRUNE_MILLIS || !lastChangePrune.compareAndSet(last, now)) {
+            return;
+        }
+        // Rows older than the retention are read by every live node by now
+        String sql = String.format("DELETE FROM %s WHERE changed_at < ?", changesTableName);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, now - CHANGE_RETENTION_MILLIS);
+            stmt.executeUpdate();
+            conn.commit();
+        } catch (SQLException e) {
+            try {
+                conn.rollback();
+            } catch (SQLException ignored) {}
+            logger.warning("Database error on change log prune: " + e.getMessage());
+        }
+    }
+
+    private void recordChanges(Connection conn, List<byte[]> storageKeys) throws SQLException {
+        String sql = String.format("INSERT INTO %s (storage_key, changed_at) VALUES (?, ?)", changesTableName);
+        long now = System.currentTimeMillis();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (byte[] storageKey : storageKeys) {
+                stmt.setBytes(1, storageKey);
+                stmt.setLong(2, now);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private long maxChangeId() {
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(String.format("SELECT MAX(id) FROM %s", changesTableName))) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Database transport failure on watch()", e);
+        }
+    }
+
+    private void pollChangesQuietly() {
+        try {
+            pollChanges();
+        } catch (Exception e) {
+            logger.warning("Database error on change log poll: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the next batch of the change log, drops the changed keys from the local cache, and
+     * notifies the listeners with the current value of each key, {@code null} once deleted.
+     */
+    private void pollChanges() throws SQLException {
+        Map<String, byte[]> changedKeys = new LinkedHashMap<>();
+        long maxId = lastChangeId;
         try (Connection conn = dataSource.getConnection()) {
-            String sql = String.format("SELECT storage_key, entry_bytes FROM %s WHERE storage_key >= ? AND storage_key < ?", tableName);
+            String sql = String.format("SELECT id, storage_key FROM %s WHERE id > ? ORDER BY id", changesTableName);
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setBytes(1, lowerBound);
-                stmt.setBytes(2, upperBound);
+                stmt.setMaxRows(CHANGE_POLL_BATCH);
+                stmt.setLong(1, lastChangeId);
                 try (ResultSet rs = stmt.executeQuery()) {
                     while (rs.next()) {
-                        list.add(new BrokerEntry(rs.getBytes("storage_key"), rs.getBytes("entry_bytes")));
+                        maxId = Math.max(maxId, rs.getLong("id"));
+                        byte[] storageKey = rs.getBytes("storage_key");
+                        changedKeys.put(toHexKey(storageKey), storageKey);
                     }
                 }
             }
-        } catch (SQLException e) {
-            logger.severe("Database error on snapshot(): " + e.getMessage());
-            throw new VeridotException(ErrorCode.TRANSPORT_UNAVAILABLE, null, "Database transport failure on snapshot()", e);
+        }
+        if (changedKeys.isEmpty()) {
+            return;
         }
 
-        return list;
+        changedKeys.keySet().forEach(localCache::remove);
+        List<byte[]> storageKeys = new ArrayList<>(changedKeys.values());
+        List<byte[]> values = getAll(storageKeys);
+        for (int i = 0; i < storageKeys.size(); i++) {
+            changes.publish(storageKeys.get(i), values.get(i));
+        }
+        lastChangeId = maxId;
     }
 
     @Override
@@ -303,28 +863,88 @@ public class DatabaseBroker implements Broker, WatermarkStore {
     public void save(byte[] snapshot) {
         if (snapshot == null) return;
         try (Connection conn = dataSource.getConnection()) {
-            String sql = buildUpsertSql();
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setBytes(1, WATERMARK_KEY);
-                stmt.setBytes(2, snapshot);
-                stmt.executeUpdate();
+            // Checkpoint and delta cleanup are committed together
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(buildUpsertSql())) {
+                    stmt.setBytes(1, WATERMARK_KEY);
+                    stmt.setBytes(2, snapshot);
+                    stmt.executeUpdate();
+                }
+                String deleteSql = String.format("DELETE FROM %s WHERE storage_key >= ? AND storage_key < ?", tableName);
+                try (PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
+                    stmt.setBytes(1, WATERMARK_DELTA_PREFIX);
+                    stmt.setBytes(2, WATERMARK_DELTA_UPPER);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
         } catch (SQLException e) {
             logger.severe("Database error on saving watermark: " + e.getMessage());
         }
     }
 
+    @Override
+    public boolean supportsIncremental() {
+        return true;
+    }
+
+    @Override
+    public void append(Map<String, Long> deltas) {
+        try (Connection conn = dataSource.getConnection()) {
+            // One transaction per group commit
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(buildUpsertSql())) {
+                for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+                    byte[] key = delta.getKey().getBytes(StandardCharsets.UTF_8);
+                    byte[] storageKey = java.util.Arrays.copyOf(WATERMARK_DELTA_PREFIX, WATERMARK_DELTA_PREFIX.length + key.length);
+                    System.arraycopy(key, 0, storageKey, WATERMARK_DELTA_PREFIX.length, key.length);
+                    stmt.setBytes(1, storageKey);
+                    stmt.setBytes(2, ByteBuffer.allocate(8).putLong(delta.getValue()).array());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Database transport failure on appending watermark deltas", e);
+        }
+    }
+
     @Override
     public byte[] load() {
         try (Connection conn = dataSource.getConnection()) {
             String sql = String.format("SELECT entry_bytes FROM %s WHERE storage_key = ?", tableName);
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setBytes(1, WATERMARK_KEY);
+                byte[] snapshot = null;
                 try (ResultSet rs = stmt.executeQuery()) {
                     if (rs.next()) {
-                        return rs.getBytes("entry_bytes");
+                        snapshot = rs.getBytes("entry_bytes");
+                    }
+                }
+
+                Map<String, Long> deltas = new HashMap<>();
+                String deltaSql = String.format("SELECT storage_key, entry_bytes FROM %s WHERE storage_key >= ? AND storage_key < ?", tableName);
+                try (PreparedStatement deltaStmt = conn.prepareStatement(deltaSql)) {
+                    deltaStmt.setBytes(1, WATERMARK_DELTA_PREFIX);
+                    deltaStmt.setBytes(2, WATERMARK_DELTA_UPPER);
+                    try (ResultSet rs = deltaStmt.executeQuery()) {
+                        while (rs.next()) {
+                            byte[] keyBytes = rs.getBytes("storage_key");
+                            String key = new String(keyBytes, WATERMARK_DELTA_PREFIX.length,
+                                keyBytes.length - WATERMARK_DELTA_PREFIX.length, StandardCharsets.UTF_8);
+                            deltas.merge(key, ByteBuffer.wrap(rs.getBytes("entry_bytes")).getLong(), Math::max);
+                        }
                     }
                 }
+                return deltas.isEmpty() ? snapshot : WatermarkDeltas.merge(snapshot, deltas);
             }
         } catch (SQLException e) {
             logger.severe("Database error on loading watermark: " + e.getMessage());
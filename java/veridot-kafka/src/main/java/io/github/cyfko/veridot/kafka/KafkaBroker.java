@@ -1,11 +1,15 @@
 package io.github.cyfko.veridot.kafka;
 
+import io.github.cyfko.veridot.core.AsyncBroker;
 import io.github.cyfko.veridot.core.Broker;
 import io.github.cyfko.veridot.core.WatermarkStore;
 import io.github.cyfko.veridot.core.exceptions.VeridotException;
+import io.github.cyfko.veridot.core.impl.ChangeFeed;
 import io.github.cyfko.veridot.core.impl.Envelope;
+import io.github.cyfko.veridot.core.impl.EntryType;
 import io.github.cyfko.veridot.core.impl.Scope;
 import io.github.cyfko.veridot.core.impl.ErrorCode;
+import io.github.cyfko.veridot.core.impl.WatermarkDeltas;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
@@ -14,10 +18,16 @@ import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
+import org.rocksdb.Snapshot;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
@@ -29,7 +39,7 @@ import java.util.logging.Logger;
 /**
  * Kafka + RocksDB implementation of the Broker interface for Protocol V4 (§12.2).
  */
-public class KafkaBroker implements Broker, WatermarkStore, AutoCloseable {
+public class KafkaBroker implements AsyncBroker, WatermarkStore, AutoCloseable {
 
     private static final Logger logger = Logger.getLogger(KafkaBroker.class.getName());
     
@@ -45,6 +55,19 @@ public class KafkaBroker implements Broker, WatermarkStore, AutoCloseable {
         System.arraycopy(raw, 0, WATERMARK_KEY, 1, raw.length);
     }
 
+    // Incremental watermark deltas live under 0xFF "__watermark_delta__" NUL <watermark key>,
+    // one RocksDB key per watermark, and are folded into WATERMARK_KEY on every checkpoint.
+    private static final byte[] WATERMARK_DELTA_PREFIX;
+    private static final byte[] WATERMARK_DELTA_UPPER;
+    static {
+        byte[] raw = "__watermark_delta__".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        WATERMARK_DELTA_PREFIX = new byte[raw.length + 2];
+        WATERMARK_DELTA_PREFIX[0] = (byte) 0xFF;
+        System.arraycopy(raw, 0, WATERMARK_DELTA_PREFIX, 1, raw.length);
+        WATERMARK_DELTA_UPPER = WATERMARK_DELTA_PREFIX.clone();
+        WATERMARK_DELTA_UPPER[WATERMARK_DELTA_UPPER.length - 1] = 0x01;
+    }
+
     private final KafkaProducer<String, String> producer;
     private final KafkaConsumer<String, String> consumer;
     private final RocksDB db;
@@ -58,6 +81,9 @@ public class KafkaBroker implements Broker, WatermarkStore, AutoCloseable {
     // Local cache to bypass read-after-write latencies on the signing node
     private final java.util.Map<String, byte[]> localCache = new java.util.concurrent.ConcurrentHashMap<>();
 
+    // Watchers notified by the consumer loop once a record is applied to RocksDB
+    private final ChangeFeed changes = new ChangeFeed();
+
     static {
         try {
             RocksDB.loadLibrary();
@@ -115,6 +141,7 @@ public class KafkaBroker implements Broker, WatermarkStore, AutoCloseable {
                             logger.severe("RocksDB error on delete: do NOT commit offset to allow retry");
                             throw e;
                         }
+                        changes.publish(storageKey, null);
                         continue;
                     }
 
@@ -130,6 +157,8 @@ public class KafkaBroker implements Broker, WatermarkStore, AutoCloseable {
                         // Update local cache
                         localCache.put(toHexKey(storageKey), envelopeBytes);
 
+                        changes.publish(storageKey, envelopeBytes);
+
                     } catch (VeridotException e) {
                         logger.warning("Rejected non-conforming Kafka record: " + e.getErrorCode());
                     } catch (RocksDBException e) {
@@ -168,7 +197,7 @@ public class KafkaBroker implements Broker, WatermarkStore, AutoCloseable {
             localCache.remove(key);
             producer.send(new ProducerRecord<>(topic, key, null), (metadata, exception) -> {
                 if (exception != null) {
-                    future.completeExceptionally(new VeridotException(ErrorCode.TRANSPORT_UNAVAILABLE, null, "Kafka send tombstone failed", exception));
+                    future.completeExceptionally(new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Kafka send tombstone failed", exception));
                 } else {
                     future.complete(null);
                 }
@@ -190,7 +219,7 @@ public class KafkaBroker implements Broker, WatermarkStore, AutoCloseable {
 
         producer.send(new ProducerRecord<>(topic, key, value), (metadata, exception) -> {
             if (exception != null) {
-                future.completeExceptionally(new VeridotException(ErrorCode.TRANSPORT_UNAVAILABLE, null, "Kafka send failed", exception));
+                future.completeExceptionally(new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Kafka send failed", exception));
             } else {
                 future.complete(null);
             }
@@ -199,6 +228,49 @@ public class KafkaBroker implements Broker, WatermarkStore, AutoCloseable {
         return future;
     }
 
+    /**
+     * Validates every envelope first, then sends all records without waiting in between so the
+     * producer batches them.
+     */
+    @Override
+    public CompletableFuture<Void> putAll(List<BrokerEntry> entries) {
+        for (BrokerEntry entry : entries) {
+            if (entry.storageKey() == null || entry.envelopeBytes() == null) {
+                throw new IllegalArgumentException("storageKey and envelopeBytes cannot be null");
+            }
+            if (entry.envelopeBytes().length > 0) {
+                try {
+                    Envelope.parse(entry.envelopeBytes());
+                } catch (VeridotException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+        }
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>(entries.size());
+        for (BrokerEntry entry : entries) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            String key = toHexKey(entry.storageKey());
+            String value;
+            if (entry.envelopeBytes().length == 0) {
+                localCache.remove(key);
+                value = null;
+            } else {
+                putLocal(entry.storageKey(), entry.envelopeBytes());
+                value = Base64.getEncoder().encodeToString(entry.envelopeBytes());
+            }
+            producer.send(new ProducerRecord<>(topic, key, value), (metadata, exception) -> {
+                if (exception != null) {
+                    future.completeExceptionally(new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Kafka batch send failed", exception));
+                } else {
+                    future.complete(null);
+                }
+            });
+            sends.add(future);
+        }
+        return CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0]));
+    }
+
     @Override
     public byte[] get(byte[] storageKey) {
         if (storageKey == null) {
@@ -219,41 +291,209 @@ public class KafkaBroker implements Broker, WatermarkStore, AutoCloseable {
             }
             return null;
         } catch (RocksDBException e) {
-            throw new VeridotException(ErrorCode.TRANSPORT_UNAVAILABLE, null, "RocksDB access error", e);
+            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "RocksDB access error", e);
+        }
+    }
+
+    /**
+     * Serves cached keys from memory and reads the rest with one RocksDB {@code multiGet}.
+     */
+    @Override
+    public List<byte[]> getAll(List<byte[]> storageKeys) {
+        List<byte[]> values = new ArrayList<>(storageKeys.size());
+        List<byte[]> misses = new ArrayList<>();
+        List<Integer> missIndexes = new ArrayList<>();
+        for (int i = 0; i < storageKeys.size(); i++) {
+            byte[] storageKey = storageKeys.get(i);
+            byte[] cached = storageKey != null ? localCache.get(toHexKey(storageKey)) : null;
+            values.add(cached);
+            if (cached == null && storageKey != null) {
+                misses.add(storageKey);
+                missIndexes.add(i);
+            }
+        }
+        if (misses.isEmpty()) {
+            return values;
+        }
+
+        try {
+            List<byte[]> fetched = db.multiGetAsList(misses);
+            for (int m = 0; m < misses.size(); m++) {
+                byte[] bytes = fetched.get(m);
+                if (bytes != null) {
+                    localCache.put(toHexKey(misses.get(m)), bytes);
+                    values.set(missIndexes.get(m), bytes);
+                }
+            }
+            return values;
+        } catch (RocksDBException e) {
+            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "RocksDB multiGet error", e);
         }
     }
 
     @Override
     public List<BrokerEntry> snapshot(Scope scope) {
+        byte[] lowerBound = scopePrefix(scope);
+        return rangeSnapshot(lowerBound, upperBoundOf(lowerBound));
+    }
+
+    /**
+     * Iterates only the {@code scope ‖ 0x00 ‖ entryType ‖ 0x00} key range, so entries of other
+     * types, such as large SIGNED_DATA payloads, are never read.
+     */
+    @Override
+    public List<BrokerEntry> snapshot(Scope scope, EntryType entryType) {
+        byte[] lowerBound = Broker.typePrefix(scope, entryType);
+        return rangeSnapshot(lowerBound, upperBoundOf(lowerBound));
+    }
+
+    /**
+     * Streams the scope from a RocksDB iterator pinned to a snapshot, so the cursor sees the replica
+     * as of this call while the consumer thread keeps applying records.
+     */
+    @Override
+    public EntryCursor scan(Scope scope) {
+        byte[] lowerBound = scopePrefix(scope);
+        return new RocksCursor(lowerBound, upperBoundOf(lowerBound));
+    }
+
+    @Override
+    public EntryCursor scan(Scope scope, EntryType entryType) {
+        byte[] lowerBound = Broker.typePrefix(scope, entryType);
+        return new RocksCursor(lowerBound, upperBoundOf(lowerBound));
+    }
+
+    /**
+     * Notifies {@code listener} from the consumer thread as each record of the topic, whichever node
+     * produced it, is applied to the local replica. A slow listener delays consumption.
+     */
+    @Override
+    public Subscription watch(Scope scope, ChangeListener listener) {
+        return changes.register(scope, listener);
+    }
+
+    @Override
+    public boolean supportsWatch() {
+        return true;
+    }
+
+    /**
+     * @return every entry whose storage key is in {@code [lowerBound, upperBound)}
+     */
+    private List<BrokerEntry> rangeSnapshot(byte[] lowerBound, byte[] upperBound) {
+        List<BrokerEntry> list = new ArrayList<>();
+        try (RocksCursor cursor = new RocksCursor(lowerBound, upperBound)) {
+            cursor.forEachRemaining(list::add);
+        }
+        return list;
+    }
+
+    private static byte[] scopePrefix(Scope scope) {
         if (scope == null) {
             throw new IllegalArgumentException("Scope cannot be null");
         }
-
         byte[] scopeBytes = scope.value().getBytes(StandardCharsets.UTF_8);
-        byte[] lowerBound = new byte[scopeBytes.length + 1];
-        System.arraycopy(scopeBytes, 0, lowerBound, 0, scopeBytes.length);
-        lowerBound[scopeBytes.length] = 0x00; // Separator NUL byte
+        byte[] prefix = new byte[scopeBytes.length + 1];
+        System.arraycopy(scopeBytes, 0, prefix, 0, scopeBytes.length);
+        prefix[scopeBytes.length] = 0x00; // Separator NUL byte
+        return prefix;
+    }
 
-        byte[] upperBound = new byte[scopeBytes.length + 1];
-        System.arraycopy(scopeBytes, 0, upperBound, 0, scopeBytes.length);
-        upperBound[scopeBytes.length] = 0x01;
+    /**
+     * @return the first key past every key starting with {@code prefix}, whose last byte is the NUL separator
+     */
+    private static byte[] upperBoundOf(byte[] prefix) {
+        byte[] upperBound = prefix.clone();
+        upperBound[upperBound.length - 1] = 0x01;
+        return upperBound;
+    }
 
-        List<BrokerEntry> list = new ArrayList<>();
-        try (RocksIterator iterator = db.newIterator()) {
-            for (iterator.seek(lowerBound); iterator.isValid(); iterator.next()) {
-                byte[] keyBytes = iterator.key();
-                
-                // Binary range scan check
-                if (compareBytes(keyBytes, upperBound) >= 0) {
-                    break;
-                }
-                list.add(new BrokerEntry(keyBytes, iterator.value()));
+    /**
+     * Forward-only cursor over {@code [lowerBound, upperBound)}, reading one entry at a time. The
+     * snapshot, read options and bound slice live as long as the iterator and are released with it.
+     */
+    private final class RocksCursor implements EntryCursor {
+        private final Snapshot snapshot;
+        private final Slice upperBound;
+        private final ReadOptions readOptions;
+        private final RocksIterator iterator;
+        private boolean closed;
+
+        RocksCursor(byte[] lowerBound, byte[] upperBound) {
+            this.snapshot = db.getSnapshot();
+            this.upperBound = new Slice(upperBound);
+            this.readOptions = new ReadOptions().setSnapshot(snapshot).setIterateUpperBound(this.upperBound);
+            this.iterator = db.newIterator(readOptions);
+            iterator.seek(lowerBound);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
             }
-        } catch (Exception e) {
-            throw new VeridotException(ErrorCode.TRANSPORT_UNAVAILABLE, null, "RocksDB iterator error during snapshot", e);
+            if (iterator.isValid()) {
+                return true;
+            }
+            try {
+                iterator.status();
+            } catch (RocksDBException e) {
+                throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "RocksDB iterator error during snapshot", e);
+            }
+            return false;
         }
 
-        return list;
+        @Override
+        public BrokerEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BrokerEntry entry = new BrokerEntry(iterator.key(), iterator.value());
+            iterator.next();
+            return entry;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            iterator.close();
+            readOptions.close();
+            upperBound.close();
+            db.releaseSnapshot(snapshot);
+        }
+    }
+
+    // Reads are served by the local RocksDB replica and never wait on the cluster, so the
+    // asynchronous variants complete on the calling thread.
+
+    @Override
+    public CompletableFuture<byte[]> getAsync(byte[] storageKey) {
+        try {
+            return CompletableFuture.completedFuture(get(storageKey));
+        } catch (VeridotException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<byte[]>> getAllAsync(List<byte[]> storageKeys) {
+        try {
+            return CompletableFuture.completedFuture(getAll(storageKeys));
+        } catch (VeridotException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<BrokerEntry>> snapshotAsync(Scope scope) {
+        try {
+            return CompletableFuture.completedFuture(snapshot(scope));
+        } catch (VeridotException e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Override
@@ -319,8 +559,11 @@ public class KafkaBroker implements Broker, WatermarkStore, AutoCloseable {
     @Override
     public void save(byte[] snapshot) {
         if (closed || db == null) return;
-        try {
-            db.put(WATERMARK_KEY, snapshot);
+        // Checkpoint and delta cleanup are applied atomically
+        try (WriteBatch batch = new WriteBatch(); WriteOptions writeOptions = new WriteOptions()) {
+            batch.put(WATERMARK_KEY, snapshot);
+            batch.deleteRange(WATERMARK_DELTA_PREFIX, WATERMARK_DELTA_UPPER);
+            db.write(writeOptions, batch);
         } catch (org.rocksdb.RocksDBException e) {
             logger.severe("Failed to save watermark snapshot to RocksDB: " + e.getMessage());
         }
@@ -330,10 +573,47 @@ public class KafkaBroker implements Broker, WatermarkStore, AutoCloseable {
     public byte[] load() {
         if (closed || db == null) return null;
         try {
-            return db.get(WATERMARK_KEY);
+            byte[] snapshot = db.get(WATERMARK_KEY);
+            Map<String, Long> deltas = new HashMap<>();
+            try (RocksIterator iterator = db.newIterator()) {
+                for (iterator.seek(WATERMARK_DELTA_PREFIX); iterator.isValid(); iterator.next()) {
+                    byte[] keyBytes = iterator.key();
+                    if (compareBytes(keyBytes, WATERMARK_DELTA_UPPER) >= 0) {
+                        break;
+                    }
+                    String key = new String(keyBytes, WATERMARK_DELTA_PREFIX.length,
+                        keyBytes.length - WATERMARK_DELTA_PREFIX.length, StandardCharsets.UTF_8);
+                    deltas.merge(key, ByteBuffer.wrap(iterator.value()).getLong(), Math::max);
+                }
+            }
+            return deltas.isEmpty() ? snapshot : WatermarkDeltas.merge(snapshot, deltas);
         } catch (org.rocksdb.RocksDBException e) {
             logger.severe("Failed to load watermark snapshot from RocksDB: " + e.getMessage());
             return null;
         }
     }
+
+    @Override
+    public boolean supportsIncremental() {
+        return true;
+    }
+
+    @Override
+    public void append(Map<String, Long> deltas) {
+        if (closed || db == null) {
+            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "KafkaBroker is closed");
+        }
+        // One synced batch per group commit
+        try (WriteBatch batch = new WriteBatch(); WriteOptions writeOptions = new WriteOptions().setSync(true)) {
+            for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+                byte[] key = delta.getKey().getBytes(StandardCharsets.UTF_8);
+                byte[] storageKey = Arrays.copyOf(WATERMARK_DELTA_PREFIX, WATERMARK_DELTA_PREFIX.length + key.length);
+                System.arraycopy(key, 0, storageKey, WATERMARK_DELTA_PREFIX.length, key.length);
+                batch.put(storageKey, ByteBuffer.allocate(8).putLong(delta.getValue()).array());
+            }
+            db.write(writeOptions, batch);
+        } catch (RocksDBException e) {
+            throw new VeridotException(ErrorCode.BROKER_UNREACHABLE, null, "Failed to append watermark deltas to RocksDB", e);
+        }
+    }
 }